@@ -0,0 +1,77 @@
+package benchmark;
+
+import model.Exercise;
+import model.ExerciseSet;
+import model.Meal;
+import model.Recipe;
+import model.VitaSyncData;
+import model.Workout;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * Deterministic benchmark data: the same size always produces the same workouts, meals and recipes.
+ */
+final class Fixtures {
+    static final int INGREDIENT_POOL = 64;
+    private static final String[] EXERCISES = {"Squat", "Bench Press", "Deadlift", "Overhead Press", "Row",
+        "Pull Up", "Lunge", "Dip"};
+
+    private Fixtures() {
+    }
+
+    /**
+     * Builds data with size workouts, size meals and size recipes.
+     *
+     * @param size the number of items of each kind
+     * @return the data
+     */
+    static VitaSyncData data(int size) {
+        Random random = new Random(size);
+        VitaSyncData data = new VitaSyncData("Benchmark " + size);
+        LocalDate start = LocalDate.of(2020, 1, 1);
+        for (int i = 0; i < size; i++) {
+            data.getWorkoutTracker().addWorkout(workout(start.plusDays(i), random));
+            data.getMealPlan().addMeal(new Meal("Meal " + i, random.nextInt(60), random.nextInt(120),
+                    random.nextInt(40)));
+            data.getRecipeLibrary().addRecipe(recipe(i, random));
+        }
+        return data;
+    }
+
+    static String recipeName(int i) {
+        return "Recipe " + i;
+    }
+
+    static String ingredient(int i) {
+        return "ingredient-" + i;
+    }
+
+    private static Workout workout(LocalDate date, Random random) {
+        Workout workout = new Workout(date);
+        for (int e = 0; e < 3; e++) {
+            Exercise exercise = new Exercise(EXERCISES[random.nextInt(EXERCISES.length)]);
+            for (int s = 0; s < 4; s++) {
+                ExerciseSet set = new ExerciseSet(5 + random.nextInt(8));
+                int completed = random.nextInt(set.getTargetReps() + 1);
+                for (int r = 0; r < completed; r++) {
+                    set.checkOffRep();
+                }
+                exercise.addSet(set);
+            }
+            workout.addExercise(exercise);
+        }
+        return workout;
+    }
+
+    private static Recipe recipe(int i, Random random) {
+        List<String> ingredients = new ArrayList<>();
+        for (int k = 0; k < 5; k++) {
+            ingredients.add(ingredient(random.nextInt(INGREDIENT_POOL)));
+        }
+        return new Recipe(recipeName(i), ingredients, "Combine the ingredients and cook for " + i % 60 + " minutes.");
+    }
+}
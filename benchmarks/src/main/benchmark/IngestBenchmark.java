@@ -0,0 +1,85 @@
+package benchmark;
+
+import model.ChangeNotifier;
+import model.Meal;
+import model.MealPlan;
+import model.VitaSyncData;
+import model.Workout;
+import model.WorkoutTracker;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Importing prebuilt workouts and meals into empty stores, one add per item versus one bulk add, with a
+ * listener attached as the GUI would have.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class IngestBenchmark {
+    @Param({"10000", "100000"})
+    private int size;
+
+    private List<Workout> workouts;
+    private List<Meal> meals;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        VitaSyncData data = Fixtures.data(size);
+        workouts = data.getWorkoutTracker().snapshot();
+        meals = data.getMealPlan().snapshot();
+    }
+
+    @Benchmark
+    public WorkoutTracker workoutsOneByOne() {
+        WorkoutTracker tracker = listened(new WorkoutTracker());
+        for (Workout workout : workouts) {
+            tracker.addWorkout(workout);
+        }
+        return tracker;
+    }
+
+    @Benchmark
+    public WorkoutTracker workoutsBulk() {
+        WorkoutTracker tracker = listened(new WorkoutTracker());
+        tracker.addWorkouts(workouts);
+        return tracker;
+    }
+
+    @Benchmark
+    public MealPlan mealsOneByOne() {
+        MealPlan mealPlan = listened(new MealPlan());
+        for (Meal meal : meals) {
+            mealPlan.addMeal(meal);
+        }
+        return mealPlan;
+    }
+
+    @Benchmark
+    public MealPlan mealsBulk() {
+        MealPlan mealPlan = listened(new MealPlan());
+        mealPlan.addMeals(meals);
+        return mealPlan;
+    }
+
+    private static <T extends ChangeNotifier> T listened(T store) {
+        store.addModelListener(e -> { });
+        return store;
+    }
+}
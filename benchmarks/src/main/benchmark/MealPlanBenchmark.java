@@ -0,0 +1,57 @@
+package benchmark;
+
+import model.Meal;
+import model.MealPlan;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Macro totals: reading all three totals, and adding a meal then removing it again.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode({Mode.Throughput, Mode.AverageTime})
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class MealPlanBenchmark {
+    @Param({"100", "10000", "100000"})
+    private int size;
+
+    private MealPlan mealPlan;
+    private Meal extra;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        mealPlan = Fixtures.data(size).getMealPlan();
+        extra = new Meal("Extra", 30, 40, 10);
+    }
+
+    @Benchmark
+    public void totals(Blackhole blackhole) {
+        blackhole.consume(mealPlan.getTotalProtein());
+        blackhole.consume(mealPlan.getTotalCarbs());
+        blackhole.consume(mealPlan.getTotalFat());
+    }
+
+    @Benchmark
+    public int addRemoveAndTotal() {
+        mealPlan.addMeal(extra);
+        int protein = mealPlan.getTotalProtein();
+        mealPlan.removeMeal(extra);
+        return protein;
+    }
+}
@@ -0,0 +1,77 @@
+package benchmark;
+
+import model.VitaSyncData;
+import org.json.JSONObject;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import persistence.JsonReader;
+import persistence.JsonWriter;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Saving and loading: VitaSyncData.toJson, JsonWriter.write and JsonReader.read.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode({Mode.Throughput, Mode.AverageTime})
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class PersistenceBenchmark {
+    @Param({"100", "10000"})
+    private int size;
+
+    private VitaSyncData data;
+    private File readFile;
+    private File writeFile;
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        data = Fixtures.data(size);
+        readFile = File.createTempFile("vitasync-read-", ".json");
+        writeFile = File.createTempFile("vitasync-write-", ".json");
+        JsonWriter writer = new JsonWriter(readFile.getPath());
+        writer.open();
+        writer.write(data);
+        writer.close();
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws IOException {
+        Files.deleteIfExists(readFile.toPath());
+        Files.deleteIfExists(writeFile.toPath());
+    }
+
+    @Benchmark
+    public JSONObject toJson() {
+        return data.toJson();
+    }
+
+    @Benchmark
+    public void write() throws IOException {
+        JsonWriter writer = new JsonWriter(writeFile.getPath());
+        writer.open();
+        writer.write(data);
+        writer.close();
+    }
+
+    @Benchmark
+    public VitaSyncData read() throws IOException {
+        return new JsonReader(readFile.getPath()).read();
+    }
+}
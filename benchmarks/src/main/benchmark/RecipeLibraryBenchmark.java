@@ -0,0 +1,70 @@
+package benchmark;
+
+import model.Recipe;
+import model.RecipeLibrary;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Recipe lookups: by name (first, middle and last recipe, and a miss) and by ingredient.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode({Mode.Throughput, Mode.AverageTime})
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class RecipeLibraryBenchmark {
+    @Param({"100", "10000", "100000"})
+    private int size;
+
+    @Param({"first", "middle", "last", "missing"})
+    private String position;
+
+    private RecipeLibrary library;
+    private String name;
+    private String ingredient;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        library = Fixtures.data(size).getRecipeLibrary();
+        switch (position) {
+            case "first":
+                name = Fixtures.recipeName(0);
+                break;
+            case "middle":
+                name = Fixtures.recipeName(size / 2);
+                break;
+            case "last":
+                name = Fixtures.recipeName(size - 1);
+                break;
+            default:
+                name = "No Such Recipe";
+        }
+        ingredient = Fixtures.ingredient(Fixtures.INGREDIENT_POOL / 2);
+    }
+
+    @Benchmark
+    public Optional<Recipe> getRecipeByName() {
+        return library.getRecipeByName(name);
+    }
+
+    @Benchmark
+    public List<Recipe> filterRecipesByIngredient() {
+        return library.filterRecipesByIngredient(ingredient);
+    }
+}
@@ -0,0 +1,504 @@
+package diagnostics;
+
+import model.Exercise;
+import model.Meal;
+import model.PersistentVector;
+import model.Recipe;
+import model.VitaSyncData;
+import model.Workout;
+import persistence.JsonReader;
+
+import java.lang.management.ManagementFactory;
+import java.lang.reflect.Field;
+import java.lang.reflect.Modifier;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Estimates the heap retained by a loaded VitaSyncData from object-layout arithmetic rather than a heap dump.
+ * Every workout, exercise, meal and recipe is visited once and sized from its class's fields, the VM's
+ * header and reference sizes and its object alignment; strings are sized from their length and encoding,
+ * exercise lists from the capacity they reach when filled one element at a time, sets from each exercise's
+ * run-length group array, ingredient lists as exactly sized unmodifiable lists, and the stores' persistent
+ * vectors from their 32-way tries. Strings and dates are counted once per distinct instance, so values
+ * that are already shared are not double-counted, and equal strings held in separate instances are
+ * reported as duplicate-string waste, by where they occur. Listener lists and the derived indexes
+ * (sketches and daily volume) are not included. A walk takes time linear in the data and no more memory
+ * than one entry per distinct string and date.
+ */
+public final class HeapFootprint {
+    public static final String WORKOUT = "Workout";
+    public static final String LOCAL_DATE = "LocalDate";
+    public static final String EXERCISE = "Exercise";
+    public static final String EXERCISE_SET = "ExerciseSet";
+    public static final String MEAL = "Meal";
+    public static final String RECIPE = "Recipe";
+    public static final String STRING = "String";
+    public static final String CONTAINERS = "Containers";
+    public static final List<String> CATEGORIES =
+            List.of(WORKOUT, LOCAL_DATE, EXERCISE, EXERCISE_SET, MEAL, RECIPE, STRING, CONTAINERS);
+
+    public static final String EXERCISE_NAME = "exercise name";
+    public static final String INGREDIENT = "ingredient";
+    public static final String MEAL_NAME = "meal name";
+    public static final String RECIPE_NAME = "recipe name";
+    public static final String INSTRUCTIONS = "instructions";
+
+    private static final int VECTOR_WIDTH = 32;
+
+    private final Layout layout;
+    private final Map<String, long[]> categories = new LinkedHashMap<>(); // category -> {count, bytes}
+    private final IdentityHashMap<Object, Boolean> visited = new IdentityHashMap<>();
+    private final Map<String, Duplicate> strings = new HashMap<>();
+
+    /**
+     * Constructs an empty footprint.
+     *
+     * @param layout the object layout to size objects with
+     */
+    public HeapFootprint(Layout layout) {
+        this.layout = layout;
+        for (String category : CATEGORIES) {
+            categories.put(category, new long[2]);
+        }
+    }
+
+    /**
+     * Estimates the footprint of one VitaSyncData with the running VM's layout.
+     *
+     * Requires: data is non-null.
+     * Effects: Walks one snapshot of each store and returns the totals.
+     *
+     * @param data the data to measure
+     * @return the footprint
+     */
+    public static HeapFootprint of(VitaSyncData data) {
+        return new HeapFootprint(Layout.current()).add(data);
+    }
+
+    /**
+     * Adds one VitaSyncData to the totals.
+     *
+     * Requires: data is non-null.
+     * Modifies: this
+     * Effects: Counts every object reachable from the data's stores that was not already counted.
+     *
+     * @param data the data to measure
+     * @return this
+     */
+    public HeapFootprint add(VitaSyncData data) {
+        List<Workout> workouts = data.getWorkoutTracker().snapshot();
+        List<Meal> meals = data.getMealPlan().snapshot();
+        List<Recipe> recipes = data.getRecipeLibrary().snapshot();
+        count(CONTAINERS, 3, vectorBytes(workouts.size()) + vectorBytes(meals.size()) + vectorBytes(recipes.size()));
+        for (Workout workout : workouts) {
+            addWorkout(workout);
+        }
+        for (Meal meal : meals) {
+            count(MEAL, 1, layout.shallow(Meal.class));
+            addString(meal.getName(), MEAL_NAME);
+        }
+        for (Recipe recipe : recipes) {
+            addRecipe(recipe);
+        }
+        return this;
+    }
+
+    /**
+     * Estimates the heap retained by one recipe with the running VM's layout, e.g. while an undo step
+     * keeps it alive.
+     *
+     * Requires: recipe is non-null.
+     * Effects: Counts the recipe, its ingredient list and each of its distinct string instances.
+     *
+     * @param recipe the recipe to measure
+     * @return the estimated bytes
+     */
+    public static long sizeOf(Recipe recipe) {
+        HeapFootprint footprint = new HeapFootprint(Layout.current());
+        footprint.addRecipe(recipe);
+        return footprint.getTotalBytes();
+    }
+
+    /**
+     * Counts a workout, its date, its exercise list and everything below it.
+     */
+    private void addWorkout(Workout workout) {
+        List<Exercise> exercises = workout.getExercises();
+        count(WORKOUT, 1, layout.shallow(Workout.class) + layout.listBytes(exercises.size()));
+        if (visited.put(workout.getDate(), Boolean.TRUE) == null) {
+            count(LOCAL_DATE, 1, layout.localDate());
+        }
+        for (Exercise exercise : exercises) {
+            count(EXERCISE, 1, layout.shallow(Exercise.class));
+            count(EXERCISE_SET, exercise.getSetCount(), layout.groupArrayBytes(exercise.getSetGroups().size()));
+            addString(exercise.getName(), EXERCISE_NAME);
+        }
+    }
+
+    /**
+     * Counts a recipe, its ingredient list and its strings.
+     */
+    private void addRecipe(Recipe recipe) {
+        count(RECIPE, 1, layout.shallow(Recipe.class) + layout.immutableListBytes(recipe.getIngredients().size()));
+        addString(recipe.getName(), RECIPE_NAME);
+        addString(recipe.getInstructions(), INSTRUCTIONS);
+        for (String ingredient : recipe.getIngredients()) {
+            addString(ingredient, INGREDIENT);
+        }
+    }
+
+    /**
+     * Counts a string instance the first time it is seen, and notes equal values held in separate instances.
+     */
+    private void addString(String value, String source) {
+        if (visited.put(value, Boolean.TRUE) != null) {
+            return;
+        }
+        long bytes = layout.string(value);
+        count(STRING, 1, bytes);
+        strings.computeIfAbsent(value, v -> new Duplicate(v, source, bytes)).instances++;
+    }
+
+    private void count(String category, long objects, long bytes) {
+        long[] totals = categories.get(category);
+        totals[0] += objects;
+        totals[1] += bytes;
+    }
+
+    /**
+     * Returns the bytes of a persistent vector and its trie of 32-slot nodes.
+     */
+    private long vectorBytes(int size) {
+        long bytes = layout.shallow(PersistentVector.class);
+        long nodes = (size + VECTOR_WIDTH - 1) / VECTOR_WIDTH;
+        while (nodes > 1) {
+            bytes += nodes * layout.array(VECTOR_WIDTH, layout.referenceBytes());
+            nodes = (nodes + VECTOR_WIDTH - 1) / VECTOR_WIDTH;
+        }
+        return bytes + layout.array(VECTOR_WIDTH, layout.referenceBytes());
+    }
+
+    public long getCount(String category) {
+        return categories.get(category)[0];
+    }
+
+    public long getBytes(String category) {
+        return categories.get(category)[1];
+    }
+
+    /**
+     * Returns the estimated total.
+     *
+     * @return the sum of every category's bytes
+     */
+    public long getTotalBytes() {
+        long total = 0;
+        for (long[] totals : categories.values()) {
+            total += totals[1];
+        }
+        return total;
+    }
+
+    /**
+     * Returns the bytes that would be saved if every string value were held in a single instance.
+     *
+     * @param source one of the string sources, such as EXERCISE_NAME, or null for all of them
+     * @return the wasted bytes
+     */
+    public long getDuplicateBytes(String source) {
+        long waste = 0;
+        for (Duplicate duplicate : strings.values()) {
+            if (source == null || source.equals(duplicate.getSource())) {
+                waste += duplicate.getWastedBytes();
+            }
+        }
+        return waste;
+    }
+
+    /**
+     * Returns the most wasteful duplicated strings.
+     *
+     * @param n the maximum number of values to return
+     * @return values held in more than one instance, most wasted bytes first
+     */
+    public List<Duplicate> topDuplicates(int n) {
+        List<Duplicate> duplicates = new ArrayList<>();
+        for (Duplicate duplicate : strings.values()) {
+            if (duplicate.getInstances() > 1) {
+                duplicates.add(duplicate);
+            }
+        }
+        duplicates.sort((a, b) -> Long.compare(b.getWastedBytes(), a.getWastedBytes()));
+        return duplicates.subList(0, Math.min(n, duplicates.size()));
+    }
+
+    /**
+     * Formats the totals, the duplicate-string waste by source and the top duplicated values as a table.
+     *
+     * @param top how many duplicated values to list
+     * @return the report
+     */
+    public String format(int top) {
+        long total = Math.max(1, getTotalBytes());
+        StringBuilder sb = new StringBuilder(String.format("Estimated heap footprint (%s)%n", layout));
+        sb.append(String.format("%-14s %12s %14s %7s%n", "category", "objects", "bytes", "share"));
+        for (Map.Entry<String, long[]> e : categories.entrySet()) {
+            long[] t = e.getValue();
+            sb.append(String.format("%-14s %12d %14d %6.1f%%%n", e.getKey(), t[0], t[1], 100.0 * t[1] / total));
+        }
+        sb.append(String.format("%-14s %12s %14d%n%nDuplicate strings: %d bytes (%.1f%%)%n", "total", "",
+                getTotalBytes(), getDuplicateBytes(null), 100.0 * getDuplicateBytes(null) / total));
+        for (String source : new String[] {EXERCISE_NAME, INGREDIENT, MEAL_NAME, RECIPE_NAME, INSTRUCTIONS}) {
+            sb.append(String.format("  %-14s %14d%n", source, getDuplicateBytes(source)));
+        }
+        for (Duplicate d : topDuplicates(top)) {
+            sb.append(String.format("  %10d copies %12d bytes  %s \"%s\"%n", d.getInstances(), d.getWastedBytes(),
+                    d.getSource(), d.getValue().length() > 40 ? d.getValue().substring(0, 40) + "..." : d.getValue()));
+        }
+        return sb.toString();
+    }
+
+    /**
+     * Loads a data file and prints its estimated footprint.
+     * Usage: HeapFootprint data.json [top duplicates]
+     *
+     * @param args the data file and, optionally, how many duplicated values to list (default 10)
+     * @throws Exception if the file cannot be read
+     */
+    public static void main(String[] args) throws Exception {
+        if (args.length < 1) {
+            System.err.println("Usage: HeapFootprint <data.json> [top duplicates]");
+            System.exit(2);
+        }
+        long start = System.nanoTime();
+        VitaSyncData data = new JsonReader(args[0]).read();
+        long loaded = System.nanoTime();
+        HeapFootprint footprint = HeapFootprint.of(data);
+        long measured = System.nanoTime();
+        System.out.print(footprint.format(args.length > 1 ? Integer.parseInt(args[1]) : 10));
+        System.out.printf("%nLoaded in %.1f ms, measured in %.1f ms%n", (loaded - start) / 1e6,
+                (measured - loaded) / 1e6);
+    }
+
+    /**
+     * One string value and how many separate instances hold it.
+     */
+    public static final class Duplicate {
+        private final String value;
+        private final String source;
+        private final long bytesEach;
+        private int instances;
+
+        private Duplicate(String value, String source, long bytesEach) {
+            this.value = value;
+            this.source = source;
+            this.bytesEach = bytesEach;
+        }
+
+        public String getValue() {
+            return value;
+        }
+
+        /**
+         * Returns where the value was first seen, such as EXERCISE_NAME.
+         *
+         * @return the value's source
+         */
+        public String getSource() {
+            return source;
+        }
+
+        public int getInstances() {
+            return instances;
+        }
+
+        public long getWastedBytes() {
+            return (instances - 1) * bytesEach;
+        }
+    }
+
+    /**
+     * The sizes HotSpot uses to lay out objects: the object header, a reference and the alignment every
+     * object is padded to. Fields are assumed to pack without gaps, which HotSpot does for the model's
+     * ints and references.
+     */
+    public static final class Layout {
+        private final int headerBytes;
+        private final int referenceBytes;
+        private final int alignment;
+
+        /**
+         * Constructs a layout.
+         *
+         * @param headerBytes the object header size: 12 with compressed class pointers, otherwise 16
+         * @param referenceBytes the reference size: 4 with compressed oops, otherwise 8
+         * @param alignment the object alignment, normally 8
+         */
+        public Layout(int headerBytes, int referenceBytes, int alignment) {
+            this.headerBytes = headerBytes;
+            this.referenceBytes = referenceBytes;
+            this.alignment = alignment;
+        }
+
+        /**
+         * Returns the running VM's layout, or the 64-bit HotSpot defaults if it cannot be read.
+         * The VM options are read once.
+         *
+         * @return the layout
+         */
+        public static Layout current() {
+            return Current.LAYOUT;
+        }
+
+        private static Layout read() {
+            try {
+                com.sun.management.HotSpotDiagnosticMXBean vm =
+                        ManagementFactory.getPlatformMXBean(com.sun.management.HotSpotDiagnosticMXBean.class);
+                boolean oops = Boolean.parseBoolean(vm.getVMOption("UseCompressedOops").getValue());
+                boolean klass = Boolean.parseBoolean(vm.getVMOption("UseCompressedClassPointers").getValue());
+                int align = Integer.parseInt(vm.getVMOption("ObjectAlignmentInBytes").getValue());
+                return new Layout(klass ? 12 : 16, oops ? 4 : 8, align);
+            } catch (RuntimeException | LinkageError e) {
+                return new Layout(12, 4, 8);
+            }
+        }
+
+        public int referenceBytes() {
+            return referenceBytes;
+        }
+
+        /**
+         * Returns the size of an instance of a class from its own and inherited instance fields.
+         *
+         * @param type the class
+         * @return the padded instance size
+         */
+        public long shallow(Class<?> type) {
+            long bytes = headerBytes;
+            for (Class<?> c = type; c != null; c = c.getSuperclass()) {
+                for (Field field : c.getDeclaredFields()) {
+                    if (!Modifier.isStatic(field.getModifiers())) {
+                        bytes += fieldBytes(field.getType());
+                    }
+                }
+            }
+            return align(bytes);
+        }
+
+        /**
+         * Returns the size of an array.
+         *
+         * @param length the array length
+         * @param elementBytes the size of one element
+         * @return the padded array size
+         */
+        public long array(long length, int elementBytes) {
+            return align(headerBytes + 4L + length * elementBytes);
+        }
+
+        /**
+         * Returns the size of an ArrayList of the given size and its backing array, assuming it grew from empty
+         * by 1.5x steps from ten slots.
+         *
+         * @param size the number of elements
+         * @return the list's bytes, excluding the elements
+         */
+        public long listBytes(int size) {
+            long list = align(headerBytes + 8L + referenceBytes);
+            if (size == 0) {
+                return list;
+            }
+            int capacity = 10;
+            while (capacity < size) {
+                capacity += capacity >> 1;
+            }
+            return list + array(capacity, referenceBytes);
+        }
+
+        /**
+         * Returns the size of an exercise's run-length set storage: three ints per group in an array
+         * that starts at one group and doubles, or nothing (a shared empty array) without sets.
+         *
+         * @param groups the number of set groups
+         * @return the array's bytes
+         */
+        public long groupArrayBytes(int groups) {
+            if (groups == 0) {
+                return 0;
+            }
+            long capacity = 3;
+            while (capacity < 3L * groups) {
+                capacity *= 2;
+            }
+            return array(capacity, 4);
+        }
+
+        /**
+         * Returns the size of an unmodifiable list made by List.of: none when empty (the list is shared),
+         * fields for one or two elements, otherwise a reference and an exactly sized array.
+         *
+         * @param size the number of elements
+         * @return the list's bytes, excluding the elements
+         */
+        public long immutableListBytes(int size) {
+            if (size == 0) {
+                return 0;
+            } else if (size <= 2) {
+                return align(headerBytes + 2L * referenceBytes);
+            }
+            return align(headerBytes + (long) referenceBytes) + array(size, referenceBytes);
+        }
+
+        /**
+         * Returns the size of a String and its byte array, one byte per character if every character is
+         * Latin-1, otherwise two.
+         *
+         * @param value the string
+         * @return the string's bytes
+         */
+        public long string(String value) {
+            int bytesPerChar = 1;
+            for (int i = 0; i < value.length() && bytesPerChar == 1; i++) {
+                bytesPerChar = value.charAt(i) > 0xFF ? 2 : 1;
+            }
+            return align(headerBytes + 6L + referenceBytes) + array(value.length(), bytesPerChar);
+        }
+
+        public long localDate() {
+            return align(headerBytes + 8L);
+        }
+
+        private long align(long bytes) {
+            return (bytes + alignment - 1) / alignment * alignment;
+        }
+
+        private int fieldBytes(Class<?> type) {
+            if (type == long.class || type == double.class) {
+                return 8;
+            } else if (type == int.class || type == float.class) {
+                return 4;
+            } else if (type == short.class || type == char.class) {
+                return 2;
+            } else if (type == byte.class || type == boolean.class) {
+                return 1;
+            }
+            return referenceBytes;
+        }
+
+        @Override
+        public String toString() {
+            return headerBytes + "-byte headers, " + referenceBytes + "-byte references, " + alignment
+                    + "-byte alignment";
+        }
+
+        // Holds the running VM's layout, read on first use.
+        private static final class Current {
+            private static final Layout LAYOUT = read();
+        }
+    }
+}
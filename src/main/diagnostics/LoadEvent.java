@@ -0,0 +1,75 @@
+package diagnostics;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+/**
+ * A JFR event spanning one JsonReader.read: reading, parsing and building the model.
+ * Use start(path) before reading, the setters as results become known, and finish() in a
+ * finally block, so failed loads are recorded too.
+ */
+@Name("vitasync.Load")
+@Label("Load Data")
+@Category({"VitaSync", "Persistence"})
+@Description("Reading and parsing a saved data file")
+public final class LoadEvent extends Event {
+    @Label("Path")
+    private String path;
+
+    @Label("Characters")
+    @Description("Length of the JSON text read")
+    private long characters;
+
+    @Label("Workouts")
+    private int workouts;
+
+    @Label("Meals")
+    private int meals;
+
+    @Label("Recipes")
+    private int recipes;
+
+    @Label("Succeeded")
+    private boolean succeeded;
+
+    /**
+     * Starts timing a load.
+     *
+     * @param path the file being read
+     * @return the started event
+     */
+    public static LoadEvent start(String path) {
+        LoadEvent event = new LoadEvent();
+        event.path = path;
+        event.begin();
+        return event;
+    }
+
+    public void setCharacters(long characters) {
+        this.characters = characters;
+    }
+
+    /**
+     * Marks the load as successful.
+     *
+     * @param workoutCount the number of workouts loaded
+     * @param mealCount the number of meals loaded
+     * @param recipeCount the number of recipes loaded
+     */
+    public void succeeded(int workoutCount, int mealCount, int recipeCount) {
+        succeeded = true;
+        workouts = workoutCount;
+        meals = mealCount;
+        recipes = recipeCount;
+    }
+
+    /**
+     * Ends the load and commits the event if a recording wants it.
+     */
+    public void finish() {
+        commit();
+    }
+}
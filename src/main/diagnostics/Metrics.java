@@ -0,0 +1,187 @@
+package diagnostics;
+
+import javax.management.JMException;
+import javax.management.ObjectName;
+import java.lang.management.ManagementFactory;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.LongSupplier;
+
+/**
+ * A registry of named counters, latency histograms and gauges, published as the platform MBean
+ * "vitasync:type=Metrics" (visible in JConsole or VisualVM).
+ * Instrumented code looks its metrics up once, typically into static final fields, and then only
+ * touches striped counters and lock-free histograms, so recording never blocks and costs tens of
+ * nanoseconds. Gauges are evaluated only when the metrics are read.
+ * Names are dotted, e.g. "persistence.read"; a histogram is published as name.count, .meanMicros,
+ * .p50Micros, .p99Micros and .maxMicros.
+ */
+public final class Metrics {
+    public static final String OBJECT_NAME = "vitasync:type=Metrics";
+    private static final String[] HISTOGRAM_SUFFIXES = {".count", ".meanMicros", ".p50Micros", ".p99Micros",
+        ".maxMicros"};
+    private static final Metrics GLOBAL = new Metrics();
+
+    static {
+        GLOBAL.register(OBJECT_NAME);
+    }
+
+    private final ConcurrentMap<String, LongAdder> counters = new ConcurrentHashMap<>();
+    private final ConcurrentMap<String, LatencyHistogram> histograms = new ConcurrentHashMap<>();
+    private final ConcurrentMap<String, LongSupplier> gauges = new ConcurrentHashMap<>();
+
+    /**
+     * Returns the application-wide registry, registering its MBean on first use.
+     *
+     * @return the global registry
+     */
+    public static Metrics global() {
+        return GLOBAL;
+    }
+
+    /**
+     * Returns the counter with the given name, creating it if needed.
+     *
+     * @param name the counter's name
+     * @return the counter
+     */
+    public LongAdder counter(String name) {
+        return counters.computeIfAbsent(name, n -> new LongAdder());
+    }
+
+    /**
+     * Returns the histogram with the given name, creating it if needed.
+     *
+     * @param name the histogram's name
+     * @return the histogram
+     */
+    public LatencyHistogram histogram(String name) {
+        return histograms.computeIfAbsent(name, n -> new LatencyHistogram());
+    }
+
+    /**
+     * Registers or replaces a gauge.
+     *
+     * Modifies: this
+     * Effects: The supplier is called each time the metrics are read, from the reading thread.
+     *
+     * @param name the gauge's name
+     * @param supplier computes the gauge's current value
+     */
+    public void gauge(String name, LongSupplier supplier) {
+        gauges.put(name, supplier);
+    }
+
+    /**
+     * Returns every metric's current value, sorted by name.
+     *
+     * Effects: Evaluates the gauges; a gauge that throws is reported as -1.
+     *
+     * @return the metric values
+     */
+    public Map<String, Number> snapshot() {
+        Map<String, Number> values = new TreeMap<>();
+        counters.forEach((name, counter) -> values.put(name, counter.sum()));
+        histograms.forEach((name, h) -> {
+            for (String suffix : HISTOGRAM_SUFFIXES) {
+                values.put(name + suffix, histogramValue(h, suffix));
+            }
+        });
+        gauges.forEach((name, gauge) -> values.put(name, evaluate(gauge)));
+        return values;
+    }
+
+    /**
+     * Returns one metric's current value, as snapshot() would report it.
+     *
+     * Effects: Evaluates only the named metric, so reading one attribute never runs the other gauges.
+     *
+     * @param name the metric's published name, e.g. "persistence.read.p99Micros"
+     * @return the value, or null if there is no such metric
+     */
+    Number value(String name) {
+        LongSupplier gauge = gauges.get(name);
+        if (gauge != null) {
+            return evaluate(gauge);
+        }
+        int dot = name.lastIndexOf('.');
+        LatencyHistogram h = dot > 0 ? histograms.get(name.substring(0, dot)) : null;
+        Number value = h != null ? histogramValue(h, name.substring(dot)) : null;
+        if (value != null) {
+            return value;
+        }
+        LongAdder counter = counters.get(name);
+        if (counter == null) {
+            return null;
+        }
+        return counter.sum();
+    }
+
+    /**
+     * Returns the class name of every metric's value, sorted by metric name, without evaluating any.
+     *
+     * @return the published metric names and their value types
+     */
+    Map<String, String> types() {
+        Map<String, String> types = new TreeMap<>();
+        counters.keySet().forEach(name -> types.put(name, Long.class.getName()));
+        histograms.keySet().forEach(name -> {
+            for (String suffix : HISTOGRAM_SUFFIXES) {
+                types.put(name + suffix, (".count".equals(suffix) ? Long.class : Double.class).getName());
+            }
+        });
+        gauges.keySet().forEach(name -> types.put(name, Long.class.getName()));
+        return types;
+    }
+
+    /**
+     * Clears every counter and histogram; gauges are unaffected.
+     *
+     * Modifies: this
+     */
+    public void reset() {
+        counters.values().forEach(LongAdder::reset);
+        histograms.values().forEach(LatencyHistogram::reset);
+    }
+
+    private static Number histogramValue(LatencyHistogram h, String suffix) {
+        switch (suffix) {
+            case ".count":
+                return h.getCount();
+            case ".meanMicros":
+                return h.getMean() / 1e3;
+            case ".p50Micros":
+                return h.getPercentile(0.5) / 1e3;
+            case ".p99Micros":
+                return h.getPercentile(0.99) / 1e3;
+            case ".maxMicros":
+                return h.getMax() / 1e3;
+            default:
+                return null;
+        }
+    }
+
+    private static long evaluate(LongSupplier gauge) {
+        try {
+            return gauge.getAsLong();
+        } catch (RuntimeException e) {
+            return -1;
+        }
+    }
+
+    /**
+     * Publishes this registry as a platform MBean. Failing to do so (e.g. no JMX in a sandbox)
+     * never affects recording.
+     */
+    private void register(String objectName) {
+        try {
+            ManagementFactory.getPlatformMBeanServer().registerMBean(new MetricsMBean(this),
+                    new ObjectName(objectName));
+        } catch (JMException | SecurityException e) {
+            // Metrics stay readable through snapshot(); only the JMX view is missing.
+        }
+    }
+}
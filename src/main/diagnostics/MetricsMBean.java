@@ -0,0 +1,79 @@
+package diagnostics;
+
+import javax.management.Attribute;
+import javax.management.AttributeList;
+import javax.management.AttributeNotFoundException;
+import javax.management.DynamicMBean;
+import javax.management.MBeanAttributeInfo;
+import javax.management.MBeanInfo;
+import javax.management.MBeanOperationInfo;
+import javax.management.ReflectionException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Exposes a Metrics registry over JMX: one read-only attribute per metric value, plus a reset
+ * operation. Attributes are listed afresh on every request, so metrics created after startup
+ * appear without re-registering. Listing them evaluates nothing, and reading one attribute
+ * evaluates only that metric.
+ */
+final class MetricsMBean implements DynamicMBean {
+    private final Metrics metrics;
+
+    MetricsMBean(Metrics metrics) {
+        this.metrics = metrics;
+    }
+
+    @Override
+    public Object getAttribute(String name) throws AttributeNotFoundException {
+        Number value = metrics.value(name);
+        if (value == null) {
+            throw new AttributeNotFoundException(name);
+        }
+        return value;
+    }
+
+    @Override
+    public AttributeList getAttributes(String[] names) {
+        AttributeList list = new AttributeList();
+        for (String name : names) {
+            Number value = metrics.value(name);
+            if (value != null) {
+                list.add(new Attribute(name, value));
+            }
+        }
+        return list;
+    }
+
+    @Override
+    public void setAttribute(Attribute attribute) throws AttributeNotFoundException {
+        throw new AttributeNotFoundException("Metrics are read-only: " + attribute.getName());
+    }
+
+    @Override
+    public AttributeList setAttributes(AttributeList attributes) {
+        return new AttributeList();
+    }
+
+    @Override
+    public Object invoke(String action, Object[] params, String[] signature) throws ReflectionException {
+        if (!"reset".equals(action)) {
+            throw new ReflectionException(new NoSuchMethodException(action));
+        }
+        metrics.reset();
+        return null;
+    }
+
+    @Override
+    public MBeanInfo getMBeanInfo() {
+        List<MBeanAttributeInfo> attributes = new ArrayList<>();
+        for (Map.Entry<String, String> e : metrics.types().entrySet()) {
+            attributes.add(new MBeanAttributeInfo(e.getKey(), e.getValue(), e.getKey(), true, false, false));
+        }
+        MBeanOperationInfo reset = new MBeanOperationInfo("reset", "Clears all counters and histograms",
+                null, "void", MBeanOperationInfo.ACTION);
+        return new MBeanInfo(Metrics.class.getName(), "VitaSync metrics",
+                attributes.toArray(new MBeanAttributeInfo[0]), null, new MBeanOperationInfo[] {reset}, null);
+    }
+}
@@ -0,0 +1,62 @@
+package diagnostics;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+/**
+ * A JFR event spanning one model query, e.g. a recipe search or a chart series extraction.
+ * Use start(...) before the query and finish(results) after it. While no recording enables the
+ * event, both are no-ops the JIT removes, and the argument is never converted to a string.
+ */
+@Name("vitasync.Query")
+@Label("Model Query")
+@Category({"VitaSync", "Model"})
+@Description("A read-only query over one model store")
+public final class QueryEvent extends Event {
+    @Label("Store")
+    private String store;
+
+    @Label("Query")
+    private String query;
+
+    @Label("Argument")
+    private String argument;
+
+    @Label("Results")
+    private int results;
+
+    /**
+     * Starts timing a query.
+     *
+     * @param store the store queried, e.g. "recipes"
+     * @param query the query method, e.g. "searchRecipes"
+     * @param argument the query's main argument, or null
+     * @return the started event
+     */
+    public static QueryEvent start(String store, String query, Object argument) {
+        QueryEvent event = new QueryEvent();
+        if (event.isEnabled()) {
+            event.store = store;
+            event.query = query;
+            event.argument = argument == null ? null : String.valueOf(argument);
+        }
+        event.begin();
+        return event;
+    }
+
+    /**
+     * Ends the query and commits the event if a recording wants it.
+     *
+     * @param resultCount the number of results returned
+     */
+    public void finish(int resultCount) {
+        end();
+        if (shouldCommit()) {
+            results = resultCount;
+            commit();
+        }
+    }
+}
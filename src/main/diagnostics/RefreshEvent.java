@@ -0,0 +1,55 @@
+package diagnostics;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+/**
+ * A JFR event spanning one GUI view refresh, so UI work can be told apart from model work.
+ */
+@Name("vitasync.Refresh")
+@Label("View Refresh")
+@Category({"VitaSync", "GUI"})
+@Description("Updating one view after a model change or load")
+public final class RefreshEvent extends Event {
+    @Label("View")
+    private String view;
+
+    @Label("Kind")
+    @Description("append, reload, rebuild or cell")
+    private String kind;
+
+    @Label("Rows")
+    @Description("Items in the view's store afterwards")
+    private int rows;
+
+    /**
+     * Starts timing a refresh.
+     *
+     * @param view the view refreshed, e.g. "Workouts"
+     * @param kind how it is refreshed, e.g. "append"
+     * @return the started event
+     */
+    public static RefreshEvent start(String view, String kind) {
+        RefreshEvent event = new RefreshEvent();
+        event.view = view;
+        event.kind = kind;
+        event.begin();
+        return event;
+    }
+
+    /**
+     * Ends the refresh and commits the event if a recording wants it.
+     *
+     * @param rowCount the number of items the view shows
+     */
+    public void finish(int rowCount) {
+        end();
+        if (shouldCommit()) {
+            rows = rowCount;
+            commit();
+        }
+    }
+}
@@ -0,0 +1,65 @@
+package diagnostics;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+/**
+ * A JFR event spanning one JsonWriter.write: converting to JSON, formatting and writing.
+ * Call end() after writing and, only if shouldCommit(), compute the sizes and pass them to
+ * commit(...), so nothing is counted while no recording wants the event.
+ */
+@Name("vitasync.Save")
+@Label("Save Data")
+@Category({"VitaSync", "Persistence"})
+@Description("Serializing and writing the data file")
+public final class SaveEvent extends Event {
+    @Label("Path")
+    private String path;
+
+    @Label("Characters")
+    @Description("Length of the JSON text written")
+    private long characters;
+
+    @Label("Workouts")
+    private int workouts;
+
+    @Label("Meals")
+    private int meals;
+
+    @Label("Recipes")
+    private int recipes;
+
+    /**
+     * Starts timing a save.
+     *
+     * @param path the file being written
+     * @return the started event
+     */
+    public static SaveEvent start(String path) {
+        SaveEvent event = new SaveEvent();
+        event.path = path;
+        event.begin();
+        return event;
+    }
+
+    /**
+     * Records the save's sizes and commits the event.
+     *
+     * Requires: end() was called and shouldCommit() returned true.
+     *
+     * @param characterCount the length of the JSON text written
+     * @param workoutCount the number of workouts written
+     * @param mealCount the number of meals written
+     * @param recipeCount the number of recipes written
+     */
+    public void commit(long characterCount, int workoutCount, int mealCount, int recipeCount) {
+        characters = characterCount;
+        workouts = workoutCount;
+        meals = mealCount;
+        recipes = recipeCount;
+        commit();
+    }
+}
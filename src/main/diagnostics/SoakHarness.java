@@ -0,0 +1,509 @@
+package diagnostics;
+
+import model.Exercise;
+import model.ExerciseSet;
+import model.Meal;
+import model.Recipe;
+import model.VitaSyncData;
+import model.Workout;
+import persistence.JsonReader;
+import persistence.JsonWriter;
+
+import java.io.IOException;
+import java.lang.reflect.Method;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.EnumMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Random;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.stream.Stream;
+
+/**
+ * A soak/stress harness: N threads apply a weighted random mix of operations to one shared
+ * VitaSyncData for a fixed duration, timing each operation in a LatencyHistogram.
+ * Each thread adds, edits and deletes only recipes it created, and remembers what it added, so at
+ * the end the harness can check that no update was lost: every workout and meal is present, the
+ * macro totals match, and each thread's surviving recipes exist with their last edit. Save writes a
+ * snapshot to a per-thread file in a temporary directory and load reads it back into separate data,
+ * so persistence runs concurrently with writers without replacing the data under test.
+ * Virtual threads are used when requested and the JVM supports them (Java 21+); otherwise the run
+ * falls back to platform threads and the report says so.
+ */
+public class SoakHarness {
+    /**
+     * The operations the harness can mix.
+     */
+    public enum Operation {
+        ADD_WORKOUT("addWorkout"), ADD_MEAL("addMeal"), ADD_RECIPE("addRecipe"), EDIT_RECIPE("editRecipe"),
+        DELETE_RECIPE("deleteRecipe"), SEARCH_RECIPES("searchRecipes"), SAVE("save"), LOAD("load");
+
+        private final String label;
+
+        Operation(String label) {
+            this.label = label;
+        }
+
+        public String getLabel() {
+            return label;
+        }
+
+        /**
+         * Returns the operation with the given label.
+         *
+         * @param label e.g. "addMeal"
+         * @return the operation
+         * @throws IllegalArgumentException if no operation has that label
+         */
+        public static Operation fromLabel(String label) {
+            for (Operation op : values()) {
+                if (op.label.equalsIgnoreCase(label)) {
+                    return op;
+                }
+            }
+            throw new IllegalArgumentException("Unknown operation: " + label);
+        }
+    }
+
+    public static final String DEFAULT_MIX = "addWorkout=25,addMeal=25,addRecipe=15,editRecipe=10,"
+            + "deleteRecipe=5,searchRecipes=18,save=1,load=1";
+    private static final String[] EXERCISES = {"Squat", "Bench Press", "Deadlift", "Row", "Pull Up"};
+    private static final String[] INGREDIENTS = {"flour", "milk", "eggs", "rice", "garlic", "tomato", "basil"};
+    private static final int MAX_ERRORS_KEPT = 5;
+
+    private final int threads;
+    private final boolean virtualThreads;
+    private final Duration duration;
+    private final long seed;
+    private final Map<Operation, Integer> mix;
+
+    /**
+     * Constructs a harness.
+     *
+     * Requires: threads &gt; 0; duration is positive; mix has at least one positive weight.
+     *
+     * @param threads the number of concurrent workers
+     * @param virtualThreads whether to run workers on virtual threads when the JVM supports them
+     * @param duration how long the workers run
+     * @param seed the seed for the workers' random choices
+     * @param mix the weight of each operation; missing operations are never chosen
+     */
+    public SoakHarness(int threads, boolean virtualThreads, Duration duration, long seed,
+                       Map<Operation, Integer> mix) {
+        if (threads <= 0 || duration.isNegative() || duration.isZero()) {
+            throw new IllegalArgumentException("Threads and duration must be positive.");
+        }
+        if (mix.values().stream().mapToInt(Integer::intValue).sum() <= 0) {
+            throw new IllegalArgumentException("The mix needs at least one positive weight.");
+        }
+        this.threads = threads;
+        this.virtualThreads = virtualThreads;
+        this.duration = duration;
+        this.seed = seed;
+        this.mix = new EnumMap<>(mix);
+    }
+
+    /**
+     * Parses a mix such as "addWorkout=30,addMeal=30,searchRecipes=40".
+     *
+     * @param text comma-separated label=weight pairs
+     * @return the weights by operation
+     * @throws IllegalArgumentException if a pair is malformed or names no operation
+     */
+    public static Map<Operation, Integer> parseMix(String text) {
+        Map<Operation, Integer> mix = new EnumMap<>(Operation.class);
+        for (String pair : text.split(",")) {
+            String[] parts = pair.trim().split("=");
+            if (parts.length != 2) {
+                throw new IllegalArgumentException("Expected operation=weight but got '" + pair + "'.");
+            }
+            mix.put(Operation.fromLabel(parts[0].trim()), Integer.parseInt(parts[1].trim()));
+        }
+        return mix;
+    }
+
+    /**
+     * Runs the workers for the configured duration and verifies the final data.
+     *
+     * Effects: Creates and deletes a temporary directory for save/load files.
+     *
+     * @return the run's report
+     * @throws IOException if the temporary directory cannot be created
+     * @throws InterruptedException if interrupted while waiting for the workers
+     */
+    public Report run() throws IOException, InterruptedException {
+        Path dir = Files.createTempDirectory("vitasync-soak");
+        VitaSyncData data = new VitaSyncData("Soak");
+        Report report = new Report();
+        ExecutorService executor = newExecutor(report);
+        List<Future<Worker>> futures = new ArrayList<>();
+        long start = System.nanoTime();
+        long deadline = start + duration.toNanos();
+        for (int t = 0; t < threads; t++) {
+            Worker worker = new Worker(t, data, dir.resolve("soak-" + t + ".json"), report, deadline);
+            futures.add(executor.submit(worker, worker));
+        }
+        executor.shutdown();
+        executor.awaitTermination(duration.toMillis() + TimeUnit.MINUTES.toMillis(5), TimeUnit.MILLISECONDS);
+        report.elapsedNanos = System.nanoTime() - start;
+        List<Worker> workers = new ArrayList<>();
+        for (Future<Worker> f : futures) {
+            workers.add(getWorker(f, report));
+        }
+        report.verify(data, workers);
+        deleteDirectory(dir);
+        return report;
+    }
+
+    /**
+     * Returns a virtual-thread-per-task executor if requested and available, else a fixed pool.
+     */
+    private ExecutorService newExecutor(Report report) {
+        if (virtualThreads) {
+            try {
+                Method factory = Executors.class.getMethod("newVirtualThreadPerTaskExecutor");
+                report.threadKind = "virtual";
+                return (ExecutorService) factory.invoke(null);
+            } catch (ReflectiveOperationException e) {
+                report.threadKind = "platform (virtual threads need Java 21+)";
+            }
+        }
+        return Executors.newFixedThreadPool(threads);
+    }
+
+    private static Worker getWorker(Future<Worker> future, Report report) throws InterruptedException {
+        try {
+            return future.get();
+        } catch (ExecutionException e) {
+            report.problem("Worker died: " + e.getCause());
+            return null;
+        }
+    }
+
+    private static void deleteDirectory(Path dir) throws IOException {
+        try (Stream<Path> files = Files.list(dir)) {
+            for (Path p : (Iterable<Path>) files::iterator) {
+                Files.deleteIfExists(p);
+            }
+        }
+        Files.deleteIfExists(dir);
+    }
+
+    /**
+     * Runs the harness from the command line:
+     * [threads] [seconds] [virtual|platform] [seed] [mix], printing the report.
+     * Exits with status 1 if any operation failed or any update was lost.
+     *
+     * @param args the command-line arguments
+     * @throws Exception if the run cannot start
+     */
+    public static void main(String[] args) throws Exception {
+        int threads = args.length > 0 ? Integer.parseInt(args[0]) : Runtime.getRuntime().availableProcessors();
+        long seconds = args.length > 1 ? Long.parseLong(args[1]) : 30;
+        boolean virtual = args.length > 2 && args[2].equals("virtual");
+        long seed = args.length > 3 ? Long.parseLong(args[3]) : 1;
+        Map<Operation, Integer> mix = parseMix(args.length > 4 ? args[4] : DEFAULT_MIX);
+        Report report = new SoakHarness(threads, virtual, Duration.ofSeconds(seconds), seed, mix).run();
+        System.out.print(report.format(threads, seed, mix));
+        System.exit(report.isClean() ? 0 : 1);
+    }
+
+    /**
+     * One worker's loop and the updates it is responsible for.
+     */
+    private final class Worker implements Runnable {
+        private final int id;
+        private final VitaSyncData data;
+        private final Path file;
+        private final Report report;
+        private final long deadline;
+        private final Random random;
+        private final Operation[] choices;
+        private final List<String> liveRecipes = new ArrayList<>();
+        private final Map<String, Integer> versions = new LinkedHashMap<>();
+        private int workoutsAdded;
+        private int mealsAdded;
+        private long proteinAdded;
+        private int recipeSequence;
+
+        Worker(int id, VitaSyncData data, Path file, Report report, long deadline) {
+            this.id = id;
+            this.data = data;
+            this.file = file;
+            this.report = report;
+            this.deadline = deadline;
+            this.random = new Random(seed * 31 + id);
+            this.choices = weightedChoices();
+        }
+
+        @Override
+        public void run() {
+            while (System.nanoTime() < deadline) {
+                Operation op = choices[random.nextInt(choices.length)];
+                long start = System.nanoTime();
+                try {
+                    perform(op);
+                    report.histograms.get(op).recordSince(start);
+                } catch (IOException | RuntimeException e) {
+                    report.errors.get(op).increment();
+                    report.problem(op.getLabel() + " on worker " + id + ": " + e);
+                }
+            }
+        }
+
+        private Operation[] weightedChoices() {
+            List<Operation> list = new ArrayList<>();
+            mix.forEach((op, weight) -> {
+                for (int i = 0; i < weight; i++) {
+                    list.add(op);
+                }
+            });
+            return list.toArray(new Operation[0]);
+        }
+
+        private void perform(Operation op) throws IOException {
+            switch (op) {
+                case ADD_WORKOUT:
+                    addWorkout();
+                    break;
+                case ADD_MEAL:
+                    addMeal();
+                    break;
+                case ADD_RECIPE:
+                    addRecipe();
+                    break;
+                case EDIT_RECIPE:
+                    editRecipe();
+                    break;
+                case DELETE_RECIPE:
+                    deleteRecipe();
+                    break;
+                case SEARCH_RECIPES:
+                    data.getRecipeLibrary().searchRecipes(INGREDIENTS[random.nextInt(INGREDIENTS.length)]);
+                    break;
+                default:
+                    persist(op);
+            }
+        }
+
+        private void addWorkout() {
+            Workout workout = new Workout(LocalDate.of(2024, 1, 1).plusDays(random.nextInt(365)));
+            Exercise exercise = new Exercise(EXERCISES[random.nextInt(EXERCISES.length)]);
+            ExerciseSet set = new ExerciseSet(5 + random.nextInt(6));
+            set.checkOffRep();
+            exercise.addSet(set);
+            workout.addExercise(exercise);
+            data.getWorkoutTracker().addWorkout(workout);
+            workoutsAdded++;
+        }
+
+        private void addMeal() {
+            int protein = random.nextInt(60);
+            data.getMealPlan().addMeal(new Meal("Meal " + id, protein, random.nextInt(100), random.nextInt(40)));
+            mealsAdded++;
+            proteinAdded += protein;
+        }
+
+        private void addRecipe() {
+            String name = "w" + id + "-r" + recipeSequence++;
+            data.getRecipeLibrary().addRecipe(new Recipe(name, ingredients(), "v0"));
+            liveRecipes.add(name);
+            versions.put(name, 0);
+        }
+
+        private void editRecipe() {
+            if (liveRecipes.isEmpty()) {
+                return;
+            }
+            String name = liveRecipes.get(random.nextInt(liveRecipes.size()));
+            int version = versions.get(name) + 1;
+            if (!data.getRecipeLibrary().editRecipe(name, ingredients(), "v" + version)) {
+                throw new IllegalStateException("Own recipe " + name + " vanished before edit");
+            }
+            versions.put(name, version);
+        }
+
+        private void deleteRecipe() {
+            if (liveRecipes.isEmpty()) {
+                return;
+            }
+            String name = liveRecipes.remove(random.nextInt(liveRecipes.size()));
+            versions.remove(name);
+            if (!data.getRecipeLibrary().deleteRecipe(name)) {
+                throw new IllegalStateException("Own recipe " + name + " vanished before delete");
+            }
+        }
+
+        private void persist(Operation op) throws IOException {
+            if (op == Operation.LOAD && Files.exists(file)) {
+                new JsonReader(file.toString()).read();
+                return;
+            }
+            JsonWriter writer = new JsonWriter(file.toString());
+            writer.open();
+            writer.write(data.snapshot());
+            writer.close();
+        }
+
+        private List<String> ingredients() {
+            return Arrays.asList(INGREDIENTS[random.nextInt(INGREDIENTS.length)],
+                    INGREDIENTS[random.nextInt(INGREDIENTS.length)]);
+        }
+
+        /**
+         * Checks that everything this worker added, edited or deleted is reflected in the data.
+         */
+        private void verify(VitaSyncData finalData, Report report) {
+            for (Map.Entry<String, Integer> e : versions.entrySet()) {
+                Optional<Recipe> recipe = finalData.getRecipeLibrary().getRecipeByName(e.getKey());
+                if (recipe.isEmpty()) {
+                    report.lostUpdate("recipe " + e.getKey() + " is missing");
+                } else if (!recipe.get().getInstructions().equals("v" + e.getValue())) {
+                    report.lostUpdate("recipe " + e.getKey() + " has " + recipe.get().getInstructions()
+                            + " instead of v" + e.getValue());
+                }
+            }
+        }
+    }
+
+    /**
+     * The outcome of a run: latency histograms and error counts per operation, and any problems.
+     */
+    public static final class Report {
+        private final Map<Operation, LatencyHistogram> histograms = new EnumMap<>(Operation.class);
+        private final Map<Operation, LongAdder> errors = new EnumMap<>(Operation.class);
+        private final LongAdder lostUpdates = new LongAdder();
+        private final List<String> problems = new ArrayList<>();
+        private String threadKind = "platform";
+        private long elapsedNanos;
+
+        Report() {
+            for (Operation op : Operation.values()) {
+                histograms.put(op, new LatencyHistogram());
+                errors.put(op, new LongAdder());
+            }
+        }
+
+        public LatencyHistogram getHistogram(Operation op) {
+            return histograms.get(op);
+        }
+
+        public long getErrors(Operation op) {
+            return errors.get(op).sum();
+        }
+
+        public long getLostUpdates() {
+            return lostUpdates.sum();
+        }
+
+        public String getThreadKind() {
+            return threadKind;
+        }
+
+        /**
+         * Returns whether every operation succeeded and no update was lost.
+         *
+         * @return true for a clean run
+         */
+        public boolean isClean() {
+            synchronized (problems) {
+                return lostUpdates.sum() == 0 && problems.isEmpty();
+            }
+        }
+
+        private void problem(String description) {
+            synchronized (problems) {
+                if (problems.size() < MAX_ERRORS_KEPT) {
+                    problems.add(description);
+                } else if (problems.size() == MAX_ERRORS_KEPT) {
+                    problems.add("...");
+                }
+            }
+        }
+
+        private void lostUpdate(String description) {
+            lostUpdates.increment();
+            problem("Lost update: " + description);
+        }
+
+        /**
+         * Compares the final data with what the workers say they did.
+         */
+        private void verify(VitaSyncData data, List<Worker> workers) {
+            int workouts = 0;
+            int meals = 0;
+            long protein = 0;
+            int recipes = 0;
+            for (Worker w : workers) {
+                if (w != null) {
+                    workouts += w.workoutsAdded;
+                    meals += w.mealsAdded;
+                    protein += w.proteinAdded;
+                    recipes += w.versions.size();
+                    w.verify(data, this);
+                }
+            }
+            expect("workouts", workouts, data.getWorkoutTracker().size());
+            expect("meals", meals, data.getMealPlan().size());
+            expect("total protein", protein, data.getMealPlan().getTotalProtein());
+            expect("recipes", recipes, data.getRecipeLibrary().size());
+        }
+
+        private static String formatMix(Map<Operation, Integer> mix) {
+            StringBuilder text = new StringBuilder();
+            mix.forEach((op, weight) -> text.append(text.length() == 0 ? "" : ",").append(op.getLabel())
+                    .append('=').append(weight));
+            return text.toString();
+        }
+
+        private void expect(String what, long expected, long actual) {
+            if (expected != actual) {
+                lostUpdate(what + ": expected " + expected + " but found " + actual);
+            }
+        }
+
+        /**
+         * Formats the report as fixed-width text, one line per operation in a fixed order,
+         * so reports from different versions can be diffed line by line.
+         *
+         * @param threadCount the number of workers, for the header
+         * @param seed the seed, for the header
+         * @param mix the operation weights, for the header
+         * @return the report text
+         */
+        public String format(int threadCount, long seed, Map<Operation, Integer> mix) {
+            StringBuilder out = new StringBuilder();
+            double seconds = elapsedNanos / 1e9;
+            out.append(String.format("# VitaSync soak: %d %s threads, %.1f s, seed %d, mix %s%n",
+                    threadCount, threadKind, seconds, seed, formatMix(mix)));
+            out.append(String.format("%-14s %10s %10s %9s %9s %9s %9s %9s %7s%n", "operation", "count", "ops/s",
+                    "p50 us", "p90 us", "p99 us", "p99.9 us", "max us", "errors"));
+            for (Operation op : Operation.values()) {
+                LatencyHistogram h = histograms.get(op);
+                out.append(String.format("%-14s %10d %10.0f %9.1f %9.1f %9.1f %9.1f %9.1f %7d%n", op.getLabel(),
+                        h.getCount(), h.getCount() / seconds, h.getPercentile(0.5) / 1e3,
+                        h.getPercentile(0.9) / 1e3, h.getPercentile(0.99) / 1e3, h.getPercentile(0.999) / 1e3,
+                        h.getMax() / 1e3, errors.get(op).sum()));
+            }
+            out.append(String.format("lost updates: %d%n", lostUpdates.sum()));
+            synchronized (problems) {
+                for (String problem : problems) {
+                    out.append("! ").append(problem).append(System.lineSeparator());
+                }
+            }
+            return out.toString();
+        }
+    }
+}
@@ -0,0 +1,48 @@
+package model;
+
+import diagnostics.HeapFootprint;
+
+/**
+ * Adds a meal to a MealPlan; undoing removes it again.
+ */
+public class AddMealCommand implements Command {
+    private static final long BYTES = HeapFootprint.Layout.current().shallow(AddMealCommand.class);
+
+    private final MealPlan mealPlan;
+    private final Meal meal;
+
+    /**
+     * Constructs a command that adds the meal to the plan.
+     * Requires: mealPlan and meal are non-null.
+     * @param mealPlan the plan to add to.
+     * @param meal the meal to add.
+     */
+    public AddMealCommand(MealPlan mealPlan, Meal meal) {
+        if (mealPlan == null || meal == null) {
+            throw new IllegalArgumentException("Meal plan and meal cannot be null.");
+        }
+        this.mealPlan = mealPlan;
+        this.meal = meal;
+    }
+
+    @Override
+    public boolean execute() {
+        mealPlan.addMeal(meal);
+        return true;
+    }
+
+    @Override
+    public void undo() {
+        mealPlan.removeMeal(meal);
+    }
+
+    @Override
+    public String getDescription() {
+        return "Add Meal";
+    }
+
+    @Override
+    public long estimatedBytes() {
+        return BYTES;
+    }
+}
@@ -0,0 +1,47 @@
+package model;
+
+import diagnostics.HeapFootprint;
+
+/**
+ * Adds a recipe to a RecipeLibrary; undoing removes it again.
+ */
+public class AddRecipeCommand implements Command {
+    private static final long BYTES = HeapFootprint.Layout.current().shallow(AddRecipeCommand.class);
+
+    private final RecipeLibrary library;
+    private final Recipe recipe;
+
+    /**
+     * Constructs a command that adds the recipe to the library.
+     * Requires: library is non-null.
+     * @param library the library to add to.
+     * @param recipe the recipe to add; a null recipe makes execute() return false.
+     */
+    public AddRecipeCommand(RecipeLibrary library, Recipe recipe) {
+        if (library == null) {
+            throw new IllegalArgumentException("Library cannot be null.");
+        }
+        this.library = library;
+        this.recipe = recipe;
+    }
+
+    @Override
+    public boolean execute() {
+        return library.addRecipe(recipe);
+    }
+
+    @Override
+    public void undo() {
+        library.removeRecipe(recipe, library.size() - 1); // usually still the last recipe
+    }
+
+    @Override
+    public String getDescription() {
+        return "Add Recipe";
+    }
+
+    @Override
+    public long estimatedBytes() {
+        return BYTES;
+    }
+}
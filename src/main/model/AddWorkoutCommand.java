@@ -0,0 +1,48 @@
+package model;
+
+import diagnostics.HeapFootprint;
+
+/**
+ * Adds a workout to a WorkoutTracker; undoing removes it again.
+ */
+public class AddWorkoutCommand implements Command {
+    private static final long BYTES = HeapFootprint.Layout.current().shallow(AddWorkoutCommand.class);
+
+    private final WorkoutTracker tracker;
+    private final Workout workout;
+
+    /**
+     * Constructs a command that adds the workout to the tracker.
+     * Requires: tracker and workout are non-null.
+     * @param tracker the tracker to add to.
+     * @param workout the workout to add.
+     */
+    public AddWorkoutCommand(WorkoutTracker tracker, Workout workout) {
+        if (tracker == null || workout == null) {
+            throw new IllegalArgumentException("Tracker and workout cannot be null.");
+        }
+        this.tracker = tracker;
+        this.workout = workout;
+    }
+
+    @Override
+    public boolean execute() {
+        tracker.addWorkout(workout);
+        return true;
+    }
+
+    @Override
+    public void undo() {
+        tracker.removeWorkout(workout);
+    }
+
+    @Override
+    public String getDescription() {
+        return "Add Workout";
+    }
+
+    @Override
+    public long estimatedBytes() {
+        return BYTES;
+    }
+}
@@ -0,0 +1,175 @@
+package model;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+/**
+ * Base class for model objects that publish fine-grained change events.
+ * Objects nobody listens to pay for a single null field: listener state is created on the first
+ * addModelListener call, and fireChange returns immediately while there are no listeners.
+ * Changes made inside batch(...) are queued, coalesced and delivered once the batch ends. A batch
+ * belongs to the thread that started it: changes other threads make meanwhile are delivered at once.
+ */
+public abstract class ChangeNotifier {
+    private volatile Support support;
+
+    /**
+     * Registers a listener for this object's changes.
+     * Requires: listener is non-null.
+     * @param listener the listener to add.
+     */
+    public synchronized void addModelListener(ModelListener listener) {
+        if (listener == null) {
+            throw new IllegalArgumentException("Listener cannot be null.");
+        }
+        if (support == null) {
+            support = new Support();
+        }
+        support.listeners.add(listener);
+    }
+
+    /**
+     * Unregisters a listener.
+     * @param listener the listener to remove.
+     */
+    public synchronized void removeModelListener(ModelListener listener) {
+        if (support != null) {
+            support.listeners.remove(listener);
+        }
+    }
+
+    /**
+     * Runs a group of changes and delivers their events together once it finishes.
+     * Requires: changes is non-null.
+     * Effects: Events this thread fires while the batch runs are coalesced where possible (e.g.
+     *          many appends become one event) and delivered after the outermost batch ends. If
+     *          another thread's batch is running, changes runs unbatched.
+     * @param changes the changes to make.
+     */
+    public void batch(Runnable changes) {
+        if (!beginBatch()) {
+            changes.run();
+            return;
+        }
+        try {
+            changes.run();
+        } finally {
+            List<ModelEvent> events = endBatch();
+            for (ModelEvent event : events) {
+                deliver(event);
+            }
+        }
+    }
+
+    /**
+     * Publishes a change to all listeners, or queues it if a batch is running.
+     * @param type the kind of change.
+     * @param index the position of the change, or -1 if not applicable.
+     * @param item the item concerned.
+     */
+    protected void fireChange(ModelEvent.Type type, int index, Object item) {
+        Support current = support;
+        if (current == null || current.listeners.isEmpty()) {
+            return;
+        }
+        publish(current, new ModelEvent(this, type, index, item));
+    }
+
+    /**
+     * Publishes one change covering several consecutive items, or queues it if a batch is running.
+     * @param type the kind of change.
+     * @param index the position of the first item.
+     * @param items the items concerned, in index order; the list is not copied.
+     */
+    protected void fireChanges(ModelEvent.Type type, int index, List<?> items) {
+        Support current = support;
+        if (current == null || current.listeners.isEmpty() || items.isEmpty()) {
+            return;
+        }
+        publish(current, new ModelEvent(this, type, index, items));
+    }
+
+    /**
+     * Copies the items of a bulk add, checking them all before anything is changed.
+     * @param items the items to add.
+     * @param kind the item kind, for the error message, e.g. "Workout".
+     * @param <T> the item type.
+     * @return a copy of items that later changes to items do not affect.
+     * @throws IllegalArgumentException if items or one of its elements is null.
+     */
+    static <T> List<T> checkedCopy(Collection<? extends T> items, String kind) {
+        if (items == null) {
+            throw new IllegalArgumentException(kind + "s cannot be null.");
+        }
+        List<T> copy = new ArrayList<>(items);
+        for (int i = 0; i < copy.size(); i++) {
+            if (copy.get(i) == null) {
+                throw new IllegalArgumentException(kind + " " + i + " is null; nothing was added.");
+            }
+        }
+        return copy;
+    }
+
+    private void publish(Support current, ModelEvent event) {
+        synchronized (this) {
+            if (current.owner == Thread.currentThread()) {
+                current.queue(event);
+                return;
+            }
+        }
+        deliver(event);
+    }
+
+    private synchronized boolean beginBatch() {
+        if (support == null) {
+            support = new Support();
+        }
+        Thread current = Thread.currentThread();
+        if (support.owner != null && support.owner != current) {
+            return false;
+        }
+        support.owner = current;
+        support.depth++;
+        return true;
+    }
+
+    private synchronized List<ModelEvent> endBatch() {
+        support.depth--;
+        if (support.depth > 0) {
+            return new ArrayList<>();
+        }
+        support.owner = null;
+        if (support.pending.isEmpty()) {
+            return new ArrayList<>();
+        }
+        List<ModelEvent> events = support.pending;
+        support.pending = new ArrayList<>();
+        return events;
+    }
+
+    private void deliver(ModelEvent event) {
+        for (ModelListener listener : support.listeners) {
+            listener.modelChanged(event);
+        }
+    }
+
+    // Listener and batching state, allocated only for objects that are observed or batched.
+    private static final class Support {
+        private final List<ModelListener> listeners = new CopyOnWriteArrayList<>();
+        private List<ModelEvent> pending = new ArrayList<>();
+        private Thread owner; // the thread whose batch is running, or null
+        private int depth;
+
+        private void queue(ModelEvent event) {
+            int last = pending.size() - 1;
+            ModelEvent merged = last >= 0 ? pending.get(last).coalesce(event) : null;
+            if (merged != null) {
+                pending.set(last, merged);
+            } else {
+                pending.add(event);
+            }
+        }
+    }
+}
@@ -0,0 +1,45 @@
+package model;
+
+/**
+ * A reversible operation on the model, recorded by a CommandHistory.
+ * A command stores only what it needs to reverse itself (references to the objects it added,
+ * removed or replaced), never a copy of the surrounding state.
+ */
+public interface Command {
+
+    /**
+     * Performs the operation.
+     * Modifies: the model objects this command targets.
+     * @return true if the model changed and the command should be recorded.
+     */
+    boolean execute();
+
+    /**
+     * Reverses a previous successful execute().
+     * Modifies: the model objects this command targets.
+     */
+    void undo();
+
+    /**
+     * Returns a short description for menus, e.g. "Delete Recipe".
+     * @return the description.
+     */
+    String getDescription();
+
+    /**
+     * Returns an estimate of the heap retained by keeping this command in the history.
+     * @return the estimated size in bytes.
+     */
+    long estimatedBytes();
+
+    /**
+     * Tries to fold a command executed right after this one into this command, so that
+     * a burst of edits is undone in one step.
+     * Modifies: this, if the merge succeeds.
+     * @param next the command executed immediately after this one.
+     * @return true if next was merged and should not be recorded separately.
+     */
+    default boolean mergeWith(Command next) {
+        return false;
+    }
+}
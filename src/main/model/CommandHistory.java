@@ -0,0 +1,147 @@
+package model;
+
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.function.LongSupplier;
+
+/**
+ * An undo/redo log of reversible model commands.
+ * Each step of undo() or redo() reverses or replays exactly one recorded command, never the whole
+ * history. Most steps take O(log n) in the size of the model; undoing or redoing a recipe deletion
+ * shifts the recipes after it and so takes O(n) (see DeleteRecipeCommand). The history keeps no
+ * state copies, only the commands' own inverse deltas, and it is bounded: once the estimated size
+ * of all recorded commands exceeds the memory cap, the oldest undo steps are forgotten. Commands
+ * executed within the coalescing window of the previous one may be merged into it (see
+ * Command.mergeWith).
+ */
+public class CommandHistory {
+    public static final long DEFAULT_MAX_BYTES = 1L << 20;
+    public static final long DEFAULT_COALESCE_MILLIS = 1000;
+
+    private final long maxBytes;
+    private final long coalesceNanos;
+    private final LongSupplier clock;
+    private final Deque<Command> undoStack;
+    private final Deque<Command> redoStack;
+    private long usedBytes;
+    private long lastExecuteNanos;
+
+    /**
+     * Constructs an empty history with a 1 MiB cap and a one second coalescing window.
+     */
+    public CommandHistory() {
+        this(DEFAULT_MAX_BYTES, DEFAULT_COALESCE_MILLIS, System::nanoTime);
+    }
+
+    /**
+     * Constructs an empty history.
+     * Requires: maxBytes > 0, coalesceMillis >= 0 and clock is non-null.
+     * @param maxBytes the memory cap for recorded commands.
+     * @param coalesceMillis how soon after a command the next may be merged into it; 0 disables merging.
+     * @param clock the source of nanosecond timestamps.
+     */
+    public CommandHistory(long maxBytes, long coalesceMillis, LongSupplier clock) {
+        if (maxBytes <= 0 || coalesceMillis < 0 || clock == null) {
+            throw new IllegalArgumentException("Invalid history configuration.");
+        }
+        this.maxBytes = maxBytes;
+        this.coalesceNanos = coalesceMillis * 1_000_000L;
+        this.clock = clock;
+        this.undoStack = new ArrayDeque<>();
+        this.redoStack = new ArrayDeque<>();
+    }
+
+    /**
+     * Executes a command and records it for undo.
+     * Requires: command is non-null.
+     * Modifies: this and the model objects the command targets.
+     * Effects: Records nothing if the command made no change; otherwise clears the redo stack and
+     *          merges the command into the previous one when possible.
+     * @param command the command to execute.
+     * @return the result of command.execute().
+     */
+    public boolean execute(Command command) {
+        if (!command.execute()) {
+            return false;
+        }
+        long now = clock.getAsLong();
+        clearRedo();
+        Command last = undoStack.peekLast();
+        boolean recent = now - lastExecuteNanos <= coalesceNanos && coalesceNanos > 0;
+        lastExecuteNanos = now;
+        if (last != null && recent && last.mergeWith(command)) {
+            return true;
+        }
+        undoStack.addLast(command);
+        usedBytes += command.estimatedBytes();
+        trim();
+        return true;
+    }
+
+    /**
+     * Undoes the most recent command, if any.
+     * Modifies: this and the model objects the command targets.
+     * @return the undone command's description, or null if there was nothing to undo.
+     */
+    public String undo() {
+        Command command = undoStack.pollLast();
+        if (command == null) {
+            return null;
+        }
+        command.undo();
+        redoStack.addLast(command);
+        lastExecuteNanos = 0;
+        return command.getDescription();
+    }
+
+    /**
+     * Redoes the most recently undone command, if any.
+     * Modifies: this and the model objects the command targets.
+     * Effects: A command that no longer applies (its execute() makes no change) is dropped rather
+     *          than recorded for undo.
+     * @return the redone command's description, or null if there was nothing to redo.
+     */
+    public String redo() {
+        Command command = redoStack.pollLast();
+        if (command == null) {
+            return null;
+        }
+        if (!command.execute()) {
+            usedBytes -= command.estimatedBytes();
+            return null;
+        }
+        undoStack.addLast(command);
+        lastExecuteNanos = 0;
+        return command.getDescription();
+    }
+
+    public boolean canUndo() {
+        return !undoStack.isEmpty();
+    }
+
+    public boolean canRedo() {
+        return !redoStack.isEmpty();
+    }
+
+    /**
+     * Returns the estimated memory retained by all recorded commands.
+     * @return the size in bytes.
+     */
+    public long getUsedBytes() {
+        return usedBytes;
+    }
+
+    private void clearRedo() {
+        for (Command command : redoStack) {
+            usedBytes -= command.estimatedBytes();
+        }
+        redoStack.clear();
+    }
+
+    // Effects: forgets the oldest undo steps until the history fits in maxBytes.
+    private void trim() {
+        while (usedBytes > maxBytes && undoStack.size() > 1) {
+            usedBytes -= undoStack.pollFirst().estimatedBytes();
+        }
+    }
+}
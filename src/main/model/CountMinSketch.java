@@ -0,0 +1,144 @@
+package model;
+
+/**
+ * A count-min sketch that estimates how often each string has been added.
+ * With width w = ceil(e / epsilon) and depth d = ceil(ln(1 / delta)), an estimate never
+ * undercounts, and overcounts by more than epsilon * (total count) with probability at most delta.
+ * Memory is fixed at w * d counters. Sketches with the same dimensions can be merged
+ * by adding their counters.
+ */
+public class CountMinSketch {
+    public static final double DEFAULT_EPSILON = 0.001;
+    public static final double DEFAULT_DELTA = 0.01;
+
+    private final int width;
+    private final int depth;
+    private final long[][] table;
+    private long totalCount;
+
+    /**
+     * Constructs an empty count-min sketch with the default error bounds.
+     */
+    public CountMinSketch() {
+        this(DEFAULT_EPSILON, DEFAULT_DELTA);
+    }
+
+    /**
+     * Constructs an empty count-min sketch.
+     * Requires: 0 < epsilon < 1 and 0 < delta < 1.
+     * Effects: Sizes the counter table for the requested error bounds.
+     * @param epsilon the additive error as a fraction of the total count.
+     * @param delta the probability that an estimate exceeds the error bound.
+     */
+    public CountMinSketch(double epsilon, double delta) {
+        if (epsilon <= 0 || epsilon >= 1 || delta <= 0 || delta >= 1) {
+            throw new IllegalArgumentException("Epsilon and delta must be between 0 and 1.");
+        }
+        this.width = (int) Math.ceil(Math.E / epsilon);
+        this.depth = (int) Math.ceil(Math.log(1 / delta));
+        this.table = new long[depth][width];
+    }
+
+    /**
+     * Adds one occurrence of the given item.
+     * @param item the item to count.
+     */
+    public void add(String item) {
+        add(item, 1);
+    }
+
+    /**
+     * Adds occurrences of the given item.
+     * Requires: item is non-null and count >= 0.
+     * Modifies: this.
+     * Effects: Increments one counter in every row.
+     * @param item the item to count.
+     * @param count the number of occurrences.
+     */
+    public synchronized void add(String item, long count) {
+        if (item == null || count < 0) {
+            throw new IllegalArgumentException("Item cannot be null and count cannot be negative.");
+        }
+        long hash = SketchHashing.hash64(item);
+        for (int row = 0; row < depth; row++) {
+            table[row][bucket(hash, row)] += count;
+        }
+        totalCount += count;
+    }
+
+    /**
+     * Returns the estimated number of occurrences of the given item.
+     * Requires: item is non-null.
+     * @param item the item to look up.
+     * @return the smallest counter across all rows.
+     */
+    public synchronized long estimate(String item) {
+        long hash = SketchHashing.hash64(item);
+        long min = Long.MAX_VALUE;
+        for (int row = 0; row < depth; row++) {
+            min = Math.min(min, table[row][bucket(hash, row)]);
+        }
+        return min;
+    }
+
+    /**
+     * Merges another sketch into this one.
+     * Requires: other is non-null and has the same width and depth.
+     * Modifies: this.
+     * Effects: Adds the other sketch's counters to this sketch's counters.
+     * @param other the sketch to merge in.
+     */
+    public void merge(CountMinSketch other) {
+        if (other == null || other.width != width || other.depth != depth) {
+            throw new IllegalArgumentException("Can only merge sketches with the same dimensions.");
+        }
+        long[][] theirs = other.copyTable();
+        long theirTotal = other.getTotalCount();
+        synchronized (this) {
+            for (int row = 0; row < depth; row++) {
+                for (int col = 0; col < width; col++) {
+                    table[row][col] += theirs[row][col];
+                }
+            }
+            totalCount += theirTotal;
+        }
+    }
+
+    /**
+     * Returns the total number of occurrences added.
+     * @return the total count.
+     */
+    public synchronized long getTotalCount() {
+        return totalCount;
+    }
+
+    /**
+     * Returns the number of counters per row.
+     * @return the width.
+     */
+    public int getWidth() {
+        return width;
+    }
+
+    /**
+     * Returns the number of rows.
+     * @return the depth.
+     */
+    public int getDepth() {
+        return depth;
+    }
+
+    private synchronized long[][] copyTable() {
+        long[][] copy = new long[depth][];
+        for (int row = 0; row < depth; row++) {
+            copy[row] = table[row].clone();
+        }
+        return copy;
+    }
+
+    private int bucket(long hash, int row) {
+        int h1 = (int) hash;
+        int h2 = (int) (hash >>> 32);
+        return Math.floorMod(h1 + row * h2, width);
+    }
+}
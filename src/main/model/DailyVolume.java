@@ -0,0 +1,143 @@
+package model;
+
+import java.time.LocalDate;
+
+/**
+ * Training volume (completed reps) per calendar day, stored in one array indexed by epoch day.
+ * Adding or removing a workout touches exactly one day cell, so views can update just that cell.
+ * The array covers the days from the earliest to the latest day seen and grows by doubling.
+ * Thread-safe.
+ */
+public class DailyVolume {
+    private static final int INITIAL_CAPACITY = 64;
+
+    private long[] reps;
+    private long firstSlotDay;   // epoch day stored at reps[0]
+    private long minDay;
+    private long maxDay;
+    private long maxReps;
+
+    /**
+     * Constructs an empty aggregate.
+     */
+    public DailyVolume() {
+        reps = new long[0];
+        minDay = Long.MAX_VALUE;
+        maxDay = Long.MIN_VALUE;
+    }
+
+    /**
+     * Adds reps to a day.
+     * Modifies: this
+     * Effects: Grows the array if day lies outside it; negative reps subtract (e.g. on removal).
+     * @param day the day.
+     * @param delta the reps to add.
+     * @return the day's new total.
+     */
+    public synchronized long add(LocalDate day, long delta) {
+        long epochDay = day.toEpochDay();
+        ensureCovers(epochDay);
+        return addCovered(epochDay, delta);
+    }
+
+    /**
+     * Adds reps to many days at once.
+     * Requires: days and deltas have the same length; no day is null.
+     * Modifies: this
+     * Effects: Takes the lock once and grows the array at most twice, to cover the earliest and the
+     *          latest day, before adding deltas[i] to days[i] for every i.
+     * @param days the days.
+     * @param deltas the reps to add to each day.
+     */
+    public synchronized void addAll(LocalDate[] days, long[] deltas) {
+        long[] epochDays = new long[days.length];
+        long low = Long.MAX_VALUE;
+        long high = Long.MIN_VALUE;
+        for (int i = 0; i < days.length; i++) {
+            epochDays[i] = days[i].toEpochDay();
+            low = Math.min(low, epochDays[i]);
+            high = Math.max(high, epochDays[i]);
+        }
+        if (days.length == 0) {
+            return;
+        }
+        ensureCovers(low);
+        ensureCovers(high);
+        for (int i = 0; i < days.length; i++) {
+            addCovered(epochDays[i], deltas[i]);
+        }
+    }
+
+    private long addCovered(long epochDay, long delta) {
+        int slot = (int) (epochDay - firstSlotDay);
+        reps[slot] += delta;
+        minDay = Math.min(minDay, epochDay);
+        maxDay = Math.max(maxDay, epochDay);
+        maxReps = Math.max(maxReps, reps[slot]);
+        return reps[slot];
+    }
+
+    /**
+     * Returns the reps recorded on a day.
+     * @param day the day.
+     * @return the day's total, or 0 if nothing was recorded.
+     */
+    public synchronized long get(LocalDate day) {
+        long slot = day.toEpochDay() - firstSlotDay;
+        return slot < 0 || slot >= reps.length ? 0 : reps[(int) slot];
+    }
+
+    public synchronized boolean isEmpty() {
+        return minDay > maxDay;
+    }
+
+    /**
+     * Returns the earliest day with recorded reps.
+     * Requires: !isEmpty()
+     * @return the first day.
+     */
+    public synchronized LocalDate getFirstDay() {
+        return LocalDate.ofEpochDay(minDay);
+    }
+
+    /**
+     * Returns the latest day with recorded reps.
+     * Requires: !isEmpty()
+     * @return the last day.
+     */
+    public synchronized LocalDate getLastDay() {
+        return LocalDate.ofEpochDay(maxDay);
+    }
+
+    /**
+     * Returns the highest daily total seen so far.
+     * Effects: Never decreases, even when reps are later subtracted, so colour scales stay stable.
+     * @return the peak daily reps.
+     */
+    public synchronized long getPeak() {
+        return maxReps;
+    }
+
+    /**
+     * Makes the array cover the given day.
+     * Modifies: this
+     * Effects: Reallocates with at least double the capacity, keeping existing totals at their days.
+     */
+    private void ensureCovers(long epochDay) {
+        if (reps.length == 0) {
+            reps = new long[INITIAL_CAPACITY];
+            firstSlotDay = epochDay - INITIAL_CAPACITY / 2;
+        }
+        long low = Math.min(firstSlotDay, epochDay);
+        long high = Math.max(firstSlotDay + reps.length - 1, epochDay);
+        if (low == firstSlotDay && high == firstSlotDay + reps.length - 1) {
+            return;
+        }
+        int capacity = (int) Math.max(2L * reps.length, high - low + 1 + reps.length / 2);
+        long newFirst = epochDay < firstSlotDay ? high - capacity + 1 : low;
+        long[] grown = new long[capacity];
+        System.arraycopy(reps, 0, grown, (int) (firstSlotDay - newFirst), reps.length);
+        reps = grown;
+        firstSlotDay = newFirst;
+    }
+}
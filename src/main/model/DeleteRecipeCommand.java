@@ -0,0 +1,66 @@
+package model;
+
+import diagnostics.HeapFootprint;
+
+import java.util.Optional;
+
+/**
+ * Deletes a recipe by name from a RecipeLibrary; undoing puts the same recipe back
+ * at the position it was deleted from. The name is looked up once; redo removes the same recipe
+ * object again, checking the remembered position before falling back to a scan, so a duplicate
+ * name cannot make it delete a different recipe. Removing or re-inserting at a position shifts
+ * the recipes after it, which costs time proportional to their number (see PersistentVector).
+ */
+public class DeleteRecipeCommand implements Command {
+    private static final long BYTES = HeapFootprint.Layout.current().shallow(DeleteRecipeCommand.class);
+
+    private final RecipeLibrary library;
+    private final String name;
+    private Recipe deleted;
+    private int index = -1;
+
+    /**
+     * Constructs a command that deletes the named recipe.
+     * Requires: library is non-null.
+     * @param library the library to delete from.
+     * @param name the recipe name (case-insensitive).
+     */
+    public DeleteRecipeCommand(RecipeLibrary library, String name) {
+        if (library == null) {
+            throw new IllegalArgumentException("Library cannot be null.");
+        }
+        this.library = library;
+        this.name = name;
+    }
+
+    @Override
+    public boolean execute() {
+        if (deleted == null) {
+            Optional<Recipe> found = library.getRecipeByName(name);
+            if (!found.isPresent()) {
+                return false;
+            }
+            deleted = found.get();
+        }
+        index = library.removeRecipe(deleted, index);
+        return index >= 0;
+    }
+
+    @Override
+    public void undo() {
+        library.insertRecipe(index, deleted);
+    }
+
+    @Override
+    public String getDescription() {
+        return "Delete Recipe";
+    }
+
+    /**
+     * Returns the overhead of this command plus the deleted recipe it keeps alive.
+     */
+    @Override
+    public long estimatedBytes() {
+        return BYTES + (deleted == null ? 0 : HeapFootprint.sizeOf(deleted));
+    }
+}
@@ -0,0 +1,107 @@
+package model;
+
+import diagnostics.HeapFootprint;
+
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Replaces a recipe's ingredients and instructions; undoing restores the previous recipe.
+ * Consecutive edits of the same recipe can be merged so that they undo in one step.
+ * The name is looked up once; undo and redo swap the exact recipe objects at the remembered
+ * position, which takes O(log n) when nothing has moved them, and never touches another recipe
+ * that happens to share the name.
+ */
+public class EditRecipeCommand implements Command {
+    private static final long BYTES = HeapFootprint.Layout.current().shallow(EditRecipeCommand.class);
+
+    private final RecipeLibrary library;
+    private final String name;
+    private final List<String> newIngredients;
+    private final String newInstructions;
+    private Recipe previous;
+    private Recipe updated;
+    private int index = -1;
+
+    /**
+     * Constructs a command that edits the named recipe.
+     * Requires: library is non-null.
+     * @param library the library containing the recipe.
+     * @param name the recipe name (case-insensitive).
+     * @param newIngredients the replacement ingredients.
+     * @param newInstructions the replacement instructions.
+     */
+    public EditRecipeCommand(RecipeLibrary library, String name, List<String> newIngredients,
+                             String newInstructions) {
+        if (library == null) {
+            throw new IllegalArgumentException("Library cannot be null.");
+        }
+        this.library = library;
+        this.name = name;
+        this.newIngredients = newIngredients;
+        this.newInstructions = newInstructions;
+    }
+
+    /**
+     * Replaces the recipe. Returns false if the name is null/empty, no recipe has that name,
+     * or the new details are invalid, mirroring RecipeLibrary.editRecipe.
+     */
+    @Override
+    public boolean execute() {
+        if (updated == null) {
+            if (name == null || name.isEmpty()) {
+                return false;
+            }
+            try {
+                updated = new Recipe(name, newIngredients, newInstructions);
+            } catch (IllegalArgumentException e) {
+                return false;
+            }
+        }
+        if (previous == null) {
+            Optional<Recipe> old = library.getRecipeByName(name);
+            if (!old.isPresent()) {
+                return false;
+            }
+            previous = old.get();
+        }
+        index = library.replaceRecipe(previous, updated, index);
+        return index >= 0;
+    }
+
+    @Override
+    public void undo() {
+        library.replaceRecipe(updated, previous, index);
+    }
+
+    @Override
+    public String getDescription() {
+        return "Edit Recipe";
+    }
+
+    /**
+     * Returns the overhead of this command plus the replaced recipe it keeps alive.
+     */
+    @Override
+    public long estimatedBytes() {
+        return BYTES + (previous == null ? 0 : HeapFootprint.sizeOf(previous));
+    }
+
+    /**
+     * Merges a following edit of the same recipe, keeping this command's original recipe
+     * and the other command's final one.
+     */
+    @Override
+    public boolean mergeWith(Command next) {
+        if (!(next instanceof EditRecipeCommand)) {
+            return false;
+        }
+        EditRecipeCommand other = (EditRecipeCommand) next;
+        if (other.library != library || !other.name.equalsIgnoreCase(name)) {
+            return false;
+        }
+        updated = other.updated;
+        index = other.index;
+        return true;
+    }
+}
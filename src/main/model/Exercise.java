@@ -3,15 +3,26 @@ package model;
 import org.json.JSONArray;
 import org.json.JSONObject;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.List;
 
 /**
  * Represents an exercise in a workout session.
  * Consists of a name and a list of exercise sets.
+ * The name is the exercise catalog's shared instance, so repeated exercises do not copy it.
+ * Consecutive identical sets are stored as one run-length group (count, target reps, completed
+ * reps) in a single int array, so a 5x5 costs one group rather than five objects. Sets are
+ * values: addSet records a set's reps, and checkOffRep changes one set in place, splitting its
+ * group when that set's completion diverges and merging neighbours again once they match.
  */
-public class Exercise {
+public class Exercise extends ChangeNotifier {
+    private static final int[] NO_GROUPS = new int[0];
+    private static final int WIDTH = 3; // count, targetReps, completedReps
+
     private String name;
-    private List<ExerciseSet> sets;
+    private int[] groups;
+    private int groupCount;
+    private int setCount;
 
     /**
      * Constructs an Exercise with the specified name.
@@ -24,22 +35,134 @@ public class Exercise {
         if (name == null || name.isEmpty()) {
             throw new IllegalArgumentException("Exercise name cannot be null or empty.");
         }
-        this.name = name;
-        this.sets = new ArrayList<>();
+        this.name = StringCatalog.exercises().intern(name);
+        this.groups = NO_GROUPS;
     }
 
     /**
      * Adds a set to this exercise.
      * Requires: set is non-null.
      * Modifies: the sets list.
-     * Effects: Appends the exercise set.
+     * Effects: Appends a set with the given set's current reps and fires an ADDED event; later
+     *          changes to set itself are not seen by this exercise (use checkOffRep(int)).
      * @param set the exercise set to add.
      */
     public void addSet(ExerciseSet set) {
         if (set == null) {
             throw new IllegalArgumentException("Exercise set cannot be null.");
         }
-        sets.add(set);
+        append(1, set.getTargetReps(), set.getCompletedReps());
+        fireChange(ModelEvent.Type.ADDED, setCount - 1, set);
+    }
+
+    /**
+     * Adds a run of identical sets to this exercise.
+     * Requires: group is non-null.
+     * Modifies: the sets list.
+     * Effects: Appends group.getCount() sets and fires one ADDED event whose item is the group.
+     * @param group the sets to add.
+     */
+    public void addSetGroup(SetGroup group) {
+        if (group == null) {
+            throw new IllegalArgumentException("Set group cannot be null.");
+        }
+        append(group.getCount(), group.getTargetReps(), group.getCompletedReps());
+        fireChange(ModelEvent.Type.ADDED, setCount - group.getCount(), group);
+    }
+
+    /**
+     * Marks one rep of one set as completed.
+     * Requires: 0 <= setIndex < getSetCount().
+     * Modifies: this
+     * Effects: If the set is not yet complete, checks off one rep, regroups the sets around it and
+     *          fires an UPDATED event with the set's new reps; otherwise changes nothing.
+     * @param setIndex the position of the set.
+     * @return true if a rep was checked off.
+     * @throws IndexOutOfBoundsException if there is no such set.
+     */
+    public boolean checkOffRep(int setIndex) {
+        if (setIndex < 0 || setIndex >= setCount) {
+            throw new IndexOutOfBoundsException("No set " + setIndex + " in " + name + ".");
+        }
+        int g = 0;
+        int first = 0;
+        while (first + groups[g * WIDTH] <= setIndex) {
+            first += groups[g++ * WIDTH];
+        }
+        if (groupCompleted(g) == groupTarget(g)) {
+            return false;
+        }
+        g = isolate(g, setIndex - first);
+        groups[g * WIDTH + 2]++;
+        ExerciseSet updated = new ExerciseSet(groupTarget(g), groupCompleted(g));
+        mergeAround(g);
+        fireChange(ModelEvent.Type.UPDATED, setIndex, updated);
+        return true;
+    }
+
+    /**
+     * Appends sets, extending the last group if its reps match.
+     */
+    private void append(int count, int targetReps, int completedReps) {
+        int last = groupCount - 1;
+        if (last >= 0 && groupTarget(last) == targetReps && groupCompleted(last) == completedReps) {
+            groups[last * WIDTH] += count;
+        } else {
+            insertGroup(groupCount, count, targetReps, completedReps);
+        }
+        setCount += count;
+    }
+
+    /**
+     * Splits group g so that the set at offset within it is a group of its own.
+     * @return the index of the single-set group.
+     */
+    private int isolate(int g, int offset) {
+        int after = groupSize(g) - offset - 1;
+        if (after > 0) {
+            groups[g * WIDTH] = offset + 1;
+            insertGroup(g + 1, after, groupTarget(g), groupCompleted(g));
+        }
+        if (offset > 0) {
+            groups[g * WIDTH] = offset;
+            insertGroup(g + 1, 1, groupTarget(g), groupCompleted(g));
+            return g + 1;
+        }
+        return g;
+    }
+
+    /**
+     * Merges group g with whichever neighbours now have the same reps.
+     */
+    private void mergeAround(int g) {
+        if (g + 1 < groupCount && sameReps(g, g + 1)) {
+            groups[g * WIDTH] += groupSize(g + 1);
+            removeGroup(g + 1);
+        }
+        if (g > 0 && sameReps(g - 1, g)) {
+            groups[(g - 1) * WIDTH] += groupSize(g);
+            removeGroup(g);
+        }
+    }
+
+    private boolean sameReps(int a, int b) {
+        return groupTarget(a) == groupTarget(b) && groupCompleted(a) == groupCompleted(b);
+    }
+
+    private void insertGroup(int g, int count, int targetReps, int completedReps) {
+        if ((groupCount + 1) * WIDTH > groups.length) {
+            groups = Arrays.copyOf(groups, Math.max(WIDTH, groups.length * 2));
+        }
+        System.arraycopy(groups, g * WIDTH, groups, (g + 1) * WIDTH, (groupCount - g) * WIDTH);
+        groups[g * WIDTH] = count;
+        groups[g * WIDTH + 1] = targetReps;
+        groups[g * WIDTH + 2] = completedReps;
+        groupCount++;
+    }
+
+    private void removeGroup(int g) {
+        System.arraycopy(groups, (g + 1) * WIDTH, groups, g * WIDTH, (groupCount - g - 1) * WIDTH);
+        groupCount--;
     }
 
     /**
@@ -52,25 +175,95 @@ public class Exercise {
 
     /**
      * Returns the list of sets in this exercise.
-     * @return a copy of the exercise sets.
+     * @return new sets with the same reps; changing them does not change this exercise.
      */
     public List<ExerciseSet> getSets() {
-        return new ArrayList<>(sets);
+        List<ExerciseSet> sets = new ArrayList<>(setCount);
+        for (int g = 0; g < groupCount; g++) {
+            for (int i = 0; i < groupSize(g); i++) {
+                sets.add(new ExerciseSet(groupTarget(g), groupCompleted(g)));
+            }
+        }
+        return sets;
     }
-    
+
+    /**
+     * Returns the sets as runs of consecutive identical sets, in order.
+     * @return the set groups.
+     */
+    public List<SetGroup> getSetGroups() {
+        List<SetGroup> result = new ArrayList<>(groupCount);
+        for (int g = 0; g < groupCount; g++) {
+            result.add(new SetGroup(groupSize(g), groupTarget(g), groupCompleted(g)));
+        }
+        return result;
+    }
+
+    public int getSetCount() {
+        return setCount;
+    }
+
+    /**
+     * Returns the total number of completed reps across all sets.
+     * @return the sum of completed reps.
+     */
+    public int getTotalCompletedReps() {
+        int total = 0;
+        for (int g = 0; g < groupCount; g++) {
+            total += groupSize(g) * groupCompleted(g);
+        }
+        return total;
+    }
+
+    /**
+     * Returns the number of set groups, for allocation-free reads within the model.
+     * @return the group count.
+     */
+    int groupCount() {
+        return groupCount;
+    }
+
+    int groupSize(int g) {
+        return groups[g * WIDTH];
+    }
+
+    int groupTarget(int g) {
+        return groups[g * WIDTH + 1];
+    }
+
+    int groupCompleted(int g) {
+        return groups[g * WIDTH + 2];
+    }
+
     /**
      * Returns this Exercise as a JSON object.
      * Effects: Converts the exercise name and its sets into a JSONObject.
      * @return a JSONObject representation of this Exercise.
      */
     public JSONObject toJson() {
+        return toJson(false);
+    }
+
+    /**
+     * Returns this Exercise as a JSON object, optionally with its sets run-length encoded.
+     * Effects: Writes "sets" with one object per set, or, if compactSets, "setGroups" with one
+     *          {"count", "targetReps", "completedReps"} object per group.
+     * @param compactSets whether to write set groups instead of individual sets.
+     * @return a JSONObject representation of this Exercise.
+     */
+    public JSONObject toJson(boolean compactSets) {
         JSONObject json = new JSONObject();
         json.put("name", name);
         JSONArray setsArray = new JSONArray();
-        for (ExerciseSet set : sets) {
-            setsArray.put(set.toJson());
+        for (int g = 0; g < groupCount; g++) {
+            if (compactSets) {
+                setsArray.put(new SetGroup(groupSize(g), groupTarget(g), groupCompleted(g)).toJson());
+            }
+            for (int i = 0; !compactSets && i < groupSize(g); i++) {
+                setsArray.put(new ExerciseSet(groupTarget(g), groupCompleted(g)).toJson());
+            }
         }
-        json.put("sets", setsArray);
+        json.put(compactSets ? "setGroups" : "sets", setsArray);
         return json;
     }
 }
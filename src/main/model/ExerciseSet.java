@@ -6,7 +6,7 @@ import org.json.JSONObject;
  * Represents a set of an exercise with a target number of reps.
  * Allows marking each rep as completed.
  */
-public class ExerciseSet {
+public class ExerciseSet extends ChangeNotifier {
     private int targetReps;
     private int completedReps;
 
@@ -25,14 +25,26 @@ public class ExerciseSet {
         this.completedReps = 0;
     }
 
+    /**
+     * Constructs an ExerciseSet with reps already completed, as read back from an Exercise.
+     * Requires: 0 < targetReps and 0 <= completedReps <= targetReps.
+     * @param targetReps the target number of reps.
+     * @param completedReps the number of completed reps.
+     */
+    ExerciseSet(int targetReps, int completedReps) {
+        this.targetReps = targetReps;
+        this.completedReps = completedReps;
+    }
+
     /**
      * Marks one rep as completed.
      * Modifies: Increments the completed rep count if it is less than the target.
-     * Effects: Checks off one rep.
+     * Effects: Checks off one rep and fires an UPDATED event if the count changed.
      */
     public void checkOffRep() {
         if (completedReps < targetReps) {
             completedReps++;
+            fireChange(ModelEvent.Type.UPDATED, -1, this);
         }
     }
 
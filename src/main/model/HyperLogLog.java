@@ -0,0 +1,135 @@
+package model;
+
+/**
+ * A HyperLogLog sketch that estimates the number of distinct strings offered to it.
+ * Memory is fixed at 2^precision one-byte registers regardless of how many values are offered.
+ * The relative standard error of the estimate is 1.04 / sqrt(2^precision),
+ * e.g. about 0.81% for the default precision of 14 (16 KiB of registers).
+ * Two sketches with the same precision can be merged, which yields exactly the sketch
+ * that would have been built from the union of both inputs.
+ */
+public class HyperLogLog {
+    public static final int DEFAULT_PRECISION = 14;
+    private static final int MIN_PRECISION = 4;
+    private static final int MAX_PRECISION = 18;
+
+    private final int precision;
+    private final byte[] registers;
+
+    /**
+     * Constructs an empty HyperLogLog with the default precision.
+     */
+    public HyperLogLog() {
+        this(DEFAULT_PRECISION);
+    }
+
+    /**
+     * Constructs an empty HyperLogLog.
+     * Requires: 4 <= precision <= 18.
+     * Effects: Allocates 2^precision registers.
+     * @param precision the number of index bits.
+     */
+    public HyperLogLog(int precision) {
+        if (precision < MIN_PRECISION || precision > MAX_PRECISION) {
+            throw new IllegalArgumentException("Precision must be between 4 and 18.");
+        }
+        this.precision = precision;
+        this.registers = new byte[1 << precision];
+    }
+
+    /**
+     * Offers a value to the sketch.
+     * Requires: value is non-null.
+     * Modifies: this.
+     * Effects: Updates the register selected by the value's hash.
+     * @param value the value to count.
+     */
+    public synchronized void offer(String value) {
+        if (value == null) {
+            throw new IllegalArgumentException("Value cannot be null.");
+        }
+        long hash = SketchHashing.hash64(value);
+        int index = (int) (hash >>> (Long.SIZE - precision));
+        long remaining = (hash << precision) | (1L << (precision - 1));
+        byte rank = (byte) (Long.numberOfLeadingZeros(remaining) + 1);
+        if (rank > registers[index]) {
+            registers[index] = rank;
+        }
+    }
+
+    /**
+     * Returns the estimated number of distinct values offered so far.
+     * Effects: Uses linear counting for small cardinalities and the raw HLL estimate otherwise.
+     * @return the estimated distinct count.
+     */
+    public synchronized long cardinality() {
+        int m = registers.length;
+        double sum = 0;
+        int zeros = 0;
+        for (byte r : registers) {
+            sum += 1.0 / (1L << r);
+            if (r == 0) {
+                zeros++;
+            }
+        }
+        double estimate = alpha(m) * m * m / sum;
+        if (estimate <= 2.5 * m && zeros > 0) {
+            estimate = m * Math.log((double) m / zeros);
+        }
+        return Math.round(estimate);
+    }
+
+    /**
+     * Merges another sketch into this one.
+     * Requires: other is non-null and has the same precision.
+     * Modifies: this.
+     * Effects: Each register becomes the maximum of both sketches' registers.
+     * @param other the sketch to merge in.
+     */
+    public void merge(HyperLogLog other) {
+        if (other == null || other.precision != precision) {
+            throw new IllegalArgumentException("Can only merge sketches with the same precision.");
+        }
+        byte[] theirs = other.copyRegisters();
+        synchronized (this) {
+            for (int i = 0; i < registers.length; i++) {
+                if (theirs[i] > registers[i]) {
+                    registers[i] = theirs[i];
+                }
+            }
+        }
+    }
+
+    /**
+     * Returns the relative standard error of this sketch's estimates.
+     * @return 1.04 / sqrt(number of registers).
+     */
+    public double standardError() {
+        return 1.04 / Math.sqrt(registers.length);
+    }
+
+    /**
+     * Returns the precision (number of index bits) of this sketch.
+     * @return the precision.
+     */
+    public int getPrecision() {
+        return precision;
+    }
+
+    private synchronized byte[] copyRegisters() {
+        return registers.clone();
+    }
+
+    private static double alpha(int m) {
+        switch (m) {
+            case 16:
+                return 0.673;
+            case 32:
+                return 0.697;
+            case 64:
+                return 0.709;
+            default:
+                return 0.7213 / (1 + 1.079 / m);
+        }
+    }
+}
@@ -1,16 +1,30 @@
 package model;
 
+import diagnostics.QueryEvent;
 import org.json.JSONArray;
 
 import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
 import java.util.List;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.ToIntFunction;
 
 /**
  * Represents a meal plan composed of multiple meals.
  * Provides methods to add meals and calculate total macronutrients.
+ * Safe for use by multiple threads: meals are held in an immutable PersistentVector replaced by
+ * compare-and-set on every add, and the macro totals are kept in striped adders, so adding and
+ * reading never block each other and snapshot() is O(1). Removals take a lock among themselves.
  */
-public class MealPlan {
-    private List<Meal> meals;
+public class MealPlan extends ChangeNotifier {
+    private final AtomicReference<PersistentVector<Meal>> meals;
+    private final Object removeLock = new Object();
+    private final LongAdder totalProtein;
+    private final LongAdder totalCarbs;
+    private final LongAdder totalFat;
+    private final MealSketches sketches;
 
     /**
      * Constructs an empty MealPlan.
@@ -18,21 +32,92 @@ public class MealPlan {
      * Effects: Creates a new meal plan.
      */
     public MealPlan() {
-        meals = new ArrayList<>();
+        meals = new AtomicReference<>(PersistentVector.empty());
+        totalProtein = new LongAdder();
+        totalCarbs = new LongAdder();
+        totalFat = new LongAdder();
+        sketches = new MealSketches();
     }
 
     /**
      * Adds a meal to the plan.
      * Requires: meal is non-null.
-     * Modifies: the meals list.
-     * Effects: Appends the meal.
+     * Modifies: the meals list and sketches.
+     * Effects: Appends the meal, records its macros in the sketches and fires an ADDED event.
      * @param meal the meal to add.
      */
     public void addMeal(Meal meal) {
         if (meal == null) {
             throw new IllegalArgumentException("Meal cannot be null.");
         }
-        meals.add(meal);
+        int index = meals.updateAndGet(v -> v.append(meal)).size() - 1;
+        totalProtein.add(meal.getProtein());
+        totalCarbs.add(meal.getCarbs());
+        totalFat.add(meal.getFat());
+        sketches.record(meal);
+        fireChange(ModelEvent.Type.ADDED, index, meal);
+    }
+
+    /**
+     * Adds many meals at once, e.g. when importing a food log.
+     * Requires: meals is non-null and contains no null.
+     * Modifies: the meals list, macro totals and sketches.
+     * Effects: Checks every meal before changing anything, then appends them all in one step
+     *          (other threads see none or all of them), adds their summed macros to the totals once,
+     *          records them in the sketches, and fires a single ADDED event covering them all.
+     * @param newMeals the meals to add, in order.
+     * @throws IllegalArgumentException if newMeals or one of its elements is null; nothing is added.
+     */
+    public void addMeals(Collection<? extends Meal> newMeals) {
+        List<Meal> batch = checkedCopy(newMeals, "Meal");
+        int index = meals.updateAndGet(v -> v.appendAll(batch)).size() - batch.size();
+        long protein = 0;
+        long carbs = 0;
+        long fat = 0;
+        for (Meal meal : batch) {
+            protein += meal.getProtein();
+            carbs += meal.getCarbs();
+            fat += meal.getFat();
+            sketches.record(meal);
+        }
+        totalProtein.add(protein);
+        totalCarbs.add(carbs);
+        totalFat.add(fat);
+        fireChanges(ModelEvent.Type.ADDED, index, batch);
+    }
+
+    /**
+     * Removes a meal from the plan.
+     * Requires: meal is non-null.
+     * Modifies: the meals list and macro totals (the sketches are summaries and keep counting it).
+     * Effects: Removes the most recently added occurrence of this exact meal object;
+     *          removing the last meal is O(log32 n), an earlier one O(n) with one copy per 32
+     *          elements. Removals are serialized by a lock; concurrent adds stay lock-free and are
+     *          carried over rather than making the removal start again. Fires a REMOVED event.
+     * @param meal the meal to remove.
+     * @return true if the meal was found and removed.
+     */
+    public boolean removeMeal(Meal meal) {
+        int index;
+        synchronized (removeLock) {
+            index = PersistentVector.removeLast(meals, meal);
+        }
+        if (index < 0) {
+            return false;
+        }
+        totalProtein.add(-meal.getProtein());
+        totalCarbs.add(-meal.getCarbs());
+        totalFat.add(-meal.getFat());
+        fireChange(ModelEvent.Type.REMOVED, index, meal);
+        return true;
+    }
+
+    /**
+     * Returns the number of meals in the plan.
+     * @return the meal count.
+     */
+    public int size() {
+        return meals.get().size();
     }
 
     /**
@@ -40,7 +125,74 @@ public class MealPlan {
      * @return a copy of the meals list.
      */
     public List<Meal> getMeals() {
-        return new ArrayList<>(meals);
+        return new ArrayList<>(meals.get());
+    }
+
+    /**
+     * Returns an immutable, consistent view of the meals added so far.
+     * Effects: Takes O(1) time and memory; later adds are not visible in the returned list.
+     * @return the current meals, which cannot be modified.
+     */
+    public List<Meal> snapshot() {
+        return meals.get();
+    }
+
+    /**
+     * Returns the k meals with the most protein, highest first.
+     * Requires: k > 0.
+     * @param k the number of meals to return.
+     * @return at most k meals.
+     */
+    public List<Meal> topMealsByProtein(int k) {
+        return topMeals(k, Meal::getProtein);
+    }
+
+    /**
+     * Returns the k meals with the highest value of the given macro, highest first.
+     * Requires: k > 0 and macro is non-null.
+     * Effects: Ranks meals in one pass with a bounded heap, without copying the meal list.
+     * @param k the number of meals to return.
+     * @param macro the macro to rank by, e.g. Meal::getCarbs.
+     * @return at most k meals.
+     */
+    public List<Meal> topMeals(int k, ToIntFunction<Meal> macro) {
+        QueryEvent event = QueryEvent.start("meals", "topMeals", k);
+        TopK<Meal> topK = new TopK<>(k, Comparator.comparingInt(macro));
+        for (Meal m : meals.get()) {
+            topK.offer(m);
+        }
+        List<Meal> top = topK.toList();
+        event.finish(top.size());
+        return top;
+    }
+
+    /**
+     * Returns a series of one macro over the meals in the order they were added.
+     * Requires: macro is non-null.
+     * Effects: Meals carry no date, so x is the meal's position (0, 1, 2, ...).
+     * @param macro the macro to chart, e.g. Meal::getProtein.
+     * @return the macro per meal.
+     */
+    public TimeSeries macroSeries(ToIntFunction<Meal> macro) {
+        QueryEvent event = QueryEvent.start("meals", "macroSeries", null);
+        PersistentVector<Meal> current = meals.get();
+        double[] xs = new double[current.size()];
+        double[] ys = new double[current.size()];
+        int i = 0;
+        for (Meal m : current) {
+            xs[i] = i;
+            ys[i++] = macro.applyAsInt(m);
+        }
+        event.finish(xs.length);
+        return new TimeSeries(xs, ys);
+    }
+
+    /**
+     * Returns the approximate macro percentiles maintained over all added meals.
+     * @return the meal sketches.
+     */
+    public MealSketches getSketches() {
+        return sketches;
     }
 
     /**
@@ -48,7 +200,7 @@ public class MealPlan {
      * @return total protein.
      */
     public int getTotalProtein() {
-        return meals.stream().mapToInt(Meal::getProtein).sum();
+        return (int) totalProtein.sum();
     }
 
     /**
@@ -56,7 +208,7 @@ public class MealPlan {
      * @return total carbs.
      */
     public int getTotalCarbs() {
-        return meals.stream().mapToInt(Meal::getCarbs).sum();
+        return (int) totalCarbs.sum();
     }
 
     /**
@@ -64,7 +216,7 @@ public class MealPlan {
      * @return total fat.
      */
     public int getTotalFat() {
-        return meals.stream().mapToInt(Meal::getFat).sum();
+        return (int) totalFat.sum();
     }
 
     /**
@@ -73,7 +225,7 @@ public class MealPlan {
      */
     public JSONArray toJson() {
         JSONArray array = new JSONArray();
-        for (Meal m : meals) {
+        for (Meal m : meals.get()) {
             array.put(m.toJson());
             // Ensure Meal.java has public JSONObject toJson()
         }
@@ -0,0 +1,75 @@
+package model;
+
+/**
+ * Approximate macronutrient percentiles over every meal added to a MealPlan.
+ * Each macro is tracked by a t-digest with compression 100, so memory stays bounded no matter
+ * how many meals are added, and sketches from different profiles or shards can be merged.
+ */
+public class MealSketches {
+    private final TDigest protein;
+    private final TDigest carbs;
+    private final TDigest fat;
+
+    /**
+     * Constructs empty meal sketches.
+     */
+    public MealSketches() {
+        protein = new TDigest();
+        carbs = new TDigest();
+        fat = new TDigest();
+    }
+
+    /**
+     * Records the macros of a meal.
+     * Requires: meal is non-null.
+     * Modifies: this.
+     * @param meal the meal to record.
+     */
+    public void record(Meal meal) {
+        protein.add(meal.getProtein());
+        carbs.add(meal.getCarbs());
+        fat.add(meal.getFat());
+    }
+
+    /**
+     * Merges another set of meal sketches into this one.
+     * Requires: other is non-null.
+     * Modifies: this.
+     * @param other the sketches to merge in.
+     */
+    public void merge(MealSketches other) {
+        protein.merge(other.protein);
+        carbs.merge(other.carbs);
+        fat.merge(other.fat);
+    }
+
+    /**
+     * Returns the estimated protein per meal at quantile q.
+     * Requires: 0 <= q <= 1.
+     * @param q the quantile.
+     * @return grams of protein, or NaN if no meals have been recorded.
+     */
+    public double proteinQuantile(double q) {
+        return protein.quantile(q);
+    }
+
+    /**
+     * Returns the estimated carbohydrates per meal at quantile q.
+     * Requires: 0 <= q <= 1.
+     * @param q the quantile.
+     * @return grams of carbs, or NaN if no meals have been recorded.
+     */
+    public double carbsQuantile(double q) {
+        return carbs.quantile(q);
+    }
+
+    /**
+     * Returns the estimated fat per meal at quantile q.
+     * Requires: 0 <= q <= 1.
+     * @param q the quantile.
+     * @return grams of fat, or NaN if no meals have been recorded.
+     */
+    public double fatQuantile(double q) {
+        return fat.quantile(q);
+    }
+}
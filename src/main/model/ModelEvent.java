@@ -0,0 +1,113 @@
+package model;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Describes one change to an observable model object.
+ * The source tells what changed (e.g. a WorkoutTracker), the type tells how, and the event covers
+ * the items at positions index .. index + getItems().size() - 1 of the source's collection.
+ * Events fired inside a batch may be coalesced, e.g. several consecutive appends become one
+ * ADDED event carrying all the appended items.
+ */
+public final class ModelEvent {
+
+    /**
+     * The kind of change.
+     */
+    public enum Type {
+        ADDED,     // items were inserted at index
+        REMOVED,   // items were removed from index
+        REPLACED,  // the item at index was replaced by the given item
+        UPDATED    // the source itself changed, e.g. a rep was checked off
+    }
+
+    private final ChangeNotifier source;
+    private final Type type;
+    private final int index;
+    private final List<?> items;
+    private final List<Object> merged; // the items, when coalesce may still extend them in place
+
+    /**
+     * Constructs an event for a single item.
+     * @param source the object that changed.
+     * @param type the kind of change.
+     * @param index the position of the change, or -1 if not applicable.
+     * @param item the item added, removed or put in place; may be null for UPDATED.
+     */
+    public ModelEvent(ChangeNotifier source, Type type, int index, Object item) {
+        this(source, type, index, Collections.singletonList(item));
+    }
+
+    /**
+     * Constructs an event for consecutive items.
+     * @param source the object that changed.
+     * @param type the kind of change.
+     * @param index the position of the first item.
+     * @param items the items, in index order; the list is not copied.
+     */
+    ModelEvent(ChangeNotifier source, Type type, int index, List<?> items) {
+        this.source = source;
+        this.type = type;
+        this.index = index;
+        this.items = items;
+        this.merged = null;
+    }
+
+    private ModelEvent(ModelEvent first, List<?> next) {
+        this.source = first.source;
+        this.type = first.type;
+        this.index = first.index;
+        this.merged = new ArrayList<>(first.items.size() + next.size());
+        this.merged.addAll(first.items);
+        this.merged.addAll(next);
+        this.items = merged;
+    }
+
+    public ChangeNotifier getSource() {
+        return source;
+    }
+
+    public Type getType() {
+        return type;
+    }
+
+    public int getIndex() {
+        return index;
+    }
+
+    /**
+     * Returns the items this event covers, in index order.
+     * @return an unmodifiable list of items.
+     */
+    public List<Object> getItems() {
+        return Collections.unmodifiableList(items);
+    }
+
+    /**
+     * Returns a single event equivalent to this event followed by next, if one exists.
+     * Requires: this event has not been delivered yet.
+     * Effects: Merges appends that continue where this one ended, and repeated updates of the
+     *          same source; returns null for any other pair. A merged append owns a growable
+     *          list that later appends extend in place, so queuing n appends costs O(n) in total.
+     * @param next the event fired right after this one.
+     * @return the merged event, or null if the two cannot be merged.
+     */
+    ModelEvent coalesce(ModelEvent next) {
+        if (next.source != source || next.type != type) {
+            return null;
+        }
+        if (type == Type.UPDATED && next.index == index) {
+            return next;
+        }
+        if (type == Type.ADDED && next.index == index + items.size()) {
+            if (merged == null) {
+                return new ModelEvent(this, next.items);
+            }
+            merged.addAll(next.items);
+            return this;
+        }
+        return null;
+    }
+}
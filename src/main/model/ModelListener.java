@@ -0,0 +1,15 @@
+package model;
+
+/**
+ * Receives change events from observable model objects.
+ * Listeners are called on the thread that made the change (or that ended the batch),
+ * so UI listeners should hand the event over to their own thread.
+ */
+public interface ModelListener {
+
+    /**
+     * Called after the source changed.
+     * @param event describes the change.
+     */
+    void modelChanged(ModelEvent event);
+}
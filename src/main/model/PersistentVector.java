@@ -0,0 +1,366 @@
+package model;
+
+import java.util.AbstractList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.RandomAccess;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * An immutable list with structural sharing, stored as a 32-way trie plus a tail array.
+ * Every "modifying" operation returns a new vector and leaves this one untouched, copying only
+ * the O(log32 n) nodes on the path to the changed element; all other nodes are shared.
+ * This makes an existing vector a free, consistent snapshot: holding on to it costs nothing,
+ * and the extra memory after later changes is proportional to the number of those changes.
+ * The List mutators inherited from AbstractList throw UnsupportedOperationException.
+ * @param <T> the element type.
+ */
+public final class PersistentVector<T> extends AbstractList<T> implements RandomAccess {
+    private static final int BITS = 5;
+    private static final int WIDTH = 1 << BITS;
+    private static final int MASK = WIDTH - 1;
+    private static final Object[] EMPTY_NODE = new Object[WIDTH];
+    private static final PersistentVector<?> EMPTY = new PersistentVector<>(0, BITS, EMPTY_NODE, new Object[0]);
+
+    private final int size;
+    private final int shift;
+    private final Object[] root;
+    private final Object[] tail;
+
+    private PersistentVector(int size, int shift, Object[] root, Object[] tail) {
+        this.size = size;
+        this.shift = shift;
+        this.root = root;
+        this.tail = tail;
+    }
+
+    /**
+     * Returns the empty vector.
+     * @param <T> the element type.
+     * @return the shared empty vector.
+     */
+    public static <T> PersistentVector<T> empty() {
+        return cast(EMPTY); // holds no elements, so it is a vector of any type
+    }
+
+    /**
+     * Returns a vector containing the given elements in iteration order.
+     * Requires: elements is non-null.
+     * @param elements the elements to copy.
+     * @param <T> the element type.
+     * @return a new vector.
+     */
+    public static <T> PersistentVector<T> of(Collection<? extends T> elements) {
+        return PersistentVector.<T>empty().appendAll(elements);
+    }
+
+    @Override
+    public int size() {
+        return size;
+    }
+
+    @Override
+    public T get(int index) {
+        return cast(leafFor(index)[index & MASK]);
+    }
+
+    /**
+     * Returns a vector with the element added at the end.
+     * Effects: Copies the tail, and on every 32nd append the path to the new leaf.
+     * @param element the element to append.
+     * @return the new vector.
+     */
+    public PersistentVector<T> append(T element) {
+        if (size - tailOffset() < WIDTH) {
+            Object[] newTail = new Object[tail.length + 1];
+            System.arraycopy(tail, 0, newTail, 0, tail.length);
+            newTail[tail.length] = element;
+            return new PersistentVector<>(size + 1, shift, root, newTail);
+        }
+        Object[] newRoot;
+        int newShift = shift;
+        if ((size >>> BITS) > (1 << shift)) {
+            newRoot = new Object[WIDTH];
+            newRoot[0] = root;
+            newRoot[1] = newPath(shift, tail);
+            newShift += BITS;
+        } else {
+            newRoot = pushTail(shift, root, tail);
+        }
+        return new PersistentVector<>(size + 1, newShift, newRoot, new Object[] {element});
+    }
+
+    /**
+     * Returns a vector with all the given elements added at the end, in iteration order.
+     * Requires: elements is non-null.
+     * Effects: Fills the tail 32 elements at a time with one copy each, rather than copying the
+     *          tail once per element as repeated append would.
+     * @param elements the elements to append.
+     * @return the new vector, or this vector if elements is empty.
+     */
+    public PersistentVector<T> appendAll(Collection<? extends T> elements) {
+        Object[] items = elements.toArray();
+        PersistentVector<T> result = this;
+        int i = 0;
+        while (i < items.length) {
+            int room = WIDTH - (result.size - result.tailOffset());
+            if (room == 0) {
+                result = result.append(cast(items[i++])); // pushes the full tail into the trie
+                continue;
+            }
+            int take = Math.min(room, items.length - i);
+            Object[] newTail = Arrays.copyOf(result.tail, result.tail.length + take);
+            System.arraycopy(items, i, newTail, result.tail.length, take);
+            result = new PersistentVector<>(result.size + take, result.shift, result.root, newTail);
+            i += take;
+        }
+        return result;
+    }
+
+    /**
+     * Returns a vector with the element at index replaced.
+     * Requires: 0 <= index < size().
+     * @param index the position to replace.
+     * @param element the new element.
+     * @return the new vector.
+     */
+    public PersistentVector<T> with(int index, T element) {
+        checkIndex(index);
+        if (index >= tailOffset()) {
+            Object[] newTail = tail.clone();
+            newTail[index & MASK] = element;
+            return new PersistentVector<>(size, shift, root, newTail);
+        }
+        return new PersistentVector<>(size, shift, assoc(shift, root, index, element), tail);
+    }
+
+    /**
+     * Returns a vector without its last element.
+     * Requires: the vector is not empty.
+     * @return the new vector.
+     */
+    public PersistentVector<T> withoutLast() {
+        if (size == 0) {
+            throw new IllegalStateException("Cannot remove from an empty vector.");
+        }
+        if (size == 1) {
+            return empty();
+        }
+        if (size - tailOffset() > 1) {
+            Object[] newTail = new Object[tail.length - 1];
+            System.arraycopy(tail, 0, newTail, 0, newTail.length);
+            return new PersistentVector<>(size - 1, shift, root, newTail);
+        }
+        Object[] newTail = leafFor(size - 2);
+        Object[] newRoot = popTail(shift, root);
+        int newShift = shift;
+        if (newRoot == null) {
+            newRoot = EMPTY_NODE;
+        }
+        if (shift > BITS && newRoot[1] == null) {
+            newRoot = (Object[]) newRoot[0];
+            newShift -= BITS;
+        }
+        return new PersistentVector<>(size - 1, newShift, newRoot, newTail);
+    }
+
+    /**
+     * Returns a vector with the element at index removed and later elements shifted down.
+     * Requires: 0 <= index < size().
+     * Effects: Truncates to index in O(log32 n) and appends the later elements with appendAll, one
+     *          tail copy per 32 of them, so this costs O(size() - index) with a small constant;
+     *          removing the last element is O(log32 n).
+     * @param index the position to remove.
+     * @return the new vector.
+     */
+    public PersistentVector<T> without(int index) {
+        checkIndex(index);
+        if (index == size - 1) {
+            return withoutLast();
+        }
+        return take(index).appendAll(subList(index + 1, size));
+    }
+
+    /**
+     * Returns a vector with the element inserted at index and later elements shifted up.
+     * Requires: 0 <= index <= size().
+     * Effects: Costs O(size() - index), like without(int).
+     * @param index the position to insert at.
+     * @param element the element to insert.
+     * @return the new vector.
+     */
+    public PersistentVector<T> insert(int index, T element) {
+        if (index == size) {
+            return append(element);
+        }
+        checkIndex(index);
+        return take(index).append(element).appendAll(subList(index, size));
+    }
+
+    /**
+     * Returns the first n elements, sharing every trie node that lies wholly before n and copying
+     * only the path to element n - 1.
+     */
+    private PersistentVector<T> take(int n) {
+        if (n == 0) {
+            return empty();
+        }
+        int newTailOffset = ((n - 1) >>> BITS) << BITS;
+        Object[] newTail = Arrays.copyOf(leafFor(n - 1), n - newTailOffset);
+        if (newTailOffset == tailOffset()) {
+            return new PersistentVector<>(n, shift, root, newTail);
+        }
+        if (newTailOffset == 0) {
+            return new PersistentVector<>(n, BITS, EMPTY_NODE, newTail);
+        }
+        Object[] newRoot = trim(shift, root, newTailOffset - 1);
+        int newShift = shift;
+        while (newShift > BITS && newRoot[1] == null) {
+            newRoot = (Object[]) newRoot[0];
+            newShift -= BITS;
+        }
+        return new PersistentVector<>(n, newShift, newRoot, newTail);
+    }
+
+    /**
+     * Removes from the vector held by ref the most recent occurrence of element, for stores whose
+     * other writers only append.
+     * Requires: the caller holds a lock that every remover of ref takes, and everyone else only appends.
+     * Effects: Computes the removal once; if appends land meanwhile, re-appends just those instead of
+     *          recomputing the removal, so a slow removal cannot be starved by fast appends.
+     * @return the index the element was removed from, or -1 if it was not present.
+     */
+    static <T> int removeLast(AtomicReference<PersistentVector<T>> ref, Object element) {
+        PersistentVector<T> before = ref.get();
+        int index = before.lastIndexOf(element);
+        if (index < 0) {
+            return -1;
+        }
+        PersistentVector<T> after = before.without(index);
+        while (!ref.compareAndSet(before, after)) {
+            PersistentVector<T> current = ref.get();
+            after = after.appendAll(current.subList(before.size(), current.size()));
+            before = current;
+        }
+        return index;
+    }
+
+    @Override
+    public Iterator<T> iterator() {
+        return new Iterator<T>() {
+            private int index;
+            private Object[] leaf;
+
+            @Override
+            public boolean hasNext() {
+                return index < size;
+            }
+
+            @Override
+            public T next() {
+                if (index >= size) {
+                    throw new NoSuchElementException();
+                }
+                if ((index & MASK) == 0 || leaf == null) {
+                    leaf = leafFor(index);
+                }
+                return cast(leaf[index++ & MASK]);
+            }
+        };
+    }
+
+    /**
+     * Returns a value read from a node as the type it was stored as. Nodes only hold elements that
+     * were appended as T, so this is the vector's one unchecked conversion and cannot fail.
+     */
+    private static <T> T cast(Object value) {
+        return (T) value;
+    }
+
+    private int tailOffset() {
+        return size < WIDTH ? 0 : ((size - 1) >>> BITS) << BITS;
+    }
+
+    private void checkIndex(int index) {
+        if (index < 0 || index >= size) {
+            throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + size);
+        }
+    }
+
+    private Object[] leafFor(int index) {
+        checkIndex(index);
+        if (index >= tailOffset()) {
+            return tail;
+        }
+        Object[] node = root;
+        for (int level = shift; level > 0; level -= BITS) {
+            node = (Object[]) node[(index >>> level) & MASK];
+        }
+        return node;
+    }
+
+    private Object[] pushTail(int level, Object[] parent, Object[] tailNode) {
+        int subIndex = ((size - 1) >>> level) & MASK;
+        Object[] result = parent.clone();
+        Object[] toInsert;
+        if (level == BITS) {
+            toInsert = tailNode;
+        } else {
+            Object[] child = (Object[]) parent[subIndex];
+            toInsert = child != null ? pushTail(level - BITS, child, tailNode) : newPath(level - BITS, tailNode);
+        }
+        result[subIndex] = toInsert;
+        return result;
+    }
+
+    private static Object[] newPath(int level, Object[] node) {
+        if (level == 0) {
+            return node;
+        }
+        Object[] result = new Object[WIDTH];
+        result[0] = newPath(level - BITS, node);
+        return result;
+    }
+
+    // Copies the path to index last, dropping every child after it; leaves are shared whole.
+    private static Object[] trim(int level, Object[] node, int last) {
+        int subIndex = (last >>> level) & MASK;
+        Object[] result = new Object[WIDTH];
+        System.arraycopy(node, 0, result, 0, subIndex + 1);
+        if (level > BITS) {
+            result[subIndex] = trim(level - BITS, (Object[]) node[subIndex], last);
+        }
+        return result;
+    }
+
+    private static Object[] assoc(int level, Object[] node, int index, Object element) {
+        Object[] result = node.clone();
+        if (level == 0) {
+            result[index & MASK] = element;
+        } else {
+            int subIndex = (index >>> level) & MASK;
+            result[subIndex] = assoc(level - BITS, (Object[]) node[subIndex], index, element);
+        }
+        return result;
+    }
+
+    private Object[] popTail(int level, Object[] node) {
+        int subIndex = ((size - 2) >>> level) & MASK;
+        if (level > BITS) {
+            Object[] newChild = popTail(level - BITS, (Object[]) node[subIndex]);
+            if (newChild == null && subIndex == 0) {
+                return null;
+            }
+            Object[] result = node.clone();
+            result[subIndex] = newChild;
+            return result;
+        } else if (subIndex == 0) {
+            return null;
+        }
+        Object[] result = node.clone();
+        result[subIndex] = null;
+        return result;
+    }
+}
@@ -6,6 +6,8 @@ import java.util.List;
 
 /**
  * Represents a recipe with a name, list of ingredients, and preparation instructions.
+ * The ingredients are kept in an unmodifiable, exactly sized list of the ingredient catalog's
+ * shared instances, so common ingredients are held once across the whole library.
  */
 public class Recipe {
     private String name;
@@ -15,6 +17,7 @@ public class Recipe {
     /**
      * Constructs a Recipe with the specified parameters.
      * Requires: name is non-null/non-empty, ingredients and instructions are non-null.
+     * Effects: Copies the ingredients, canonicalized through the ingredient catalog.
      * @param name the recipe name.
      * @param ingredients the list of ingredients.
      * @param instructions the preparation instructions.
@@ -30,10 +33,27 @@ public class Recipe {
             throw new IllegalArgumentException("Instructions cannot be null.");
         }
         this.name = name;
-        this.ingredients = ingredients;
+        this.ingredients = canonical(ingredients);
         this.instructions = instructions;
     }
 
+    /**
+     * Returns an unmodifiable copy of ingredients holding the ingredient catalog's instances.
+     *
+     * @throws IllegalArgumentException if an ingredient is null
+     */
+    private static List<String> canonical(List<String> ingredients) {
+        String[] shared = new String[ingredients.size()];
+        int i = 0;
+        for (String ingredient : ingredients) {
+            if (ingredient == null) {
+                throw new IllegalArgumentException("Ingredients cannot contain null.");
+            }
+            shared[i++] = StringCatalog.ingredients().intern(ingredient);
+        }
+        return List.of(shared);
+    }
+
     /**
      * Returns the name of the recipe.
      * @return the recipe name.
@@ -44,12 +64,27 @@ public class Recipe {
 
     /**
      * Returns the list of ingredients.
-     * @return a list of ingredients.
+     * @return the unmodifiable list of ingredients.
      */
     public List<String> getIngredients() {
         return ingredients;
     }
 
+    /**
+     * Checks whether this recipe uses an ingredient, comparing by identity.
+     * Requires: shared is the ingredient catalog's instance.
+     * @param shared the ingredient to look for.
+     * @return true if one of the ingredients is shared.
+     */
+    boolean hasIngredient(String shared) {
+        for (String ingredient : ingredients) {
+            if (ingredient == shared) {
+                return true;
+            }
+        }
+        return false;
+    }
+
     /**
      * Returns the preparation instructions.
      * @return the instructions.
@@ -58,6 +93,34 @@ public class Recipe {
         return instructions;
     }
 
+    /**
+     * Checks whether the recipe's name or one of its ingredients contains the query, ignoring case.
+     * Effects: Compares in place, without allocating lower-case copies; an empty query matches everything.
+     * @param query the text to look for.
+     * @return true if the name or an ingredient contains query.
+     */
+    public boolean matches(String query) {
+        if (containsIgnoreCase(name, query)) {
+            return true;
+        }
+        for (String ingredient : ingredients) {
+            if (containsIgnoreCase(ingredient, query)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static boolean containsIgnoreCase(String text, String query) {
+        int last = text.length() - query.length();
+        for (int i = 0; i <= last; i++) {
+            if (text.regionMatches(true, i, query, 0, query.length())) {
+                return true;
+            }
+        }
+        return false;
+    }
+
     /**
      * Returns this Recipe as a JSON object.
      * Effects: Converts recipe data into a JSONObject.
@@ -1,23 +1,41 @@
 package model;
 
+import diagnostics.LatencyHistogram;
+import diagnostics.Metrics;
+import diagnostics.QueryEvent;
 import org.json.JSONArray;
 
 import java.util.ArrayList;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
+import java.util.concurrent.atomic.LongAdder;
 import java.util.stream.Collectors;
 
 /**
  * Manages a collection of recipes.
+ * Safe for use by multiple threads: the recipes are held in an immutable PersistentVector
+ * published through a volatile field. Readers never lock and always see one consistent
+ * version; add/edit/delete are serialized on this library's monitor and publish a new
+ * version that shares all unchanged structure with the previous one.
+ * Every change fires a ModelEvent after the new version is published.
+ * Name lookups, ingredient filters and searches are timed in the global Metrics registry and
+ * emitted as JFR QueryEvents.
  */
-public class RecipeLibrary {
-    private List<Recipe> recipes;
+public class RecipeLibrary extends ChangeNotifier {
+    private static final LatencyHistogram BY_NAME = Metrics.global().histogram("recipes.getRecipeByName");
+    private static final LongAdder BY_NAME_MISSES = Metrics.global().counter("recipes.getRecipeByName.misses");
+    private static final LatencyHistogram BY_INGREDIENT =
+            Metrics.global().histogram("recipes.filterRecipesByIngredient");
+    private static final LatencyHistogram SEARCH = Metrics.global().histogram("recipes.searchRecipes");
+
+    private volatile PersistentVector<Recipe> recipes;
 
     /**
      * Constructs an empty RecipeLibrary.
      */
     public RecipeLibrary() {
-        recipes = new ArrayList<>();
+        recipes = PersistentVector.empty();
     }
 
     /**
@@ -30,10 +48,42 @@ public class RecipeLibrary {
         if (recipe == null) {
             return false;
         }
-        recipes.add(recipe);
+        int index;
+        synchronized (this) {
+            recipes = recipes.append(recipe);
+            index = recipes.size() - 1;
+        }
+        fireChange(ModelEvent.Type.ADDED, index, recipe);
         return true;
     }
 
+    /**
+     * Adds many recipes at once, e.g. when importing a recipe collection.
+     * Requires: recipes is non-null and contains no null.
+     * Modifies: this
+     * Effects: Checks every recipe before changing anything, publishes one new version holding them
+     *          all, and fires a single ADDED event covering them all.
+     *
+     * @param newRecipes the recipes to add, in order
+     * @throws IllegalArgumentException if newRecipes or one of its elements is null; nothing is added
+     */
+    public void addRecipes(Collection<? extends Recipe> newRecipes) {
+        List<Recipe> batch = checkedCopy(newRecipes, "Recipe");
+        int index;
+        synchronized (this) {
+            recipes = recipes.appendAll(batch);
+            index = recipes.size() - batch.size();
+        }
+        fireChanges(ModelEvent.Type.ADDED, index, batch);
+    }
+
+    /**
+     * Returns the number of recipes in the library.
+     */
+    public int size() {
+        return recipes.size();
+    }
+
     /**
      * Returns a list of all recipes in the library.
      */
@@ -41,6 +91,14 @@ public class RecipeLibrary {
         return new ArrayList<>(recipes);
     }
 
+    /**
+     * Returns an immutable, consistent view of the recipes in the library.
+     * Effects: Takes O(1) time and memory; later changes are not visible in the returned list.
+     */
+    public List<Recipe> snapshot() {
+        return recipes;
+    }
+
     /**
      * Searches for a recipe by its name (case-insensitive). Returns empty if
      * name is null or empty.
@@ -49,22 +107,61 @@ public class RecipeLibrary {
         if (name == null || name.isEmpty()) {
             return Optional.empty();
         }
-        return recipes.stream()
-                      .filter(r -> r.getName().equalsIgnoreCase(name))
-                      .findFirst();
+        long start = System.nanoTime();
+        QueryEvent event = QueryEvent.start("recipes", "getRecipeByName", name);
+        PersistentVector<Recipe> current = recipes;
+        int index = indexOf(current, name);
+        BY_NAME.recordSince(start);
+        event.finish(index < 0 ? 0 : 1);
+        if (index < 0) {
+            BY_NAME_MISSES.increment();
+            return Optional.empty();
+        }
+        return Optional.of(current.get(index));
     }
 
     /**
      * Filters recipes by a specified ingredient. Returns an empty list if
      * ingredient is null or empty.
+     * The ingredient is looked up in the ingredient catalog once, so each recipe is checked by
+     * identity, and an ingredient no recipe has ever used matches nothing without a scan.
      */
     public List<Recipe> filterRecipesByIngredient(String ingredient) {
         if (ingredient == null || ingredient.isEmpty()) {
             return new ArrayList<>();
         }
-        return recipes.stream()
-                      .filter(r -> r.getIngredients().contains(ingredient))
+        long start = System.nanoTime();
+        QueryEvent event = QueryEvent.start("recipes", "filterRecipesByIngredient", ingredient);
+        int id = StringCatalog.ingredients().find(ingredient);
+        String shared = id < 0 ? null : StringCatalog.ingredients().name(id);
+        List<Recipe> result = shared == null ? new ArrayList<>() : recipes.stream()
+                      .filter(r -> r.hasIngredient(shared))
                       .collect(Collectors.toList());
+        BY_INGREDIENT.recordSince(start);
+        event.finish(result.size());
+        return result;
+    }
+
+    /**
+     * Finds recipes whose name or ingredients contain the query, ignoring case.
+     * Returns an empty list if query is null or empty.
+     * Effects: Scans one snapshot, so concurrent edits never affect the result.
+     */
+    public List<Recipe> searchRecipes(String query) {
+        if (query == null || query.isEmpty()) {
+            return new ArrayList<>();
+        }
+        long start = System.nanoTime();
+        QueryEvent event = QueryEvent.start("recipes", "searchRecipes", query);
+        List<Recipe> result = new ArrayList<>();
+        for (Recipe r : recipes) {
+            if (r.matches(query)) {
+                result.add(r);
+            }
+        }
+        SEARCH.recordSince(start);
+        event.finish(result.size());
+        return result;
     }
 
     /**
@@ -75,16 +172,22 @@ public class RecipeLibrary {
         if (name == null || name.isEmpty()) {
             return false;
         }
-        Optional<Recipe> toDelete = getRecipeByName(name);
-        if (toDelete.isPresent()) {
-            recipes.remove(toDelete.get());
-            return true;
+        Recipe removed;
+        int index;
+        synchronized (this) {
+            index = indexOf(recipes, name);
+            if (index < 0) {
+                return false;
+            }
+            removed = recipes.get(index);
+            recipes = recipes.without(index);
         }
-        return false;
+        fireChange(ModelEvent.Type.REMOVED, index, removed);
+        return true;
     }
 
     /**
-     * Edits an existing recipe. Returns false if:
+     * Edits an existing recipe in place. Returns false if:
      *  - name is null/empty
      *  - the recipe does not exist in the library
      *  - creating the new recipe fails (e.g., null ingredients)
@@ -92,24 +195,82 @@ public class RecipeLibrary {
      * We use a try/catch around the Recipe constructor so that if the constructor
      * throws IllegalArgumentException (e.g., for null ingredients or instructions),
      * we simply return false rather than propagate an exception to the test.
+     * The lookup and replacement happen atomically, so concurrent edits cannot interleave.
      */
     public boolean editRecipe(String name, List<String> newIngredients, String newInstructions) {
         if (name == null || name.isEmpty()) {
             return false;
         }
-        Optional<Recipe> oldRecipe = getRecipeByName(name);
-        if (!oldRecipe.isPresent()) {
-            return false;
-        }
-        recipes.remove(oldRecipe.get());
+        Recipe updated;
         try {
-            Recipe updated = new Recipe(name, newIngredients, newInstructions);
-            recipes.add(updated);
-            return true;
+            updated = new Recipe(name, newIngredients, newInstructions);
         } catch (IllegalArgumentException e) {
-            recipes.add(oldRecipe.get());
             return false;
         }
+        return replaceRecipe(name, updated).isPresent();
+    }
+
+    /**
+     * Replaces the recipe with the given name (case-insensitive) and returns the old one.
+     * Requires: replacement is non-null.
+     * Effects: Keeps the recipe's position; returns empty if no recipe has that name.
+     */
+    public Optional<Recipe> replaceRecipe(String name, Recipe replacement) {
+        if (name == null || replacement == null) {
+            return Optional.empty();
+        }
+        Recipe old;
+        int index;
+        synchronized (this) {
+            index = indexOf(recipes, name);
+            if (index < 0) {
+                return Optional.empty();
+            }
+            old = recipes.get(index);
+            recipes = recipes.with(index, replacement);
+        }
+        fireChange(ModelEvent.Type.REPLACED, index, replacement);
+        return Optional.of(old);
+    }
+
+    // Effects: replaces this exact recipe object, keeping its position, and returns that index, or -1
+    //          if it is no longer in the library. Looks at hint first, like removeRecipe.
+    int replaceRecipe(Recipe old, Recipe replacement, int hint) {
+        int index;
+        synchronized (this) {
+            index = locate(old, hint);
+            if (index < 0) {
+                return index;
+            }
+            recipes = recipes.with(index, replacement);
+        }
+        fireChange(ModelEvent.Type.REPLACED, index, replacement);
+        return index;
+    }
+
+    // Effects: removes this exact recipe object and returns its former index, or -1. Looks at hint
+    //          first, so a command that remembers where its recipe was finds it without a scan.
+    int removeRecipe(Recipe recipe, int hint) {
+        int index;
+        synchronized (this) {
+            index = locate(recipe, hint);
+            if (index < 0) {
+                return index;
+            }
+            recipes = recipes.without(index);
+        }
+        fireChange(ModelEvent.Type.REMOVED, index, recipe);
+        return index;
+    }
+
+    // Requires: 0 <= index <= size(). Effects: puts recipe back at index.
+    void insertRecipe(int index, Recipe recipe) {
+        int at;
+        synchronized (this) {
+            at = Math.min(index, recipes.size());
+            recipes = recipes.insert(at, recipe);
+        }
+        fireChange(ModelEvent.Type.ADDED, at, recipe);
     }
 
     /**
@@ -120,8 +281,31 @@ public class RecipeLibrary {
         JSONArray array = new JSONArray();
         for (Recipe r : recipes) {
             array.put(r.toJson());
-            // Make sure Recipe.java has public JSONObject toJson()
         }
         return array;
     }
+
+    // Requires: the caller holds this lock.
+    // Effects: returns hint if this exact recipe is there, else its index by identity scan, or -1.
+    private int locate(Recipe recipe, int hint) {
+        if (hint >= 0 && hint < recipes.size() && recipes.get(hint) == recipe) {
+            return hint;
+        }
+        for (int i = recipes.size() - 1; i >= 0; i--) {
+            if (recipes.get(i) == recipe) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    // Effects: returns the index of the first recipe named name (case-insensitive), or -1.
+    private static int indexOf(List<Recipe> version, String name) {
+        for (int i = 0; i < version.size(); i++) {
+            if (version.get(i).getName().equalsIgnoreCase(name)) {
+                return i;
+            }
+        }
+        return -1;
+    }
 }
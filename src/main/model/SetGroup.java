@@ -0,0 +1,59 @@
+package model;
+
+import org.json.JSONObject;
+
+/**
+ * A run of consecutive, identical sets of an exercise, such as the five sets of a 5x5.
+ * Groups are immutable values; Exercise builds them on request from its run-length storage.
+ */
+public final class SetGroup {
+    private final int count;
+    private final int targetReps;
+    private final int completedReps;
+
+    /**
+     * Constructs a group of identical sets.
+     * Requires: count > 0, targetReps > 0 and 0 <= completedReps <= targetReps.
+     * @param count the number of sets.
+     * @param targetReps each set's target reps.
+     * @param completedReps each set's completed reps.
+     */
+    public SetGroup(int count, int targetReps, int completedReps) {
+        if (count <= 0) {
+            throw new IllegalArgumentException("A set group needs at least one set.");
+        }
+        if (targetReps <= 0) {
+            throw new IllegalArgumentException("Target reps must be greater than 0.");
+        }
+        if (completedReps < 0 || completedReps > targetReps) {
+            throw new IllegalArgumentException("Completed reps must be between 0 and the target.");
+        }
+        this.count = count;
+        this.targetReps = targetReps;
+        this.completedReps = completedReps;
+    }
+
+    public int getCount() {
+        return count;
+    }
+
+    public int getTargetReps() {
+        return targetReps;
+    }
+
+    public int getCompletedReps() {
+        return completedReps;
+    }
+
+    /**
+     * Returns this group in the compact JSON form.
+     * @return {"count", "targetReps", "completedReps"}.
+     */
+    public JSONObject toJson() {
+        JSONObject json = new JSONObject();
+        json.put("count", count);
+        json.put("targetReps", targetReps);
+        json.put("completedReps", completedReps);
+        return json;
+    }
+}
@@ -0,0 +1,44 @@
+package model;
+
+/**
+ * Hash functions shared by the probabilistic sketches.
+ * Produces well-mixed 64-bit hashes so that sketch registers and counters
+ * are filled uniformly regardless of how similar the input strings are.
+ */
+final class SketchHashing {
+    private static final long FNV_OFFSET = 0xcbf29ce484222325L;
+    private static final long FNV_PRIME = 0x100000001b3L;
+
+    private SketchHashing() {
+    }
+
+    /**
+     * Returns a 64-bit hash of the given string.
+     * Requires: value is non-null.
+     * Effects: Applies FNV-1a over the UTF-16 chars followed by a murmur3 finalizer.
+     * @param value the string to hash.
+     * @return the 64-bit hash.
+     */
+    static long hash64(String value) {
+        long h = FNV_OFFSET;
+        for (int i = 0; i < value.length(); i++) {
+            h ^= value.charAt(i);
+            h *= FNV_PRIME;
+        }
+        return mix64(h);
+    }
+
+    /**
+     * Scrambles the bits of a 64-bit value (murmur3 fmix64).
+     * @param h the value to mix.
+     * @return the mixed value.
+     */
+    static long mix64(long h) {
+        h ^= h >>> 33;
+        h *= 0xff51afd7ed558ccdL;
+        h ^= h >>> 33;
+        h *= 0xc4ceb9fe1a85ec53L;
+        h ^= h >>> 33;
+        return h;
+    }
+}
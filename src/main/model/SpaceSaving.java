@@ -0,0 +1,118 @@
+package model;
+
+import java.util.AbstractMap;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Finds the most frequent strings in a stream using the space-saving algorithm.
+ * At most capacity counters are kept in an indexed min-heap; when a new string arrives and
+ * all counters are taken, the smallest counter is reassigned to it. Any string that occurs
+ * more than n / capacity times in a stream of n strings is guaranteed to be kept, and each
+ * reported count overestimates the true count by at most the count it inherited.
+ * Each offer costs O(log capacity) time.
+ */
+public class SpaceSaving {
+    private final String[] keys;
+    private final long[] counts;
+    private final Map<String, Integer> slots;
+    private int size;
+
+    /**
+     * Constructs an empty space-saving counter.
+     * Requires: capacity > 0.
+     * @param capacity the maximum number of counters kept.
+     */
+    public SpaceSaving(int capacity) {
+        if (capacity <= 0) {
+            throw new IllegalArgumentException("Capacity must be greater than 0.");
+        }
+        keys = new String[capacity];
+        counts = new long[capacity];
+        slots = new HashMap<>();
+    }
+
+    /**
+     * Counts one occurrence of the given string.
+     * Requires: key is non-null.
+     * Modifies: this.
+     * Effects: Increments its counter, claiming a free or the smallest counter if it has none.
+     * @param key the string to count.
+     */
+    public void offer(String key) {
+        Integer slot = slots.get(key);
+        if (slot != null) {
+            counts[slot]++;
+            siftDown(slot);
+        } else if (size < keys.length) {
+            keys[size] = key;
+            counts[size] = 1;
+            slots.put(key, size);
+            size++;
+            siftUp(size - 1);
+        } else {
+            slots.remove(keys[0]);
+            keys[0] = key;
+            slots.put(key, 0);
+            counts[0]++;
+            siftDown(0);
+        }
+    }
+
+    /**
+     * Returns the k strings with the highest counts, highest first.
+     * Requires: k > 0.
+     * @param k the number of strings to return.
+     * @return entries of string and estimated count.
+     */
+    public List<Map.Entry<String, Long>> top(int k) {
+        TopK<Map.Entry<String, Long>> topK = new TopK<>(k, Map.Entry.comparingByValue());
+        for (int i = 0; i < size; i++) {
+            topK.offer(new AbstractMap.SimpleImmutableEntry<>(keys[i], counts[i]));
+        }
+        return new ArrayList<>(topK.toList());
+    }
+
+    private void siftUp(int i) {
+        while (i > 0) {
+            int parent = (i - 1) / 2;
+            if (counts[parent] <= counts[i]) {
+                return;
+            }
+            swap(i, parent);
+            i = parent;
+        }
+    }
+
+    private void siftDown(int i) {
+        while (true) {
+            int smallest = i;
+            int left = 2 * i + 1;
+            int right = left + 1;
+            if (left < size && counts[left] < counts[smallest]) {
+                smallest = left;
+            }
+            if (right < size && counts[right] < counts[smallest]) {
+                smallest = right;
+            }
+            if (smallest == i) {
+                return;
+            }
+            swap(i, smallest);
+            i = smallest;
+        }
+    }
+
+    private void swap(int a, int b) {
+        String key = keys[a];
+        long count = counts[a];
+        keys[a] = keys[b];
+        counts[a] = counts[b];
+        keys[b] = key;
+        counts[b] = count;
+        slots.put(keys[a], a);
+        slots.put(keys[b], b);
+    }
+}
@@ -0,0 +1,125 @@
+package model;
+
+import java.util.Arrays;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * A dictionary that maps each distinct string to one shared instance and a small integer id.
+ * Exercises canonicalize their names through the exercise catalog and recipes their ingredients
+ * through the ingredient catalog, both when data is loaded and when it is entered, so a long history
+ * holds each name once however often it is logged, and equal names are the same instance: equals
+ * succeeds on its identity check and ids can be compared as ints. Lookups of known strings are one
+ * lock-free hash probe; only the first sighting of a new string takes a lock. Entries are never
+ * removed, which is bounded by the vocabulary of exercise and ingredient names rather than by the
+ * number of records.
+ */
+public final class StringCatalog {
+    private static final StringCatalog EXERCISES = new StringCatalog();
+    private static final StringCatalog INGREDIENTS = new StringCatalog();
+
+    private final ConcurrentMap<String, Integer> ids = new ConcurrentHashMap<>();
+    private volatile String[] names = new String[16];
+
+    /**
+     * Constructs an empty catalog; the application shares the exercise and ingredient catalogs.
+     */
+    StringCatalog() {
+    }
+
+    /**
+     * Returns the application-wide catalog of exercise names.
+     *
+     * @return the exercise catalog
+     */
+    public static StringCatalog exercises() {
+        return EXERCISES;
+    }
+
+    /**
+     * Returns the application-wide catalog of recipe ingredients.
+     *
+     * @return the ingredient catalog
+     */
+    public static StringCatalog ingredients() {
+        return INGREDIENTS;
+    }
+
+    /**
+     * Returns the shared instance equal to value, adding value if it is new.
+     *
+     * Requires: value is non-null.
+     * Modifies: this, if value is new.
+     * Effects: Returns the first instance of value that was added.
+     *
+     * @param value the string to canonicalize
+     * @return the catalog's instance of value
+     */
+    public String intern(String value) {
+        int id = id(value); // before reading names, which adding may replace
+        return names[id];
+    }
+
+    /**
+     * Returns the id of value, adding value if it is new. Ids are assigned 0, 1, 2, ... in order of first use.
+     *
+     * Requires: value is non-null.
+     * Modifies: this, if value is new.
+     * Effects: Returns the same id for every string equal to value.
+     *
+     * @param value the string to look up
+     * @return value's id
+     */
+    public int id(String value) {
+        Integer id = ids.get(value);
+        return id != null ? id : add(value);
+    }
+
+    /**
+     * Adds value under the next id unless another thread added it first.
+     */
+    private synchronized int add(String value) {
+        Integer id = ids.get(value);
+        if (id != null) {
+            return id;
+        }
+        int next = ids.size();
+        if (next == names.length) {
+            names = Arrays.copyOf(names, next * 2);
+        }
+        names[next] = value;
+        ids.put(value, next);
+        return next;
+    }
+
+    /**
+     * Returns the string with the given id.
+     *
+     * Requires: 0 &lt;= id &lt; size().
+     *
+     * @param id an id returned by id or intern
+     * @return the catalog's instance for id
+     * @throws IndexOutOfBoundsException if no string has that id
+     */
+    public String name(int id) {
+        if (id < 0 || id >= ids.size()) {
+            throw new IndexOutOfBoundsException("No string with id " + id + ".");
+        }
+        return names[id];
+    }
+
+    /**
+     * Returns the id of value without adding it.
+     *
+     * @param value the string to look up
+     * @return value's id, or -1 if value is not in the catalog
+     */
+    public int find(String value) {
+        Integer id = ids.get(value);
+        return id != null ? id : -1;
+    }
+
+    public int size() {
+        return ids.size();
+    }
+}
@@ -0,0 +1,236 @@
+package model;
+
+import java.util.Arrays;
+
+/**
+ * A merging t-digest that estimates quantiles (percentiles) of a stream of numbers.
+ * Values are buffered and periodically merged into a sorted list of weighted centroids.
+ * The size of each centroid is bounded by 4 * n * q * (1 - q) / compression, so centroids
+ * near the tails stay small. Quantile estimates are therefore most accurate near 0 and 1;
+ * the typical absolute error in q is on the order of 1 / compression in the middle of the
+ * distribution and much smaller at the extremes. Because that bound shrinks towards the tails,
+ * the number of centroids grows with the logarithm of the count, about compression * log n:
+ * with the default compression a normal stream keeps about 750 centroids after a million values
+ * and 1,050 after a hundred million. Memory is that plus a fixed buffer of 5 * compression
+ * values, and digests can be merged across shards.
+ */
+public class TDigest {
+    public static final double DEFAULT_COMPRESSION = 100;
+    private static final int BUFFER_FACTOR = 5;
+
+    private final double compression;
+    private double[] means;
+    private double[] weights;
+    private int centroidCount;
+    private final double[] bufferMeans;
+    private final double[] bufferWeights;
+    private int bufferCount;
+    private double totalWeight;
+    private double min = Double.POSITIVE_INFINITY;
+    private double max = Double.NEGATIVE_INFINITY;
+
+    /**
+     * Constructs an empty t-digest with the default compression.
+     */
+    public TDigest() {
+        this(DEFAULT_COMPRESSION);
+    }
+
+    /**
+     * Constructs an empty t-digest.
+     * Requires: compression >= 10.
+     * Effects: Allocates the centroid and buffer arrays.
+     * @param compression trade-off between accuracy and memory; larger is more accurate.
+     */
+    public TDigest(double compression) {
+        if (compression < 10) {
+            throw new IllegalArgumentException("Compression must be at least 10.");
+        }
+        this.compression = compression;
+        int capacity = (int) Math.ceil(2 * compression) + 10;
+        this.means = new double[capacity];
+        this.weights = new double[capacity];
+        this.bufferMeans = new double[(int) (BUFFER_FACTOR * compression)];
+        this.bufferWeights = new double[bufferMeans.length];
+    }
+
+    /**
+     * Adds one observation of the given value.
+     * @param value the observed value.
+     */
+    public void add(double value) {
+        add(value, 1);
+    }
+
+    /**
+     * Adds a weighted observation.
+     * Requires: value is not NaN and weight > 0.
+     * Modifies: this.
+     * Effects: Buffers the value, merging the buffer into the centroids when full.
+     * @param value the observed value.
+     * @param weight the number of observations this value represents.
+     */
+    public synchronized void add(double value, double weight) {
+        if (Double.isNaN(value) || weight <= 0) {
+            throw new IllegalArgumentException("Value cannot be NaN and weight must be positive.");
+        }
+        if (bufferCount == bufferMeans.length) {
+            compress();
+        }
+        bufferMeans[bufferCount] = value;
+        bufferWeights[bufferCount] = weight;
+        bufferCount++;
+        totalWeight += weight;
+        min = Math.min(min, value);
+        max = Math.max(max, value);
+    }
+
+    /**
+     * Merges another digest into this one.
+     * Requires: other is non-null.
+     * Modifies: this.
+     * Effects: Adds each of the other digest's centroids as a weighted observation.
+     * @param other the digest to merge in.
+     */
+    public void merge(TDigest other) {
+        if (other == null) {
+            throw new IllegalArgumentException("Digest cannot be null.");
+        }
+        double[][] theirs = other.centroids();
+        for (int i = 0; i < theirs[0].length; i++) {
+            add(theirs[0][i], theirs[1][i]);
+        }
+    }
+
+    /**
+     * Returns the estimated value at quantile q.
+     * Requires: 0 <= q <= 1.
+     * Effects: Interpolates between neighbouring centroid means; NaN when the digest is empty.
+     * @param q the quantile, e.g. 0.5 for the median or 0.99 for the 99th percentile.
+     * @return the estimated value at q.
+     */
+    public synchronized double quantile(double q) {
+        if (q < 0 || q > 1) {
+            throw new IllegalArgumentException("Quantile must be between 0 and 1.");
+        }
+        compress();
+        if (centroidCount == 0) {
+            return Double.NaN;
+        }
+        if (q == 0) {
+            return min;
+        }
+        if (q == 1) {
+            return max;
+        }
+        if (centroidCount == 1) {
+            return means[0];
+        }
+        return interpolate(q * totalWeight);
+    }
+
+    /**
+     * Returns the total weight (number of observations) added.
+     * @return the total weight.
+     */
+    public synchronized double size() {
+        return totalWeight;
+    }
+
+    /**
+     * Returns the number of centroids currently retained.
+     * Effects: Flushes the buffer first so the count reflects all added values.
+     * @return the centroid count.
+     */
+    public synchronized int centroidCount() {
+        compress();
+        return centroidCount;
+    }
+
+    /**
+     * Returns the compression parameter.
+     * @return the compression.
+     */
+    public double getCompression() {
+        return compression;
+    }
+
+    private synchronized double[][] centroids() {
+        compress();
+        return new double[][] {
+            Arrays.copyOf(means, centroidCount), Arrays.copyOf(weights, centroidCount)
+        };
+    }
+
+    private double interpolate(double index) {
+        double center = weights[0] / 2;
+        if (index < center) {
+            return min + (means[0] - min) * index / center;
+        }
+        for (int i = 0; i < centroidCount - 1; i++) {
+            double gap = (weights[i] + weights[i + 1]) / 2;
+            if (index < center + gap) {
+                return means[i] + (means[i + 1] - means[i]) * (index - center) / gap;
+            }
+            center += gap;
+        }
+        double tail = weights[centroidCount - 1] / 2;
+        double fraction = Math.min(1, (index - center) / tail);
+        return means[centroidCount - 1] + (max - means[centroidCount - 1]) * fraction;
+    }
+
+    private void compress() {
+        if (bufferCount == 0) {
+            return;
+        }
+        int n = centroidCount + bufferCount;
+        double[] allMeans = Arrays.copyOf(means, n);
+        double[] allWeights = Arrays.copyOf(weights, n);
+        System.arraycopy(bufferMeans, 0, allMeans, centroidCount, bufferCount);
+        System.arraycopy(bufferWeights, 0, allWeights, centroidCount, bufferCount);
+        bufferCount = 0;
+        Integer[] order = new Integer[n];
+        for (int i = 0; i < n; i++) {
+            order[i] = i;
+        }
+        Arrays.sort(order, (a, b) -> Double.compare(allMeans[a], allMeans[b]));
+        mergeSorted(allMeans, allWeights, order);
+    }
+
+    private void mergeSorted(double[] allMeans, double[] allWeights, Integer[] order) {
+        centroidCount = 0;
+        double soFar = 0;
+        double curMean = allMeans[order[0]];
+        double curWeight = allWeights[order[0]];
+        for (int i = 1; i < order.length; i++) {
+            double w = allWeights[order[i]];
+            double proposed = curWeight + w;
+            double limit = totalWeight * Math.min(maxWeightAt(soFar / totalWeight),
+                    maxWeightAt((soFar + proposed) / totalWeight));
+            if (proposed <= limit) {
+                curMean += (allMeans[order[i]] - curMean) * w / proposed;
+                curWeight = proposed;
+            } else {
+                emit(curMean, curWeight);
+                soFar += curWeight;
+                curMean = allMeans[order[i]];
+                curWeight = w;
+            }
+        }
+        emit(curMean, curWeight);
+    }
+
+    private double maxWeightAt(double q) {
+        return 4 * q * (1 - q) / compression;
+    }
+
+    private void emit(double mean, double weight) {
+        if (centroidCount == means.length) {
+            means = Arrays.copyOf(means, centroidCount * 2);
+            weights = Arrays.copyOf(weights, centroidCount * 2);
+        }
+        means[centroidCount] = mean;
+        weights[centroidCount] = weight;
+        centroidCount++;
+    }
+}
@@ -0,0 +1,137 @@
+package model;
+
+import java.util.Arrays;
+
+/**
+ * An immutable series of (x, y) points with non-decreasing x, e.g. reps per day or a macro per meal.
+ * Supports locating an x range by binary search and downsampling a range with the
+ * Largest-Triangle-Three-Buckets algorithm, which keeps the visual shape of a line chart while
+ * drawing only a few points per pixel column.
+ */
+public final class TimeSeries {
+    private final double[] xs;
+    private final double[] ys;
+
+    /**
+     * Constructs a series from parallel arrays.
+     * Requires: xs and ys have the same length and xs is non-decreasing.
+     * @param xs the x values.
+     * @param ys the y values.
+     */
+    public TimeSeries(double[] xs, double[] ys) {
+        if (xs.length != ys.length) {
+            throw new IllegalArgumentException("xs and ys must have the same length.");
+        }
+        for (int i = 1; i < xs.length; i++) {
+            if (xs[i] < xs[i - 1]) {
+                throw new IllegalArgumentException("xs must be non-decreasing.");
+            }
+        }
+        this.xs = xs.clone();
+        this.ys = ys.clone();
+    }
+
+    public int size() {
+        return xs.length;
+    }
+
+    public double getX(int index) {
+        return xs[index];
+    }
+
+    public double getY(int index) {
+        return ys[index];
+    }
+
+    /**
+     * Returns the largest y value, or 0 for an empty series.
+     * @return the maximum y.
+     */
+    public double maxY() {
+        double max = 0;
+        for (double y : ys) {
+            max = Math.max(max, y);
+        }
+        return max;
+    }
+
+    /**
+     * Returns the index of the first point with x >= the given value.
+     * Effects: Binary search; returns size() if every point is smaller.
+     * @param x the value to look for.
+     * @return the first index at or after x.
+     */
+    public int lowerBound(double x) {
+        int lo = 0;
+        int hi = xs.length;
+        while (lo < hi) {
+            int mid = (lo + hi) >>> 1;
+            if (xs[mid] < x) {
+                lo = mid + 1;
+            } else {
+                hi = mid;
+            }
+        }
+        return lo;
+    }
+
+    /**
+     * Picks at most threshold points of from..to-1 that preserve the shape of the line.
+     * Requires: 0 <= from <= to <= size().
+     * Effects: Keeps the first and last point and, from each of threshold - 2 equal buckets in
+     *          between, the point forming the largest triangle with the previous pick and the next
+     *          bucket's average (LTTB). Returns every index if the range already has few enough points.
+     * @param from the first index of the range.
+     * @param to one past the last index of the range.
+     * @param threshold the maximum number of points to keep.
+     * @return the kept indices in increasing order.
+     */
+    public int[] downsample(int from, int to, int threshold) {
+        int n = to - from;
+        if (threshold >= n || threshold < 3) {
+            int[] all = new int[n];
+            Arrays.setAll(all, i -> from + i);
+            return all;
+        }
+        int[] kept = new int[threshold];
+        double every = (double) (n - 2) / (threshold - 2);
+        int previous = from;
+        kept[0] = from;
+        for (int b = 0; b < threshold - 2; b++) {
+            int start = from + 1 + (int) (b * every);
+            int end = from + 1 + (int) ((b + 1) * every);
+            previous = largestTriangle(previous, start, end, to);
+            kept[b + 1] = previous;
+        }
+        kept[threshold - 1] = to - 1;
+        return kept;
+    }
+
+    /**
+     * Returns the point of bucket start..end-1 forming the largest triangle with the previous pick and
+     * the average of the next bucket.
+     */
+    private int largestTriangle(int previous, int start, int end, int to) {
+        int nextEnd = Math.min(end + (end - start), to);
+        double avgX = 0;
+        double avgY = 0;
+        for (int i = end; i < nextEnd; i++) {
+            avgX += xs[i];
+            avgY += ys[i];
+        }
+        int count = Math.max(1, nextEnd - end);
+        avgX /= count;
+        avgY /= count;
+        int best = start;
+        double bestArea = -1;
+        for (int i = start; i < end; i++) {
+            double area = Math.abs((xs[previous] - avgX) * (ys[i] - ys[previous])
+                    - (xs[previous] - xs[i]) * (avgY - ys[previous]));
+            if (area > bestArea) {
+                bestArea = area;
+                best = i;
+            }
+        }
+        return best;
+    }
+}
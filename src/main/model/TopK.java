@@ -0,0 +1,62 @@
+package model;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.PriorityQueue;
+
+/**
+ * Keeps the k greatest items offered to it, according to a comparator.
+ * Backed by a bounded min-heap that starts small and grows as items are kept, so offering n
+ * items costs O(n log k) time and O(min(n, k)) memory, and the full input never has to be
+ * sorted or copied. A k larger than the input simply keeps everything.
+ * @param <T> the type of item ranked.
+ */
+public class TopK<T> {
+    private static final int INITIAL_CAPACITY = 11;
+
+    private final int limit;
+    private final Comparator<? super T> comparator;
+    private final PriorityQueue<T> heap;
+
+    /**
+     * Constructs an empty TopK.
+     * Requires: k > 0 and comparator is non-null.
+     * @param k the number of items to keep.
+     * @param comparator orders items from least to greatest.
+     */
+    public TopK(int k, Comparator<? super T> comparator) {
+        if (k <= 0) {
+            throw new IllegalArgumentException("k must be greater than 0.");
+        }
+        this.limit = k;
+        this.comparator = comparator;
+        this.heap = new PriorityQueue<>(Math.min(k, INITIAL_CAPACITY), comparator);
+    }
+
+    /**
+     * Offers an item for ranking.
+     * Modifies: this.
+     * Effects: Keeps the item if fewer than k items are held or it beats the smallest held item.
+     * @param item the item to offer.
+     */
+    public void offer(T item) {
+        if (heap.size() < limit) {
+            heap.add(item);
+        } else if (comparator.compare(item, heap.peek()) > 0) {
+            heap.poll();
+            heap.add(item);
+        }
+    }
+
+    /**
+     * Returns the items kept, greatest first.
+     * @return a new list of at most k items.
+     */
+    public List<T> toList() {
+        List<T> result = new ArrayList<>(heap);
+        result.sort(Collections.reverseOrder(comparator));
+        return result;
+    }
+}
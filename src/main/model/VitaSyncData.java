@@ -6,12 +6,14 @@ import persistence.Writable;
 /**
  * Represents the entire VitaSync state with references to
  * workoutTracker, mealPlan, and recipeLibrary.
+ * Each sub-store synchronizes independently, so threads writing workouts, meals and recipes
+ * (e.g. a sync import, the UI and a local API) never contend with each other.
  */
 public class VitaSyncData implements Writable {
-    private String name;
-    private WorkoutTracker workoutTracker;
-    private MealPlan mealPlan;
-    private RecipeLibrary recipeLibrary;
+    private final String name;
+    private final WorkoutTracker workoutTracker;
+    private final MealPlan mealPlan;
+    private final RecipeLibrary recipeLibrary;
 
     public VitaSyncData(String name) {
         this.name = name;
@@ -36,14 +38,28 @@ public class VitaSyncData implements Writable {
         return recipeLibrary;
     }
 
+    /**
+     * Returns a frozen view of the current workouts, meals and recipes.
+     * Effects: Takes O(1) time; each collection is captured at a consistent version, and
+     *          changes made afterwards are not visible through the snapshot.
+     * @return the snapshot.
+     */
+    public VitaSyncSnapshot snapshot() {
+        return new VitaSyncSnapshot(name, workoutTracker.snapshot(), mealPlan.snapshot(),
+                recipeLibrary.snapshot());
+    }
+
+    /**
+     * Returns this data as JSON, serialized from a snapshot so that concurrent
+     * writers cannot produce a torn result.
+     */
     @Override
     public JSONObject toJson() {
-        JSONObject json = new JSONObject();
-        json.put("name", name);
-        // These methods must exist in your sub-classes and return a JSONArray
-        json.put("workouts", workoutTracker.toJson());
-        json.put("meals", mealPlan.toJson());
-        json.put("recipes", recipeLibrary.toJson());
-        return json;
+        return snapshot().toJson();
+    }
+
+    @Override
+    public JSONObject toJson(boolean compactSets) {
+        return snapshot().toJson(compactSets);
     }
 }
@@ -0,0 +1,90 @@
+package model;
+
+import org.json.JSONArray;
+import org.json.JSONObject;
+import persistence.Writable;
+
+import java.util.List;
+
+/**
+ * A frozen, consistent view of a VitaSyncData at one point in time.
+ * Taking a snapshot is O(1): it holds on to the current immutable versions of the workout,
+ * meal and recipe collections, which share their structure with the live data. Saves, reports
+ * and exports can therefore run against a snapshot on any thread while writers keep going.
+ */
+public class VitaSyncSnapshot implements Writable {
+    private final String name;
+    private final List<Workout> workouts;
+    private final List<Meal> meals;
+    private final List<Recipe> recipes;
+
+    /**
+     * Constructs a snapshot from already-frozen collections.
+     * Requires: the lists are immutable.
+     * @param name the data set name.
+     * @param workouts the workouts at snapshot time.
+     * @param meals the meals at snapshot time.
+     * @param recipes the recipes at snapshot time.
+     */
+    VitaSyncSnapshot(String name, List<Workout> workouts, List<Meal> meals, List<Recipe> recipes) {
+        this.name = name;
+        this.workouts = workouts;
+        this.meals = meals;
+        this.recipes = recipes;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    /**
+     * Returns the workouts at snapshot time.
+     * @return an unmodifiable list of workouts.
+     */
+    public List<Workout> getWorkouts() {
+        return workouts;
+    }
+
+    /**
+     * Returns the meals at snapshot time.
+     * @return an unmodifiable list of meals.
+     */
+    public List<Meal> getMeals() {
+        return meals;
+    }
+
+    /**
+     * Returns the recipes at snapshot time.
+     * @return an unmodifiable list of recipes.
+     */
+    public List<Recipe> getRecipes() {
+        return recipes;
+    }
+
+    @Override
+    public JSONObject toJson() {
+        return toJson(false);
+    }
+
+    @Override
+    public JSONObject toJson(boolean compactSets) {
+        JSONObject json = new JSONObject();
+        json.put("name", name);
+        JSONArray workoutsArray = new JSONArray();
+        for (Workout w : workouts) {
+            workoutsArray.put(w.toJson(compactSets));
+        }
+        JSONArray mealsArray = new JSONArray();
+        for (Meal m : meals) {
+            mealsArray.put(m.toJson());
+        }
+        JSONArray recipesArray = new JSONArray();
+        for (Recipe r : recipes) {
+            recipesArray.put(r.toJson());
+        }
+        json.put("workouts", workoutsArray);
+        json.put("meals", mealsArray);
+        json.put("recipes", recipesArray);
+        return json;
+    }
+}
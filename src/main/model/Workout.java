@@ -4,13 +4,14 @@ import org.json.JSONArray;
 import org.json.JSONObject;
 import java.time.LocalDate;
 import java.util.ArrayList;
+import java.util.Collection;
 import java.util.List;
 
 /**
  * Represents a workout session on a specific date.
  * Contains a list of exercises that were performed during the session.
  */
-public class Workout {
+public class Workout extends ChangeNotifier {
     private LocalDate date;
     private List<Exercise> exercises;
 
@@ -33,7 +34,7 @@ public class Workout {
      * Adds an exercise to this workout session.
      * Requires: exercise is non-null.
      * Modifies: the exercises list.
-     * Effects: the exercise is appended to the list.
+     * Effects: the exercise is appended to the list and an ADDED event is fired.
      * @param exercise the exercise to add.
      */
     public void addExercise(Exercise exercise) {
@@ -41,6 +42,22 @@ public class Workout {
             throw new IllegalArgumentException("Exercise cannot be null.");
         }
         exercises.add(exercise);
+        fireChange(ModelEvent.Type.ADDED, exercises.size() - 1, exercise);
+    }
+
+    /**
+     * Adds several exercises to this workout session.
+     * Requires: newExercises is non-null and contains no null.
+     * Modifies: the exercises list.
+     * Effects: Checks every exercise first, grows the list once, appends them in order and fires
+     *          a single ADDED event covering them all.
+     * @param newExercises the exercises to add.
+     */
+    public void addExercises(Collection<? extends Exercise> newExercises) {
+        List<Exercise> batch = checkedCopy(newExercises, "Exercise");
+        int index = exercises.size();
+        exercises.addAll(batch);
+        fireChanges(ModelEvent.Type.ADDED, index, batch);
     }
 
     /**
@@ -51,6 +68,26 @@ public class Workout {
         return new ArrayList<>(exercises);
     }
 
+    /**
+     * Returns the total number of completed reps across all exercises.
+     * @return the sum of completed reps.
+     */
+    public int getTotalCompletedReps() {
+        int total = 0;
+        for (Exercise exercise : exercises) {
+            total += exercise.getTotalCompletedReps();
+        }
+        return total;
+    }
+
+    /**
+     * Returns the internal exercises list without copying, for read-only use within the model.
+     * @return the exercises list.
+     */
+    List<Exercise> exercisesView() {
+        return exercises;
+    }
+
     /**
      * Returns the date of this workout session.
      * @return the workout date.
@@ -64,11 +101,21 @@ public class Workout {
      * Effects: Converts the workout date and exercises into JSON.
      */
     public JSONObject toJson() {
+        return toJson(false);
+    }
+
+    /**
+     * Returns this Workout as a JSON object, optionally with run-length encoded sets.
+     * Effects: Converts the workout date and exercises into JSON.
+     * @param compactSets whether each exercise writes set groups instead of individual sets.
+     * @return a JSONObject representation of this Workout.
+     */
+    public JSONObject toJson(boolean compactSets) {
         JSONObject json = new JSONObject();
         json.put("date", date.toString());
         JSONArray exercisesArray = new JSONArray();
         for (Exercise ex : exercises) {
-            exercisesArray.put(ex.toJson());
+            exercisesArray.put(ex.toJson(compactSets));
         }
         json.put("exercises", exercisesArray);
         return json;
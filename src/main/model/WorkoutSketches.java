@@ -0,0 +1,108 @@
+package model;
+
+import java.util.Locale;
+
+/**
+ * Approximate statistics over every workout added to a WorkoutTracker.
+ * Maintained incrementally as workouts are added so that large histories never need to be
+ * rescanned. Exercise names are compared case-insensitively and ignoring surrounding spaces.
+ * Error bounds follow from the underlying sketches:
+ *  - distinct exercise names: HyperLogLog, ~0.81% relative standard error;
+ *  - exercise frequency: count-min, never under, over by at most 0.1% of all exercises logged
+ *    with 99% probability;
+ *  - rep percentiles: t-digest with compression 100.
+ * Sketches from different profiles or shards can be combined with merge().
+ */
+public class WorkoutSketches {
+    private final HyperLogLog exerciseNames;
+    private final CountMinSketch exerciseFrequency;
+    private final TDigest completedReps;
+    private final TDigest targetReps;
+
+    /**
+     * Constructs empty workout sketches with the default sizes.
+     */
+    public WorkoutSketches() {
+        exerciseNames = new HyperLogLog();
+        exerciseFrequency = new CountMinSketch();
+        completedReps = new TDigest();
+        targetReps = new TDigest();
+    }
+
+    /**
+     * Records every exercise and set of a workout.
+     * Requires: workout is non-null.
+     * Modifies: this.
+     * Effects: Offers each exercise name and each set's reps to the sketches.
+     * @param workout the workout to record.
+     */
+    public void record(Workout workout) {
+        for (Exercise exercise : workout.exercisesView()) {
+            String key = normalize(exercise.getName());
+            exerciseNames.offer(key);
+            exerciseFrequency.add(key);
+            for (int g = 0; g < exercise.groupCount(); g++) {
+                completedReps.add(exercise.groupCompleted(g), exercise.groupSize(g));
+                targetReps.add(exercise.groupTarget(g), exercise.groupSize(g));
+            }
+        }
+    }
+
+    /**
+     * Merges another set of workout sketches into this one.
+     * Requires: other is non-null.
+     * Modifies: this.
+     * @param other the sketches to merge in.
+     */
+    public void merge(WorkoutSketches other) {
+        exerciseNames.merge(other.exerciseNames);
+        exerciseFrequency.merge(other.exerciseFrequency);
+        completedReps.merge(other.completedReps);
+        targetReps.merge(other.targetReps);
+    }
+
+    /**
+     * Returns the estimated number of distinct exercise names recorded.
+     * @return the estimated distinct count.
+     */
+    public long estimateDistinctExercises() {
+        return exerciseNames.cardinality();
+    }
+
+    /**
+     * Returns the estimated number of times an exercise has been performed.
+     * Requires: name is non-null.
+     * @param name the exercise name.
+     * @return the estimated count; never less than the true count.
+     */
+    public long estimateExerciseFrequency(String name) {
+        return exerciseFrequency.estimate(normalize(name));
+    }
+
+    /**
+     * Returns the estimated completed reps per set at quantile q.
+     * Requires: 0 <= q <= 1.
+     * @param q the quantile.
+     * @return the estimated value, or NaN if no sets have been recorded.
+     */
+    public double completedRepsQuantile(double q) {
+        return completedReps.quantile(q);
+    }
+
+    /**
+     * Returns the estimated target reps per set at quantile q.
+     * Requires: 0 <= q <= 1.
+     * @param q the quantile.
+     * @return the estimated value, or NaN if no sets have been recorded.
+     */
+    public double targetRepsQuantile(double q) {
+        return targetReps.quantile(q);
+    }
+
+    /**
+     * Returns the key an exercise name is counted under: trimmed and lower-cased.
+     */
+    static String normalize(String name) {
+        return name.trim().toLowerCase(Locale.ROOT);
+    }
+}
@@ -1,15 +1,37 @@
 package model;
 
+import diagnostics.QueryEvent;
 import org.json.JSONArray;
 
+import java.time.LocalDate;
+import java.util.AbstractMap;
 import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.Iterator;
 import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.TreeSet;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.ToIntFunction;
 
 /**
  * Tracks all workout sessions.
+ * Safe for use by multiple threads: the workouts are held in an immutable PersistentVector that
+ * is replaced by compare-and-set on every add, so appends are lock-free, readers never block, and
+ * snapshot() is O(1). Removals take a lock among themselves. A workout should be fully built before
+ * it is added; later changes to its exercises are not published to other threads and are not isolated
+ * from snapshots.
  */
-public class WorkoutTracker {
-    private List<Workout> workouts;
+public class WorkoutTracker extends ChangeNotifier {
+    private static final int SPACE_SAVING_FACTOR = 10;
+
+    private final AtomicReference<PersistentVector<Workout>> workouts;
+    private final Object removeLock = new Object();
+    private final WorkoutSketches sketches;
+    private final DailyVolume dailyVolume;
 
     /**
      * Constructs an empty WorkoutTracker.
@@ -17,21 +39,98 @@ public class WorkoutTracker {
      * Effects: Creates a new tracker with no workouts.
      */
     public WorkoutTracker() {
-        workouts = new ArrayList<>();
+        workouts = new AtomicReference<>(PersistentVector.empty());
+        sketches = new WorkoutSketches();
+        dailyVolume = new DailyVolume();
     }
 
     /**
      * Adds a workout session to the tracker.
      * Requires: workout is non-null.
-     * Modifies: the workouts list.
-     * Effects: Appends the workout.
+     * Modifies: the workouts list, sketches and daily volume.
+     * Effects: Appends the workout, records it in the sketches and its day's volume, and fires an ADDED event.
      * @param workout the workout session to add.
      */
     public void addWorkout(Workout workout) {
         if (workout == null) {
             throw new IllegalArgumentException("Workout cannot be null.");
         }
-        workouts.add(workout);
+        int index = workouts.updateAndGet(v -> v.append(workout)).size() - 1;
+        sketches.record(workout);
+        dailyVolume.add(workout.getDate(), workout.getTotalCompletedReps());
+        fireChange(ModelEvent.Type.ADDED, index, workout);
+    }
+
+    /**
+     * Adds many workout sessions at once, e.g. when importing history.
+     * Requires: workouts is non-null and contains no null.
+     * Modifies: the workouts list, sketches and daily volume.
+     * Effects: Checks every workout before changing anything, then appends them all in one step
+     *          (other threads see none or all of them), records them in the sketches, updates the
+     *          daily volume under one lock, and fires a single ADDED event covering them all.
+     * @param newWorkouts the workouts to add, in order.
+     * @throws IllegalArgumentException if newWorkouts or one of its elements is null; nothing is added.
+     */
+    public void addWorkouts(Collection<? extends Workout> newWorkouts) {
+        List<Workout> batch = checkedCopy(newWorkouts, "Workout");
+        int index = workouts.updateAndGet(v -> v.appendAll(batch)).size() - batch.size();
+        LocalDate[] days = new LocalDate[batch.size()];
+        long[] reps = new long[batch.size()];
+        for (int i = 0; i < days.length; i++) {
+            Workout workout = batch.get(i);
+            sketches.record(workout);
+            days[i] = workout.getDate();
+            reps[i] = workout.getTotalCompletedReps();
+        }
+        dailyVolume.addAll(days, reps);
+        fireChanges(ModelEvent.Type.ADDED, index, batch);
+    }
+
+    /**
+     * Removes a workout session from the tracker.
+     * Requires: workout is non-null.
+     * Modifies: the workouts list and daily volume (the sketches are summaries and keep counting it).
+     * Effects: Removes the most recently added occurrence of this exact workout object;
+     *          removing the last workout is O(log32 n), an earlier one O(n) with one copy per 32
+     *          elements. Removals are serialized by a lock; concurrent adds stay lock-free and are
+     *          carried over rather than making the removal start again. Fires a REMOVED event.
+     * @param workout the workout session to remove.
+     * @return true if the workout was found and removed.
+     */
+    public boolean removeWorkout(Workout workout) {
+        int index;
+        synchronized (removeLock) {
+            index = PersistentVector.removeLast(workouts, workout);
+        }
+        if (index < 0) {
+            return false;
+        }
+        dailyVolume.add(workout.getDate(), -workout.getTotalCompletedReps());
+        fireChange(ModelEvent.Type.REMOVED, index, workout);
+        return true;
+    }
+
+    /**
+     * Returns the number of recorded workouts.
+     * @return the workout count.
+     */
+    public int size() {
+        return workouts.get().size();
+    }
+
+    /**
+     * Returns the number of sets across all recorded workouts.
+     * Effects: Walks one snapshot; takes time linear in the number of exercises.
+     * @return the set count.
+     */
+    public long countSets() {
+        long sets = 0;
+        for (Workout workout : workouts.get()) {
+            for (Exercise exercise : workout.exercisesView()) {
+                sets += exercise.getSetCount();
+            }
+        }
+        return sets;
     }
 
     /**
@@ -39,7 +138,216 @@ public class WorkoutTracker {
      * @return a copy of the workouts list.
      */
     public List<Workout> getWorkouts() {
-        return new ArrayList<>(workouts);
+        return new ArrayList<>(workouts.get());
+    }
+
+    /**
+     * Returns an immutable, consistent view of the workouts recorded so far.
+     * Effects: Takes O(1) time and memory; later adds are not visible in the returned list.
+     * @return the current workouts, which cannot be modified.
+     */
+    public List<Workout> snapshot() {
+        return workouts.get();
+    }
+
+    /**
+     * Returns the k most-performed exercises, most frequent first.
+     * Requires: k > 0.
+     * Effects: Counts exercise names with a space-saving counter of 10 * k slots, or one per
+     *          recorded exercise if that is fewer, so counts are exact unless there are more than
+     *          10 * k distinct names. Names are keyed as WorkoutSketches keys them, trimmed and
+     *          ignoring case, so "Squat" and "squat " count as one exercise, reported with its
+     *          first recorded spelling.
+     * @param k the number of exercises to return.
+     * @return entries of exercise name and number of times performed.
+     */
+    public List<Map.Entry<String, Long>> topExercises(int k) {
+        if (k <= 0) {
+            throw new IllegalArgumentException("k must be greater than 0.");
+        }
+        QueryEvent event = QueryEvent.start("workouts", "topExercises", k);
+        PersistentVector<Workout> snapshot = workouts.get();
+        long names = Math.max(1, countExercises(snapshot));
+        SpaceSaving counter = new SpaceSaving((int) Math.min((long) k * SPACE_SAVING_FACTOR, names));
+        for (Workout w : snapshot) {
+            for (Exercise ex : w.exercisesView()) {
+                counter.offer(WorkoutSketches.normalize(ex.getName()));
+            }
+        }
+        List<Map.Entry<String, Long>> top = withSpellings(snapshot, counter.top(k));
+        event.finish(top.size());
+        return top;
+    }
+
+    /**
+     * Returns the number of exercises across workouts, an upper bound on their distinct names.
+     */
+    private static long countExercises(Iterable<Workout> workouts) {
+        long exercises = 0;
+        for (Workout w : workouts) {
+            exercises += w.exercisesView().size();
+        }
+        return exercises;
+    }
+
+    /**
+     * Replaces each normalized name in top with its first spelling in workouts, trimmed.
+     * Effects: Scans workouts in order until every name is found.
+     */
+    private static List<Map.Entry<String, Long>> withSpellings(Iterable<Workout> workouts,
+                                                              List<Map.Entry<String, Long>> top) {
+        Map<String, String> spellings = new HashMap<>();
+        for (Map.Entry<String, Long> e : top) {
+            spellings.put(e.getKey(), null);
+        }
+        int missing = spellings.size();
+        Iterator<Workout> it = workouts.iterator();
+        while (missing > 0 && it.hasNext()) {
+            for (Exercise ex : it.next().exercisesView()) {
+                String key = WorkoutSketches.normalize(ex.getName());
+                if (spellings.containsKey(key) && spellings.get(key) == null) {
+                    spellings.put(key, ex.getName().trim());
+                    missing--;
+                }
+            }
+        }
+        List<Map.Entry<String, Long>> named = new ArrayList<>(top.size());
+        for (Map.Entry<String, Long> e : top) {
+            named.add(new AbstractMap.SimpleImmutableEntry<>(spellings.get(e.getKey()), e.getValue()));
+        }
+        return named;
+    }
+
+    /**
+     * Returns the k workouts with the most completed reps within a date range.
+     * Requires: k > 0; from and to are non-null.
+     * Effects: Ranks workouts dated from..to (inclusive) in one pass with a bounded heap.
+     * @param k the number of workouts to return.
+     * @param from the first date included.
+     * @param to the last date included.
+     * @return at most k workouts, most completed reps first.
+     */
+    public List<Workout> topWorkoutsByCompletedReps(int k, LocalDate from, LocalDate to) {
+        if (from == null || to == null) {
+            throw new IllegalArgumentException("Date range cannot be null.");
+        }
+        QueryEvent event = QueryEvent.start("workouts", "topWorkoutsByCompletedReps", from);
+        TopK<Workout> topK = new TopK<>(k, Comparator.comparingInt(Workout::getTotalCompletedReps));
+        for (Workout w : workouts.get()) {
+            if (!w.getDate().isBefore(from) && !w.getDate().isAfter(to)) {
+                topK.offer(w);
+            }
+        }
+        List<Workout> top = topK.toList();
+        event.finish(top.size());
+        return top;
+    }
+
+    /**
+     * Returns the workouts within a date range that include a given exercise, in the order added.
+     * Effects: Scans one snapshot; a null bound or name means no restriction. The name matches any
+     *          exercise whose name contains it, ignoring case.
+     * @param from the first date included, or null.
+     * @param to the last date included, or null.
+     * @param exerciseName text the name of at least one exercise must contain, or null.
+     * @return the matching workouts.
+     */
+    public List<Workout> findWorkouts(LocalDate from, LocalDate to, String exerciseName) {
+        QueryEvent event = QueryEvent.start("workouts", "findWorkouts", exerciseName);
+        String needle = exerciseName == null ? null : exerciseName.toLowerCase();
+        List<Workout> result = new ArrayList<>();
+        for (Workout w : workouts.get()) {
+            boolean inRange = (from == null || !w.getDate().isBefore(from))
+                    && (to == null || !w.getDate().isAfter(to));
+            if (inRange && (needle == null || hasExerciseContaining(w, needle))) {
+                result.add(w);
+            }
+        }
+        event.finish(result.size());
+        return result;
+    }
+
+    private static boolean hasExerciseContaining(Workout workout, String lowerCaseNeedle) {
+        for (Exercise ex : workout.exercisesView()) {
+            if (ex.getName().toLowerCase().contains(lowerCaseNeedle)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Returns the distinct exercise names logged so far, sorted ignoring case.
+     * Effects: Names differing only in case are listed once, with the first spelling seen.
+     * @return the exercise names.
+     */
+    public List<String> getExerciseNames() {
+        QueryEvent event = QueryEvent.start("workouts", "getExerciseNames", null);
+        TreeSet<String> names = new TreeSet<>(String.CASE_INSENSITIVE_ORDER);
+        for (Workout w : workouts.get()) {
+            for (Exercise ex : w.exercisesView()) {
+                names.add(ex.getName());
+            }
+        }
+        event.finish(names.size());
+        return new ArrayList<>(names);
+    }
+
+    /**
+     * Returns a per-day series of a rep count for one exercise, e.g. completed or target reps.
+     * Requires: exerciseName and metric are non-null.
+     * Effects: Sums metric over every set of every exercise with that name (ignoring case),
+     *          grouped by workout date; x is the date's epoch day, in increasing order.
+     * @param exerciseName the exercise to chart.
+     * @param metric the per-set value, e.g. ExerciseSet::getCompletedReps.
+     * @return the daily totals.
+     */
+    public TimeSeries repsSeries(String exerciseName, ToIntFunction<ExerciseSet> metric) {
+        QueryEvent event = QueryEvent.start("workouts", "repsSeries", exerciseName);
+        TreeMap<Long, Long> totals = dailyTotals(exerciseName, metric);
+        double[] xs = new double[totals.size()];
+        double[] ys = new double[totals.size()];
+        int i = 0;
+        for (Map.Entry<Long, Long> e : totals.entrySet()) {
+            xs[i] = e.getKey();
+            ys[i++] = e.getValue();
+        }
+        event.finish(xs.length);
+        return new TimeSeries(xs, ys);
+    }
+
+    // Effects: returns the sum of metric over the named exercise's sets, keyed by epoch day.
+    private TreeMap<Long, Long> dailyTotals(String exerciseName, ToIntFunction<ExerciseSet> metric) {
+        TreeMap<Long, Long> totals = new TreeMap<>();
+        for (Workout w : workouts.get()) {
+            for (Exercise ex : w.exercisesView()) {
+                if (ex.getName().equalsIgnoreCase(exerciseName)) {
+                    long sum = 0;
+                    for (int g = 0; g < ex.groupCount(); g++) {
+                        ExerciseSet set = new ExerciseSet(ex.groupTarget(g), ex.groupCompleted(g));
+                        sum += (long) ex.groupSize(g) * metric.applyAsInt(set);
+                    }
+                    totals.merge(w.getDate().toEpochDay(), sum, Long::sum);
+                }
+            }
+        }
+        return totals;
+    }
+
+    /**
+     * Returns the completed reps per day over all workouts in the tracker.
+     * @return the live daily volume aggregate.
+     */
+    public DailyVolume getDailyVolume() {
+        return dailyVolume;
+    }
+
+    /**
+     * Returns the approximate statistics maintained over all added workouts.
+     * @return the workout sketches.
+     */
+    public WorkoutSketches getSketches() {
+        return sketches;
     }
 
     /**
@@ -48,7 +356,7 @@ public class WorkoutTracker {
      */
     public JSONArray toJson() {
         JSONArray array = new JSONArray();
-        for (Workout w : workouts) {
+        for (Workout w : workouts.get()) {
             array.put(w.toJson()); 
             // Make sure Workout.java has a public JSONObject toJson() method
         }
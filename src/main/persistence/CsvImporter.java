@@ -0,0 +1,982 @@
+package persistence;
+
+import model.ChangeNotifier;
+import model.Exercise;
+import model.Meal;
+import model.MealPlan;
+import model.SetGroup;
+import model.VitaSyncData;
+import model.Workout;
+import model.WorkoutTracker;
+
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.io.UncheckedIOException;
+import java.io.Reader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.time.LocalDate;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.function.Consumer;
+import java.util.function.Function;
+
+/**
+ * Imports workout and meal logs exported by other trackers as CSV: one row per set for workouts and
+ * one row per food entry for meals, under a header row naming the columns. Which header holds which
+ * field is configurable, as are the delimiter and the date format; fields may be quoted as in RFC 4180.
+ * The file is streamed in chunks of whole records that a thread pool parses in parallel. Chunks are
+ * merged in file order and each is added with one bulk add, and at most two chunks per thread are in
+ * flight, so memory is bounded by the chunk size rather than the file size. A row that cannot be
+ * parsed, or a record longer than MAX_RECORD_CHARS, is reported with its line number and skipped;
+ * the rest of the file is still imported.
+ * Consecutive set rows with the same date form one workout, and consecutive rows of that workout with
+ * the same exercise one exercise, which is how trackers order their exports.
+ * Each import runs in one batch of the store it fills, so its listeners see a single append.
+ */
+public class CsvImporter {
+    public static final int MAX_REPORTED_ERRORS = 100;
+    public static final int MAX_RECORD_CHARS = 1 << 16;
+    private static final int CHUNK_CHARS = 1 << 20;
+
+    /**
+     * The fields the importer reads, with the header each is found under by default.
+     * COMPLETED_REPS is optional: without it every set counts as done, as trackers log performed sets.
+     */
+    public enum Column {
+        DATE("date"),
+        EXERCISE("exercise"),
+        REPS("reps"),
+        COMPLETED_REPS("completed_reps"),
+        MEAL("meal"),
+        PROTEIN("protein"),
+        CARBS("carbs"),
+        FAT("fat");
+
+        private final String defaultHeader;
+
+        Column(String defaultHeader) {
+            this.defaultHeader = defaultHeader;
+        }
+
+        public String getDefaultHeader() {
+            return defaultHeader;
+        }
+    }
+
+    private final Map<Column, String> headers;
+    private final char delimiter;
+    private final DateTimeFormatter dateFormat;
+    private final int threads;
+    private final int chunkChars;
+
+    /**
+     * Constructs an importer for comma-separated files with ISO dates and the default headers,
+     * using one thread per processor.
+     */
+    public CsvImporter() {
+        this(defaultColumns(), ',', DateTimeFormatter.ISO_LOCAL_DATE, Runtime.getRuntime().availableProcessors());
+    }
+
+    /**
+     * Constructs an importer.
+     *
+     * Requires: threads > 0; columns maps every column an import needs to a non-null header.
+     *
+     * @param columns the header of each column; headers are matched ignoring case and surrounding spaces
+     * @param delimiter the field separator, such as ',' or ';'
+     * @param dateFormat the format of the date column
+     * @param threads how many threads parse chunks
+     */
+    public CsvImporter(Map<Column, String> columns, char delimiter, DateTimeFormatter dateFormat, int threads) {
+        this(columns, delimiter, dateFormat, threads, CHUNK_CHARS);
+    }
+
+    /**
+     * Constructs an importer that cuts the input into chunks of about chunkChars characters.
+     */
+    CsvImporter(Map<Column, String> columns, char delimiter, DateTimeFormatter dateFormat, int threads,
+                int chunkChars) {
+        if (threads <= 0 || chunkChars <= 0) {
+            throw new IllegalArgumentException("Threads and chunk size must be positive.");
+        }
+        if (delimiter == '"' || delimiter == '\n' || delimiter == '\r') {
+            throw new IllegalArgumentException("The delimiter cannot be a quote or a line break.");
+        }
+        this.headers = new EnumMap<>(defaultColumns());
+        this.headers.putAll(columns);
+        this.delimiter = delimiter;
+        this.dateFormat = dateFormat;
+        this.threads = threads;
+        this.chunkChars = chunkChars;
+    }
+
+    /**
+     * Returns a new, modifiable map from each column to its default header.
+     *
+     * @return the default column mapping
+     */
+    public static Map<Column, String> defaultColumns() {
+        Map<Column, String> columns = new EnumMap<>(Column.class);
+        for (Column column : Column.values()) {
+            columns.put(column, column.getDefaultHeader());
+        }
+        return columns;
+    }
+
+    /**
+     * Imports sets, one per row, as workouts.
+     *
+     * Modifies: tracker
+     * Effects: Adds a workout for each run of rows with the same date, holding an exercise for each
+     *          run of its rows with the same exercise and a set for each row; skips and reports rows
+     *          that cannot be parsed.
+     *
+     * @param in the CSV text, starting with the header row; it is read to the end but not closed
+     * @param tracker the tracker to add the workouts to
+     * @return what was imported and which rows were skipped
+     * @throws IOException if in cannot be read or lacks a required column
+     */
+    public Report importWorkouts(Reader in, WorkoutTracker tracker) throws IOException {
+        WorkoutMerger merger = new WorkoutMerger(tracker);
+        return batched(tracker, () -> {
+            Report report = run(in, header -> {
+                SetColumns columns = new SetColumns(header);
+                return chunk -> parseSets(chunk, columns);
+            }, merger::accept);
+            merger.finish();
+            return report;
+        });
+    }
+
+    /**
+     * Imports food entries, one per row, as meals.
+     *
+     * Modifies: mealPlan
+     * Effects: Adds a meal for each row; skips and reports rows that cannot be parsed. Decimal grams
+     *          are rounded to whole grams.
+     *
+     * @param in the CSV text, starting with the header row; it is read to the end but not closed
+     * @param mealPlan the meal plan to add the meals to
+     * @return what was imported and which rows were skipped
+     * @throws IOException if in cannot be read or lacks a required column
+     */
+    public Report importMeals(Reader in, MealPlan mealPlan) throws IOException {
+        ConcurrentMap<String, String> names = new ConcurrentHashMap<>();
+        return batched(mealPlan, () -> run(in, header -> {
+            int[] columns = {index(header, Column.MEAL, true), index(header, Column.PROTEIN, true),
+                index(header, Column.CARBS, true), index(header, Column.FAT, true)};
+            return chunk -> parseMeals(chunk, columns, names);
+        }, mealPlan::addMeals));
+    }
+
+    /**
+     * Runs an import inside a batch of store, so its chunk-by-chunk adds reach listeners as one event.
+     */
+    private static Report batched(ChangeNotifier store, Import task) throws IOException {
+        Report[] report = new Report[1];
+        try {
+            store.batch(() -> {
+                try {
+                    report[0] = task.run();
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            });
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        }
+        return report[0];
+    }
+
+    /**
+     * Streams in through the pool: parses the header, then hands each chunk to the parser the
+     * header selects and passes the parsed items to sink in file order.
+     */
+    private <T> Report run(Reader in, HeaderParser<T> parserFor, Consumer<List<T>> sink) throws IOException {
+        Report report = new Report();
+        ChunkReader chunks = new ChunkReader(in, chunkChars, delimiter, MAX_RECORD_CHARS);
+        Chunk chunk = chunks.next();
+        if (chunk == null) {
+            throw new IOException("The file is empty; expected a header row.");
+        }
+        Row header = new Row(chunk, delimiter);
+        header.next();
+        Function<Chunk, Parsed<T>> parser = parserFor.forHeader(header.values());
+        ExecutorService pool = Executors.newFixedThreadPool(threads, r -> {
+            Thread thread = new Thread(r, "csv-import");
+            thread.setDaemon(true);
+            return thread;
+        });
+        try {
+            parseAll(chunks, header.rest(), parser, pool, parsed -> report.add(parsed, sink));
+        } finally {
+            pool.shutdownNow();
+        }
+        return report;
+    }
+
+    private <T> void parseAll(ChunkReader chunks, Chunk first, Function<Chunk, Parsed<T>> parser,
+                              ExecutorService pool, Consumer<Parsed<T>> collector) throws IOException {
+        Deque<Future<Parsed<T>>> pending = new ArrayDeque<>();
+        for (Chunk chunk = first != null ? first : chunks.next(); chunk != null; chunk = chunks.next()) {
+            Chunk task = chunk;
+            pending.add(pool.submit(() -> parser.apply(task)));
+            if (pending.size() >= 2 * threads) {
+                collector.accept(await(pending.remove()));
+            }
+        }
+        while (!pending.isEmpty()) {
+            collector.accept(await(pending.remove()));
+        }
+    }
+
+    private static <T> T await(Future<T> future) throws IOException {
+        try {
+            return future.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException("Import interrupted.");
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException) {
+                throw (RuntimeException) e.getCause();
+            }
+            throw new IOException(e.getCause());
+        }
+    }
+
+    /**
+     * Returns the position of column in header, or -1 if it is optional and absent.
+     */
+    private int index(List<String> header, Column column, boolean required) throws IOException {
+        String wanted = headers.get(column).trim();
+        for (int i = 0; i < header.size(); i++) {
+            if (header.get(i).trim().equalsIgnoreCase(wanted)) {
+                return i;
+            }
+        }
+        if (required) {
+            throw new IOException("No \"" + wanted + "\" column for " + column + " in the header.");
+        }
+        return -1;
+    }
+
+    // Parses every set row of one chunk. A row's exercise name is only copied out of the chunk when
+    // it differs from the previous row's.
+    private Parsed<Workout> parseSets(Chunk chunk, SetColumns columns) {
+        Parsed<Workout> parsed = new Parsed<>(chunk);
+        Row row = new Row(chunk, delimiter);
+        DateCache dates = new DateCache(dateFormat);
+        SetRuns runs = new SetRuns(parsed.items);
+        while (row.next()) {
+            try {
+                LocalDate date = dates.parse(row, columns.date);
+                String last = runs.lastExercise();
+                String name = last != null && row.matches(columns.exercise, last) ? last
+                        : row.text(columns.exercise, Column.EXERCISE);
+                int reps = row.amount(columns.reps, Column.REPS);
+                int completed = columns.completed < 0 ? reps : row.amount(columns.completed, Column.COMPLETED_REPS);
+                runs.add(date, name, reps, completed);
+                parsed.imported++;
+            } catch (IllegalArgumentException | DateTimeParseException e) {
+                parsed.error(row.line(), e.getMessage());
+            }
+        }
+        return parsed;
+    }
+
+    private Parsed<Meal> parseMeals(Chunk chunk, int[] columns, ConcurrentMap<String, String> names) {
+        Parsed<Meal> parsed = new Parsed<>(chunk);
+        Row row = new Row(chunk, delimiter);
+        while (row.next()) {
+            try {
+                String name = row.text(columns[0], Column.MEAL);
+                int protein = row.amount(columns[1], Column.PROTEIN);
+                int carbs = row.amount(columns[2], Column.CARBS);
+                int fat = row.amount(columns[3], Column.FAT);
+                String shared = names.putIfAbsent(name, name);
+                parsed.items.add(new Meal(shared != null ? shared : name, protein, carbs, fat));
+                parsed.imported++;
+            } catch (IllegalArgumentException e) {
+                parsed.error(row.line(), e.getMessage());
+            }
+        }
+        return parsed;
+    }
+
+    /**
+     * Imports a CSV file into a data file and prints the report.
+     * Usage: CsvImporter (workouts|meals) file.csv data.json [delimiter] [date-pattern]
+     * The data file is read first if it exists, so repeated imports accumulate.
+     */
+    public static void main(String[] args) throws IOException {
+        if (args.length < 3) {
+            System.out.println("Usage: CsvImporter (workouts|meals) <file.csv> <data.json> [delimiter] [date-pattern]");
+            return;
+        }
+        char delimiter = args.length > 3 ? args[3].charAt(0) : ',';
+        DateTimeFormatter dates = args.length > 4 ? DateTimeFormatter.ofPattern(args[4])
+                : DateTimeFormatter.ISO_LOCAL_DATE;
+        CsvImporter importer = new CsvImporter(defaultColumns(), delimiter, dates,
+                Runtime.getRuntime().availableProcessors());
+        VitaSyncData data = Files.exists(Paths.get(args[2])) ? new JsonReader(args[2]).read()
+                : new VitaSyncData("Imported");
+        long start = System.nanoTime();
+        Report report;
+        try (Reader in = Files.newBufferedReader(Paths.get(args[1]), StandardCharsets.UTF_8)) {
+            report = args[0].equals("meals") ? importer.importMeals(in, data.getMealPlan())
+                    : importer.importWorkouts(in, data.getWorkoutTracker());
+        }
+        System.out.printf("Imported in %d ms.%n%s", (System.nanoTime() - start) / 1_000_000, report.format());
+        save(data, Paths.get(args[2]));
+    }
+
+    // Writes next to the data file and moves over it only after a clean write, so a failed save
+    // (such as a full disk) leaves the old file intact.
+    private static void save(VitaSyncData data, Path destination) throws IOException {
+        Path temp = Files.createTempFile(destination.toAbsolutePath().getParent(), "import", ".json");
+        try {
+            JsonWriter writer = new JsonWriter(temp.toString());
+            writer.open();
+            try {
+                writer.write(data);
+            } finally {
+                writer.close();
+            }
+            if (writer.checkError()) {
+                throw new IOException("Could not write " + temp + "; " + destination + " is unchanged.");
+            }
+            Files.move(temp, destination, StandardCopyOption.REPLACE_EXISTING);
+        } finally {
+            Files.deleteIfExists(temp);
+        }
+    }
+
+    /**
+     * One import, run by batched.
+     */
+    private interface Import {
+        Report run() throws IOException;
+    }
+
+    /**
+     * Chooses the chunk parser once the header row is known.
+     */
+    private interface HeaderParser<T> {
+        Function<Chunk, Parsed<T>> forHeader(List<String> header) throws IOException;
+    }
+
+    /**
+     * The header positions of the set columns; completed is -1 when the file has no such column.
+     */
+    private final class SetColumns {
+        private final int date;
+        private final int exercise;
+        private final int reps;
+        private final int completed;
+
+        SetColumns(List<String> header) throws IOException {
+            date = index(header, Column.DATE, true);
+            exercise = index(header, Column.EXERCISE, true);
+            reps = index(header, Column.REPS, true);
+            completed = index(header, Column.COMPLETED_REPS, false);
+        }
+    }
+
+    /**
+     * Groups a chunk's set rows into workouts and exercises. A row is checked before it changes the
+     * current workout, so a bad row leaves no trace.
+     */
+    private static final class SetRuns {
+        private final List<Workout> workouts;
+        private Workout workout;
+        private Exercise exercise;
+
+        SetRuns(List<Workout> workouts) {
+            this.workouts = workouts;
+        }
+
+        String lastExercise() {
+            return exercise == null ? null : exercise.getName();
+        }
+
+        void add(LocalDate date, String name, int reps, int completed) {
+            if (reps == 0) {
+                throw new IllegalArgumentException("reps must be greater than 0");
+            }
+            if (workout == null || !workout.getDate().equals(date)) {
+                workout = new Workout(date);
+                workouts.add(workout);
+                exercise = null;
+            }
+            if (exercise == null || !exercise.getName().equals(name)) {
+                exercise = new Exercise(name);
+                workout.addExercise(exercise);
+            }
+            exercise.addSetGroup(new SetGroup(1, reps, Math.min(completed, reps)));
+        }
+    }
+
+    /**
+     * Adds parsed workouts to a tracker in file order. A chunk's last workout may continue in the
+     * next chunk, so it is held back and the next chunk's first workout, if it has the same date, is
+     * folded into it before it is added.
+     */
+    private static final class WorkoutMerger {
+        private final WorkoutTracker tracker;
+        private Workout held;
+
+        WorkoutMerger(WorkoutTracker tracker) {
+            this.tracker = tracker;
+        }
+
+        void accept(List<Workout> workouts) {
+            int from = 0;
+            if (held != null && !workouts.isEmpty() && held.getDate().equals(workouts.get(0).getDate())) {
+                fold(held, workouts.get(0));
+                from = 1;
+            }
+            if (from == workouts.size()) {
+                return;
+            }
+            List<Workout> ready = new ArrayList<>(workouts.size());
+            if (held != null) {
+                ready.add(held);
+            }
+            ready.addAll(workouts.subList(from, workouts.size() - 1));
+            held = workouts.get(workouts.size() - 1);
+            tracker.addWorkouts(ready);
+        }
+
+        void finish() {
+            if (held != null) {
+                tracker.addWorkout(held);
+                held = null;
+            }
+        }
+
+        private static void fold(Workout into, Workout next) {
+            List<Exercise> before = into.getExercises();
+            List<Exercise> after = next.getExercises();
+            Exercise last = before.get(before.size() - 1);
+            int from = 0;
+            if (last.getName().equals(after.get(0).getName())) {
+                for (SetGroup group : after.get(0).getSetGroups()) {
+                    last.addSetGroup(group);
+                }
+                from = 1;
+            }
+            into.addExercises(after.subList(from, after.size()));
+        }
+    }
+
+    /**
+     * Reuses the last parsed date while rows repeat its text, as every set of a workout does.
+     */
+    private static final class DateCache {
+        private final DateTimeFormatter format;
+        private String text;
+        private LocalDate date;
+
+        DateCache(DateTimeFormatter format) {
+            this.format = format;
+        }
+
+        LocalDate parse(Row row, int column) {
+            if (text == null || !row.matches(column, text)) {
+                String value = row.text(column, Column.DATE);
+                date = LocalDate.parse(value, format);
+                text = value;
+            }
+            return date;
+        }
+    }
+
+    /**
+     * A run of whole records and the line the first one starts on, with the oversized record that
+     * was dropped just before them, if any.
+     */
+    static final class Chunk {
+        private final String text;
+        private final int firstLine;
+        private final RowError skipped;
+
+        Chunk(String text, int firstLine) {
+            this(text, firstLine, null);
+        }
+
+        Chunk(String text, int firstLine, RowError skipped) {
+            this.text = text;
+            this.firstLine = firstLine;
+            this.skipped = skipped;
+        }
+    }
+
+    /**
+     * Cuts a character stream into chunks that end after a record, so no record is split. Quotes are
+     * tracked with the same rule as Row: only a quote at the start of a field opens a quoted field,
+     * so a stray quote inside a field (5'10") is just a character. Scanning resumes where it stopped
+     * after each refill, so every character is scanned once. A record that grows past maxRecordChars
+     * without ending, typically because an opening quote is never closed, is dropped up to its first
+     * line break and reported, which bounds the buffer to about maxRecordChars + chunkChars.
+     */
+    static final class ChunkReader {
+        private static final int FIELD_START = 0;
+        private static final int UNQUOTED = 1;
+        private static final int QUOTED = 2;
+        private static final int QUOTE_SEEN = 3;
+        private static final int RECORD_END = 4;
+
+        private final Reader in;
+        private final int chunkChars;
+        private final char delimiter;
+        private final int maxRecordChars;
+        private char[] buffer;
+        private int length;
+        private int line = 1;
+        private boolean eof;
+        private int scanned;
+        private int state = FIELD_START;
+        private int lines;
+        private int boundary;
+        private int boundaryLines;
+
+        ChunkReader(Reader in, int chunkChars, char delimiter, int maxRecordChars) {
+            this.in = in;
+            this.chunkChars = chunkChars;
+            this.delimiter = delimiter;
+            this.maxRecordChars = maxRecordChars;
+            this.buffer = new char[chunkChars + 1024];
+        }
+
+        /**
+         * Returns the next chunk, or null at the end of the stream.
+         */
+        Chunk next() throws IOException {
+            RowError skipped = null;
+            int target = chunkChars;
+            while (true) {
+                fill(target);
+                scan();
+                if (boundary > 0) {
+                    return cut(skipped);
+                }
+                if (eof) {
+                    return skipped == null ? null : new Chunk("", line, skipped);
+                }
+                if (length >= maxRecordChars) {
+                    skipped = skipped != null ? skipped : new RowError(line, "the record is longer than "
+                            + maxRecordChars + " characters; is a quote not closed?");
+                    skipFirstLine();
+                    target = chunkChars;
+                } else {
+                    target = length + chunkChars;
+                }
+            }
+        }
+
+        private Chunk cut(RowError skipped) {
+            Chunk chunk = new Chunk(new String(buffer, 0, boundary), line, skipped);
+            line += boundaryLines;
+            discard(boundary);
+            scanned -= boundary;
+            lines -= boundaryLines;
+            boundary = 0;
+            boundaryLines = 0;
+            return chunk;
+        }
+
+        private void fill(int target) throws IOException {
+            if (target > buffer.length) {
+                buffer = Arrays.copyOf(buffer, target);
+            }
+            while (!eof && length < target) {
+                int read = in.read(buffer, length, buffer.length - length);
+                if (read < 0) {
+                    eof = true;
+                } else {
+                    length += read;
+                }
+            }
+        }
+
+        // Scans from where the last scan stopped, noting the end of the last complete record and the
+        // line breaks before it; at the end of the stream everything left is complete.
+        private void scan() {
+            for (; scanned < length; scanned++) {
+                char c = buffer[scanned];
+                if (c == '\n') {
+                    lines++;
+                }
+                state = step(state, c);
+                if (state == RECORD_END) {
+                    boundary = scanned + 1;
+                    boundaryLines = lines;
+                    state = FIELD_START;
+                }
+            }
+            if (eof && length > boundary) {
+                boundary = length;
+                boundaryLines = lines;
+            }
+        }
+
+        private int step(int current, char c) {
+            if (current == QUOTED) {
+                return c == '"' ? QUOTE_SEEN : QUOTED;
+            }
+            if (c == '"' && (current == FIELD_START || current == QUOTE_SEEN)) {
+                return QUOTED; // an opening quote, or the second of a doubled quote
+            }
+            if (c == '\n') {
+                return RECORD_END;
+            }
+            return c == delimiter ? FIELD_START : UNQUOTED;
+        }
+
+        // Drops the start of the buffer up to and including its first line break, reading on if there
+        // is none, and restarts scanning from the next line.
+        private void skipFirstLine() throws IOException {
+            while (true) {
+                for (int i = 0; i < length; i++) {
+                    if (buffer[i] == '\n') {
+                        discard(i + 1);
+                        line++;
+                        scanned = 0;
+                        lines = 0;
+                        state = FIELD_START;
+                        return;
+                    }
+                }
+                length = 0;
+                if (eof) {
+                    scanned = 0;
+                    return;
+                }
+                fill(chunkChars);
+            }
+        }
+
+        private void discard(int count) {
+            length -= count;
+            System.arraycopy(buffer, count, buffer, 0, length);
+        }
+    }
+
+    /**
+     * A cursor over the records of a chunk. next() finds the field boundaries of the next record;
+     * fields are only copied out of the chunk when asked for, and amounts are parsed in place.
+     */
+    static final class Row {
+        private final String text;
+        private final RowError skipped;
+        private final char delimiter;
+        private int position;
+        private int nextLine;
+        private int line;
+        private int fields;
+        private int[] starts = new int[16];
+        private int[] ends = new int[16];
+        private boolean[] quoted = new boolean[16];
+
+        Row(Chunk chunk, char delimiter) {
+            this.text = chunk.text;
+            this.skipped = chunk.skipped;
+            this.delimiter = delimiter;
+            this.nextLine = chunk.firstLine;
+        }
+
+        /**
+         * Moves to the next record, skipping blank lines.
+         * @return false if the chunk has no more records.
+         */
+        boolean next() {
+            while (position < text.length()) {
+                line = nextLine;
+                readRecord();
+                if (fields > 1 || ends[0] > starts[0] || quoted[0]) {
+                    return true;
+                }
+            }
+            return false;
+        }
+
+        private void readRecord() {
+            fields = 0;
+            boolean more = true;
+            while (more) {
+                if (fields == starts.length) {
+                    grow();
+                }
+                more = text.startsWith("\"", position) ? readQuoted() : readPlain();
+                fields++;
+            }
+        }
+
+        // Reads an unquoted field; returns true if another field of the record follows.
+        private boolean readPlain() {
+            int i = position;
+            while (i < text.length() && text.charAt(i) != delimiter && text.charAt(i) != '\n') {
+                i++;
+            }
+            setField(position, i > position && text.charAt(i - 1) == '\r' ? i - 1 : i, false);
+            return advance(i);
+        }
+
+        // Reads a quoted field up to its closing quote; doubled quotes inside stand for one quote.
+        private boolean readQuoted() {
+            int i = position + 1;
+            while (i < text.length()) {
+                char c = text.charAt(i);
+                if (c == '"' && (i + 1 >= text.length() || text.charAt(i + 1) != '"')) {
+                    break;
+                }
+                if (c == '\n') {
+                    nextLine++;
+                }
+                i += c == '"' ? 2 : 1;
+            }
+            setField(position + 1, Math.min(i, text.length()), true);
+            i++;
+            while (i < text.length() && text.charAt(i) != delimiter && text.charAt(i) != '\n') {
+                i++; // text after the closing quote, such as the \r of \r\n, is ignored
+            }
+            return advance(i);
+        }
+
+        private boolean advance(int i) {
+            position = Math.min(i + 1, text.length());
+            if (i < text.length() && text.charAt(i) == delimiter) {
+                return true;
+            }
+            if (i < text.length()) {
+                nextLine++;
+            }
+            return false;
+        }
+
+        private void setField(int start, int end, boolean isQuoted) {
+            starts[fields] = start;
+            ends[fields] = end;
+            quoted[fields] = isQuoted;
+        }
+
+        private void grow() {
+            starts = Arrays.copyOf(starts, fields * 2);
+            ends = Arrays.copyOf(ends, fields * 2);
+            quoted = Arrays.copyOf(quoted, fields * 2);
+        }
+
+        int line() {
+            return line;
+        }
+
+        /**
+         * Returns the rest of the chunk after this record, starting on the right line.
+         */
+        Chunk rest() {
+            return position < text.length() || skipped != null
+                    ? new Chunk(text.substring(position), nextLine, skipped) : null;
+        }
+
+        List<String> values() {
+            List<String> values = new ArrayList<>(fields);
+            for (int i = 0; i < fields; i++) {
+                values.add(value(i));
+            }
+            return values;
+        }
+
+        private String value(int i) {
+            String value = text.substring(starts[i], ends[i]);
+            return quoted[i] ? value.replace("\"\"", "\"") : value;
+        }
+
+        /**
+         * Returns field i without surrounding spaces.
+         * @throws IllegalArgumentException if the record has no field i or it is blank.
+         */
+        String text(int i, Column column) {
+            check(i, column);
+            String value = value(i).trim();
+            if (value.isEmpty()) {
+                throw new IllegalArgumentException(column.getDefaultHeader() + " is empty");
+            }
+            return value;
+        }
+
+        /**
+         * Returns true if unquoted field i is exactly value, without copying it.
+         */
+        boolean matches(int i, String value) {
+            return i < fields && !quoted[i] && ends[i] - starts[i] == value.length()
+                    && text.regionMatches(starts[i], value, 0, value.length());
+        }
+
+        /**
+         * Parses field i as a non-negative number of grams or reps, rounding any decimal part.
+         * @throws IllegalArgumentException if the field is missing, blank or not such a number.
+         */
+        int amount(int i, Column column) {
+            check(i, column);
+            int start = starts[i];
+            int end = ends[i];
+            while (start < end && text.charAt(start) == ' ') {
+                start++;
+            }
+            while (end > start && text.charAt(end - 1) == ' ') {
+                end--;
+            }
+            long value = 0;
+            int digits = start;
+            while (digits < end && Character.isDigit(text.charAt(digits)) && value <= Integer.MAX_VALUE) {
+                value = value * 10 + (text.charAt(digits++) - '0');
+            }
+            value += rounding(digits, end, start, column);
+            if (value > Integer.MAX_VALUE) {
+                throw new IllegalArgumentException(column.getDefaultHeader() + " is too large");
+            }
+            return (int) value;
+        }
+
+        // Returns 1 if a decimal part from i to end rounds up, checking that nothing else follows.
+        private int rounding(int i, int end, int start, Column column) {
+            int roundUp = 0;
+            if (i > start && i < end && text.charAt(i) == '.') {
+                roundUp = i + 1 < end && text.charAt(i + 1) >= '5' && text.charAt(i + 1) <= '9' ? 1 : 0;
+                i++;
+                while (i < end && Character.isDigit(text.charAt(i))) {
+                    i++;
+                }
+            }
+            if (i == start || i != end) {
+                String value = text.substring(start, end);
+                throw new IllegalArgumentException(value.isEmpty() ? column.getDefaultHeader() + " is empty"
+                        : column.getDefaultHeader() + " \"" + value + "\" is not a non-negative number");
+            }
+            return roundUp;
+        }
+
+        private void check(int i, Column column) {
+            if (i >= fields) {
+                throw new IllegalArgumentException("expected a " + column.getDefaultHeader() + " in column "
+                        + (i + 1) + " but the row has " + fields + (fields == 1 ? " column" : " columns"));
+            }
+        }
+    }
+
+    /**
+     * What one chunk produced: its items in file order, and its rows and errors.
+     */
+    private static final class Parsed<T> {
+        private final List<T> items = new ArrayList<>();
+        private final List<RowError> errors = new ArrayList<>();
+        private int imported;
+        private int errorCount;
+
+        Parsed(Chunk chunk) {
+            if (chunk.skipped != null) {
+                error(chunk.skipped.getLine(), chunk.skipped.getMessage());
+            }
+        }
+
+        void error(int line, String message) {
+            errorCount++;
+            if (errors.size() < MAX_REPORTED_ERRORS) {
+                errors.add(new RowError(line, message));
+            }
+        }
+    }
+
+    /**
+     * A row that was skipped, by line number (the header is line 1).
+     */
+    public static final class RowError {
+        private final int line;
+        private final String message;
+
+        RowError(int line, String message) {
+            this.line = line;
+            this.message = message;
+        }
+
+        public int getLine() {
+            return line;
+        }
+
+        public String getMessage() {
+            return message;
+        }
+
+        @Override
+        public String toString() {
+            return "line " + line + ": " + message;
+        }
+    }
+
+    /**
+     * The outcome of an import: how many rows were imported and which were skipped. Only the first
+     * MAX_REPORTED_ERRORS errors are kept, in file order; getErrorCount counts them all.
+     */
+    public static final class Report {
+        private final List<RowError> errors = new ArrayList<>();
+        private long imported;
+        private long errorCount;
+
+        private <T> void add(Parsed<T> parsed, Consumer<List<T>> sink) {
+            sink.accept(parsed.items);
+            imported += parsed.imported;
+            errorCount += parsed.errorCount;
+            for (RowError error : parsed.errors) {
+                if (errors.size() < MAX_REPORTED_ERRORS) {
+                    errors.add(error);
+                }
+            }
+        }
+
+        public long getImportedRows() {
+            return imported;
+        }
+
+        public long getErrorCount() {
+            return errorCount;
+        }
+
+        public List<RowError> getErrors() {
+            return Collections.unmodifiableList(errors);
+        }
+
+        /**
+         * Returns a summary line followed by one line per reported error.
+         * @return the report as text.
+         */
+        public String format() {
+            StringBuilder out = new StringBuilder();
+            out.append(String.format("%d rows imported, %d skipped.%n", imported, errorCount));
+            for (RowError error : errors) {
+                out.append(error).append(System.lineSeparator());
+            }
+            if (errorCount > errors.size()) {
+                out.append(String.format("... and %d more.%n", errorCount - errors.size()));
+            }
+            return out.toString();
+        }
+    }
+}
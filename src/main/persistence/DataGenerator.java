@@ -0,0 +1,370 @@
+package persistence;
+
+import model.Exercise;
+import model.ExerciseSet;
+import model.Meal;
+import model.Recipe;
+import model.VitaSyncData;
+import model.Workout;
+import org.json.JSONObject;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Paths;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+import java.util.function.Consumer;
+
+/**
+ * Generates realistic, reproducible VitaSync data at any scale for load and stress testing.
+ * Workouts follow a push/pull/legs split over the given number of years, with a few rest days
+ * and occasional missed reps; meals vary around typical macros; recipe ingredients are drawn from
+ * a vocabulary of 640 names (40 staples, each plain or in 15 preparations, see ingredientCount) with
+ * a Zipf distribution, so a handful of staples appear in most recipes and the long tail rarely.
+ * The same seed and sizes always produce the same data, and each section has its own random
+ * stream, so changing the number of recipes does not change the workouts. Items are produced one
+ * at a time: writeJson and writeScript stream them straight to disk, so the output size is bounded
+ * only by the disk, not by the heap.
+ */
+public class DataGenerator {
+    private static final double ZIPF_EXPONENT = 1.07;
+    private static final String[] PUSH = {"Bench Press", "Overhead Press", "Incline Dumbbell Press", "Dip",
+        "Lateral Raise", "Triceps Pushdown"};
+    private static final String[] PULL = {"Deadlift", "Pull Up", "Barbell Row", "Lat Pulldown", "Face Pull",
+        "Biceps Curl"};
+    private static final String[] LEGS = {"Squat", "Romanian Deadlift", "Leg Press", "Lunge", "Leg Curl",
+        "Calf Raise"};
+    private static final String[][] SPLIT = {PUSH, PULL, LEGS};
+    private static final int[] REP_SCHEMES = {5, 8, 10, 12, 15};
+    private static final String[] MEALS = {"Oatmeal", "Greek Yogurt Bowl", "Chicken and Rice", "Beef Burrito",
+        "Salmon Salad", "Protein Shake", "Pasta Bolognese", "Tofu Stir Fry", "Egg Sandwich", "Trail Mix"};
+    private static final int[][] MEAL_MACROS = {{12, 54, 6}, {20, 25, 8}, {45, 60, 10}, {35, 70, 22},
+        {38, 15, 24}, {30, 8, 3}, {32, 85, 18}, {24, 40, 14}, {22, 30, 16}, {9, 25, 20}};
+    private static final String[] STAPLES = {"salt", "olive oil", "garlic", "onion", "black pepper", "butter",
+        "eggs", "flour", "sugar", "milk", "lemon", "tomato", "rice", "chicken breast", "ginger", "soy sauce",
+        "cheddar", "carrot", "spinach", "honey", "potato", "bell pepper", "basil", "cumin", "paprika",
+        "yogurt", "oats", "beans", "pasta", "beef", "salmon", "tofu", "mushroom", "parsley", "vinegar",
+        "cilantro", "lime", "chili", "broccoli", "avocado"};
+    private static final String[] PREPARATIONS = {"fresh", "dried", "smoked", "roasted", "ground", "chopped",
+        "toasted", "pickled", "frozen", "grated", "minced", "sliced", "organic", "wild", "crushed"};
+    private static final String[] DISH_STYLES = {"Roasted", "Spicy", "Creamy", "Grilled", "Baked", "Quick",
+        "Smoky", "Herbed", "Crispy", "Slow-Cooked"};
+    private static final String[] DISHES = {"Salad", "Bowl", "Curry", "Soup", "Stew", "Wrap", "Skillet",
+        "Casserole", "Tacos", "Noodles", "Pilaf", "Frittata"};
+
+    private final long seed;
+    private final int years;
+    private final int meals;
+    private final int recipes;
+
+    /**
+     * Constructs a generator.
+     *
+     * Requires: years, meals and recipes are non-negative.
+     *
+     * @param seed the random seed; equal seeds and sizes produce equal data
+     * @param years how many years of workouts to generate, ending on 2024-12-31
+     * @param meals how many meals to generate
+     * @param recipes how many recipes to generate
+     */
+    public DataGenerator(long seed, int years, int meals, int recipes) {
+        if (years < 0 || meals < 0 || recipes < 0) {
+            throw new IllegalArgumentException("Sizes cannot be negative.");
+        }
+        this.seed = seed;
+        this.years = years;
+        this.meals = meals;
+        this.recipes = recipes;
+    }
+
+    /**
+     * Generates the data in memory.
+     *
+     * Effects: Returns new data holding every generated workout, meal and recipe.
+     *
+     * @return the generated data
+     */
+    public VitaSyncData generate() {
+        VitaSyncData data = new VitaSyncData(dataName());
+        List<Workout> generatedWorkouts = new ArrayList<>();
+        forEachWorkout(generatedWorkouts::add);
+        data.getWorkoutTracker().addWorkouts(generatedWorkouts);
+        List<Meal> generatedMeals = new ArrayList<>(meals);
+        forEachMeal(generatedMeals::add);
+        data.getMealPlan().addMeals(generatedMeals);
+        List<Recipe> generatedRecipes = new ArrayList<>(recipes);
+        forEachRecipe(generatedRecipes::add);
+        data.getRecipeLibrary().addRecipes(generatedRecipes);
+        return data;
+    }
+
+    /**
+     * Streams the data to a file in the format JsonReader reads.
+     *
+     * Modifies: the destination file
+     * Effects: Writes one compact JSON document, holding at most one item in memory at a time.
+     *
+     * @param destination the file to write
+     * @throws IOException if the file cannot be written
+     */
+    public void writeJson(String destination) throws IOException {
+        try (BufferedWriter out = Files.newBufferedWriter(Paths.get(destination), StandardCharsets.UTF_8)) {
+            out.write("{\"name\":" + JSONObject.quote(dataName()) + ",\"workouts\":[");
+            ArraySink workouts = new ArraySink(out);
+            forEachWorkout(w -> workouts.write(w.toJson().toString()));
+            out.write("],\"meals\":[");
+            ArraySink mealSink = new ArraySink(out);
+            forEachMeal(m -> mealSink.write(m.toJson().toString()));
+            out.write("],\"recipes\":[");
+            ArraySink recipeSink = new ArraySink(out);
+            forEachRecipe(r -> recipeSink.write(r.toJson().toString()));
+            out.write("]}");
+            workouts.rethrow();
+            mealSink.rethrow();
+            recipeSink.rethrow();
+        }
+    }
+
+    /**
+     * Streams the data to a file as a console batch script (see ui.BatchRunner), ending with save.
+     *
+     * Modifies: the destination file
+     * Effects: Writes one workout, meal or "recipe add" line per item.
+     *
+     * @param destination the file to write
+     * @throws IOException if the file cannot be written
+     */
+    public void writeScript(String destination) throws IOException {
+        try (BufferedWriter out = Files.newBufferedWriter(Paths.get(destination), StandardCharsets.UTF_8)) {
+            ArraySink lines = new ArraySink(out, System.lineSeparator());
+            forEachWorkout(w -> lines.write(scriptLine(w)));
+            forEachMeal(m -> lines.write("meal " + m.getName() + " | " + m.getProtein() + " | " + m.getCarbs()
+                    + " | " + m.getFat()));
+            forEachRecipe(r -> lines.write("recipe add " + r.getName() + " | "
+                    + String.join(", ", r.getIngredients()) + " | " + r.getInstructions()));
+            lines.write("save");
+            lines.rethrow();
+        }
+    }
+
+    /**
+     * Produces every workout in date order.
+     *
+     * @param sink receives each workout
+     */
+    public void forEachWorkout(Consumer<Workout> sink) {
+        Random random = new Random(seed);
+        LocalDate end = LocalDate.of(2024, 12, 31);
+        int session = 0;
+        for (LocalDate day = end.minusYears(years).plusDays(1); !day.isAfter(end); day = day.plusDays(1)) {
+            if (random.nextInt(7) < 5) {
+                sink.accept(workout(day, SPLIT[session++ % SPLIT.length], random));
+            }
+        }
+    }
+
+    /**
+     * Produces every meal.
+     *
+     * @param sink receives each meal
+     */
+    public void forEachMeal(Consumer<Meal> sink) {
+        Random random = new Random(seed + 1);
+        for (int i = 0; i < meals; i++) {
+            int kind = random.nextInt(MEALS.length);
+            int[] macros = MEAL_MACROS[kind];
+            sink.accept(new Meal(MEALS[kind], vary(macros[0], random), vary(macros[1], random),
+                    vary(macros[2], random)));
+        }
+    }
+
+    /**
+     * Produces every recipe; names are unique and ingredients Zipf-distributed.
+     *
+     * @param sink receives each recipe
+     */
+    public void forEachRecipe(Consumer<Recipe> sink) {
+        Random random = new Random(seed + 2);
+        Zipf zipf = new Zipf(ingredientCount(), ZIPF_EXPONENT);
+        for (int i = 0; i < recipes; i++) {
+            String name = DISH_STYLES[random.nextInt(DISH_STYLES.length)] + " "
+                    + STAPLES[random.nextInt(STAPLES.length)] + " " + DISHES[random.nextInt(DISHES.length)]
+                    + " " + (i + 1);
+            List<String> ingredients = new ArrayList<>();
+            int count = 3 + random.nextInt(8);
+            while (ingredients.size() < count) {
+                String ingredient = ingredient(zipf.sample(random));
+                if (!ingredients.contains(ingredient)) {
+                    ingredients.add(ingredient);
+                }
+            }
+            sink.accept(new Recipe(name, ingredients, instructions(ingredients, random)));
+        }
+    }
+
+    /**
+     * Returns the number of distinct ingredient names recipes are drawn from.
+     *
+     * @return the vocabulary size
+     */
+    public static int ingredientCount() {
+        return STAPLES.length * (PREPARATIONS.length + 1);
+    }
+
+    /**
+     * Returns the ingredient of the given popularity rank; rank 0 is the most common.
+     *
+     * Requires: 0 &lt;= rank &lt; ingredientCount()
+     *
+     * @param rank the popularity rank
+     * @return the ingredient name
+     */
+    public static String ingredient(int rank) {
+        int variant = rank / STAPLES.length;
+        String staple = STAPLES[rank % STAPLES.length];
+        return variant == 0 ? staple : PREPARATIONS[variant - 1] + " " + staple;
+    }
+
+    /**
+     * Generates one workout of three to six exercises from a split day.
+     */
+    private static Workout workout(LocalDate day, String[] exercises, Random random) {
+        Workout workout = new Workout(day);
+        List<String> pool = new ArrayList<>(Arrays.asList(exercises));
+        int count = 3 + random.nextInt(4);
+        for (int e = 0; e < count; e++) {
+            Exercise exercise = new Exercise(pool.remove(random.nextInt(pool.size())));
+            int target = REP_SCHEMES[random.nextInt(REP_SCHEMES.length)];
+            int sets = 2 + random.nextInt(4);
+            for (int s = 0; s < sets; s++) {
+                ExerciseSet set = new ExerciseSet(target);
+                int missed = random.nextInt(100) < 85 ? 0 : 1 + random.nextInt(Math.min(3, target));
+                for (int r = missed; r < target; r++) {
+                    set.checkOffRep();
+                }
+                exercise.addSet(set);
+            }
+            workout.addExercise(exercise);
+        }
+        return workout;
+    }
+
+    private static String instructions(List<String> ingredients, Random random) {
+        return "Prepare the " + ingredients.get(0) + ", combine with the remaining ingredients and cook for "
+                + (5 + random.nextInt(56)) + " minutes.";
+    }
+
+    private static int vary(int base, Random random) {
+        return Math.max(0, (int) Math.round(base * (0.75 + random.nextDouble() * 0.5)));
+    }
+
+    private static String scriptLine(Workout workout) {
+        StringBuilder line = new StringBuilder("workout ").append(workout.getDate());
+        for (Exercise exercise : workout.getExercises()) {
+            line.append(" | ").append(exercise.getName()).append(':');
+            String separator = " ";
+            for (ExerciseSet set : exercise.getSets()) {
+                line.append(separator).append(set.getCompletedReps()).append('/').append(set.getTargetReps());
+                separator = ", ";
+            }
+        }
+        return line.toString();
+    }
+
+    private String dataName() {
+        return "Generated " + seed;
+    }
+
+    /**
+     * Generates data from the command line:
+     * seed years meals recipes destination [json|script].
+     *
+     * @param args the command-line arguments
+     * @throws IOException if the destination cannot be written
+     */
+    public static void main(String[] args) throws IOException {
+        if (args.length < 5) {
+            System.out.println("Usage: DataGenerator <seed> <years> <meals> <recipes> <file> [json|script]");
+            return;
+        }
+        DataGenerator generator = new DataGenerator(Long.parseLong(args[0]), Integer.parseInt(args[1]),
+                Integer.parseInt(args[2]), Integer.parseInt(args[3]));
+        if (args.length > 5 && args[5].equals("script")) {
+            generator.writeScript(args[4]);
+        } else {
+            generator.writeJson(args[4]);
+        }
+    }
+
+    /**
+     * Samples ranks 0..n-1 with probability proportional to 1 / (rank + 1)^exponent, by binary
+     * search over the cumulative distribution.
+     */
+    static final class Zipf {
+        private final double[] cumulative;
+
+        Zipf(int n, double exponent) {
+            cumulative = new double[n];
+            double sum = 0;
+            for (int k = 0; k < n; k++) {
+                sum += 1.0 / Math.pow(k + 1, exponent);
+                cumulative[k] = sum;
+            }
+            for (int k = 0; k < n; k++) {
+                cumulative[k] /= sum;
+            }
+        }
+
+        int sample(Random random) {
+            int index = Arrays.binarySearch(cumulative, random.nextDouble());
+            return Math.min(cumulative.length - 1, index >= 0 ? index : -index - 1);
+        }
+    }
+
+    /**
+     * Writes separated items from a Consumer, which cannot throw; the first failure stops further
+     * writes and is rethrown once the caller is done generating.
+     */
+    private static final class ArraySink {
+        private final Writer out;
+        private final String separator;
+        private boolean first = true;
+        private IOException failure;
+
+        ArraySink(Writer out) {
+            this(out, ",");
+        }
+
+        ArraySink(Writer out, String separator) {
+            this.out = out;
+            this.separator = separator;
+        }
+
+        void write(String item) {
+            if (failure != null) {
+                return;
+            }
+            try {
+                if (!first) {
+                    out.write(separator);
+                }
+                out.write(item);
+                first = false;
+            } catch (IOException e) {
+                failure = e;
+            }
+        }
+
+        void rethrow() throws IOException {
+            if (failure != null) {
+                throw failure;
+            }
+        }
+    }
+}
@@ -1,5 +1,8 @@
 package persistence;
 
+import diagnostics.LatencyHistogram;
+import diagnostics.LoadEvent;
+import diagnostics.Metrics;
 import model.*;
 import org.json.JSONObject;
 import org.json.JSONArray;
@@ -10,22 +13,41 @@ import java.nio.file.Files;
 import java.nio.file.Paths;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.concurrent.atomic.LongAdder;
 import java.util.stream.Stream;
 import java.time.LocalDate;
 
 // CITATION: CPSC210 JSONSERIALIZATION REPOSITORY for the help
 
 public class JsonReader {
+    private static final LatencyHistogram READ_LATENCY = Metrics.global().histogram("persistence.read");
+    private static final LongAdder READ_ERRORS = Metrics.global().counter("persistence.read.errors");
+
     private String source;
 
     public JsonReader(String source) {
         this.source = source;
     }
 
+    // Times the read in the metrics registry and as a JFR LoadEvent.
     public VitaSyncData read() throws IOException {
-        String jsonData = readFile(source);
-        JSONObject jsonObject = new JSONObject(jsonData);
-        return parseVitaSyncData(jsonObject);
+        long start = System.nanoTime();
+        LoadEvent event = LoadEvent.start(source);
+        try {
+            String jsonData = readFile(source);
+            event.setCharacters(jsonData.length());
+            JSONObject jsonObject = new JSONObject(jsonData);
+            VitaSyncData data = parseVitaSyncData(jsonObject);
+            event.succeeded(data.getWorkoutTracker().size(), data.getMealPlan().size(),
+                    data.getRecipeLibrary().size());
+            return data;
+        } catch (IOException | RuntimeException e) {
+            READ_ERRORS.increment();
+            throw e;
+        } finally {
+            READ_LATENCY.recordSince(start);
+            event.finish();
+        }
     }
 
     private String readFile(String source) throws IOException {
@@ -56,7 +78,9 @@ public class JsonReader {
         return vsData;
     }
 
+    // Builds every workout first and adds them with one bulk call, as for meals and recipes.
     private void parseWorkouts(JSONArray workoutsArray, WorkoutTracker tracker) {
+        List<Workout> workouts = new ArrayList<>(workoutsArray.length());
         for (Object obj : workoutsArray) {
             JSONObject workoutsJson = (JSONObject) obj;
             LocalDate date = LocalDate.parse(workoutsJson.getString("date"));
@@ -64,28 +88,30 @@ public class JsonReader {
 
             JSONArray exercisesArray = workoutsJson.getJSONArray("exercises");
             for (Object exerciseObj : exercisesArray) {
-                JSONObject exJson = (JSONObject) exerciseObj;
-                Exercise ex = new Exercise(exJson.getString("name"));
-
-                JSONArray setsArray = exJson.getJSONArray("sets");
-                for (Object setsObj : setsArray) {
-                    JSONObject setJson = (JSONObject) setsObj;
-                    ExerciseSet set = new ExerciseSet(setJson.getInt("targetReps"));
-                    // If "completedReps" is stored, apply it:
-                    int completed = setJson.getInt("completedReps");
-                    for (int i = 0; i < completed; i++) {
-                        set.checkOffRep();
-                    }
-                    ex.addSet(set);
-                }
-                w.addExercise(ex);
+                w.addExercise(parseExercise((JSONObject) exerciseObj));
             }
 
-            tracker.addWorkout(w);
+            workouts.add(w);
+        }
+        tracker.addWorkouts(workouts);
+    }
+
+    // Reads either form Exercise.toJson writes: one object per set under "sets", or run-length
+    // groups under "setGroups". Completed reps are clamped to the target, as checking off would.
+    private Exercise parseExercise(JSONObject exJson) {
+        Exercise ex = new Exercise(exJson.getString("name"));
+        boolean compact = exJson.has("setGroups");
+        for (Object setsObj : exJson.getJSONArray(compact ? "setGroups" : "sets")) {
+            JSONObject setJson = (JSONObject) setsObj;
+            int target = setJson.getInt("targetReps");
+            int completed = Math.max(0, Math.min(setJson.getInt("completedReps"), target));
+            ex.addSetGroup(new SetGroup(compact ? setJson.getInt("count") : 1, target, completed));
         }
+        return ex;
     }
 
     private void parseMeals(JSONArray mealsArray, MealPlan mealPlan) {
+        List<Meal> meals = new ArrayList<>(mealsArray.length());
         for (Object obj : mealsArray) {
             JSONObject mealsJson = (JSONObject) obj;
             String name = mealsJson.getString("name");
@@ -93,11 +119,13 @@ public class JsonReader {
             int carbs = mealsJson.getInt("carbs");
             int fat = mealsJson.getInt("fat");
             Meal meal = new Meal(name, protein, carbs, fat);
-            mealPlan.addMeal(meal);
+            meals.add(meal);
         }
+        mealPlan.addMeals(meals);
     }
 
     private void parseRecipes(JSONArray recipesArray, RecipeLibrary library) {
+        List<Recipe> recipes = new ArrayList<>(recipesArray.length());
         for (Object obj : recipesArray) {
             JSONObject recipesJson = (JSONObject) obj;
             String name = recipesJson.getString("name");
@@ -108,7 +136,8 @@ public class JsonReader {
                 ingredients.add((String) ing);
             }
             Recipe recipe = new Recipe(name, ingredients, instructions);
-            library.addRecipe(recipe);
+            recipes.add(recipe);
         }
+        library.addRecipes(recipes);
     }
 }
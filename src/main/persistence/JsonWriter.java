@@ -1,6 +1,8 @@
 package persistence;
 
-import model.VitaSyncData;
+import diagnostics.LatencyHistogram;
+import diagnostics.Metrics;
+import diagnostics.SaveEvent;
 import org.json.JSONObject;
 
 import java.io.*;
@@ -8,27 +10,56 @@ import java.io.*;
 // CITATION: CPSC210 JSONSERIALIZATION REPOSITORY for the help
 
 public class JsonWriter {
+    private static final LatencyHistogram WRITE_LATENCY = Metrics.global().histogram("persistence.write");
     private static final int TAB = 4;
     private PrintWriter writer;
     private String destination;
+    private boolean compactSets;
 
     public JsonWriter(String destination) {
+        this(destination, false);
+    }
+
+    // With compactSets, each exercise's sets are written as run-length "setGroups"
+    // ({"count", "targetReps", "completedReps"}), which JsonReader also reads.
+    public JsonWriter(String destination, boolean compactSets) {
         this.destination = destination;
+        this.compactSets = compactSets;
     }
 
     public void open() throws FileNotFoundException {
         writer = new PrintWriter(new File(destination));
     }
 
-    public void write(VitaSyncData vsData) {
-        JSONObject json = vsData.toJson();
-        saveToFile(json.toString(TAB));
+    // Accepts live VitaSyncData or a VitaSyncSnapshot taken earlier on another thread.
+    // Times the write in the metrics registry and as a JFR SaveEvent.
+    public void write(Writable vsData) {
+        long start = System.nanoTime();
+        SaveEvent event = SaveEvent.start(destination);
+        JSONObject json = vsData.toJson(compactSets);
+        String text = json.toString(TAB);
+        saveToFile(text);
+        WRITE_LATENCY.recordSince(start);
+        event.end();
+        if (event.shouldCommit()) {
+            event.commit(text.length(), length(json, "workouts"), length(json, "meals"), length(json, "recipes"));
+        }
+    }
+
+    private static int length(JSONObject json, String key) {
+        return json.has(key) ? json.getJSONArray(key).length() : 0;
     }
 
     public void close() {
         writer.close();
     }
 
+    // PrintWriter swallows I/O errors, so callers that must know the file is complete (e.g. before
+    // replacing another file with it) ask here. Valid after close, whose own failure it also reports.
+    public boolean checkError() {
+        return writer.checkError();
+    }
+
     private void saveToFile(String json) {
         writer.print(json);
     }
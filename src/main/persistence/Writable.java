@@ -4,6 +4,12 @@ import org.json.JSONObject;
 
 public interface Writable {
     JSONObject toJson();
+
+    // Returns the JSON form, with each exercise's sets as run-length groups if compactSets.
+    // Writables without sets ignore the flag.
+    default JSONObject toJson(boolean compactSets) {
+        return toJson();
+    }
 }
 
 // CITATION: CPSC210 JSONSERIALIZATION REPOSITORY for the help
\ No newline at end of file
@@ -2,9 +2,19 @@ package ui;
 
 import javax.swing.*;
 import java.awt.*;
+import java.awt.geom.AffineTransform;
+import java.awt.image.BufferedImage;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.atomic.AtomicInteger;
 
 /**
  * A custom JPanel that draws a background image behind its child components.
+ * The image is scaled once per panel size into an opaque, display-compatible cache at device
+ * resolution (the panel size times the display scale, e.g. 2x on a HiDPI screen), so an ordinary
+ * repaint is a plain one-to-one blit. The cache is keyed on the graphics configuration and scale as
+ * well as the size, so moving the window to another monitor rescales it. When the key changes, the
+ * stale cache (or the source image) is stretched with fast nearest-neighbour sampling while a
+ * high-quality copy is scaled on a worker thread; only the most recent request is ever installed.
  *
  * Requires: A valid Image object must be provided.
  * Modifies: This panel's painting behavior.
@@ -12,6 +22,12 @@ import java.awt.*;
  */
 public class BackgroundPanel extends JPanel {
     private Image backgroundImage;
+    private BufferedImage scaledImage;                        // EDT only
+    private GraphicsConfiguration scaledConfig;               // what scaledImage was made for, EDT only
+    private final AtomicInteger latestRequest = new AtomicInteger();
+    private int pendingWidth;                                 // device size of the scale in flight, EDT only
+    private int pendingHeight;
+    private GraphicsConfiguration pendingConfig;
 
     /**
      * Constructs a BackgroundPanel with the given image.
@@ -25,13 +41,168 @@ public class BackgroundPanel extends JPanel {
     public BackgroundPanel(Image backgroundImage) {
         this.backgroundImage = backgroundImage;
         setLayout(new BorderLayout());
+        addPropertyChangeListener("graphicsConfiguration", e -> repaint());
     }
 
     @Override
     protected void paintComponent(Graphics g) {
         super.paintComponent(g);
-        if (backgroundImage != null) {
-            g.drawImage(backgroundImage, 0, 0, getWidth(), getHeight(), this);
+        if (backgroundImage == null) {
+            return;
         }
+        AffineTransform transform = ((Graphics2D) g).getTransform();
+        int deviceWidth = (int) Math.ceil(getWidth() * transform.getScaleX());
+        int deviceHeight = (int) Math.ceil(getHeight() * transform.getScaleY());
+        GraphicsConfiguration config = getGraphicsConfiguration();
+        if (scaledImage != null && scaledConfig == config && scaledImage.getWidth() == deviceWidth
+                && scaledImage.getHeight() == deviceHeight) {
+            drawCache(g, transform);
+            return;
+        }
+        drawInterim(g, getWidth(), getHeight());
+        requestScale(deviceWidth, deviceHeight, config);
+    }
+
+    /**
+     * Blits the cache one-to-one onto device pixels.
+     *
+     * Requires: scaledImage is non-null and matches the device size of this panel.
+     * Modifies: None.
+     * Effects: Draws scaledImage at this panel's origin with the scale removed from the transform.
+     *
+     * @param g the graphics to draw on
+     * @param transform the current transform of g
+     */
+    private void drawCache(Graphics g, AffineTransform transform) {
+        Graphics2D g2 = (Graphics2D) g.create();
+        try {
+            g2.setTransform(AffineTransform.getTranslateInstance(transform.getTranslateX(),
+                    transform.getTranslateY()));
+            g2.drawImage(scaledImage, 0, 0, null);
+        } finally {
+            g2.dispose();
+        }
+    }
+
+    /**
+     * Draws a quick, low-quality stretch while the cache does not match the panel size.
+     *
+     * Requires: backgroundImage is non-null.
+     * Modifies: None.
+     * Effects: Stretches the stale cache, or the source image if there is none, with nearest-neighbour sampling.
+     *
+     * @param g the graphics to draw on
+     * @param width the panel width
+     * @param height the panel height
+     */
+    private void drawInterim(Graphics g, int width, int height) {
+        Graphics2D g2 = (Graphics2D) g.create();
+        try {
+            g2.setRenderingHint(RenderingHints.KEY_INTERPOLATION,
+                    RenderingHints.VALUE_INTERPOLATION_NEAREST_NEIGHBOR);
+            g2.setRenderingHint(RenderingHints.KEY_RENDERING, RenderingHints.VALUE_RENDER_SPEED);
+            Image source = scaledImage != null ? scaledImage : backgroundImage;
+            g2.drawImage(source, 0, 0, width, height, this);
+        } finally {
+            g2.dispose();
+        }
+    }
+
+    /**
+     * Starts scaling the image to the given device size on a worker thread, unless that is already in flight.
+     *
+     * Requires: Called on the EDT.
+     * Modifies: this
+     * Effects: Supersedes any earlier request; the result is installed and repainted if still current.
+     *
+     * @param width the target width in device pixels
+     * @param height the target height in device pixels
+     * @param config the configuration the cache is for, or null if the panel is not displayable
+     */
+    private void requestScale(int width, int height, GraphicsConfiguration config) {
+        if (width <= 0 || height <= 0
+                || (width == pendingWidth && height == pendingHeight && config == pendingConfig)) {
+            return;
+        }
+        pendingWidth = width;
+        pendingHeight = height;
+        pendingConfig = config;
+        int ticket = latestRequest.incrementAndGet();
+        Image source = backgroundImage;
+        Color background = getBackground();
+        new SwingWorker<BufferedImage, Void>() {
+            @Override
+            protected BufferedImage doInBackground() {
+                return ticket == latestRequest.get() ? scale(source, width, height, config, background) : null;
+            }
+
+            @Override
+            protected void done() {
+                install(ticket, config, this);
+            }
+        }.execute();
+    }
+
+    /**
+     * Installs a finished scale if no newer one has been requested.
+     *
+     * Requires: Called on the EDT; worker is done.
+     * Modifies: this
+     * Effects: Replaces the cache and repaints; ignores superseded or failed results.
+     *
+     * @param ticket the request number of the worker
+     * @param config the configuration the worker scaled for
+     * @param worker the finished worker
+     */
+    private void install(int ticket, GraphicsConfiguration config, SwingWorker<BufferedImage, Void> worker) {
+        if (ticket != latestRequest.get()) {
+            return;
+        }
+        pendingWidth = 0;
+        pendingHeight = 0;
+        pendingConfig = null;
+        try {
+            BufferedImage result = worker.get();
+            if (result != null) {
+                scaledImage = result;
+                scaledConfig = config;
+                repaint();
+            }
+        } catch (InterruptedException | ExecutionException e) {
+            // Keep drawing the interim image.
+        }
+    }
+
+    /**
+     * Scales an image with bilinear filtering into an opaque image suited to the display.
+     *
+     * Requires: source and background are non-null; width and height are positive.
+     * Modifies: None.
+     * Effects: Returns a width x height copy of source over background, compatible with config when
+     *          it is non-null. Being opaque, it blits without per-pixel blending.
+     *
+     * @param source the full-resolution image
+     * @param width the target width in device pixels
+     * @param height the target height in device pixels
+     * @param config the panel's graphics configuration, or null if it is not displayable
+     * @param background the colour behind any transparent parts of source
+     * @return the scaled image
+     */
+    static BufferedImage scale(Image source, int width, int height, GraphicsConfiguration config,
+                               Color background) {
+        BufferedImage target = config != null
+                ? config.createCompatibleImage(width, height, Transparency.OPAQUE)
+                : new BufferedImage(width, height, BufferedImage.TYPE_INT_RGB);
+        Graphics2D g2 = target.createGraphics();
+        try {
+            g2.setColor(background);
+            g2.fillRect(0, 0, width, height);
+            g2.setRenderingHint(RenderingHints.KEY_INTERPOLATION, RenderingHints.VALUE_INTERPOLATION_BILINEAR);
+            g2.setRenderingHint(RenderingHints.KEY_RENDERING, RenderingHints.VALUE_RENDER_QUALITY);
+            g2.drawImage(source, 0, 0, width, height, null);
+        } finally {
+            g2.dispose();
+        }
+        return target;
     }
 }
@@ -0,0 +1,378 @@
+package ui;
+
+import model.AddMealCommand;
+import model.AddRecipeCommand;
+import model.AddWorkoutCommand;
+import model.Command;
+import model.DeleteRecipeCommand;
+import model.EditRecipeCommand;
+import model.Exercise;
+import model.ExerciseSet;
+import model.Meal;
+import model.Recipe;
+import model.VitaSyncData;
+import model.Workout;
+import persistence.JsonReader;
+import persistence.JsonWriter;
+
+import java.io.BufferedReader;
+import java.io.FileNotFoundException;
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Runs a script of VitaSync operations without any prompts, one operation per line:
+ * <pre>
+ * # comment
+ * load
+ * workout 2024-05-01 | Squat: 10, 10, 8/10 | Bench Press: 5, 5
+ * meal Oatmeal | 12 | 54 | 6
+ * recipe add Pancakes | flour, milk, eggs | Mix and fry.
+ * recipe edit Pancakes | flour, milk | Mix and fry thinly.
+ * recipe delete Pancakes
+ * report macros | workouts | recipes
+ * save
+ * </pre>
+ * A set is written as its target reps (completed in full) or as completed/target.
+ * The data file is read at most once, by the first load, which must come before any change: a load
+ * after a change would replace the data and silently discard it, so it fails instead. Every save
+ * only marks the data dirty and the file is written once after the last line. Changes are applied through the same
+ * commands as the interactive app but are not recorded for undo, so a script's memory use does
+ * not grow with its length. A failing line is reported with its line number and skipped.
+ * Each kind of operation is timed, and the counts and latencies are printed at the end.
+ *
+ * Requires: The writer stays open while the script runs.
+ * Modifies: The data file (on save) and out.
+ * Effects: Applies the script's operations to one in-memory VitaSyncData.
+ */
+public class BatchRunner {
+    private final String dataPath;
+    private final PrintWriter out;
+    private final boolean compactSets;
+    private final Map<String, long[]> timings = new TreeMap<>(); // kind -> {count, total ns, max ns}
+    private VitaSyncData vitaSyncData;
+    private boolean loaded;
+    private int firstChangeLine;
+    private int lineNumber;
+    private boolean saveRequested;
+    private int failures;
+
+    /**
+     * Constructs a runner that starts from empty data.
+     *
+     * @param dataPath the file that load reads and save writes
+     * @param out where reports, errors and the timing summary are written
+     */
+    public BatchRunner(String dataPath, PrintWriter out) {
+        this(dataPath, out, false);
+    }
+
+    /**
+     * Constructs a runner that starts from empty data.
+     *
+     * @param dataPath the file that load reads and save writes
+     * @param out where reports, errors and the timing summary are written
+     * @param compactSets whether save writes each exercise's sets as run-length groups
+     */
+    public BatchRunner(String dataPath, PrintWriter out, boolean compactSets) {
+        this.dataPath = dataPath;
+        this.out = out;
+        this.compactSets = compactSets;
+        this.vitaSyncData = new VitaSyncData("My VitaSync Data");
+        DataGauges.register(() -> vitaSyncData);
+    }
+
+    /**
+     * Runs every line of a script, then saves once if any line asked to and prints the timings.
+     *
+     * Requires: script is non-null.
+     * Modifies: this, the data file and out.
+     * Effects: Executes each line in order; returns the number of lines that failed.
+     *
+     * @param script the script to run
+     * @return the number of failed lines
+     * @throws IOException if the script cannot be read
+     */
+    public int run(BufferedReader script) throws IOException {
+        long start = System.nanoTime();
+        lineNumber = 0;
+        for (String line = script.readLine(); line != null; line = script.readLine()) {
+            lineNumber++;
+            String trimmed = line.trim();
+            if (!trimmed.isEmpty() && !trimmed.startsWith("#")) {
+                runLine(trimmed);
+            }
+        }
+        if (saveRequested) {
+            timed("save (write)", this::save);
+        }
+        printTimings(lineNumber, System.nanoTime() - start);
+        out.flush();
+        return failures;
+    }
+
+    public VitaSyncData getData() {
+        return vitaSyncData;
+    }
+
+    /**
+     * Runs one line, timing it under its operation kind and reporting any error.
+     *
+     * @param line the trimmed, non-comment line
+     */
+    private void runLine(String line) {
+        int space = line.indexOf(' ');
+        String verb = (space < 0 ? line : line.substring(0, space)).toLowerCase();
+        String rest = space < 0 ? "" : line.substring(space + 1).trim();
+        if (verb.equals("recipe")) {
+            int split = rest.indexOf(' ');
+            verb = "recipe " + (split < 0 ? rest : rest.substring(0, split)).toLowerCase();
+            rest = split < 0 ? "" : rest.substring(split + 1).trim();
+        }
+        String kind = verb;
+        String args = rest;
+        try {
+            timed(kind, () -> dispatch(kind, args));
+        } catch (RuntimeException e) {
+            failures++;
+            out.println("Line " + lineNumber + ": " + e.getMessage());
+        }
+    }
+
+    /**
+     * Performs one operation.
+     *
+     * @param kind the operation, e.g. "meal" or "recipe add"
+     * @param args the text after the operation
+     * @throws IllegalArgumentException if the operation is unknown or its arguments are invalid
+     */
+    private void dispatch(String kind, String args) {
+        switch (kind) {
+            case "load":
+                load();
+                break;
+            case "save":
+                saveRequested = true;
+                break;
+            case "report":
+                report(args);
+                break;
+            default:
+                apply(kind, toCommand(kind, fields(args)));
+        }
+    }
+
+    /**
+     * Builds the model command for a change operation.
+     *
+     * @param kind the operation
+     * @param fields the operation's '|'-separated fields
+     * @return the command to execute
+     */
+    private Command toCommand(String kind, String[] fields) {
+        switch (kind) {
+            case "workout":
+                return new AddWorkoutCommand(vitaSyncData.getWorkoutTracker(), parseWorkout(fields));
+            case "meal":
+                expectFields(fields, 4, "meal <name> | <protein> | <carbs> | <fat>");
+                return new AddMealCommand(vitaSyncData.getMealPlan(), new Meal(fields[0],
+                        parseInt(fields[1]), parseInt(fields[2]), parseInt(fields[3])));
+            case "recipe add":
+                expectFields(fields, 3, "recipe add <name> | <ingredients> | <instructions>");
+                return new AddRecipeCommand(vitaSyncData.getRecipeLibrary(),
+                        new Recipe(fields[0], ingredients(fields[1]), fields[2]));
+            case "recipe edit":
+                expectFields(fields, 3, "recipe edit <name> | <ingredients> | <instructions>");
+                return new EditRecipeCommand(vitaSyncData.getRecipeLibrary(), fields[0],
+                        ingredients(fields[1]), fields[2]);
+            case "recipe delete":
+                expectFields(fields, 1, "recipe delete <name>");
+                return new DeleteRecipeCommand(vitaSyncData.getRecipeLibrary(), fields[0]);
+            default:
+                throw new IllegalArgumentException("Unknown operation '" + kind + "'.");
+        }
+    }
+
+    /**
+     * Executes a change without recording it for undo.
+     *
+     * @throws IllegalArgumentException if the command made no change (e.g. no such recipe)
+     */
+    private void apply(String kind, Command command) {
+        if (!command.execute()) {
+            throw new IllegalArgumentException(kind + " made no change; check that the recipe exists.");
+        }
+        if (firstChangeLine == 0) {
+            firstChangeLine = lineNumber;
+        }
+    }
+
+    /**
+     * Parses "date | exercise: set, set | ..." into a workout.
+     *
+     * @param fields the workout's fields
+     * @return the workout
+     */
+    private static Workout parseWorkout(String[] fields) {
+        if (fields[0].isEmpty()) {
+            throw new IllegalArgumentException("Usage: workout <yyyy-MM-dd> | <exercise>: <reps>, ... | ...");
+        }
+        Workout workout = new Workout(LocalDate.parse(fields[0]));
+        for (int i = 1; i < fields.length; i++) {
+            int colon = fields[i].indexOf(':');
+            if (colon < 0) {
+                throw new IllegalArgumentException("Expected '<exercise>: <reps>, ...' but got '" + fields[i] + "'.");
+            }
+            Exercise exercise = new Exercise(fields[i].substring(0, colon).trim());
+            for (String set : fields[i].substring(colon + 1).split(",")) {
+                exercise.addSet(parseSet(set.trim()));
+            }
+            workout.addExercise(exercise);
+        }
+        return workout;
+    }
+
+    /**
+     * Parses "target" (completed in full) or "completed/target" into a set.
+     *
+     * @param text the set's text
+     * @return the set
+     */
+    private static ExerciseSet parseSet(String text) {
+        int slash = text.indexOf('/');
+        int target = parseInt(slash < 0 ? text : text.substring(slash + 1));
+        int completed = slash < 0 ? target : parseInt(text.substring(0, slash));
+        ExerciseSet set = new ExerciseSet(target);
+        for (int i = 0; i < completed && !set.isCompleted(); i++) {
+            set.checkOffRep();
+        }
+        return set;
+    }
+
+    /**
+     * Reads the data file, the first time only; later loads are no-ops since the data is already in memory.
+     *
+     * @throws IllegalArgumentException if the file cannot be read, or if changes were applied before
+     *                                  the first load, which replacing the data would discard
+     */
+    private void load() {
+        if (loaded) {
+            return;
+        }
+        if (firstChangeLine > 0) {
+            throw new IllegalArgumentException("load must come before any change; it would discard the changes"
+                    + " made since line " + firstChangeLine + ".");
+        }
+        try {
+            vitaSyncData = new JsonReader(dataPath).read();
+            loaded = true;
+        } catch (IOException e) {
+            throw new IllegalArgumentException("Unable to read " + dataPath + ".");
+        }
+    }
+
+    /**
+     * Writes the data file.
+     *
+     * @throws IllegalArgumentException if the file cannot be opened
+     */
+    private void save() {
+        JsonWriter writer = new JsonWriter(dataPath, compactSets);
+        try {
+            writer.open();
+            writer.write(vitaSyncData);
+            writer.close();
+            out.println("Data saved to " + dataPath);
+        } catch (FileNotFoundException e) {
+            failures++;
+            out.println("Error: Unable to open " + dataPath + " for writing.");
+        }
+    }
+
+    /**
+     * Writes one report: macros, workouts or recipes.
+     *
+     * @param what the report's name
+     */
+    private void report(String what) {
+        switch (what.toLowerCase()) {
+            case "macros":
+                out.println("Total Protein: " + vitaSyncData.getMealPlan().getTotalProtein() + "g, Carbs: "
+                        + vitaSyncData.getMealPlan().getTotalCarbs() + "g, Fat: "
+                        + vitaSyncData.getMealPlan().getTotalFat() + "g");
+                break;
+            case "workouts":
+                out.println("Workouts: " + vitaSyncData.getWorkoutTracker().size());
+                break;
+            case "recipes":
+                out.println("Recipes: " + vitaSyncData.getRecipeLibrary().size());
+                break;
+            default:
+                throw new IllegalArgumentException("Usage: report macros|workouts|recipes");
+        }
+    }
+
+    /**
+     * Runs an operation and adds its elapsed time to the totals for its kind.
+     */
+    private void timed(String kind, Runnable operation) {
+        long start = System.nanoTime();
+        try {
+            operation.run();
+        } finally {
+            long elapsed = System.nanoTime() - start;
+            long[] t = timings.computeIfAbsent(kind, k -> new long[3]);
+            t[0]++;
+            t[1] += elapsed;
+            t[2] = Math.max(t[2], elapsed);
+        }
+    }
+
+    /**
+     * Writes the per-operation counts and latencies.
+     */
+    private void printTimings(int lines, long totalNanos) {
+        out.printf("%n--- Batch summary: %d lines, %d failed, %.1f ms ---%n", lines, failures, totalNanos / 1e6);
+        out.printf("%-14s %9s %12s %12s %12s%n", "operation", "count", "total ms", "mean us", "max us");
+        for (Map.Entry<String, long[]> e : timings.entrySet()) {
+            long[] t = e.getValue();
+            out.printf("%-14s %9d %12.2f %12.2f %12.2f%n", e.getKey(), t[0], t[1] / 1e6,
+                    t[1] / 1e3 / t[0], t[2] / 1e3);
+        }
+    }
+
+    private static String[] fields(String args) {
+        String[] fields = args.split("\\|", -1);
+        for (int i = 0; i < fields.length; i++) {
+            fields[i] = fields[i].trim();
+        }
+        return fields;
+    }
+
+    private static void expectFields(String[] fields, int count, String usage) {
+        if (fields.length != count || fields[0].isEmpty()) {
+            throw new IllegalArgumentException("Usage: " + usage);
+        }
+    }
+
+    private static List<String> ingredients(String field) {
+        List<String> ingredients = new ArrayList<>();
+        for (String ing : field.split(",")) {
+            ingredients.add(ing.trim());
+        }
+        return ingredients;
+    }
+
+    private static int parseInt(String text) {
+        try {
+            return Integer.parseInt(text.trim());
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("Invalid number '" + text.trim() + "'.");
+        }
+    }
+}
@@ -0,0 +1,227 @@
+package ui;
+
+import diagnostics.RefreshEvent;
+import model.DailyVolume;
+import model.ModelEvent;
+import model.ModelListener;
+import model.Workout;
+import model.WorkoutTracker;
+
+import javax.swing.*;
+import java.awt.*;
+import java.awt.event.MouseEvent;
+import java.awt.image.BufferedImage;
+import java.time.LocalDate;
+import java.time.Year;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * A GitHub-style calendar heatmap of completed reps per day, one row of week columns per year with
+ * the most recent year on top. Each year is rendered once into a cached image tile, and only the
+ * tiles that intersect the visible area are ever rendered. When a workout is added or removed,
+ * just that day's cell is redrawn on its tile and repainted. The colour scale is fixed when the
+ * tiles are built, so a new record day shows in the darkest colour until the next full refresh.
+ */
+public class CalendarHeatmapPanel extends JPanel {
+    private static final int CELL = 13;
+    private static final int GAP = 2;
+    private static final int LABEL_WIDTH = 44;
+    private static final int YEAR_HEIGHT = 7 * CELL + 16;
+    private static final int WEEKS = 54;
+    private static final Color[] LEVELS = {new Color(225, 228, 232), new Color(155, 233, 168),
+        new Color(64, 196, 99), new Color(48, 161, 78), new Color(33, 110, 57)};
+
+    private final Map<Integer, BufferedImage> tiles = new HashMap<>();
+    private final ModelListener listener = e -> onEdt(() -> applyChange(e));
+    private WorkoutTracker tracker;
+    private int firstYear;
+    private int lastYear;
+    private long scalePeak;
+
+    /**
+     * Constructs an empty heatmap.
+     *
+     * Requires: None.
+     * Modifies: this
+     * Effects: Creates a heatmap that shows nothing until setTracker is called.
+     */
+    public CalendarHeatmapPanel() {
+        setOpaque(false);
+        setToolTipText("");
+        firstYear = Year.now().getValue();
+        lastYear = firstYear;
+    }
+
+    /**
+     * Shows the given tracker's daily volume and follows its changes.
+     *
+     * Requires: tracker is non-null; called on the EDT.
+     * Modifies: this and the listener lists of the old and new trackers.
+     * Effects: Stops listening to the previous tracker and rebuilds every tile lazily.
+     *
+     * @param tracker the tracker to show
+     */
+    public void setTracker(WorkoutTracker tracker) {
+        if (this.tracker != null) {
+            this.tracker.removeModelListener(listener);
+        }
+        this.tracker = tracker;
+        tracker.addModelListener(listener);
+        rebuild();
+    }
+
+    /**
+     * Drops every tile and recomputes the year range and colour scale.
+     */
+    private void rebuild() {
+        DailyVolume volume = tracker.getDailyVolume();
+        int thisYear = Year.now().getValue();
+        firstYear = volume.isEmpty() ? thisYear : Math.min(thisYear, volume.getFirstDay().getYear());
+        lastYear = volume.isEmpty() ? thisYear : Math.max(thisYear, volume.getLastDay().getYear());
+        scalePeak = Math.max(1, volume.getPeak());
+        tiles.clear();
+        revalidate();
+        repaint();
+    }
+
+    /**
+     * Applies one tracker change: redraws just the affected day cells, or everything if needed.
+     *
+     * @param e the model event
+     */
+    private void applyChange(ModelEvent e) {
+        boolean cellUpdate = e.getType() == ModelEvent.Type.ADDED || e.getType() == ModelEvent.Type.REMOVED;
+        if (!cellUpdate) {
+            rebuild();
+            return;
+        }
+        for (Object item : e.getItems()) {
+            int year = ((Workout) item).getDate().getYear();
+            if (year < firstYear || year > lastYear) {
+                rebuild();
+                return;
+            }
+        }
+        for (Object item : e.getItems()) {
+            updateCell(((Workout) item).getDate());
+        }
+    }
+
+    /**
+     * Redraws one day cell on its cached tile, if the tile exists, and repaints just that cell.
+     *
+     * @param day the day whose volume changed
+     */
+    private void updateCell(LocalDate day) {
+        BufferedImage tile = tiles.get(day.getYear());
+        if (tile != null) {
+            Graphics2D g2 = tile.createGraphics();
+            try {
+                drawCell(g2, day, tracker.getDailyVolume().get(day));
+            } finally {
+                g2.dispose();
+            }
+        }
+        Point p = cellOrigin(day);
+        repaint(LABEL_WIDTH + p.x, yearTop(day.getYear()) + p.y, CELL, CELL);
+    }
+
+    @Override
+    public Dimension getPreferredSize() {
+        return new Dimension(LABEL_WIDTH + WEEKS * CELL, (lastYear - firstYear + 1) * YEAR_HEIGHT);
+    }
+
+    @Override
+    protected void paintComponent(Graphics g) {
+        super.paintComponent(g);
+        if (tracker == null) {
+            return;
+        }
+        Rectangle clip = g.getClipBounds() != null ? g.getClipBounds() : new Rectangle(getSize());
+        int top = Math.max(0, clip.y / YEAR_HEIGHT);
+        int bottom = Math.min(lastYear - firstYear, (clip.y + clip.height) / YEAR_HEIGHT);
+        for (int row = top; row <= bottom; row++) {
+            int year = lastYear - row;
+            g.setColor(Color.DARK_GRAY);
+            g.drawString(String.valueOf(year), 4, row * YEAR_HEIGHT + CELL + 2);
+            g.drawImage(tiles.computeIfAbsent(year, this::renderYear), LABEL_WIDTH, row * YEAR_HEIGHT, null);
+        }
+    }
+
+    @Override
+    public String getToolTipText(MouseEvent e) {
+        if (tracker == null || e.getX() < LABEL_WIDTH) {
+            return null;
+        }
+        int year = lastYear - e.getY() / YEAR_HEIGHT;
+        LocalDate jan1 = LocalDate.of(year, 1, 1);
+        int week = (e.getX() - LABEL_WIDTH) / CELL;
+        int weekday = (e.getY() % YEAR_HEIGHT) / CELL;
+        LocalDate day = jan1.plusDays(week * 7L + weekday - sundayOffset(jan1));
+        if (day.getYear() != year || weekday > 6) {
+            return null;
+        }
+        return day + ": " + tracker.getDailyVolume().get(day) + " reps";
+    }
+
+    /**
+     * Renders every day cell of a year into a new tile.
+     *
+     * @param year the year to render
+     * @return the year's tile
+     */
+    private BufferedImage renderYear(int year) {
+        RefreshEvent event = RefreshEvent.start("Activity " + year, "rebuild");
+        BufferedImage tile = new BufferedImage(WEEKS * CELL, 7 * CELL, BufferedImage.TYPE_INT_ARGB);
+        Graphics2D g2 = tile.createGraphics();
+        try {
+            DailyVolume volume = tracker.getDailyVolume();
+            for (LocalDate d = LocalDate.of(year, 1, 1); d.getYear() == year; d = d.plusDays(1)) {
+                drawCell(g2, d, volume.get(d));
+            }
+        } finally {
+            g2.dispose();
+        }
+        event.finish(tracker.size());
+        return tile;
+    }
+
+    /**
+     * Fills one day's cell with the colour for its volume.
+     */
+    private void drawCell(Graphics2D g2, LocalDate day, long reps) {
+        int level = reps <= 0 ? 0 : (int) Math.min(4, Math.max(1, (4 * reps + scalePeak - 1) / scalePeak));
+        Point p = cellOrigin(day);
+        g2.setColor(LEVELS[level]);
+        g2.fillRect(p.x, p.y, CELL - GAP, CELL - GAP);
+    }
+
+    /**
+     * Returns the top-left corner of a day's cell within its year tile.
+     */
+    private static Point cellOrigin(LocalDate day) {
+        int week = (day.getDayOfYear() - 1 + sundayOffset(day.withDayOfYear(1))) / 7;
+        int weekday = day.getDayOfWeek().getValue() % 7;
+        return new Point(week * CELL, weekday * CELL);
+    }
+
+    /**
+     * Returns how many days the week containing jan1 started before it (Sunday-based weeks).
+     */
+    private static int sundayOffset(LocalDate jan1) {
+        return jan1.getDayOfWeek().getValue() % 7;
+    }
+
+    private int yearTop(int year) {
+        return (lastYear - year) * YEAR_HEIGHT;
+    }
+
+    private static void onEdt(Runnable task) {
+        if (SwingUtilities.isEventDispatchThread()) {
+            task.run();
+        } else {
+            SwingUtilities.invokeLater(task);
+        }
+    }
+}
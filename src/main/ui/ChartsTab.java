@@ -0,0 +1,198 @@
+package ui;
+
+import diagnostics.RefreshEvent;
+import model.ExerciseSet;
+import model.Meal;
+import model.MealPlan;
+import model.TimeSeries;
+import model.VitaSyncData;
+import model.WorkoutTracker;
+
+import javax.swing.*;
+import java.awt.*;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.function.Supplier;
+
+/**
+ * The Charts tab: completed vs. target reps per day for a chosen exercise, and macros per meal.
+ * Series are extracted from the stores on a SwingWorker and drawn by TrendChartPanels, which render
+ * their tiles off the EDT as well.
+ *
+ * Requires: The data supplier always returns the application's current data.
+ * Modifies: This panel's charts.
+ * Effects: Shows progress and macro trends, refreshed on demand.
+ */
+public class ChartsTab extends JPanel {
+    private static final List<Color> REP_COLORS = Arrays.asList(new Color(30, 120, 200), new Color(200, 80, 40));
+    private static final List<String> REP_LABELS = Arrays.asList("Completed", "Target");
+    private static final List<Color> MACRO_COLORS =
+            Arrays.asList(new Color(40, 150, 70), new Color(220, 160, 20), new Color(170, 60, 160));
+    private static final List<String> MACRO_LABELS = Arrays.asList("Protein", "Carbs", "Fat");
+
+    private final Supplier<VitaSyncData> data;
+    private final JComboBox<String> exerciseBox;
+    private final TrendChartPanel repsChart;
+    private final TrendChartPanel macrosChart;
+    private boolean updatingNames;
+
+    /**
+     * Constructs the Charts tab and starts loading its series.
+     *
+     * Requires: data is non-null; called on the EDT.
+     * Modifies: this
+     * Effects: Builds the exercise selector and both charts, then refreshes them in the background.
+     *
+     * @param data supplies the current application data
+     * @param font the font for the controls
+     */
+    public ChartsTab(Supplier<VitaSyncData> data, Font font) {
+        super(new BorderLayout());
+        this.data = data;
+        setOpaque(false);
+        exerciseBox = new JComboBox<>();
+        exerciseBox.setFont(font);
+        exerciseBox.addActionListener(e -> {
+            if (!updatingNames) {
+                refreshReps();
+            }
+        });
+        repsChart = new TrendChartPanel("Reps per day", true);
+        macrosChart = new TrendChartPanel("Macros per meal", false);
+        add(buildTopPanel(font), BorderLayout.NORTH);
+        JPanel charts = new JPanel(new GridLayout(2, 1, 0, 8));
+        charts.setOpaque(false);
+        charts.add(repsChart);
+        charts.add(macrosChart);
+        add(charts, BorderLayout.CENTER);
+        refresh();
+    }
+
+    /**
+     * Builds the row of controls above the charts.
+     *
+     * @param font the font for the controls
+     * @return the control panel
+     */
+    private JPanel buildTopPanel(Font font) {
+        JPanel top = new JPanel(new FlowLayout());
+        top.setOpaque(false);
+        JLabel label = new JLabel("Exercise:");
+        label.setFont(font);
+        JButton refreshButton = new JButton("Refresh");
+        refreshButton.setFont(font);
+        refreshButton.addActionListener(e -> refresh());
+        JLabel hint = new JLabel("Drag to pan, scroll to zoom");
+        hint.setFont(font.deriveFont(Font.PLAIN));
+        top.add(label);
+        top.add(exerciseBox);
+        top.add(refreshButton);
+        top.add(hint);
+        return top;
+    }
+
+    /**
+     * Reloads the exercise list and both charts from the current data.
+     *
+     * Requires: Called on the EDT.
+     * Modifies: this
+     * Effects: Extracts names and macro series off the EDT, then updates the selector, the macro chart
+     *          and the reps chart for the (kept, if still present) selected exercise.
+     */
+    public void refresh() {
+        WorkoutTracker tracker = data.get().getWorkoutTracker();
+        MealPlan mealPlan = data.get().getMealPlan();
+        new SwingWorker<Extracted, Void>() {
+            @Override
+            protected Extracted doInBackground() {
+                RefreshEvent event = RefreshEvent.start("Charts", "reload");
+                List<TimeSeries> macros = Arrays.asList(mealPlan.macroSeries(Meal::getProtein),
+                        mealPlan.macroSeries(Meal::getCarbs), mealPlan.macroSeries(Meal::getFat));
+                List<String> names = tracker.getExerciseNames();
+                event.finish(mealPlan.size());
+                return new Extracted(names, macros);
+            }
+
+            @Override
+            protected void done() {
+                Extracted result = getQuietly(this);
+                if (result != null) {
+                    setExerciseNames(result.names);
+                    macrosChart.setSeries(result.macros, MACRO_COLORS, MACRO_LABELS);
+                    refreshReps();
+                }
+            }
+        }.execute();
+    }
+
+    /**
+     * What refresh extracts off the EDT: the exercise names and the protein, carbs and fat series.
+     */
+    private static final class Extracted {
+        private final List<String> names;
+        private final List<TimeSeries> macros;
+
+        Extracted(List<String> names, List<TimeSeries> macros) {
+            this.names = names;
+            this.macros = macros;
+        }
+    }
+
+    /**
+     * Replaces the selector's names, keeping the current selection when it still exists.
+     *
+     * @param names the exercise names
+     */
+    private void setExerciseNames(List<String> names) {
+        Object selected = exerciseBox.getSelectedItem();
+        updatingNames = true;
+        exerciseBox.setModel(new DefaultComboBoxModel<>(names.toArray(new String[0])));
+        if (selected != null && names.contains(selected)) {
+            exerciseBox.setSelectedItem(selected);
+        }
+        updatingNames = false;
+    }
+
+    /**
+     * Reloads the reps chart for the selected exercise off the EDT.
+     */
+    private void refreshReps() {
+        String exercise = (String) exerciseBox.getSelectedItem();
+        if (exercise == null) {
+            repsChart.setSeries(List.of(), List.of(), List.of());
+            return;
+        }
+        WorkoutTracker tracker = data.get().getWorkoutTracker();
+        new SwingWorker<List<TimeSeries>, Void>() {
+            @Override
+            protected List<TimeSeries> doInBackground() {
+                return Arrays.asList(tracker.repsSeries(exercise, ExerciseSet::getCompletedReps),
+                        tracker.repsSeries(exercise, ExerciseSet::getTargetReps));
+            }
+
+            @Override
+            protected void done() {
+                List<TimeSeries> series = getQuietly(this);
+                if (series != null && exercise.equals(exerciseBox.getSelectedItem())) {
+                    repsChart.setSeries(series, REP_COLORS, REP_LABELS);
+                }
+            }
+        }.execute();
+    }
+
+    /**
+     * Returns a finished worker's result, or null if it failed.
+     *
+     * @param worker the finished worker
+     * @param <T> the result type
+     * @return the result, or null
+     */
+    private static <T> T getQuietly(SwingWorker<T, Void> worker) {
+        try {
+            return worker.get();
+        } catch (InterruptedException | ExecutionException e) {
+            return null;
+        }
+    }
+}
@@ -0,0 +1,151 @@
+package ui;
+
+import java.io.PrintWriter;
+import java.util.Scanner;
+
+/**
+ * An interactive, paginated console listing.
+ * Each page is written to a buffered writer and flushed once, together with the navigation prompt,
+ * so even long listings cost one write per page rather than one per line. Users can page forward
+ * and back, jump to a page, change the subclass's filter, or toggle a one-line-per-item summary.
+ *
+ * Requires: The scanner and writer stay open while browsing.
+ * Modifies: Writes to out and reads from in.
+ * Effects: Lets the user browse the items selected by the current filter.
+ */
+abstract class ConsolePager {
+    static final int PAGE_SIZE = 10;
+
+    private final Scanner in;
+    private final PrintWriter out;
+    private final String title;
+    private boolean summary;
+    private int page;
+
+    /**
+     * Constructs a pager.
+     *
+     * @param in the user's input
+     * @param out the buffered console writer
+     * @param title the listing's heading
+     */
+    ConsolePager(Scanner in, PrintWriter out, String title) {
+        this.in = in;
+        this.out = out;
+        this.title = title;
+    }
+
+    /**
+     * Runs the listing until the user quits.
+     *
+     * Requires: None.
+     * Modifies: out
+     * Effects: Applies the initial filter, then prints pages and handles commands until q or a blank line.
+     */
+    void browse() {
+        applyFilter();
+        boolean browsing = true;
+        while (browsing) {
+            printPage();
+            out.print("[n]ext, [p]rev, [g]oto <page>, [f]ilter, [s]ummary on/off, [q]uit: ");
+            out.flush();
+            browsing = handle(in.nextLine().trim().toLowerCase());
+        }
+    }
+
+    /**
+     * Handles one navigation command.
+     *
+     * @param command the trimmed, lower-case command
+     * @return false if the user quit
+     */
+    private boolean handle(String command) {
+        if (command.isEmpty() || command.equals("q")) {
+            return false;
+        } else if (command.equals("n")) {
+            page = Math.min(page + 1, pageCount() - 1);
+        } else if (command.equals("p")) {
+            page = Math.max(page - 1, 0);
+        } else if (command.startsWith("g")) {
+            goTo(command.substring(1).trim());
+        } else if (command.equals("f")) {
+            promptFilter(in, out);
+            applyFilter();
+            page = 0;
+        } else if (command.equals("s")) {
+            summary = !summary;
+        } else {
+            out.println("Unknown command.");
+        }
+        return true;
+    }
+
+    /**
+     * Jumps to a 1-based page number, clamped to the available pages.
+     *
+     * @param number the page number typed by the user
+     */
+    private void goTo(String number) {
+        try {
+            page = Math.max(0, Math.min(Integer.parseInt(number) - 1, pageCount() - 1));
+        } catch (NumberFormatException e) {
+            out.println("Usage: g <page number>");
+        }
+    }
+
+    private int pageCount() {
+        return Math.max(1, (size() + PAGE_SIZE - 1) / PAGE_SIZE);
+    }
+
+    /**
+     * Writes the current page to the buffer; it is flushed with the following prompt.
+     */
+    private void printPage() {
+        out.println();
+        out.println("--- " + title + " (page " + (page + 1) + " of " + pageCount() + ", "
+                + size() + " matching) ---");
+        if (size() == 0) {
+            out.println(emptyMessage());
+        }
+        int end = Math.min(size(), (page + 1) * PAGE_SIZE);
+        for (int i = page * PAGE_SIZE; i < end; i++) {
+            printItem(i, out, summary);
+        }
+    }
+
+    /**
+     * Re-runs the query for the current filter.
+     */
+    protected abstract void applyFilter();
+
+    /**
+     * Returns the number of items matching the current filter.
+     *
+     * @return the match count
+     */
+    protected abstract int size();
+
+    /**
+     * Writes one matching item.
+     *
+     * @param index the item's position among the matches
+     * @param out the buffered console writer
+     * @param summary whether to write a one-line summary instead of the full details
+     */
+    protected abstract void printItem(int index, PrintWriter out, boolean summary);
+
+    /**
+     * Asks the user for a new filter.
+     *
+     * @param in the user's input
+     * @param out the buffered console writer; flush before reading
+     */
+    protected abstract void promptFilter(Scanner in, PrintWriter out);
+
+    /**
+     * Returns the line shown when nothing matches.
+     *
+     * @return the empty-listing message
+     */
+    protected abstract String emptyMessage();
+}
@@ -0,0 +1,35 @@
+package ui;
+
+import diagnostics.HeapFootprint;
+import diagnostics.Metrics;
+import model.VitaSyncData;
+
+import java.util.function.Supplier;
+
+/**
+ * Publishes the size of the application's current data as gauges in the global Metrics registry.
+ * The gauges read through a supplier, so they follow the data across loads. They are computed
+ * only when the metrics are read (e.g. by JConsole); the set count and heap estimate walk the data.
+ * The heap estimate is HeapFootprint's, sized from the running VM's object layout.
+ */
+final class DataGauges {
+    private DataGauges() {
+    }
+
+    /**
+     * Registers the data gauges, replacing any registered earlier.
+     *
+     * Requires: data always returns non-null data.
+     * Modifies: Metrics.global()
+     *
+     * @param data supplies the application's current data
+     */
+    static void register(Supplier<VitaSyncData> data) {
+        Metrics metrics = Metrics.global();
+        metrics.gauge("data.workouts", () -> data.get().getWorkoutTracker().size());
+        metrics.gauge("data.sets", () -> data.get().getWorkoutTracker().countSets());
+        metrics.gauge("data.meals", () -> data.get().getMealPlan().size());
+        metrics.gauge("data.recipes", () -> data.get().getRecipeLibrary().size());
+        metrics.gauge("data.estimatedBytes", () -> HeapFootprint.of(data.get()).getTotalBytes());
+    }
+}
@@ -2,26 +2,22 @@ package ui;
 
 import javax.swing.*;
 import java.awt.*;
-import java.awt.event.ActionEvent;
-import java.awt.event.ActionListener;
 
 /**
- * Displays an animated splash screen with a progress bar.
+ * Displays a splash screen while the application's startup work runs in the background.
  * 
  * Requires: A valid splash image path must be provided.
  * Modifies: This window's state (progress bar and visibility).
- * Effects: Animates a progress bar from 0 to 100, then launches the main application GUI.
+ * Effects: Shows real preloading progress, then launches the main application GUI as soon as it is done.
  */
 public class FancySplashScreen extends JWindow {
 
     private JProgressBar progressBar;
-    private Timer timer;
-    private int progressValue;
+    private final StartupPreloader preloader;
+    private final StartupTimeline timeline;
 
     private static final int SPLASH_WIDTH = 500;
     private static final int SPLASH_HEIGHT = 300;
-    private static final int TIMER_DELAY = 50;    // ms per tick
-    private static final int TOTAL_STEPS = 100;   // progress from 0 to 100
 
     /**
      * Constructs a FancySplashScreen with the given splash image.
@@ -33,6 +29,7 @@ public class FancySplashScreen extends JWindow {
      * @param splashImagePath path to the splash image
      */
     public FancySplashScreen(String splashImagePath) {
+        timeline = new StartupTimeline();
         setSize(SPLASH_WIDTH, SPLASH_HEIGHT);
         setLocationRelativeTo(null);
         
@@ -42,7 +39,8 @@ public class FancySplashScreen extends JWindow {
         progressBar = buildProgressBar();
         content.add(progressBar, BorderLayout.SOUTH);
         
-        setupTimer();
+        preloader = VitaSyncGUI.createPreloader();
+        timeline.record("Splash window", 0);
     }
     
     /**
@@ -67,65 +65,66 @@ public class FancySplashScreen extends JWindow {
     /**
      * Creates the progress bar.
      * 
-     * Requires: TOTAL_STEPS is properly defined.
+     * Requires: None.
      * Modifies: Creates a new JProgressBar.
-     * Effects: Returns a progress bar with range 0 to TOTAL_STEPS.
+     * Effects: Returns a progress bar with one step per startup task.
      *
      * @return the progress bar
      */
     private JProgressBar buildProgressBar() {
-        JProgressBar bar = new JProgressBar(0, TOTAL_STEPS);
+        JProgressBar bar = new JProgressBar(0, StartupPreloader.TASK_COUNT);
         bar.setStringPainted(true);
+        bar.setString("Loading...");
         return bar;
     }
     
     /**
-     * Sets up the timer to animate the progress bar.
+     * Shows the splash screen and starts preloading.
      * 
-     * Requires: TIMER_DELAY and TOTAL_STEPS are properly defined.
-     * Modifies: Initializes the timer and progressValue.
-     * Effects: Increments progressValue until TOTAL_STEPS, then stops and launches the main app.
+     * Requires: Called on the EDT.
+     * Modifies: This window's visibility and progress bar.
+     * Effects: Displays the splash screen, runs the startup tasks in parallel and opens the main GUI
+     *          the moment they have all finished; if preloading fails, opens it with fresh data and
+     *          the failure to report.
      */
-    private void setupTimer() {
-        progressValue = 0;
-        timer = new Timer(TIMER_DELAY, new ActionListener() {
-            @Override
-            public void actionPerformed(ActionEvent e) {
-                progressValue++;
-                progressBar.setValue(progressValue);
-                if (progressValue >= TOTAL_STEPS) {
-                    timer.stop();
-                    dispose();
-                    launchMainApp();
-                }
-            }
-        });
+    public void startAnimation() {
+        setVisible(true);
+        preloader.preload(this::showProgress, timeline)
+                .exceptionally(preloader::fallback)
+                .thenAccept(resources -> SwingUtilities.invokeLater(() -> launchMainApp(resources)));
     }
-    
+
     /**
-     * Starts the animation by making the splash screen visible and starting the timer.
+     * Reports a finished startup task on the progress bar.
      * 
-     * Requires: Timer has been set up.
-     * Modifies: This window's visibility.
-     * Effects: Displays the splash screen and begins the animation.
+     * Requires: None; may be called from any thread.
+     * Modifies: progressBar
+     * Effects: Schedules the progress bar update on the EDT.
+     *
+     * @param done the number of finished tasks
+     * @param total the number of tasks
+     * @param label the finished task
      */
-    public void startAnimation() {
-        setVisible(true);
-        timer.start();
+    private void showProgress(int done, int total, String label) {
+        SwingUtilities.invokeLater(() -> {
+            progressBar.setValue(done);
+            progressBar.setString(label + " loaded (" + done + "/" + total + ")");
+        });
     }
     
     /**
-     * Launches the main application GUI after the splash screen is finished.
+     * Replaces the splash screen with the main application GUI.
      * 
-     * Requires: SwingUtilities is available.
-     * Modifies: Creates a new instance of the main GUI.
-     * Effects: Schedules the main application GUI to be displayed.
+     * Requires: Called on the EDT.
+     * Modifies: Disposes this window and creates the main GUI.
+     * Effects: Shows the main application GUI built from the preloaded resources.
+     *
+     * @param resources the preloaded images and data
      */
-    private void launchMainApp() {
-        SwingUtilities.invokeLater(() -> {
-            VitaSyncGUI mainApp = new VitaSyncGUI();
-            mainApp.setVisible(true);
-        });
+    private void launchMainApp(StartupPreloader.Resources resources) {
+        dispose();
+        VitaSyncGUI mainApp = new VitaSyncGUI(resources, timeline);
+        mainApp.setVisible(true);
     }
 
     /**
@@ -138,7 +137,9 @@ public class FancySplashScreen extends JWindow {
      * @param args command line arguments
      */
     public static void main(String[] args) {
-        FancySplashScreen splash = new FancySplashScreen("./data/vitasyncbanner.png");
-        splash.startAnimation();
+        SwingUtilities.invokeLater(() -> {
+            FancySplashScreen splash = new FancySplashScreen("./data/vitasyncbanner.png");
+            splash.startAnimation();
+        });
     }
 }
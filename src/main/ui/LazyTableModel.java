@@ -0,0 +1,467 @@
+package ui;
+
+import javax.swing.*;
+import javax.swing.table.AbstractTableModel;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ExecutionException;
+import java.util.function.BooleanSupplier;
+import java.util.function.Function;
+import java.util.function.Predicate;
+import java.util.function.Supplier;
+
+/**
+ * A table model that reads its rows lazily from an O(1) snapshot of a model store.
+ * JTable only asks for the cells of visible rows, so only those rows are ever formatted; formatted
+ * rows are kept in a small LRU cache so scrolling back and forth does not redo the work.
+ * Sorting and filtering build a view-to-model index on a SwingWorker, so the EDT never walks the
+ * whole store; until the first results are ready the table keeps showing the previous, consistent
+ * view. An unsorted filter streams its matches into the table chunk by chunk as the scan proceeds.
+ * A new request cancels the one in flight, and results of superseded requests are dropped.
+ * All public methods must be called on the EDT.
+ *
+ * @param <T> the type of item shown in each row
+ */
+public class LazyTableModel<T> extends AbstractTableModel {
+    private static final int ROW_CACHE_SIZE = 512;
+    private static final int SCAN_CHUNK_SIZE = 1024;
+
+    private final String[] columnNames;
+    private final Supplier<List<T>> source;
+    private final Function<T, Object[]> rowMapper;
+    private final Map<Integer, Object[]> rowCache;
+
+    private List<T> rows;
+    private int[] view;           // view row -> index into rows; null means every row, in order
+    private int viewSize;         // number of used entries in view
+    private Predicate<T> filter;  // null for no filter
+    private int sortColumn;       // -1 means store order
+    private boolean ascending;
+    private int generation;       // bumped whenever a newer view supersedes pending ones
+    private SwingWorker<?, ?> pending;
+
+    /**
+     * Constructs a model over the given store.
+     *
+     * Requires: columnNames, source and rowMapper are non-null; rowMapper returns one value per column.
+     * Modifies: this
+     * Effects: Creates a model showing source's current snapshot in store order.
+     *
+     * @param columnNames the column headers
+     * @param source supplies an immutable snapshot of the store
+     * @param rowMapper formats one item as the cell values of its row
+     */
+    public LazyTableModel(String[] columnNames, Supplier<List<T>> source, Function<T, Object[]> rowMapper) {
+        this.columnNames = columnNames.clone();
+        this.source = source;
+        this.rowMapper = rowMapper;
+        this.rowCache = new LinkedHashMap<Integer, Object[]>(ROW_CACHE_SIZE, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Integer, Object[]> eldest) {
+                return size() > ROW_CACHE_SIZE;
+            }
+        };
+        this.rows = source.get();
+        this.sortColumn = -1;
+        this.ascending = true;
+    }
+
+    @Override
+    public int getRowCount() {
+        return view == null ? rows.size() : viewSize;
+    }
+
+    @Override
+    public int getColumnCount() {
+        return columnNames.length;
+    }
+
+    @Override
+    public String getColumnName(int column) {
+        return columnNames[column];
+    }
+
+    @Override
+    public Object getValueAt(int rowIndex, int columnIndex) {
+        int modelIndex = view == null ? rowIndex : view[rowIndex];
+        Object[] row = rowCache.get(modelIndex);
+        if (row == null) {
+            row = rowMapper.apply(rows.get(modelIndex));
+            rowCache.put(modelIndex, row);
+        }
+        return row[columnIndex];
+    }
+
+    /**
+     * Returns the item shown in the given row.
+     *
+     * Requires: 0 <= rowIndex < getRowCount()
+     * Modifies: None.
+     * Effects: Maps the row through the current sort/filter view.
+     *
+     * @param rowIndex the row in view order
+     * @return the item in that row
+     */
+    public T getItemAt(int rowIndex) {
+        return rows.get(view == null ? rowIndex : view[rowIndex]);
+    }
+
+    /**
+     * Re-reads the store after items were appended to its end.
+     *
+     * Requires: The store only grew at its end since the last read.
+     * Modifies: this
+     * Effects: Announces just the new rows when no sort or filter is active, otherwise rebuilds the view.
+     */
+    public void rowsAppended() {
+        if (hasView()) {
+            reload();
+            return;
+        }
+        int oldSize = rows.size();
+        rows = source.get();
+        cancelPending();
+        if (rows.size() > oldSize) {
+            fireTableRowsInserted(oldSize, rows.size() - 1);
+        }
+    }
+
+    /**
+     * Re-reads the whole store.
+     *
+     * Requires: None.
+     * Modifies: this
+     * Effects: Shows the store's current snapshot, re-applying the active sort and filter off the EDT.
+     */
+    public void reload() {
+        List<T> latest = source.get();
+        if (hasView()) {
+            rebuildView(latest);
+            return;
+        }
+        cancelPending();
+        rows = latest;
+        view = null;
+        rowCache.clear();
+        fireTableDataChanged();
+    }
+
+    /**
+     * Shows only rows with a cell containing the given text, ignoring case.
+     *
+     * Requires: None.
+     * Modifies: this
+     * Effects: Sets the filter (null or blank clears it) and rebuilds the view off the EDT.
+     *
+     * @param text the text to look for
+     */
+    public void setTextFilter(String text) {
+        if (text == null || text.isBlank()) {
+            setFilter(null);
+            return;
+        }
+        String lower = text.trim().toLowerCase(Locale.ROOT);
+        setFilter(item -> containsText(rowMapper.apply(item), lower));
+    }
+
+    /**
+     * Shows only items accepted by the given filter.
+     *
+     * Requires: filter is safe to call from a worker thread.
+     * Modifies: this
+     * Effects: Sets the filter (null clears it) and rebuilds the view off the EDT, streaming matches
+     *          into the table when no sort is active.
+     *
+     * @param filter accepts the items to show
+     */
+    public void setFilter(Predicate<T> filter) {
+        this.filter = filter;
+        reload();
+    }
+
+    /**
+     * Sorts by the given column, flipping the direction if it is already the sort column.
+     *
+     * Requires: 0 <= column < getColumnCount()
+     * Modifies: this
+     * Effects: Sets the sort order and rebuilds the view off the EDT.
+     *
+     * @param column the column to sort by
+     */
+    public void sortBy(int column) {
+        ascending = column != sortColumn || !ascending;
+        sortColumn = column;
+        reload();
+    }
+
+    /**
+     * Tells whether a sort or filter is active.
+     *
+     * @return true if rows are not simply shown in store order
+     */
+    private boolean hasView() {
+        return filter != null || sortColumn >= 0;
+    }
+
+    /**
+     * Supersedes any view computation in flight.
+     *
+     * Requires: Called on the EDT.
+     * Modifies: this
+     * Effects: Cancels the pending worker and makes sure none of its results are installed.
+     */
+    private void cancelPending() {
+        generation++;
+        if (pending != null) {
+            pending.cancel(true);
+            pending = null;
+        }
+    }
+
+    /**
+     * Tells whether any cell of a row contains the text.
+     *
+     * @param row the formatted row
+     * @param lower the lower-case text to look for
+     * @return true if a cell contains it, ignoring case
+     */
+    private static boolean containsText(Object[] row, String lower) {
+        for (Object cell : row) {
+            if (cell != null && cell.toString().toLowerCase(Locale.ROOT).contains(lower)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Computes the view for a snapshot on a worker thread.
+     *
+     * Requires: Called on the EDT.
+     * Modifies: this
+     * Effects: Cancels the previous computation; streams filter matches in if no sort is active, otherwise
+     *          installs the sorted view when done.
+     *
+     * @param snapshot the store snapshot to show
+     */
+    private void rebuildView(List<T> snapshot) {
+        cancelPending();
+        int ticket = generation;
+        SwingWorker<?, ?> worker = sortColumn >= 0
+                ? new SortWorker(ticket, snapshot, new ViewBuilder<>(rowMapper, filter, sortColumn, ascending))
+                : new FilterWorker(ticket, snapshot, filter);
+        pending = worker;
+        worker.execute();
+    }
+
+    /**
+     * Shows the first results of a new view.
+     *
+     * Requires: Called on the EDT for the current request.
+     * Modifies: this
+     * Effects: Switches to snapshot with an empty view, ready for matches to be appended.
+     *
+     * @param snapshot the rows the new view indexes into
+     */
+    private void startView(List<T> snapshot) {
+        rows = snapshot;
+        view = new int[SCAN_CHUNK_SIZE];
+        viewSize = 0;
+        rowCache.clear();
+        fireTableDataChanged();
+    }
+
+    /**
+     * Appends streamed matches to the view.
+     *
+     * Requires: Called on the EDT for the current request, after startView.
+     * Modifies: this
+     * Effects: Adds the indices to the end of the view and announces just the new rows.
+     *
+     * @param chunks batches of matching indices, in store order
+     */
+    private void appendToView(List<int[]> chunks) {
+        int first = viewSize;
+        for (int[] chunk : chunks) {
+            if (viewSize + chunk.length > view.length) {
+                view = Arrays.copyOf(view, Math.max(view.length * 2, viewSize + chunk.length));
+            }
+            System.arraycopy(chunk, 0, view, viewSize, chunk.length);
+            viewSize += chunk.length;
+        }
+        if (viewSize > first) {
+            fireTableRowsInserted(first, viewSize - 1);
+        }
+    }
+
+    /**
+     * Scans a snapshot for filter matches and streams them into the view.
+     */
+    private final class FilterWorker extends SwingWorker<Void, int[]> {
+        private final int ticket;
+        private final List<T> snapshot;
+        private final Predicate<T> matcher;
+        private boolean started;   // EDT only
+
+        FilterWorker(int ticket, List<T> snapshot, Predicate<T> matcher) {
+            this.ticket = ticket;
+            this.snapshot = snapshot;
+            this.matcher = matcher;
+        }
+
+        @Override
+        protected Void doInBackground() {
+            int[] chunk = new int[SCAN_CHUNK_SIZE];
+            int count = 0;
+            int index = 0;
+            for (T item : snapshot) {
+                if (matcher.test(item)) {
+                    chunk[count++] = index;
+                }
+                index++;
+                if (index % SCAN_CHUNK_SIZE == 0) {
+                    if (isCancelled()) {
+                        return null;
+                    }
+                    count = flush(chunk, count);
+                }
+            }
+            flush(chunk, count);
+            return null;
+        }
+
+        private int flush(int[] chunk, int count) {
+            if (count > 0) {
+                publish(Arrays.copyOf(chunk, count));
+            }
+            return 0;
+        }
+
+        @Override
+        protected void process(List<int[]> chunks) {
+            if (ticket == generation) {
+                ensureStarted();
+                appendToView(chunks);
+            }
+        }
+
+        @Override
+        protected void done() {
+            if (ticket == generation && !isCancelled()) {
+                ensureStarted();   // no matches at all
+                pending = null;
+            }
+        }
+
+        private void ensureStarted() {
+            if (!started) {
+                started = true;
+                startView(snapshot);
+            }
+        }
+    }
+
+    /**
+     * Builds a sorted view of a snapshot and installs it when done.
+     */
+    private final class SortWorker extends SwingWorker<int[], Void> {
+        private final int ticket;
+        private final List<T> snapshot;
+        private final ViewBuilder<T> builder;
+
+        SortWorker(int ticket, List<T> snapshot, ViewBuilder<T> builder) {
+            this.ticket = ticket;
+            this.snapshot = snapshot;
+            this.builder = builder;
+        }
+
+        @Override
+        protected int[] doInBackground() {
+            return builder.build(snapshot, this::isCancelled);
+        }
+
+        @Override
+        protected void done() {
+            if (ticket != generation || isCancelled()) {
+                return;
+            }
+            pending = null;
+            int[] result;
+            try {
+                result = get();
+            } catch (InterruptedException | ExecutionException e) {
+                return;
+            }
+            view = result;
+            viewSize = result.length;
+            rows = snapshot;
+            rowCache.clear();
+            fireTableDataChanged();
+        }
+    }
+
+    /**
+     * Builds a sorted view-to-model index from an immutable snapshot; safe to run off the EDT.
+     */
+    static final class ViewBuilder<T> {
+        private final Function<T, Object[]> rowMapper;
+        private final Predicate<T> filter;
+        private final int sortColumn;
+        private final boolean ascending;
+
+        ViewBuilder(Function<T, Object[]> rowMapper, Predicate<T> filter, int sortColumn, boolean ascending) {
+            this.rowMapper = rowMapper;
+            this.filter = filter;
+            this.sortColumn = sortColumn;
+            this.ascending = ascending;
+        }
+
+        /**
+         * Filters and sorts the snapshot.
+         *
+         * @param snapshot the rows to index
+         * @param cancelled tells the scan to stop early
+         * @return indices into snapshot in display order, or null if cancelled
+         */
+        int[] build(List<T> snapshot, BooleanSupplier cancelled) {
+            List<Integer> matches = new ArrayList<>();
+            List<Object> keys = new ArrayList<>();
+            int i = 0;
+            for (T item : snapshot) {
+                if (filter == null || filter.test(item)) {
+                    matches.add(i);
+                    keys.add(rowMapper.apply(item)[sortColumn]);
+                }
+                if (++i % SCAN_CHUNK_SIZE == 0 && cancelled.getAsBoolean()) {
+                    return null;
+                }
+            }
+            Integer[] order = new Integer[matches.size()];
+            Arrays.setAll(order, j -> j);
+            Arrays.sort(order, (a, b) -> compareKeys(keys.get(a), keys.get(b)));
+            return Arrays.stream(order).mapToInt(matches::get).toArray();
+        }
+
+        private int compareKeys(Object a, Object b) {
+            int result;
+            if (a instanceof Comparable && b != null && a.getClass() == b.getClass()) {
+                result = comparable(a).compareTo(b);
+            } else {
+                result = String.valueOf(a).compareToIgnoreCase(String.valueOf(b));
+            }
+            return ascending ? result : -result;
+        }
+
+        /**
+         * Returns a Comparable key as comparable to any object; callers only compare it with keys of
+         * its own class.
+         */
+        private static Comparable<Object> comparable(Object key) {
+            return (Comparable<Object>) key;
+        }
+    }
+}
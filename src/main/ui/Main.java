@@ -1,15 +1,57 @@
 package ui;
 
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.FileReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStreamWriter;
+import java.io.PrintWriter;
+import java.util.Arrays;
+
 /**
  * Main class to launch the VitaSync console application.
  */
 public class Main {
+    private static final String DATA_PATH = "./data/vitaSyncData.json";
+
     /**
      * Main method that creates an instance of VitaSyncApp and starts it.
+     * With "--batch &lt;script&gt;" (or "--batch -" for standard input) it runs the script without
+     * prompts instead; an optional "--data &lt;file&gt;" replaces the default data file, and
+     * "--compact-sets" saves each exercise's sets as run-length groups.
      *
-     * @param args command-line arguments (not used)
+     * @param args command-line arguments
      */
     public static void main(String[] args) {
-        new VitaSyncApp().start();
+        String script = option(args, "--batch");
+        if (script == null) {
+            new VitaSyncApp().start();
+            return;
+        }
+        String dataPath = option(args, "--data");
+        PrintWriter out = new PrintWriter(new BufferedWriter(new OutputStreamWriter(System.out)));
+        try (BufferedReader in = script.equals("-")
+                ? new BufferedReader(new InputStreamReader(System.in))
+                : new BufferedReader(new FileReader(script))) {
+            boolean compactSets = Arrays.asList(args).contains("--compact-sets");
+            int failures = new BatchRunner(dataPath == null ? DATA_PATH : dataPath, out, compactSets).run(in);
+            System.exit(failures == 0 ? 0 : 1);
+        } catch (IOException e) {
+            System.err.println("Error: Unable to read script " + script + ".");
+            System.exit(2);
+        }
+    }
+
+    /**
+     * Returns the value following a command-line option, or null if the option is absent.
+     */
+    private static String option(String[] args, String name) {
+        for (int i = 0; i + 1 < args.length; i++) {
+            if (args[i].equals(name)) {
+                return args[i + 1];
+            }
+        }
+        return null;
     }
 }
@@ -0,0 +1,225 @@
+package ui;
+
+import model.VitaSyncData;
+import persistence.JsonReader;
+
+import javax.imageio.ImageIO;
+import java.awt.*;
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Paths;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+/**
+ * Does the GUI's startup I/O in parallel, off the EDT.
+ * The background image, the Gregor image and the saved data file are decoded on separate worker
+ * threads; reading the data also builds the stores' sketches. Each finished task is reported to a
+ * ProgressListener, so a splash screen can show real progress and open the main window as soon as
+ * everything is ready.
+ */
+public class StartupPreloader {
+
+    /**
+     * Receives progress as startup tasks finish, on whichever worker thread finished them.
+     */
+    public interface ProgressListener {
+        /**
+         * Called after a task finishes.
+         *
+         * @param done the number of finished tasks
+         * @param total the number of tasks
+         * @param label a short description of the finished task
+         */
+        void taskFinished(int done, int total, String label);
+    }
+
+    /**
+     * Everything the GUI needs at startup. Images are null if they could not be decoded; the data is
+     * fresh and the data error says why if a saved file exists but could not be read.
+     */
+    public static final class Resources {
+        private final Image background;
+        private final Image gregor;
+        private final VitaSyncData data;
+        private final String dataError;
+
+        Resources(Image background, Image gregor, VitaSyncData data) {
+            this(background, gregor, data, null);
+        }
+
+        Resources(Image background, Image gregor, VitaSyncData data, String dataError) {
+            this.background = background;
+            this.gregor = gregor;
+            this.data = data;
+            this.dataError = dataError;
+        }
+
+        public Image getBackground() {
+            return background;
+        }
+
+        public Image getGregor() {
+            return gregor;
+        }
+
+        public VitaSyncData getData() {
+            return data;
+        }
+
+        /**
+         * Returns why the saved data could not be loaded.
+         *
+         * @return a message for the user, or null if the data was loaded or there was no saved file
+         */
+        public String getDataError() {
+            return dataError;
+        }
+    }
+
+    public static final int TASK_COUNT = 3;
+
+    private final String dataPath;
+    private final String backgroundPath;
+    private final String gregorPath;
+    private final String defaultName;
+    private volatile String dataError;
+
+    /**
+     * Constructs a preloader for the given files.
+     *
+     * Requires: all arguments are non-null.
+     * Modifies: this
+     * Effects: Records where to load from; nothing is read until preload is called.
+     *
+     * @param dataPath the saved data file
+     * @param backgroundPath the main window's background image
+     * @param gregorPath the Gregor tab's image
+     * @param defaultName the name for fresh data when the data file cannot be read
+     */
+    public StartupPreloader(String dataPath, String backgroundPath, String gregorPath, String defaultName) {
+        this.dataPath = dataPath;
+        this.backgroundPath = backgroundPath;
+        this.gregorPath = gregorPath;
+        this.defaultName = defaultName;
+    }
+
+    /**
+     * Starts all startup tasks in parallel.
+     *
+     * Requires: listener and timeline are non-null.
+     * Modifies: timeline
+     * Effects: Runs every task on its own worker thread, records it on timeline, reports each finished
+     *          task to listener and completes the returned future once all are done; the worker threads
+     *          then exit.
+     *
+     * @param listener receives progress
+     * @param timeline records how long each task took
+     * @return a future for the loaded resources
+     */
+    public CompletableFuture<Resources> preload(ProgressListener listener, StartupTimeline timeline) {
+        ExecutorService pool = Executors.newFixedThreadPool(TASK_COUNT, r -> {
+            Thread t = new Thread(r, "vitasync-preload");
+            t.setDaemon(true);
+            return t;
+        });
+        Progress progress = new Progress(listener, timeline);
+        CompletableFuture<Image> background = progress.track(() -> loadImage(backgroundPath), "Background image", pool);
+        CompletableFuture<Image> gregor = progress.track(() -> loadImage(gregorPath), "Gregor image", pool);
+        CompletableFuture<VitaSyncData> data = progress.track(this::loadData, "Saved data", pool);
+        return CompletableFuture.allOf(background, gregor, data)
+                .thenApply(v -> new Resources(background.join(), gregor.join(), data.join(), dataError))
+                .whenComplete((r, e) -> pool.shutdown());
+    }
+
+    /**
+     * Returns the resources to start with when preloading failed.
+     *
+     * Requires: None.
+     * Modifies: None.
+     * Effects: Returns no images and fresh data named defaultName, with the failure as the data error.
+     *
+     * @param error the failure, possibly wrapped in a CompletionException
+     * @return the fallback resources
+     */
+    public Resources fallback(Throwable error) {
+        Throwable cause = error.getCause() != null ? error.getCause() : error;
+        return new Resources(null, null, new VitaSyncData(defaultName), "Startup failed (" + cause + ").");
+    }
+
+    /**
+     * Counts finished tasks for one preload run.
+     */
+    private static final class Progress {
+        private final AtomicInteger done = new AtomicInteger();
+        private final ProgressListener listener;
+        private final StartupTimeline timeline;
+
+        Progress(ProgressListener listener, StartupTimeline timeline) {
+            this.listener = listener;
+            this.timeline = timeline;
+        }
+
+        /**
+         * Runs one task on the pool, records it on the timeline and reports when it finishes.
+         *
+         * @param task the work to run
+         * @param label the phase name and the description passed to the listener
+         * @param pool the worker pool
+         * @return a future for the task's result
+         */
+        <T> CompletableFuture<T> track(Supplier<T> task, String label, ExecutorService pool) {
+            return CompletableFuture.supplyAsync(() -> {
+                long start = timeline.now();
+                try {
+                    return task.get();
+                } finally {
+                    timeline.record(label, start);
+                }
+            }, pool).whenComplete((r, e) -> listener.taskFinished(done.incrementAndGet(), TASK_COUNT, label));
+        }
+    }
+
+    /**
+     * Decodes an image file fully.
+     *
+     * Requires: path is non-null.
+     * Modifies: None.
+     * Effects: Returns the decoded image, or null if the file is missing or unreadable.
+     *
+     * @param path the image file
+     * @return the image, or null
+     */
+    static Image loadImage(String path) {
+        try {
+            return ImageIO.read(new File(path));
+        } catch (IOException e) {
+            return null;
+        }
+    }
+
+    /**
+     * Reads the saved data file.
+     *
+     * Requires: None.
+     * Modifies: None.
+     * Effects: Returns the saved data, or empty data named defaultName if the file is missing or cannot
+     *          be read or parsed for any reason; in the latter case dataError records why.
+     *
+     * @return the loaded data
+     */
+    private VitaSyncData loadData() {
+        try {
+            return new JsonReader(dataPath).read();
+        } catch (IOException | RuntimeException e) {
+            if (Files.exists(Paths.get(dataPath))) {
+                dataError = "Could not load " + dataPath + " (" + e + "); starting with empty data.";
+            }
+            return new VitaSyncData(defaultName);
+        }
+    }
+}
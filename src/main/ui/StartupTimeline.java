@@ -0,0 +1,131 @@
+package ui;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Records how long each phase of application startup takes.
+ * Timestamps are System.nanoTime() values relative to the moment the timeline was created. Phases
+ * may overlap (e.g. parallel preloading tasks) and may be recorded from any thread.
+ */
+public final class StartupTimeline {
+
+    /**
+     * One recorded phase.
+     */
+    public static final class Phase {
+        private final String name;
+        private final long startNanos;
+        private final long endNanos;
+        private final String thread;
+
+        Phase(String name, long startNanos, long endNanos, String thread) {
+            this.name = name;
+            this.startNanos = startNanos;
+            this.endNanos = endNanos;
+            this.thread = thread;
+        }
+
+        public String getName() {
+            return name;
+        }
+
+        public long getStartNanos() {
+            return startNanos;
+        }
+
+        public long getEndNanos() {
+            return endNanos;
+        }
+
+        public long getDurationNanos() {
+            return endNanos - startNanos;
+        }
+
+        public String getThread() {
+            return thread;
+        }
+    }
+
+    private final long origin;
+    private final List<Phase> phases;
+
+    /**
+     * Constructs a timeline starting now.
+     */
+    public StartupTimeline() {
+        origin = System.nanoTime();
+        phases = new ArrayList<>();
+    }
+
+    /**
+     * Returns the current time on this timeline's clock.
+     * @return nanoseconds since the timeline was created.
+     */
+    public long now() {
+        return System.nanoTime() - origin;
+    }
+
+    /**
+     * Records a phase that started at startNanos and ends now.
+     * Modifies: this
+     * Effects: Adds the phase, tagged with the calling thread's name.
+     * @param name the phase name.
+     * @param startNanos the phase's start, as returned by now().
+     */
+    public void record(String name, long startNanos) {
+        long end = now();
+        Phase phase = new Phase(name, startNanos, end, Thread.currentThread().getName());
+        synchronized (phases) {
+            phases.add(phase);
+        }
+    }
+
+    /**
+     * Runs work and records it as a phase.
+     * Modifies: this
+     * Effects: Records how long work took.
+     * @param name the phase name.
+     * @param work the work to time.
+     */
+    public void time(String name, Runnable work) {
+        long start = now();
+        try {
+            work.run();
+        } finally {
+            record(name, start);
+        }
+    }
+
+    /**
+     * Returns the phases recorded so far, ordered by start time.
+     * @return a copy of the phases.
+     */
+    public List<Phase> getPhases() {
+        List<Phase> copy;
+        synchronized (phases) {
+            copy = new ArrayList<>(phases);
+        }
+        copy.sort((a, b) -> Long.compare(a.startNanos, b.startNanos));
+        return copy;
+    }
+
+    /**
+     * Formats the recorded phases as a table in milliseconds with microsecond precision.
+     * @return the report text.
+     */
+    public String report() {
+        StringBuilder sb = new StringBuilder();
+        sb.append(String.format("%-24s %12s %12s %12s  %s%n", "Phase", "Start (ms)", "End (ms)", "Took (ms)",
+                "Thread"));
+        for (Phase p : getPhases()) {
+            sb.append(String.format("%-24s %12.3f %12.3f %12.3f  %s%n", p.name, millis(p.startNanos),
+                    millis(p.endNanos), millis(p.getDurationNanos()), p.thread));
+        }
+        return sb.toString();
+    }
+
+    private static double millis(long nanos) {
+        return nanos / 1_000_000.0;
+    }
+}
@@ -0,0 +1,344 @@
+package ui;
+
+import model.TimeSeries;
+
+import javax.swing.*;
+import java.awt.*;
+import java.awt.event.MouseAdapter;
+import java.awt.event.MouseEvent;
+import java.awt.event.MouseWheelEvent;
+import java.awt.geom.Path2D;
+import java.awt.image.BufferedImage;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * A pannable, zoomable line chart of one or more series.
+ * The plot is cut into fixed-width vertical tiles aligned to data x, one set per zoom level. Each
+ * tile is rendered once into a BufferedImage on a background thread, drawing the series downsampled
+ * with LTTB to two points per pixel column, so even years of daily points render in milliseconds.
+ * Painting only blits cached tiles; panning reuses every tile still in view and zooming back to a
+ * level reuses that level's tiles. Drag to pan, scroll to zoom.
+ */
+public class TrendChartPanel extends JPanel {
+    private static final int TILE_WIDTH = 256;
+    private static final int MAX_CACHED_TILES = 128;
+    private static final int MIN_ZOOM = -16;
+    private static final int MAX_ZOOM = 2;
+    private static final int MARGIN = 24;
+    private static final ExecutorService RENDERER = Executors.newSingleThreadExecutor(r -> {
+        Thread t = new Thread(r, "vitasync-chart-renderer");
+        t.setDaemon(true);
+        return t;
+    });
+
+    private final String title;
+    private final boolean dateAxis;
+    private final Map<String, BufferedImage> tiles;
+    private final Set<String> requested = new HashSet<>();
+    private List<TimeSeries> series = new ArrayList<>();
+    private List<Color> colors = new ArrayList<>();
+    private List<String> labels = new ArrayList<>();
+    private double minX;
+    private double maxX;
+    private double maxY;
+    private double basePerPixel;      // data units per pixel at zoom level 0 (whole series fits)
+    private int zoomLevel;            // units per pixel = basePerPixel * 2^zoomLevel
+    private double viewMinX;          // data x at the plot's left edge
+    private boolean fitPending;
+    private volatile int dataVersion; // bumped by setSeries; older tiles are discarded
+    private int dragX;
+
+    /**
+     * Constructs an empty chart.
+     *
+     * Requires: title is non-null.
+     * Modifies: this
+     * Effects: Creates a chart that labels x as dates (epoch days) if dateAxis, otherwise as positions.
+     *
+     * @param title the chart title
+     * @param dateAxis whether x values are epoch days
+     */
+    public TrendChartPanel(String title, boolean dateAxis) {
+        this.title = title;
+        this.dateAxis = dateAxis;
+        this.tiles = new LinkedHashMap<String, BufferedImage>(MAX_CACHED_TILES, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, BufferedImage> eldest) {
+                return size() > MAX_CACHED_TILES;
+            }
+        };
+        setOpaque(false);
+        setPreferredSize(new Dimension(600, 200));
+        installMouseHandlers();
+    }
+
+    /**
+     * Replaces the plotted series and fits them to the panel.
+     *
+     * Requires: Called on the EDT; the three lists have equal length.
+     * Modifies: this
+     * Effects: Drops every cached tile and shows the whole x range at zoom level 0.
+     *
+     * @param series the series to plot
+     * @param colors the line colour of each series
+     * @param labels the legend label of each series
+     */
+    public void setSeries(List<TimeSeries> series, List<Color> colors, List<String> labels) {
+        this.series = new ArrayList<>(series);
+        this.colors = new ArrayList<>(colors);
+        this.labels = new ArrayList<>(labels);
+        minX = Double.MAX_VALUE;
+        maxX = -Double.MAX_VALUE;
+        maxY = 1;
+        for (TimeSeries s : series) {
+            if (s.size() > 0) {
+                minX = Math.min(minX, s.getX(0));
+                maxX = Math.max(maxX, s.getX(s.size() - 1));
+                maxY = Math.max(maxY, s.maxY());
+            }
+        }
+        dataVersion++;
+        tiles.clear();
+        requested.clear();
+        fitPending = true;
+        repaint();
+    }
+
+    @Override
+    protected void paintComponent(Graphics g) {
+        super.paintComponent(g);
+        Graphics2D g2 = (Graphics2D) g.create();
+        try {
+            g2.setColor(new Color(255, 255, 255, 200));
+            g2.fillRect(0, 0, getWidth(), getHeight());
+            if (minX > maxX || plotWidth() <= 0 || plotHeight() <= 0) {
+                g2.setColor(Color.DARK_GRAY);
+                g2.drawString(title + ": no data yet", MARGIN, MARGIN);
+                return;
+            }
+            fitIfPending();
+            drawTiles(g2);
+            drawDecorations(g2);
+        } finally {
+            g2.dispose();
+        }
+    }
+
+    private int plotWidth() {
+        return getWidth() - 2 * MARGIN;
+    }
+
+    private int plotHeight() {
+        return getHeight() - 2 * MARGIN;
+    }
+
+    private double perPixel() {
+        return basePerPixel * Math.pow(2, zoomLevel);
+    }
+
+    /**
+     * Fits the whole x range into the plot after new series were set.
+     */
+    private void fitIfPending() {
+        if (fitPending) {
+            fitPending = false;
+            basePerPixel = Math.max(maxX - minX, 1) / plotWidth();
+            zoomLevel = 0;
+            viewMinX = minX;
+        }
+    }
+
+    /**
+     * Blits every cached tile in view and requests the missing ones.
+     *
+     * @param g2 the graphics to draw on
+     */
+    private void drawTiles(Graphics2D g2) {
+        double perPixel = perPixel();
+        double leftPixel = viewMinX / perPixel;
+        long first = (long) Math.floor(leftPixel / TILE_WIDTH);
+        long last = (long) Math.floor((leftPixel + plotWidth()) / TILE_WIDTH);
+        Graphics2D clip = (Graphics2D) g2.create(MARGIN, MARGIN, plotWidth(), plotHeight());
+        try {
+            for (long t = first; t <= last; t++) {
+                String key = dataVersion + ":" + zoomLevel + ":" + t + ":" + plotHeight();
+                BufferedImage tile = tiles.get(key);
+                if (tile == null) {
+                    requestTile(key, t);
+                } else {
+                    clip.drawImage(tile, (int) Math.round(t * TILE_WIDTH - leftPixel), 0, null);
+                }
+            }
+        } finally {
+            clip.dispose();
+        }
+    }
+
+    /**
+     * Renders a tile on the background renderer unless it is already queued.
+     *
+     * @param key the tile's cache key
+     * @param tileIndex the tile's position at the current zoom level
+     */
+    private void requestTile(String key, long tileIndex) {
+        if (!requested.add(key)) {
+            return;
+        }
+        int version = dataVersion;
+        TileJob job = new TileJob(series, colors, maxY, perPixel(), tileIndex, plotHeight());
+        RENDERER.execute(() -> {
+            BufferedImage tile = version == dataVersion ? job.render() : null;
+            SwingUtilities.invokeLater(() -> {
+                requested.remove(key);
+                if (tile != null && version == dataVersion) {
+                    tiles.put(key, tile);
+                    repaint();
+                }
+            });
+        });
+    }
+
+    /**
+     * Draws the title, legend, axes and axis labels over the tiles.
+     *
+     * @param g2 the graphics to draw on
+     */
+    private void drawDecorations(Graphics2D g2) {
+        g2.setColor(Color.DARK_GRAY);
+        g2.drawRect(MARGIN, MARGIN, plotWidth(), plotHeight());
+        FontMetrics fm = g2.getFontMetrics();
+        g2.drawString(title, MARGIN, MARGIN - 6);
+        int legendX = MARGIN + fm.stringWidth(title) + 16;
+        for (int i = 0; i < labels.size(); i++) {
+            g2.setColor(colors.get(i));
+            g2.fillRect(legendX, MARGIN - 14, 10, 10);
+            g2.setColor(Color.DARK_GRAY);
+            g2.drawString(labels.get(i), legendX + 14, MARGIN - 6);
+            legendX += fm.stringWidth(labels.get(i)) + 30;
+        }
+        g2.drawString(String.valueOf((long) maxY), 2, MARGIN + fm.getAscent());
+        g2.drawString("0", 2, MARGIN + plotHeight());
+        int baseline = getHeight() - MARGIN + fm.getAscent() + 2;
+        g2.drawString(formatX(viewMinX), MARGIN, baseline);
+        String right = formatX(viewMinX + plotWidth() * perPixel());
+        g2.drawString(right, MARGIN + plotWidth() - fm.stringWidth(right), baseline);
+    }
+
+    private String formatX(double x) {
+        return dateAxis ? LocalDate.ofEpochDay(Math.round(x)).toString() : "Meal " + (Math.round(x) + 1);
+    }
+
+    /**
+     * Pans on drag and zooms around the mouse on scroll.
+     */
+    private void installMouseHandlers() {
+        MouseAdapter handler = new MouseAdapter() {
+            @Override
+            public void mousePressed(MouseEvent e) {
+                dragX = e.getX();
+            }
+
+            @Override
+            public void mouseDragged(MouseEvent e) {
+                viewMinX -= (e.getX() - dragX) * perPixel();
+                dragX = e.getX();
+                repaint();
+            }
+
+            @Override
+            public void mouseWheelMoved(MouseWheelEvent e) {
+                zoom(e.getWheelRotation(), e.getX() - MARGIN);
+            }
+        };
+        addMouseListener(handler);
+        addMouseMotionListener(handler);
+        addMouseWheelListener(handler);
+    }
+
+    /**
+     * Changes the zoom level by steps, keeping the data x under the mouse in place.
+     *
+     * @param steps positive to zoom out, negative to zoom in
+     * @param anchorPixel the mouse position within the plot
+     */
+    private void zoom(int steps, int anchorPixel) {
+        int level = Math.max(MIN_ZOOM, Math.min(MAX_ZOOM, zoomLevel + steps));
+        if (level == zoomLevel || basePerPixel == 0) {
+            return;
+        }
+        double anchorX = viewMinX + anchorPixel * perPixel();
+        zoomLevel = level;
+        viewMinX = anchorX - anchorPixel * perPixel();
+        repaint();
+    }
+
+    /**
+     * Everything needed to render one tile, captured on the EDT; render() runs on the renderer thread.
+     */
+    private static final class TileJob {
+        private final List<TimeSeries> series;
+        private final List<Color> colors;
+        private final double maxY;
+        private final double perPixel;
+        private final long tileIndex;
+        private final int height;
+
+        TileJob(List<TimeSeries> series, List<Color> colors, double maxY, double perPixel, long tileIndex,
+                int height) {
+            this.series = series;
+            this.colors = colors;
+            this.maxY = maxY;
+            this.perPixel = perPixel;
+            this.tileIndex = tileIndex;
+            this.height = height;
+        }
+
+        /**
+         * Draws every series' points that fall in this tile, plus one neighbour on each side so lines
+         * continue across tile edges.
+         *
+         * @return the rendered tile
+         */
+        BufferedImage render() {
+            BufferedImage tile = new BufferedImage(TILE_WIDTH, height, BufferedImage.TYPE_INT_ARGB_PRE);
+            Graphics2D g2 = tile.createGraphics();
+            try {
+                g2.setRenderingHint(RenderingHints.KEY_ANTIALIASING, RenderingHints.VALUE_ANTIALIAS_ON);
+                g2.setStroke(new BasicStroke(1.5f));
+                double x0 = tileIndex * TILE_WIDTH * perPixel;
+                for (int i = 0; i < series.size(); i++) {
+                    g2.setColor(colors.get(i));
+                    g2.draw(path(series.get(i), x0));
+                }
+            } finally {
+                g2.dispose();
+            }
+            return tile;
+        }
+
+        private Path2D path(TimeSeries s, double x0) {
+            int from = Math.max(0, s.lowerBound(x0) - 1);
+            int to = Math.min(s.size(), s.lowerBound(x0 + TILE_WIDTH * perPixel) + 1);
+            Path2D.Double path = new Path2D.Double();
+            int[] kept = s.downsample(from, to, 2 * TILE_WIDTH);
+            for (int j = 0; j < kept.length; j++) {
+                double px = (s.getX(kept[j]) - x0) / perPixel;
+                double py = height - 1 - s.getY(kept[j]) / maxY * (height - 1);
+                if (j == 0) {
+                    path.moveTo(px, py);
+                } else {
+                    path.lineTo(px, py);
+                }
+            }
+            return path;
+        }
+    }
+}
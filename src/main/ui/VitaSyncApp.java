@@ -1,5 +1,11 @@
 package ui;
 
+import model.AddMealCommand;
+import model.AddRecipeCommand;
+import model.AddWorkoutCommand;
+import model.CommandHistory;
+import model.DeleteRecipeCommand;
+import model.EditRecipeCommand;
 import model.VitaSyncData;
 import model.Workout;
 import model.Exercise;
@@ -9,8 +15,11 @@ import model.Recipe;
 import persistence.JsonReader;
 import persistence.JsonWriter;
 
+import java.io.BufferedWriter;
 import java.io.FileNotFoundException;
 import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.PrintWriter;
 import java.time.LocalDate;
 import java.time.format.DateTimeParseException;
 import java.util.ArrayList;
@@ -29,15 +38,20 @@ import java.util.Scanner;
 public class VitaSyncApp {
 
     private Scanner scanner;
+    private final PrintWriter out;     // buffered console output for listings, flushed once per page
     private VitaSyncData vitaSyncData; // encapsulates workoutTracker, mealPlan, recipeLibrary
+    private CommandHistory history;    // undo/redo log of changes made in this session
 
     /**
      * Constructs a new VitaSyncApp and initializes the model components.
      */
     public VitaSyncApp() {
         scanner = new Scanner(System.in);
+        out = new PrintWriter(new BufferedWriter(new OutputStreamWriter(System.out)));
         // Create a top-level state object with a default name.
         vitaSyncData = new VitaSyncData("My VitaSync Data");
+        history = new CommandHistory();
+        DataGauges.register(() -> vitaSyncData);
     }
 
     /**
@@ -76,6 +90,8 @@ public class VitaSyncApp {
         System.out.println("6. Save Data");
         System.out.println("7. Load Data");
         System.out.println("8. Quit");
+        System.out.println("9. Undo Last Change");
+        System.out.println("10. Redo");
         System.out.print("Enter your choice: ");
     }
 
@@ -116,12 +132,40 @@ public class VitaSyncApp {
                 return () -> saveData();
             case "7":
                 return () -> loadData();
+            case "9":
+                return () -> undoLastChange();
+            case "10":
+                return () -> redoLastChange();
             default:
-                return () -> System.out.println("Invalid choice. Please select an option from 1 to 8.");
+                return () -> System.out.println("Invalid choice. Please select an option from 1 to 10.");
         }
     }
     
 
+    /**
+     * Undoes the most recent change made in this session.
+     *
+     * Effects: Reverts one recorded change and reports what was undone.
+     */
+    private void undoLastChange() {
+        String undone = history.undo();
+        System.out.println(undone == null ? "Nothing to undo." : "Undid: " + undone);
+    }
+
+    /**
+     * Redoes the most recently undone change.
+     *
+     * Effects: Replays one undone change and reports what was redone.
+     */
+    private void redoLastChange() {
+        if (!history.canRedo()) {
+            System.out.println("Nothing to redo.");
+            return;
+        }
+        String redone = history.redo();
+        System.out.println(redone == null ? "That change no longer applies." : "Redid: " + redone);
+    }
+
     /**
      * Prints the exit message.
      *
@@ -141,7 +185,7 @@ public class VitaSyncApp {
             LocalDate date = readWorkoutDate();
             Workout workout = new Workout(date);
             addExercisesToWorkout(workout);
-            vitaSyncData.getWorkoutTracker().addWorkout(workout);
+            history.execute(new AddWorkoutCommand(vitaSyncData.getWorkoutTracker(), workout));
             System.out.println("Workout logged successfully.");
         } catch (DateTimeParseException e) {
             System.out.println("Invalid date format. Please use yyyy-MM-dd.");
@@ -203,26 +247,114 @@ public class VitaSyncApp {
     }
 
     /**
-     * Displays the workout history.
+     * Browses the workout history page by page.
      *
-     * Effects: Outputs the details of each workout.
+     * Effects: Lists workouts with paging, optional date-range and exercise-name filters and a
+     *          one-line summary mode.
      */
     private void viewWorkoutHistory() {
-        System.out.println("\n--- Workout History ---");
-        if (vitaSyncData.getWorkoutTracker().getWorkouts().isEmpty()) {
-            System.out.println("No workouts logged yet.");
-        } else {
-            for (Workout workout : vitaSyncData.getWorkoutTracker().getWorkouts()) {
-                System.out.println("Date: " + workout.getDate());
-                for (Exercise exercise : workout.getExercises()) {
-                    System.out.println("  Exercise: " + exercise.getName());
-                    int setNumber = 1;
-                    for (ExerciseSet set : exercise.getSets()) {
-                        System.out.println("    Set " + setNumber + ": " 
-                                + set.getCompletedReps() + "/" + set.getTargetReps() + " reps completed");
-                        setNumber++;
-                    }
-                }
+        new WorkoutHistoryPager().browse();
+    }
+
+    /**
+     * Pages through the workouts matching a date range and exercise name.
+     */
+    private final class WorkoutHistoryPager extends ConsolePager {
+        private LocalDate from;
+        private LocalDate to;
+        private String exerciseName;
+        private List<Workout> matches;
+
+        WorkoutHistoryPager() {
+            super(scanner, out, "Workout History");
+        }
+
+        @Override
+        protected void applyFilter() {
+            matches = vitaSyncData.getWorkoutTracker().findWorkouts(from, to, exerciseName);
+        }
+
+        @Override
+        protected int size() {
+            return matches.size();
+        }
+
+        @Override
+        protected void printItem(int index, PrintWriter out, boolean summary) {
+            Workout workout = matches.get(index);
+            if (summary) {
+                printWorkoutSummary(workout, out);
+            } else {
+                printWorkoutDetails(workout, out);
+            }
+        }
+
+        @Override
+        protected void promptFilter(Scanner in, PrintWriter out) {
+            try {
+                LocalDate newFrom = readOptionalDate(in, out, "From date (yyyy-MM-dd, blank for none): ");
+                LocalDate newTo = readOptionalDate(in, out, "To date (yyyy-MM-dd, blank for none): ");
+                out.print("Exercise name contains (blank for any): ");
+                out.flush();
+                String name = in.nextLine().trim();
+                from = newFrom;
+                to = newTo;
+                exerciseName = name.isEmpty() ? null : name;
+            } catch (DateTimeParseException e) {
+                out.println("Invalid date format. Keeping the previous filter.");
+            }
+        }
+
+        @Override
+        protected String emptyMessage() {
+            return "No workouts match.";
+        }
+    }
+
+    /**
+     * Reads an optional date.
+     *
+     * Effects: Returns the parsed date, or null for a blank line.
+     */
+    private static LocalDate readOptionalDate(Scanner in, PrintWriter out, String prompt) {
+        out.print(prompt);
+        out.flush();
+        String line = in.nextLine().trim();
+        return line.isEmpty() ? null : LocalDate.parse(line);
+    }
+
+    /**
+     * Writes one line summarizing a workout.
+     *
+     * Effects: Writes the date, number of exercises and sets, and completed/target reps.
+     */
+    private static void printWorkoutSummary(Workout workout, PrintWriter out) {
+        int sets = 0;
+        int target = 0;
+        for (Exercise exercise : workout.getExercises()) {
+            for (ExerciseSet set : exercise.getSets()) {
+                sets++;
+                target += set.getTargetReps();
+            }
+        }
+        out.println(workout.getDate() + ": " + workout.getExercises().size() + " exercises, " + sets
+                + " sets, " + workout.getTotalCompletedReps() + "/" + target + " reps completed");
+    }
+
+    /**
+     * Writes a workout with every exercise and set.
+     *
+     * Effects: Writes the same layout the history has always used.
+     */
+    private static void printWorkoutDetails(Workout workout, PrintWriter out) {
+        out.println("Date: " + workout.getDate());
+        for (Exercise exercise : workout.getExercises()) {
+            out.println("  Exercise: " + exercise.getName());
+            int setNumber = 1;
+            for (ExerciseSet set : exercise.getSets()) {
+                out.println("    Set " + setNumber + ": "
+                        + set.getCompletedReps() + "/" + set.getTargetReps() + " reps completed");
+                setNumber++;
             }
         }
     }
@@ -243,7 +375,7 @@ public class VitaSyncApp {
             System.out.print("Enter fat amount (grams): ");
             int fat = Integer.parseInt(scanner.nextLine());
             Meal meal = new Meal(mealName, protein, carbs, fat);
-            vitaSyncData.getMealPlan().addMeal(meal);
+            history.execute(new AddMealCommand(vitaSyncData.getMealPlan(), meal));
             System.out.println("Meal added to plan.");
         } catch (NumberFormatException e) {
             System.out.println("Invalid number. Please try again.");
@@ -314,23 +446,60 @@ public class VitaSyncApp {
     }
 
     /**
-     * Displays all recipes in the recipe library.
+     * Browses the recipe library page by page.
      *
-     * Effects: Outputs recipe details to System.out.
+     * Effects: Lists recipes with paging, an optional name/ingredient filter and a names-only summary mode.
      */
     private void viewAllRecipes() {
-        System.out.println("\n--- All Recipes ---");
-        List<Recipe> recipes = vitaSyncData.getRecipeLibrary().getAllRecipes();
-        if (recipes.isEmpty()) {
-            System.out.println("No recipes saved yet.");
-        } else {
-            for (Recipe recipe : recipes) {
-                System.out.println("Name: " + recipe.getName());
-                System.out.println("Ingredients: " + recipe.getIngredients());
-                System.out.println("Instructions: " + recipe.getInstructions());
-                System.out.println("------------------------------");
+        new RecipePager().browse();
+    }
+
+    /**
+     * Pages through the recipes whose name or ingredients contain a search text.
+     */
+    private final class RecipePager extends ConsolePager {
+        private String query;
+        private List<Recipe> matches;
+
+        RecipePager() {
+            super(scanner, out, "All Recipes");
+        }
+
+        @Override
+        protected void applyFilter() {
+            matches = query == null
+                    ? vitaSyncData.getRecipeLibrary().getAllRecipes()
+                    : vitaSyncData.getRecipeLibrary().searchRecipes(query);
+        }
+
+        @Override
+        protected int size() {
+            return matches.size();
+        }
+
+        @Override
+        protected void printItem(int index, PrintWriter out, boolean summary) {
+            Recipe recipe = matches.get(index);
+            out.println("Name: " + recipe.getName());
+            if (!summary) {
+                out.println("Ingredients: " + recipe.getIngredients());
+                out.println("Instructions: " + recipe.getInstructions());
+                out.println("------------------------------");
             }
         }
+
+        @Override
+        protected void promptFilter(Scanner in, PrintWriter out) {
+            out.print("Name or ingredient contains (blank for all): ");
+            out.flush();
+            String line = in.nextLine().trim();
+            query = line.isEmpty() ? null : line;
+        }
+
+        @Override
+        protected String emptyMessage() {
+            return "No recipes match.";
+        }
     }
 
     /**
@@ -351,7 +520,7 @@ public class VitaSyncApp {
             System.out.print("Enter preparation instructions: ");
             String instructions = scanner.nextLine();
             Recipe recipe = new Recipe(name, ingredients, instructions);
-            if (vitaSyncData.getRecipeLibrary().addRecipe(recipe)) {
+            if (history.execute(new AddRecipeCommand(vitaSyncData.getRecipeLibrary(), recipe))) {
                 System.out.println("Recipe added successfully.");
             } else {
                 System.out.println("Failed to add recipe.");
@@ -377,7 +546,8 @@ public class VitaSyncApp {
         }
         System.out.print("Enter new preparation instructions: ");
         String instructions = scanner.nextLine();
-        boolean success = vitaSyncData.getRecipeLibrary().editRecipe(name, ingredients, instructions);
+        boolean success = history.execute(
+                new EditRecipeCommand(vitaSyncData.getRecipeLibrary(), name, ingredients, instructions));
         if (success) {
             System.out.println("Recipe updated successfully.");
         } else {
@@ -393,7 +563,7 @@ public class VitaSyncApp {
     private void deleteRecipe() {
         System.out.print("Enter the name of the recipe to delete: ");
         String name = scanner.nextLine();
-        boolean success = vitaSyncData.getRecipeLibrary().deleteRecipe(name);
+        boolean success = history.execute(new DeleteRecipeCommand(vitaSyncData.getRecipeLibrary(), name));
         if (success) {
             System.out.println("Recipe deleted successfully.");
         } else {
@@ -427,6 +597,7 @@ public class VitaSyncApp {
         JsonReader reader = new JsonReader("./data/vitaSyncData.json");
         try {
             vitaSyncData = reader.read();
+            history = new CommandHistory();
             System.out.println("Data successfully loaded from ./data/vitaSyncData.json");
         } catch (IOException e) {
             System.out.println("Error: Unable to read file.");
@@ -1,22 +1,44 @@
 package ui;
 
+import diagnostics.RefreshEvent;
+import model.AddMealCommand;
+import model.AddRecipeCommand;
+import model.AddWorkoutCommand;
+import model.CommandHistory;
+import model.DeleteRecipeCommand;
+import model.EditRecipeCommand;
 import model.VitaSyncData;
+import model.VitaSyncSnapshot;
 import model.Workout;
 import model.Exercise;
 import model.ExerciseSet;
 import model.Meal;
+import model.MealPlan;
+import model.ModelEvent;
 import model.Recipe;
+import model.RecipeLibrary;
+import model.WorkoutTracker;
 import persistence.JsonReader;
 import persistence.JsonWriter;
 
 import javax.swing.*;
+import javax.swing.Timer;
 import javax.swing.border.EmptyBorder;
+import javax.swing.event.DocumentEvent;
+import javax.swing.event.DocumentListener;
+import javax.swing.table.JTableHeader;
 import java.awt.*;
+import java.awt.event.InputEvent;
+import java.awt.event.KeyEvent;
+import java.awt.event.MouseAdapter;
+import java.awt.event.MouseEvent;
 import java.io.FileNotFoundException;
 import java.io.IOException;
 import java.time.LocalDate;
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.List;
+import java.util.function.Supplier;
 
 /**
  * VitaSyncGUI is a Swing-based GUI that replicates the console functionality of the VitaSync application.
@@ -32,27 +54,100 @@ public class VitaSyncGUI extends JFrame {
 
     private static final String DATA_FILE_PATH = "./data/vitaSyncData.json";
     private static final String BG_IMAGE_PATH = "./data/background.png";
+    private static final String GREGOR_IMAGE_PATH = "./data/gregor.jpg";
+    private static final String DEFAULT_DATA_NAME = "My VitaSync Data";
+    private static final int SEARCH_DEBOUNCE_MILLIS = 30;
     private static final Font CUSTOM_FONT = new Font("Segoe UI", Font.BOLD, 14);
     private static final Color FOREGROUND_COLOR = new Color(20, 20, 20);
     private static final Color BTN_BG_COLOR = new Color(220, 220, 250);
+    private static final String[] WORKOUT_COLUMNS = {"Date", "Exercises", "Sets", "Reps Completed", "Reps Target"};
+    private static final String[] MEAL_COLUMNS = {"Meal", "Protein", "Carbs", "Fat"};
+    private static final String[] RECIPE_COLUMNS = {"Name", "Ingredients", "Instructions"};
 
     private VitaSyncData vitaSyncData;
+    private CommandHistory history;
     private JTabbedPane tabbedPane;
-    private JTextArea workoutArea;
-    private JTextArea mealArea;
-    private JTextArea recipeArea;
+    private LazyTableModel<Workout> workoutModel;
+    private LazyTableModel<Meal> mealModel;
+    private LazyTableModel<Recipe> recipeModel;
+    private JTextField recipeSearchField;
+    private ChartsTab chartsTab;
+    private CalendarHeatmapPanel heatmapPanel;
+    private final Image backgroundImage;
+    private final Image gregorImage;
+    private final StartupTimeline timeline;
+    private final List<Supplier<JPanel>> tabFactories = new ArrayList<>();   // null once the tab is built
+    private boolean firstPaintRecorded;
 
     /**
-     * Constructs the VitaSyncGUI.
+     * Constructs the VitaSyncGUI with empty data.
      *
      * Requires: None.
      * Modifies: Initializes the internal state and GUI components.
-     * Effects: Creates and configures the main application window.
+     * Effects: Creates and configures the main application window, loading its images on this thread.
      */
     public VitaSyncGUI() {
-        setLookAndFeelNimbus();
-        vitaSyncData = new VitaSyncData("My VitaSync Data");
+        this(new StartupPreloader.Resources(StartupPreloader.loadImage(BG_IMAGE_PATH),
+                StartupPreloader.loadImage(GREGOR_IMAGE_PATH), new VitaSyncData(DEFAULT_DATA_NAME)),
+                new StartupTimeline());
+    }
+
+    /**
+     * Constructs the VitaSyncGUI from preloaded resources.
+     *
+     * Requires: resources is non-null; called on the EDT.
+     * Modifies: Initializes the internal state and GUI components.
+     * Effects: Creates the main application window showing the preloaded data and images, and once
+     *          it is shown, warns if the saved data could not be loaded.
+     *
+     * @param resources the images and data loaded by a StartupPreloader
+     * @param timeline the startup timeline to record this window's construction phases in
+     */
+    public VitaSyncGUI(StartupPreloader.Resources resources, StartupTimeline timeline) {
+        this.timeline = timeline;
+        timeline.time("Look and feel", this::setLookAndFeelNimbus);
+        vitaSyncData = resources.getData();
+        backgroundImage = resources.getBackground();
+        gregorImage = resources.getGregor();
+        history = new CommandHistory();
+        DataGauges.register(() -> vitaSyncData);
+        createTableModels();
         initUI();
+        attachModelListeners();
+        String dataError = resources.getDataError();
+        if (dataError != null) {
+            SwingUtilities.invokeLater(() -> JOptionPane.showMessageDialog(this, dataError,
+                    "Saved data not loaded", JOptionPane.WARNING_MESSAGE));
+        }
+    }
+
+    /**
+     * Creates the table models behind the Workouts, Meals and Recipes tabs.
+     *
+     * Requires: None.
+     * Modifies: workoutModel, mealModel and recipeModel.
+     * Effects: Creates models that read the current vitaSyncData stores, even before their tabs are built.
+     */
+    private void createTableModels() {
+        workoutModel = new LazyTableModel<>(WORKOUT_COLUMNS,
+                () -> vitaSyncData.getWorkoutTracker().snapshot(), VitaSyncGUI::workoutRow);
+        mealModel = new LazyTableModel<>(MEAL_COLUMNS,
+                () -> vitaSyncData.getMealPlan().snapshot(), VitaSyncGUI::mealRow);
+        recipeModel = new LazyTableModel<>(RECIPE_COLUMNS,
+                () -> vitaSyncData.getRecipeLibrary().snapshot(), VitaSyncGUI::recipeRow);
+    }
+
+    /**
+     * Creates a preloader for the files this GUI starts with.
+     *
+     * Requires: None.
+     * Modifies: None.
+     * Effects: Returns a preloader for the saved data, background image and Gregor image.
+     *
+     * @return the startup preloader
+     */
+    static StartupPreloader createPreloader() {
+        return new StartupPreloader(DATA_FILE_PATH, BG_IMAGE_PATH, GREGOR_IMAGE_PATH, DEFAULT_DATA_NAME);
     }
 
     /**
@@ -91,41 +186,98 @@ public class VitaSyncGUI extends JFrame {
         BackgroundPanel mainPanel = createBackgroundPanel();
         setContentPane(mainPanel);
 
-        createMenuBar();
+        timeline.time("Menus", this::createMenuBar);
+        timeline.time("Tabs", this::createTabs);
+
+        mainPanel.add(tabbedPane, BorderLayout.CENTER);
+    }
 
+    /**
+     * Creates the tabbed pane with a placeholder for every tab.
+     *
+     * Requires: None.
+     * Modifies: tabbedPane and tabFactories.
+     * Effects: Only the selected tab is built now; every other tab is built the first time it is selected.
+     */
+    private void createTabs() {
         tabbedPane = new JTabbedPane();
         tabbedPane.setFont(CUSTOM_FONT);
-        tabbedPane.addTab("Workouts", createWorkoutsTab());
-        tabbedPane.addTab("Meals", createMealsTab());
-        tabbedPane.addTab("Recipes", createRecipesTab());
-        tabbedPane.addTab("Gregor", createGregorTab());
+        addLazyTab("Workouts", this::createWorkoutsTab);
+        addLazyTab("Meals", this::createMealsTab);
+        addLazyTab("Recipes", this::createRecipesTab);
+        addLazyTab("Charts", this::createChartsTab);
+        addLazyTab("Activity", this::createActivityTab);
+        addLazyTab("Gregor", this::createGregorTab);
+        tabbedPane.addChangeListener(e -> ensureTabBuilt(tabbedPane.getSelectedIndex()));
+        ensureTabBuilt(tabbedPane.getSelectedIndex());
+    }
 
-        mainPanel.add(tabbedPane, BorderLayout.CENTER);
+    /**
+     * Adds a tab whose content is built on first selection.
+     *
+     * Requires: title and factory are non-null.
+     * Modifies: tabbedPane and tabFactories.
+     * Effects: Adds an empty, transparent placeholder under title.
+     *
+     * @param title the tab title
+     * @param factory builds the tab's content
+     */
+    private void addLazyTab(String title, Supplier<JPanel> factory) {
+        JPanel placeholder = new JPanel();
+        placeholder.setOpaque(false);
+        tabbedPane.addTab(title, placeholder);
+        tabFactories.add(factory);
+    }
+
+    /**
+     * Builds a tab's content if it has not been built yet.
+     *
+     * Requires: Called on the EDT.
+     * Modifies: tabbedPane and tabFactories.
+     * Effects: Replaces the tab's placeholder with its real content and records the time taken.
+     *
+     * @param index the tab index, or -1 if no tab is selected
+     */
+    private void ensureTabBuilt(int index) {
+        if (index < 0 || tabFactories.get(index) == null) {
+            return;
+        }
+        Supplier<JPanel> factory = tabFactories.set(index, null);
+        timeline.time("Tab: " + tabbedPane.getTitleAt(index),
+                () -> tabbedPane.setComponentAt(index, factory.get()));
+    }
+
+    @Override
+    public void paint(Graphics g) {
+        super.paint(g);
+        if (!firstPaintRecorded) {
+            firstPaintRecorded = true;
+            timeline.record("First paint", 0);
+        }
     }
 
     /**
      * Creates a BackgroundPanel using the specified background image.
      *
-     * Requires: BG_IMAGE_PATH is valid.
+     * Requires: None.
      * Modifies: Creates a new BackgroundPanel.
-     * Effects: Returns a panel that displays the background image.
+     * Effects: Returns a panel that displays the preloaded background image, if any.
      *
      * @return the BackgroundPanel
      */
     private BackgroundPanel createBackgroundPanel() {
-        ImageIcon bgIcon = new ImageIcon(BG_IMAGE_PATH);
-        BackgroundPanel panel = new BackgroundPanel(bgIcon.getImage());
+        BackgroundPanel panel = new BackgroundPanel(backgroundImage);
         panel.setLayout(new BorderLayout());
         panel.setBorder(new EmptyBorder(10, 10, 10, 10));
         return panel;
     }
 
     /**
-     * Creates the menu bar with Save and Load options.
+     * Creates the menu bar with Save/Load and Undo/Redo options.
      *
      * Requires: None.
      * Modifies: Sets the JFrame's menu bar.
-     * Effects: Adds a File menu with Save Data and Load Data items.
+     * Effects: Adds a File menu with Save Data and Load Data items and an Edit menu.
      */
     private void createMenuBar() {
         JMenuBar menuBar = new JMenuBar();
@@ -143,9 +295,180 @@ public class VitaSyncGUI extends JFrame {
         fileMenu.add(saveItem);
         fileMenu.add(loadItem);
         menuBar.add(fileMenu);
+        menuBar.add(createEditMenu());
+        menuBar.add(createHelpMenu());
         setJMenuBar(menuBar);
     }
 
+    /**
+     * Creates the Edit menu with Undo (Ctrl+Z) and Redo (Ctrl+Y).
+     *
+     * Requires: None.
+     * Modifies: None.
+     * Effects: Returns a menu whose items step through the command history.
+     *
+     * @return the Edit menu
+     */
+    private JMenu createEditMenu() {
+        JMenu editMenu = new JMenu("Edit");
+        editMenu.setFont(CUSTOM_FONT);
+
+        JMenuItem undoItem = new JMenuItem("Undo");
+        styleMenuItem(undoItem);
+        undoItem.setAccelerator(KeyStroke.getKeyStroke(KeyEvent.VK_Z, InputEvent.CTRL_DOWN_MASK));
+        undoItem.addActionListener(e -> undoLastChange());
+
+        JMenuItem redoItem = new JMenuItem("Redo");
+        styleMenuItem(redoItem);
+        redoItem.setAccelerator(KeyStroke.getKeyStroke(KeyEvent.VK_Y, InputEvent.CTRL_DOWN_MASK));
+        redoItem.addActionListener(e -> redoLastChange());
+
+        editMenu.add(undoItem);
+        editMenu.add(redoItem);
+        return editMenu;
+    }
+
+    /**
+     * Creates the Help menu with the startup timeline report.
+     *
+     * Requires: None.
+     * Modifies: None.
+     * Effects: Returns a menu whose item shows how long each startup phase took.
+     *
+     * @return the Help menu
+     */
+    private JMenu createHelpMenu() {
+        JMenu helpMenu = new JMenu("Help");
+        helpMenu.setFont(CUSTOM_FONT);
+
+        JMenuItem timelineItem = new JMenuItem("Startup Timeline");
+        styleMenuItem(timelineItem);
+        timelineItem.addActionListener(e -> showStartupTimeline());
+
+        helpMenu.add(timelineItem);
+        return helpMenu;
+    }
+
+    /**
+     * Shows the startup timeline report in a dialog.
+     *
+     * Requires: None.
+     * Modifies: None.
+     * Effects: Displays every recorded startup phase with its start, end and duration.
+     */
+    private void showStartupTimeline() {
+        JTextArea report = new JTextArea(timeline.report());
+        report.setFont(new Font(Font.MONOSPACED, Font.PLAIN, 12));
+        report.setEditable(false);
+        JOptionPane.showMessageDialog(this, new JScrollPane(report), "Startup Timeline",
+                JOptionPane.INFORMATION_MESSAGE);
+    }
+
+    /**
+     * Undoes the most recent change.
+     *
+     * Requires: None.
+     * Modifies: vitaSyncData (the model listeners update the display areas).
+     * Effects: Reverts one recorded command, if any.
+     */
+    private void undoLastChange() {
+        if (history.undo() == null) {
+            Toolkit.getDefaultToolkit().beep();
+        }
+    }
+
+    /**
+     * Redoes the most recently undone change.
+     *
+     * Requires: None.
+     * Modifies: vitaSyncData (the model listeners update the display areas).
+     * Effects: Replays one undone command, if any.
+     */
+    private void redoLastChange() {
+        if (history.redo() == null) {
+            Toolkit.getDefaultToolkit().beep();
+        }
+    }
+
+    /**
+     * Refreshes the workouts, meals and recipes displays.
+     *
+     * Requires: None.
+     * Modifies: workoutModel, mealModel, recipeModel, chartsTab and heatmapPanel.
+     * Effects: Re-reads every tab's store, including the Charts and Activity tabs if they have been built.
+     */
+    private void refreshAllDisplays() {
+        RefreshEvent event = RefreshEvent.start("All", "reload");
+        workoutModel.reload();
+        mealModel.reload();
+        recipeModel.reload();
+        if (chartsTab != null) {
+            chartsTab.refresh();
+        }
+        if (heatmapPanel != null) {
+            heatmapPanel.setTracker(vitaSyncData.getWorkoutTracker());
+        }
+        event.finish(workoutModel.getRowCount() + mealModel.getRowCount() + recipeModel.getRowCount());
+    }
+
+    /**
+     * Subscribes the display areas to the current vitaSyncData stores.
+     *
+     * Requires: initUI has created the table models.
+     * Modifies: the stores' listener lists.
+     * Effects: Each store change is applied to its tab on the EDT; an append at the end of a
+     *          list only inserts the new rows, anything else reloads that tab's model.
+     */
+    private void attachModelListeners() {
+        WorkoutTracker tracker = vitaSyncData.getWorkoutTracker();
+        MealPlan mealPlan = vitaSyncData.getMealPlan();
+        RecipeLibrary library = vitaSyncData.getRecipeLibrary();
+        tracker.addModelListener(e -> onEdt(() -> applyChange("Workouts", workoutModel, e, tracker.size())));
+        mealPlan.addModelListener(e -> onEdt(() -> applyChange("Meals", mealModel, e, mealPlan.size())));
+        library.addModelListener(e -> onEdt(() -> applyChange("Recipes", recipeModel, e, library.size())));
+    }
+
+    /**
+     * Runs the task on the event dispatch thread.
+     *
+     * Requires: task is non-null.
+     * Modifies: None.
+     * Effects: Runs task immediately when already on the EDT, otherwise queues it.
+     *
+     * @param task the UI update to run
+     */
+    private static void onEdt(Runnable task) {
+        if (SwingUtilities.isEventDispatchThread()) {
+            task.run();
+        } else {
+            SwingUtilities.invokeLater(task);
+        }
+    }
+
+    /**
+     * Applies one store change to a tab's table model.
+     *
+     * Requires: Called on the EDT; e is non-null.
+     * Modifies: model
+     * Effects: Inserts just the new rows if e appended items at the end of the store, otherwise
+     *          reloads the model.
+     *
+     * @param view the tab's name, for the JFR RefreshEvent
+     * @param model the tab's table model
+     * @param e the model event
+     * @param size the store's current size
+     */
+    private static void applyChange(String view, LazyTableModel<?> model, ModelEvent e, int size) {
+        boolean append = e.getType() == ModelEvent.Type.ADDED && e.getIndex() + e.getItems().size() == size;
+        RefreshEvent event = RefreshEvent.start(view, append ? "append" : "reload");
+        if (append) {
+            model.rowsAppended();
+        } else {
+            model.reload();
+        }
+        event.finish(size);
+    }
+
     // =========================
     //       WORKOUTS TAB
     // =========================
@@ -155,7 +478,7 @@ public class VitaSyncGUI extends JFrame {
      *
      * Requires: None.
      * Modifies: Creates and returns a JPanel.
-     * Effects: Provides a tab with a button for adding workouts and a text area for display.
+     * Effects: Provides a tab with a button for adding workouts and a table of workouts.
      *
      * @return the Workouts tab panel
      */
@@ -164,7 +487,7 @@ public class VitaSyncGUI extends JFrame {
         panel.setOpaque(false);
 
         panel.add(createWorkoutsTopPanel(), BorderLayout.NORTH);
-        panel.add(createWorkoutsCenterArea(), BorderLayout.CENTER);
+        panel.add(createTableView(workoutModel), BorderLayout.CENTER);
 
         return panel;
     }
@@ -186,39 +509,24 @@ public class VitaSyncGUI extends JFrame {
         styleButton(addWorkoutButton);
         addWorkoutButton.addActionListener(e -> handleAddWorkout());
         topPanel.add(addWorkoutButton);
+        addFilterField(topPanel, workoutModel);
 
         return topPanel;
     }
 
-    /**
-     * Creates the center area for the Workouts tab.
-     *
-     * Requires: None.
-     * Modifies: Instantiates the workoutArea.
-     * Effects: Returns a JScrollPane containing the workoutArea.
-     *
-     * @return the center area scroll pane
-     */
-    private JScrollPane createWorkoutsCenterArea() {
-        workoutArea = new JTextArea();
-        styleTextArea(workoutArea);
-        return new JScrollPane(workoutArea);
-    }
-
     /**
      * Handles adding a new workout by prompting the user and updating the display.
      *
      * Requires: User input is valid.
-     * Modifies: vitaSyncData and workoutArea.
+     * Modifies: vitaSyncData (workoutModel follows through its listener).
      * Effects: Adds a workout and refreshes the workouts display.
      */
     private void handleAddWorkout() {
         try {
             Workout workout = promptUserForWorkout();
             if (workout != null) {
-                vitaSyncData.getWorkoutTracker().addWorkout(workout);
+                history.execute(new AddWorkoutCommand(vitaSyncData.getWorkoutTracker(), workout));
                 JOptionPane.showMessageDialog(this, "Workout logged successfully.");
-                refreshWorkoutsDisplay();
             }
         } catch (Exception e) {
             JOptionPane.showMessageDialog(this, "Error: " + e.getMessage());
@@ -292,34 +600,27 @@ public class VitaSyncGUI extends JFrame {
     }
 
     /**
-     * Refreshes the workoutArea to display current workouts.
+     * Formats one workout as a row of the workouts table.
+     *
+     * Requires: w is non-null.
+     * Modifies: None.
+     * Effects: Returns the date, exercise names, set count and completed/target rep totals of w.
      *
-     * Requires: vitaSyncData is up-to-date.
-     * Modifies: workoutArea text.
-     * Effects: Updates the displayed list of workouts.
+     * @param w the workout to format
+     * @return the cell values for w's row
      */
-    private void refreshWorkoutsDisplay() {
-        StringBuilder sb = new StringBuilder();
-        List<Workout> workouts = vitaSyncData.getWorkoutTracker().getWorkouts();
-        if (workouts.isEmpty()) {
-            sb.append("No workouts logged yet.\n");
-        } else {
-            for (Workout w : workouts) {
-                sb.append("Date: ").append(w.getDate()).append("\n");
-                for (Exercise ex : w.getExercises()) {
-                    sb.append("  Exercise: ").append(ex.getName()).append("\n");
-                    int setNumber = 1;
-                    for (ExerciseSet s : ex.getSets()) {
-                        sb.append("    Set ").append(setNumber).append(": ")
-                          .append(s.getCompletedReps()).append("/")
-                          .append(s.getTargetReps()).append(" reps completed\n");
-                        setNumber++;
-                    }
-                }
-                sb.append("\n");
+    private static Object[] workoutRow(Workout w) {
+        StringBuilder names = new StringBuilder();
+        int sets = 0;
+        int target = 0;
+        for (Exercise ex : w.getExercises()) {
+            names.append(names.length() == 0 ? "" : ", ").append(ex.getName());
+            for (ExerciseSet s : ex.getSets()) {
+                sets++;
+                target += s.getTargetReps();
             }
         }
-        workoutArea.setText(sb.toString());
+        return new Object[] {w.getDate(), names.toString(), sets, w.getTotalCompletedReps(), target};
     }
 
     // =========================
@@ -331,7 +632,7 @@ public class VitaSyncGUI extends JFrame {
      *
      * Requires: None.
      * Modifies: Creates a new JPanel for meals.
-     * Effects: Returns a panel with a top panel (buttons) and a text area.
+     * Effects: Returns a panel with a top panel (buttons) and a table of meals.
      *
      * @return the Meals tab panel
      */
@@ -340,9 +641,7 @@ public class VitaSyncGUI extends JFrame {
         panel.setOpaque(false);
 
         panel.add(createMealsTopPanel(), BorderLayout.NORTH);
-        mealArea = new JTextArea();
-        styleTextArea(mealArea);
-        panel.add(new JScrollPane(mealArea), BorderLayout.CENTER);
+        panel.add(createTableView(mealModel), BorderLayout.CENTER);
 
         return panel;
     }
@@ -369,6 +668,7 @@ public class VitaSyncGUI extends JFrame {
         styleButton(macrosButton);
         macrosButton.addActionListener(e -> showDailyMacros());
         topPanel.add(macrosButton);
+        addFilterField(topPanel, mealModel);
 
         return topPanel;
     }
@@ -377,16 +677,15 @@ public class VitaSyncGUI extends JFrame {
      * Handles adding a new meal.
      *
      * Requires: User input is valid.
-     * Modifies: vitaSyncData and mealArea.
+     * Modifies: vitaSyncData (mealModel follows through its listener).
      * Effects: Adds a meal and refreshes the meal display.
      */
     private void handleAddMeal() {
         try {
             Meal meal = promptUserForMeal();
             if (meal != null) {
-                vitaSyncData.getMealPlan().addMeal(meal);
+                history.execute(new AddMealCommand(vitaSyncData.getMealPlan(), meal));
                 JOptionPane.showMessageDialog(this, "Meal added successfully.");
-                refreshMealsDisplay();
             }
         } catch (Exception e) {
             JOptionPane.showMessageDialog(this, "Error adding meal: " + e.getMessage());
@@ -420,26 +719,17 @@ public class VitaSyncGUI extends JFrame {
     }
 
     /**
-     * Refreshes the mealArea to display current meals.
+     * Formats one meal as a row of the meals table.
      *
-     * Requires: vitaSyncData is up-to-date.
-     * Modifies: mealArea text.
-     * Effects: Updates the displayed list of meals.
+     * Requires: m is non-null.
+     * Modifies: None.
+     * Effects: Returns the name and macros of m.
+     *
+     * @param m the meal to format
+     * @return the cell values for m's row
      */
-    private void refreshMealsDisplay() {
-        StringBuilder sb = new StringBuilder();
-        List<Meal> meals = vitaSyncData.getMealPlan().getMeals();
-        if (meals.isEmpty()) {
-            sb.append("No meals added yet.\n");
-        } else {
-            for (Meal m : meals) {
-                sb.append(m.getName()).append(" (Protein: ")
-                  .append(m.getProtein()).append(", Carbs: ")
-                  .append(m.getCarbs()).append(", Fat: ")
-                  .append(m.getFat()).append(")\n");
-            }
-        }
-        mealArea.setText(sb.toString());
+    private static Object[] mealRow(Meal m) {
+        return new Object[] {m.getName(), m.getProtein(), m.getCarbs(), m.getFat()};
     }
 
     /**
@@ -468,9 +758,7 @@ public class VitaSyncGUI extends JFrame {
         panel.setOpaque(false);
 
         panel.add(buildRecipesTopPanel(), BorderLayout.NORTH);
-        recipeArea = new JTextArea();
-        styleTextArea(recipeArea);
-        panel.add(new JScrollPane(recipeArea), BorderLayout.CENTER);
+        panel.add(createTableView(recipeModel), BorderLayout.CENTER);
 
         return panel;
     }
@@ -508,39 +796,95 @@ public class VitaSyncGUI extends JFrame {
         topPanel.add(addButton);
         topPanel.add(editButton);
         topPanel.add(deleteButton);
+        recipeSearchField = addRecipeSearchField(topPanel);
 
         return topPanel;
     }
 
     /**
-     * Displays all recipes in the recipeArea.
+     * Adds a search-as-you-type field for recipes to a top panel.
+     *
+     * Requires: panel is non-null.
+     * Modifies: panel
+     * Effects: Adds a field that, SEARCH_DEBOUNCE_MILLIS after the last keystroke, searches recipe names
+     *          and ingredients in the background; a newer query cancels an older one.
      *
-     * Requires: RecipeLibrary is up-to-date.
-     * Modifies: recipeArea text.
-     * Effects: Updates the displayed list of recipes.
+     * @param panel the panel to add the field to
+     * @return the search field
      */
-    private void viewAllRecipes() {
-        List<Recipe> recipes = vitaSyncData.getRecipeLibrary().getAllRecipes();
-        if (recipes.isEmpty()) {
-            recipeArea.setText("No recipes saved yet.\n");
-        } else {
-            StringBuilder sb = new StringBuilder();
-            sb.append("--- All Recipes ---\n\n");
-            for (Recipe r : recipes) {
-                sb.append("Name: ").append(r.getName()).append("\n");
-                sb.append("Ingredients: ").append(r.getIngredients()).append("\n");
-                sb.append("Instructions: ").append(r.getInstructions()).append("\n");
-                sb.append("------------------------------\n");
+    private JTextField addRecipeSearchField(JPanel panel) {
+        JLabel label = new JLabel("Search:");
+        label.setFont(CUSTOM_FONT);
+        JTextField field = new JTextField(12);
+        field.setFont(CUSTOM_FONT.deriveFont(Font.PLAIN));
+        Timer debounce = new Timer(SEARCH_DEBOUNCE_MILLIS, e -> searchRecipes(field.getText()));
+        debounce.setRepeats(false);
+        field.getDocument().addDocumentListener(new DocumentListener() {
+            @Override
+            public void insertUpdate(DocumentEvent e) {
+                debounce.restart();
             }
-            recipeArea.setText(sb.toString());
-        }
+
+            @Override
+            public void removeUpdate(DocumentEvent e) {
+                debounce.restart();
+            }
+
+            @Override
+            public void changedUpdate(DocumentEvent e) {
+                debounce.restart();
+            }
+        });
+        panel.add(label);
+        panel.add(field);
+        return field;
+    }
+
+    /**
+     * Filters the recipes table to recipes whose name or ingredients contain the query.
+     *
+     * Requires: None.
+     * Modifies: recipeModel
+     * Effects: Starts a background search streaming matches into the table; a blank query shows all recipes.
+     *
+     * @param query the text typed in the search field
+     */
+    private void searchRecipes(String query) {
+        String trimmed = query.trim();
+        recipeModel.setFilter(trimmed.isEmpty() ? null : r -> r.matches(trimmed));
+    }
+
+    /**
+     * Shows every recipe by clearing the recipe search.
+     *
+     * Requires: None.
+     * Modifies: recipeSearchField and recipeModel.
+     * Effects: Empties the search field and shows all recipes.
+     */
+    private void viewAllRecipes() {
+        recipeSearchField.setText("");
+        recipeModel.setFilter(null);
+    }
+
+    /**
+     * Formats one recipe as a row of the recipes table.
+     *
+     * Requires: r is non-null.
+     * Modifies: None.
+     * Effects: Returns the name, ingredients and instructions of r.
+     *
+     * @param r the recipe to format
+     * @return the cell values for r's row
+     */
+    private static Object[] recipeRow(Recipe r) {
+        return new Object[] {r.getName(), String.join(", ", r.getIngredients()), r.getInstructions()};
     }
 
     /**
      * Adds a new recipe by prompting the user.
      *
      * Requires: User input is valid.
-     * Modifies: vitaSyncData and recipeArea.
+     * Modifies: vitaSyncData (recipeModel follows through its listener).
      * Effects: Adds a recipe and refreshes the recipes display.
      */
     private void addNewRecipe() {
@@ -548,13 +892,12 @@ public class VitaSyncGUI extends JFrame {
         if (recipe == null) {
             return;
         }
-        boolean success = vitaSyncData.getRecipeLibrary().addRecipe(recipe);
+        boolean success = history.execute(new AddRecipeCommand(vitaSyncData.getRecipeLibrary(), recipe));
         if (success) {
             JOptionPane.showMessageDialog(this, "Recipe added successfully.");
         } else {
             JOptionPane.showMessageDialog(this, "Failed to add recipe.");
         }
-        viewAllRecipes();
     }
 
     /**
@@ -609,13 +952,13 @@ public class VitaSyncGUI extends JFrame {
         if (instructions == null) {
             return;
         }
-        boolean success = vitaSyncData.getRecipeLibrary().editRecipe(name, newIngredients, instructions);
+        boolean success = history.execute(
+                new EditRecipeCommand(vitaSyncData.getRecipeLibrary(), name, newIngredients, instructions));
         if (success) {
             JOptionPane.showMessageDialog(this, "Recipe updated successfully.");
         } else {
             JOptionPane.showMessageDialog(this, "Failed to update recipe. Check if it exists.");
         }
-        viewAllRecipes();
     }
 
     /**
@@ -630,13 +973,55 @@ public class VitaSyncGUI extends JFrame {
         if (isEmpty(name)) {
             return;
         }
-        boolean success = vitaSyncData.getRecipeLibrary().deleteRecipe(name);
+        boolean success = history.execute(new DeleteRecipeCommand(vitaSyncData.getRecipeLibrary(), name));
         if (success) {
             JOptionPane.showMessageDialog(this, "Recipe deleted successfully.");
         } else {
             JOptionPane.showMessageDialog(this, "Failed to delete recipe. Check if it exists.");
         }
-        viewAllRecipes();
+    }
+
+    // =========================
+    //        CHARTS TAB
+    // =========================
+
+    /**
+     * Creates the Charts tab panel.
+     *
+     * Requires: None.
+     * Modifies: chartsTab
+     * Effects: Returns a tab charting reps per exercise over time and macros per meal.
+     *
+     * @return the Charts tab panel
+     */
+    private JPanel createChartsTab() {
+        chartsTab = new ChartsTab(() -> vitaSyncData, CUSTOM_FONT);
+        return chartsTab;
+    }
+
+    // =========================
+    //       ACTIVITY TAB
+    // =========================
+
+    /**
+     * Creates the Activity tab panel.
+     *
+     * Requires: None.
+     * Modifies: heatmapPanel
+     * Effects: Returns a scrollable calendar heatmap of completed reps per day that follows the tracker.
+     *
+     * @return the Activity tab panel
+     */
+    private JPanel createActivityTab() {
+        heatmapPanel = new CalendarHeatmapPanel();
+        heatmapPanel.setTracker(vitaSyncData.getWorkoutTracker());
+        JScrollPane scrollPane = new JScrollPane(heatmapPanel);
+        scrollPane.setOpaque(false);
+        scrollPane.getViewport().setOpaque(false);
+        JPanel panel = new JPanel(new BorderLayout());
+        panel.setOpaque(false);
+        panel.add(scrollPane, BorderLayout.CENTER);
+        return panel;
     }
 
     // =========================
@@ -646,17 +1031,18 @@ public class VitaSyncGUI extends JFrame {
         /**
      * Creates the "Gregor" tab panel which displays an image of Gregor.
      *
-     * Requires: The image file exists at the specified path.
+     * Requires: None.
      * Modifies: Creates a new JPanel.
-     * Effects: Returns a panel displaying the Gregor image centered.
+     * Effects: Returns a panel displaying the preloaded Gregor image centered, or a note if it is missing.
      *
      * @return the Gregor tab panel
      */
     private JPanel createGregorTab() {
         JPanel panel = new JPanel(new BorderLayout());
         panel.setOpaque(false); // allow background to show through if desired
-        ImageIcon gregorIcon = new ImageIcon("./data/gregor.jpg");
-        JLabel gregorLabel = new JLabel(gregorIcon);
+        JLabel gregorLabel = gregorImage == null
+                ? new JLabel("Gregor is away.")
+                : new JLabel(new ImageIcon(gregorImage));
         gregorLabel.setHorizontalAlignment(SwingConstants.CENTER);
         panel.add(gregorLabel, BorderLayout.CENTER);
         return panel;
@@ -671,18 +1057,31 @@ public class VitaSyncGUI extends JFrame {
      *
      * Requires: DATA_FILE_PATH is valid.
      * Modifies: Writes data to a file.
-     * Effects: Persists the application state.
+     * Effects: Takes an O(1) snapshot on the EDT and serializes it on a background thread,
+     *          so the UI stays responsive and later edits do not leak into the saved file.
      */
     private void saveData() {
-        JsonWriter writer = new JsonWriter(DATA_FILE_PATH);
-        try {
-            writer.open();
-            writer.write(vitaSyncData);
-            writer.close();
-            JOptionPane.showMessageDialog(this, "Data successfully saved to " + DATA_FILE_PATH);
-        } catch (FileNotFoundException e) {
-            JOptionPane.showMessageDialog(this, "Error: Unable to open file for writing.");
-        }
+        VitaSyncSnapshot snapshot = vitaSyncData.snapshot();
+        new SwingWorker<Void, Void>() {
+            @Override
+            protected Void doInBackground() throws FileNotFoundException {
+                JsonWriter writer = new JsonWriter(DATA_FILE_PATH);
+                writer.open();
+                writer.write(snapshot);
+                writer.close();
+                return null;
+            }
+
+            @Override
+            protected void done() {
+                try {
+                    get();
+                    JOptionPane.showMessageDialog(VitaSyncGUI.this, "Data successfully saved to " + DATA_FILE_PATH);
+                } catch (Exception e) {
+                    JOptionPane.showMessageDialog(VitaSyncGUI.this, "Error: Unable to open file for writing.");
+                }
+            }
+        }.execute();
     }
 
     /**
@@ -696,10 +1095,10 @@ public class VitaSyncGUI extends JFrame {
         JsonReader reader = new JsonReader(DATA_FILE_PATH);
         try {
             vitaSyncData = reader.read();
+            history = new CommandHistory();
+            attachModelListeners();
             JOptionPane.showMessageDialog(this, "Data loaded successfully from " + DATA_FILE_PATH);
-            refreshWorkoutsDisplay();
-            refreshMealsDisplay();
-            viewAllRecipes();
+            refreshAllDisplays();
         } catch (IOException e) {
             JOptionPane.showMessageDialog(this, "Error: Unable to read file.");
         }
@@ -768,18 +1167,56 @@ public class VitaSyncGUI extends JFrame {
     }
 
     /**
-     * Applies custom styling to a text area.
+     * Creates a scrollable table over a lazy model.
+     *
+     * Requires: model is non-null.
+     * Modifies: None.
+     * Effects: Returns a styled table whose header sorts the model by the clicked column.
+     *
+     * @param model the table model to show
+     * @return the scroll pane holding the table
+     */
+    private JScrollPane createTableView(LazyTableModel<?> model) {
+        JTable table = new JTable(model);
+        table.setFont(CUSTOM_FONT.deriveFont(Font.PLAIN));
+        table.setForeground(FOREGROUND_COLOR);
+        table.setRowHeight(table.getFontMetrics(table.getFont()).getHeight() + 6);
+        table.setFillsViewportHeight(true);
+        JTableHeader header = table.getTableHeader();
+        header.setFont(CUSTOM_FONT);
+        header.setReorderingAllowed(false);
+        header.addMouseListener(new MouseAdapter() {
+            @Override
+            public void mouseClicked(MouseEvent e) {
+                int column = table.columnAtPoint(e.getPoint());
+                if (column >= 0) {
+                    model.sortBy(table.convertColumnIndexToModel(column));
+                }
+            }
+        });
+        return new JScrollPane(table);
+    }
+
+    /**
+     * Adds a "Filter:" text field for a table model to a top panel.
      *
-     * Requires: area is non-null.
-     * Modifies: The text area appearance.
-     * Effects: Sets the font, foreground color, and transparency.
+     * Requires: panel and model are non-null.
+     * Modifies: panel
+     * Effects: Adds a field that filters model's rows when Enter is pressed.
      *
-     * @param area the JTextArea to style
+     * @param panel the panel to add the field to
+     * @param model the model to filter
+     * @return the filter field
      */
-    private void styleTextArea(JTextArea area) {
-        area.setFont(CUSTOM_FONT);
-        area.setForeground(FOREGROUND_COLOR);
-        area.setOpaque(false);
+    private JTextField addFilterField(JPanel panel, LazyTableModel<?> model) {
+        JLabel label = new JLabel("Filter:");
+        label.setFont(CUSTOM_FONT);
+        JTextField field = new JTextField(10);
+        field.setFont(CUSTOM_FONT.deriveFont(Font.PLAIN));
+        field.addActionListener(e -> model.setTextFilter(field.getText()));
+        panel.add(label);
+        panel.add(field);
+        return field;
     }
 
     /**
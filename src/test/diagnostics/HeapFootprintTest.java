@@ -0,0 +1,109 @@
+package diagnostics;
+
+import diagnostics.HeapFootprint.Layout;
+import model.Exercise;
+import model.ExerciseSet;
+import model.Meal;
+import model.Recipe;
+import model.VitaSyncData;
+import model.Workout;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class HeapFootprintTest {
+    private Layout layout;
+    private VitaSyncData data;
+
+    @BeforeEach
+    void setUp() {
+        layout = new Layout(12, 4, 8);
+        data = new VitaSyncData("Test");
+        LocalDate day = LocalDate.of(2024, 5, 1);
+        for (int i = 0; i < 2; i++) {
+            Workout workout = new Workout(day);
+            Exercise exercise = new Exercise(new String("Squat".toCharArray()));
+            exercise.addSet(new ExerciseSet(10));
+            exercise.addSet(new ExerciseSet(8));
+            workout.addExercise(exercise);
+            data.getWorkoutTracker().addWorkout(workout);
+        }
+        data.getMealPlan().addMeal(new Meal(new String("Oats".toCharArray()), 10, 50, 5));
+        data.getMealPlan().addMeal(new Meal(new String("Oats".toCharArray()), 12, 54, 6));
+        data.getRecipeLibrary().addRecipe(new Recipe("Porridge", List.of("oats", "milk"), "Simmer."));
+    }
+
+    @Test
+    void testLayoutArithmetic() {
+        assertEquals(24, layout.shallow(ExerciseSet.class));
+        assertEquals(32, layout.shallow(Meal.class));
+        assertEquals(24 + 24, layout.string("Squat"));
+        assertEquals(24 + 24, layout.string("Squ" + (char) 0xE2 + "t"));
+        assertEquals(24 + 32, layout.string("Squ" + (char) 0x101 + "t"));
+        assertEquals(24, layout.listBytes(0));
+        assertEquals(24 + 56, layout.listBytes(10));
+        assertEquals(24 + 80, layout.listBytes(11));
+        assertEquals(0, layout.groupArrayBytes(0));
+        assertEquals(32, layout.groupArrayBytes(1));
+        assertEquals(16 + 48, layout.groupArrayBytes(3));
+        assertEquals(0, layout.immutableListBytes(0));
+        assertEquals(24, layout.immutableListBytes(2));
+        assertEquals(16 + 32, layout.immutableListBytes(3));
+        assertEquals(24, layout.localDate());
+    }
+
+    @Test
+    void testCountsAndBytes() {
+        HeapFootprint footprint = new HeapFootprint(layout).add(data);
+        assertEquals(2, footprint.getCount(HeapFootprint.WORKOUT));
+        assertEquals(1, footprint.getCount(HeapFootprint.LOCAL_DATE));
+        assertEquals(2, footprint.getCount(HeapFootprint.EXERCISE));
+        assertEquals(4, footprint.getCount(HeapFootprint.EXERCISE_SET));
+        assertEquals(2 * 40, footprint.getBytes(HeapFootprint.EXERCISE_SET)); // two groups of 10 and 8 reps
+        assertEquals(2, footprint.getCount(HeapFootprint.MEAL));
+        assertEquals(1, footprint.getCount(HeapFootprint.RECIPE));
+        assertEquals(7, footprint.getCount(HeapFootprint.STRING));
+        assertEquals(24 + 24, footprint.getBytes(HeapFootprint.RECIPE));
+        assertEquals(2 * (24 + 80), footprint.getBytes(HeapFootprint.WORKOUT));
+        long sum = 0;
+        for (String category : HeapFootprint.CATEGORIES) {
+            sum += footprint.getBytes(category);
+        }
+        assertEquals(sum, footprint.getTotalBytes());
+    }
+
+    @Test
+    void testDuplicateStrings() {
+        HeapFootprint footprint = new HeapFootprint(layout).add(data);
+        assertEquals(0, footprint.getDuplicateBytes(HeapFootprint.EXERCISE_NAME));
+        assertEquals(48, footprint.getDuplicateBytes(HeapFootprint.MEAL_NAME));
+        assertEquals(48, footprint.getDuplicateBytes(null));
+        List<HeapFootprint.Duplicate> top = footprint.topDuplicates(5);
+        assertEquals(1, top.size());
+        assertEquals("Oats", top.get(0).getValue());
+        assertEquals(2, top.get(0).getInstances());
+        assertTrue(footprint.format(5).contains("\"Oats\""));
+    }
+
+    @Test
+    void testSizeOfRecipeMatchesTheWalk() {
+        Recipe recipe = data.getRecipeLibrary().snapshot().get(0);
+        VitaSyncData alone = new VitaSyncData("Recipe");
+        alone.getRecipeLibrary().addRecipe(recipe);
+        HeapFootprint footprint = HeapFootprint.of(alone);
+        long expected = footprint.getBytes(HeapFootprint.RECIPE) + footprint.getBytes(HeapFootprint.STRING);
+        assertEquals(expected, HeapFootprint.sizeOf(recipe));
+        assertSame(Layout.current(), Layout.current());
+    }
+
+    @Test
+    void testCurrentLayout() {
+        HeapFootprint footprint = HeapFootprint.of(data);
+        assertTrue(footprint.getTotalBytes() > 0);
+        assertTrue(footprint.format(3).startsWith("Estimated heap footprint"));
+    }
+}
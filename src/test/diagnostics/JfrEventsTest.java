@@ -0,0 +1,56 @@
+package diagnostics;
+
+import jdk.jfr.Recording;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingFile;
+import model.Recipe;
+import model.RecipeLibrary;
+import org.junit.jupiter.api.Test;
+import persistence.JsonReader;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class JfrEventsTest {
+
+    @Test
+    void testLoadAndQueryEventsRecorded() throws IOException {
+        Path file = Files.createTempFile("vitasync", ".jfr");
+        try (Recording recording = new Recording()) {
+            recording.enable("vitasync.Load");
+            recording.enable("vitasync.Query");
+            recording.start();
+            new JsonReader("./data/testLoadTypical.json").read();
+            RecipeLibrary library = new RecipeLibrary();
+            library.addRecipe(new Recipe("Pancakes", Arrays.asList("flour", "milk"), "Fry."));
+            library.searchRecipes("milk");
+            recording.stop();
+            recording.dump(file);
+            List<RecordedEvent> events = RecordingFile.readAllEvents(file);
+            RecordedEvent load = find(events, "vitasync.Load");
+            assertEquals("./data/testLoadTypical.json", load.getString("path"));
+            assertTrue(load.getBoolean("succeeded"));
+            assertTrue(load.getLong("characters") > 0);
+            RecordedEvent query = find(events, "vitasync.Query");
+            assertEquals("searchRecipes", query.getString("query"));
+            assertEquals("milk", query.getString("argument"));
+            assertEquals(1, query.getInt("results"));
+        } finally {
+            Files.deleteIfExists(file);
+        }
+    }
+
+    private static RecordedEvent find(List<RecordedEvent> events, String name) {
+        for (RecordedEvent e : events) {
+            if (e.getEventType().getName().equals(name)) {
+                return e;
+            }
+        }
+        throw new AssertionError("No " + name + " event recorded");
+    }
+}
@@ -0,0 +1,81 @@
+package diagnostics;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class LatencyHistogramTest {
+    private LatencyHistogram histogram;
+
+    @BeforeEach
+    void setUp() {
+        histogram = new LatencyHistogram();
+    }
+
+    @Test
+    void testEmpty() {
+        assertEquals(0, histogram.getCount());
+        assertEquals(0, histogram.getMax());
+        assertEquals(0, histogram.getMean());
+        assertEquals(0, histogram.getPercentile(0.99));
+    }
+
+    @Test
+    void testPercentilesWithinBucketError() {
+        for (long v = 1; v <= 10000; v++) {
+            histogram.record(v * 1000);
+        }
+        assertEquals(10000, histogram.getCount());
+        assertEquals(10_000_000, histogram.getMax());
+        assertEquals(5_000_500, histogram.getMean(), 1);
+        long p50 = histogram.getPercentile(0.5);
+        long p99 = histogram.getPercentile(0.99);
+        assertTrue(p50 >= 5_000_000 && p50 <= 5_000_000 * 1.125, "p50 " + p50);
+        assertTrue(p99 >= 9_900_000 && p99 <= 9_900_000 * 1.125, "p99 " + p99);
+        assertEquals(10_000_000, histogram.getPercentile(1.0));
+    }
+
+    @Test
+    void testBucketsContiguous() {
+        long previousUpper = -1;
+        for (int b = 0; b < 400; b++) {
+            long upper = LatencyHistogram.upperBound(b);
+            assertEquals(b, LatencyHistogram.bucketOf(previousUpper + 1));
+            assertEquals(b, LatencyHistogram.bucketOf(upper));
+            previousUpper = upper;
+        }
+        assertEquals(Long.MAX_VALUE, LatencyHistogram.upperBound(LatencyHistogram.bucketOf(Long.MAX_VALUE)));
+    }
+
+    @Test
+    void testNegativeAndReset() {
+        histogram.record(-5);
+        histogram.record(7);
+        assertEquals(2, histogram.getCount());
+        assertEquals(0, histogram.getPercentile(0.5));
+        histogram.reset();
+        assertEquals(0, histogram.getCount());
+        assertEquals(0, histogram.getMax());
+    }
+
+    @Test
+    void testConcurrentRecording() throws InterruptedException {
+        Thread[] threads = new Thread[4];
+        for (int t = 0; t < threads.length; t++) {
+            threads[t] = new Thread(() -> {
+                for (int i = 0; i < 25000; i++) {
+                    histogram.record(i);
+                }
+            });
+            threads[t].start();
+        }
+        for (Thread thread : threads) {
+            thread.join();
+        }
+        assertEquals(100000, histogram.getCount());
+        assertEquals(24999, histogram.getMax());
+        long p50 = histogram.getPercentile(0.5);
+        assertTrue(p50 >= 12_500 && p50 <= 12_500 * 1.125, "the stripes are summed: p50 " + p50);
+    }
+}
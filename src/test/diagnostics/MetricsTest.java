@@ -0,0 +1,80 @@
+package diagnostics;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import javax.management.MBeanAttributeInfo;
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+import java.lang.management.ManagementFactory;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class MetricsTest {
+    private Metrics metrics;
+
+    @BeforeEach
+    void setUp() {
+        metrics = Metrics.global();
+        metrics.reset();
+    }
+
+    @Test
+    void testSameInstanceByName() {
+        assertSame(metrics.counter("test.counter"), metrics.counter("test.counter"));
+        assertSame(metrics.histogram("test.histogram"), metrics.histogram("test.histogram"));
+    }
+
+    @Test
+    void testSnapshot() {
+        metrics.counter("test.counter").add(3);
+        metrics.histogram("test.histogram").record(2_000_000);
+        metrics.gauge("test.gauge", () -> 42);
+        metrics.gauge("test.broken", () -> {
+            throw new IllegalStateException();
+        });
+        Map<String, Number> values = metrics.snapshot();
+        assertEquals(3L, values.get("test.counter"));
+        assertEquals(1L, values.get("test.histogram.count"));
+        assertEquals(2000.0, values.get("test.histogram.maxMicros"));
+        assertEquals(42L, values.get("test.gauge"));
+        assertEquals(-1L, values.get("test.broken"));
+    }
+
+    @Test
+    void testPublishedOverJmx() throws Exception {
+        metrics.counter("test.counter").add(5);
+        metrics.gauge("test.gauge", () -> 7);
+        MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+        ObjectName name = new ObjectName(Metrics.OBJECT_NAME);
+        assertEquals(5L, server.getAttribute(name, "test.counter"));
+        assertEquals(7L, server.getAttribute(name, "test.gauge"));
+        server.invoke(name, "reset", null, null);
+        assertEquals(0L, server.getAttribute(name, "test.counter"));
+        assertTrue(server.getMBeanInfo(name).getAttributes().length >= 2);
+    }
+
+    @Test
+    void testReadingOneAttributeEvaluatesOnlyIt() throws Exception {
+        AtomicInteger calls = new AtomicInteger();
+        metrics.gauge("test.gauge", () -> 7);
+        metrics.gauge("test.expensive", calls::incrementAndGet);
+        metrics.histogram("test.histogram").record(3_000);
+        MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+        ObjectName name = new ObjectName(Metrics.OBJECT_NAME);
+        assertEquals(7L, server.getAttribute(name, "test.gauge"));
+        assertEquals(3.0, server.getAttribute(name, "test.histogram.p99Micros"));
+        assertEquals(1, server.getAttributes(name, new String[] {"test.histogram.count", "test.missing"}).size());
+        Map<String, String> types = new HashMap<>();
+        for (MBeanAttributeInfo info : server.getMBeanInfo(name).getAttributes()) {
+            types.put(info.getName(), info.getType());
+        }
+        assertEquals(0, calls.get(), "other gauges are not evaluated");
+        assertEquals(Long.class.getName(), types.get("test.expensive"));
+        assertEquals(Double.class.getName(), types.get("test.histogram.meanMicros"));
+        assertNull(metrics.value("test.histogram.p42Micros"));
+    }
+}
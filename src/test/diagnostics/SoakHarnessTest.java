@@ -0,0 +1,48 @@
+package diagnostics;
+
+import diagnostics.SoakHarness.Operation;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class SoakHarnessTest {
+
+    @Test
+    void testParseMix() {
+        Map<Operation, Integer> mix = SoakHarness.parseMix("addMeal=3, searchRecipes=1");
+        assertEquals(2, mix.size());
+        assertEquals(3, mix.get(Operation.ADD_MEAL));
+        assertEquals(1, mix.get(Operation.SEARCH_RECIPES));
+        assertThrows(IllegalArgumentException.class, () -> SoakHarness.parseMix("teleport=1"));
+        assertThrows(IllegalArgumentException.class, () -> SoakHarness.parseMix("addMeal"));
+    }
+
+    @Test
+    void testInvalidConfiguration() {
+        Map<Operation, Integer> mix = SoakHarness.parseMix(SoakHarness.DEFAULT_MIX);
+        assertThrows(IllegalArgumentException.class,
+                () -> new SoakHarness(0, false, Duration.ofSeconds(1), 1, mix));
+        assertThrows(IllegalArgumentException.class,
+                () -> new SoakHarness(1, false, Duration.ZERO, 1, mix));
+        assertThrows(IllegalArgumentException.class,
+                () -> new SoakHarness(1, false, Duration.ofSeconds(1), 1, SoakHarness.parseMix("addMeal=0")));
+    }
+
+    @Test
+    void testConcurrentRunLosesNothing() throws Exception {
+        Map<Operation, Integer> mix = SoakHarness.parseMix(SoakHarness.DEFAULT_MIX);
+        SoakHarness.Report report = new SoakHarness(4, true, Duration.ofMillis(400), 7, mix).run();
+        assertTrue(report.isClean(), report.format(4, 7, mix));
+        assertEquals(0, report.getLostUpdates());
+        assertTrue(report.getHistogram(Operation.ADD_MEAL).getCount() > 0);
+        assertTrue(report.getHistogram(Operation.SEARCH_RECIPES).getCount() > 0);
+        assertEquals(0, report.getErrors(Operation.SAVE));
+        assertTrue(report.getThreadKind().startsWith(Runtime.version().feature() >= 21 ? "virtual" : "platform"));
+        String text = report.format(4, 7, mix);
+        assertTrue(text.contains("addWorkout"));
+        assertTrue(text.contains("lost updates: 0"));
+    }
+}
@@ -0,0 +1,146 @@
+package model;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ChangeNotifierTest {
+
+    private List<ModelEvent> events;
+    private ModelListener listener;
+
+    @BeforeEach
+    void setUp() {
+        events = new ArrayList<>();
+        listener = events::add;
+    }
+
+    @Test
+    void testAddListenerNull() {
+        assertThrows(IllegalArgumentException.class, () -> new MealPlan().addModelListener(null));
+    }
+
+    @Test
+    void testStoresFireEvents() {
+        WorkoutTracker tracker = new WorkoutTracker();
+        tracker.addModelListener(listener);
+        Workout workout = new Workout(LocalDate.of(2025, 1, 1));
+        tracker.addWorkout(workout);
+        tracker.removeWorkout(workout);
+
+        assertEquals(2, events.size());
+        assertEquals(ModelEvent.Type.ADDED, events.get(0).getType());
+        assertSame(tracker, events.get(0).getSource());
+        assertEquals(0, events.get(0).getIndex());
+        assertEquals(Arrays.asList(workout), events.get(0).getItems());
+        assertEquals(ModelEvent.Type.REMOVED, events.get(1).getType());
+    }
+
+    @Test
+    void testRecipeLibraryEvents() {
+        RecipeLibrary library = new RecipeLibrary();
+        library.addModelListener(listener);
+        library.addRecipe(new Recipe("Soup", Arrays.asList("water"), "Boil."));
+        library.editRecipe("Soup", Arrays.asList("broth"), "Heat.");
+        library.deleteRecipe("Soup");
+        library.deleteRecipe("Soup");
+
+        assertEquals(3, events.size());
+        assertEquals(ModelEvent.Type.ADDED, events.get(0).getType());
+        assertEquals(ModelEvent.Type.REPLACED, events.get(1).getType());
+        assertEquals(ModelEvent.Type.REMOVED, events.get(2).getType());
+    }
+
+    @Test
+    void testExerciseAndSetEvents() {
+        Exercise exercise = new Exercise("Squat");
+        ExerciseSet set = new ExerciseSet(2);
+        exercise.addModelListener(listener);
+        set.addModelListener(listener);
+        exercise.addSet(set);
+        set.checkOffRep();
+        set.checkOffRep();
+        set.checkOffRep(); // already complete: no event
+
+        assertEquals(3, events.size());
+        assertEquals(ModelEvent.Type.UPDATED, events.get(2).getType());
+        assertSame(set, events.get(2).getSource());
+    }
+
+    @Test
+    void testBatchCoalescesAppends() {
+        MealPlan mealPlan = new MealPlan();
+        mealPlan.addModelListener(listener);
+        mealPlan.batch(() -> {
+            for (int i = 0; i < 100; i++) {
+                mealPlan.addMeal(new Meal("Meal " + i, 1, 1, 1));
+            }
+            assertTrue(events.isEmpty());
+        });
+
+        assertEquals(1, events.size());
+        assertEquals(0, events.get(0).getIndex());
+        assertEquals(100, events.get(0).getItems().size());
+    }
+
+    @Test
+    void testNestedBatchAndNonMergeableEvents() {
+        ExerciseSet set = new ExerciseSet(5);
+        Exercise exercise = new Exercise("Squat");
+        set.addModelListener(listener);
+        exercise.addModelListener(listener);
+        exercise.batch(() -> {
+            set.batch(() -> {
+                set.checkOffRep();
+                set.checkOffRep();
+            });
+            assertEquals(1, events.size()); // repeated updates merged into one
+            exercise.addSet(new ExerciseSet(1));
+            exercise.batch(() -> exercise.addSet(new ExerciseSet(1)));
+            assertEquals(1, events.size());
+        });
+        assertEquals(2, events.size());
+        assertEquals(2, events.get(1).getItems().size());
+    }
+
+    @Test
+    void testBatchBelongsToItsThread() {
+        MealPlan mealPlan = new MealPlan();
+        mealPlan.addModelListener(listener);
+        List<Integer> seenByOther = new ArrayList<>();
+        mealPlan.batch(() -> {
+            mealPlan.addMeal(new Meal("Oats", 1, 1, 1));
+            Thread other = new Thread(() -> mealPlan.batch(() -> {
+                mealPlan.addMeal(new Meal("Eggs", 1, 1, 1));
+                seenByOther.add(events.size());
+            }));
+            other.start();
+            try {
+                other.join();
+            } catch (InterruptedException e) {
+                fail(e);
+            }
+            mealPlan.addMeal(new Meal("Rice", 1, 1, 1));
+        });
+
+        assertEquals(List.of(1), seenByOther, "the other thread's change is not held by this batch");
+        assertEquals(3, events.size());
+        assertEquals(List.of(1, 0, 2), events.stream().map(ModelEvent::getIndex).toList());
+    }
+
+    @Test
+    void testRemovedListenerIsNotCalled() {
+        MealPlan mealPlan = new MealPlan();
+        mealPlan.addModelListener(listener);
+        mealPlan.removeModelListener(listener);
+        mealPlan.addMeal(new Meal("Oats", 1, 1, 1));
+        assertTrue(events.isEmpty());
+        new MealPlan().removeModelListener(listener);
+    }
+}
@@ -0,0 +1,168 @@
+package model;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+import java.util.Arrays;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class CommandHistoryTest {
+
+    private long now;
+    private CommandHistory history;
+    private VitaSyncData vsData;
+    private RecipeLibrary library;
+
+    @BeforeEach
+    void setUp() {
+        now = 0;
+        history = new CommandHistory(CommandHistory.DEFAULT_MAX_BYTES, 1000, () -> now);
+        vsData = new VitaSyncData("My VitaSync Data");
+        library = vsData.getRecipeLibrary();
+        library.addRecipe(new Recipe("Soup", Arrays.asList("water", "salt"), "Boil."));
+        library.addRecipe(new Recipe("Stew", Arrays.asList("beef"), "Stew."));
+    }
+
+    @Test
+    void testConstructorInvalid() {
+        assertThrows(IllegalArgumentException.class, () -> new CommandHistory(0, 0, () -> 0));
+        assertThrows(IllegalArgumentException.class, () -> new CommandHistory(1, -1, () -> 0));
+    }
+
+    @Test
+    void testNothingToUndoOrRedo() {
+        assertFalse(history.canUndo());
+        assertFalse(history.canRedo());
+        assertNull(history.undo());
+        assertNull(history.redo());
+    }
+
+    @Test
+    void testUndoRedoAddWorkoutAndMeal() {
+        Workout workout = new Workout(LocalDate.of(2025, 1, 1));
+        assertTrue(history.execute(new AddWorkoutCommand(vsData.getWorkoutTracker(), workout)));
+        advance(5000);
+        assertTrue(history.execute(new AddMealCommand(vsData.getMealPlan(), new Meal("Oats", 10, 30, 5))));
+
+        assertEquals("Add Meal", history.undo());
+        assertEquals(0, vsData.getMealPlan().size());
+        assertEquals(0, vsData.getMealPlan().getTotalProtein());
+        assertEquals("Add Workout", history.undo());
+        assertEquals(0, vsData.getWorkoutTracker().size());
+
+        assertEquals("Add Workout", history.redo());
+        assertEquals(1, vsData.getWorkoutTracker().size());
+        assertTrue(history.canRedo());
+    }
+
+    @Test
+    void testUndoDeleteRestoresPosition() {
+        assertTrue(history.execute(new DeleteRecipeCommand(library, "soup")));
+        assertEquals(1, library.size());
+        history.undo();
+        assertEquals("Soup", library.getAllRecipes().get(0).getName());
+        history.redo();
+        assertFalse(library.getRecipeByName("Soup").isPresent());
+        assertFalse(history.execute(new DeleteRecipeCommand(library, "Missing")));
+    }
+
+    @Test
+    void testUndoEditRestoresOldRecipe() {
+        Recipe original = library.getRecipeByName("Soup").get();
+        assertTrue(history.execute(new EditRecipeCommand(library, "Soup", Arrays.asList("broth"), "Heat.")));
+        assertEquals("Heat.", library.getRecipeByName("Soup").get().getInstructions());
+        history.undo();
+        assertSame(original, library.getRecipeByName("Soup").get());
+        assertFalse(history.execute(new EditRecipeCommand(library, "Soup", null, "Heat.")));
+        assertFalse(history.execute(new EditRecipeCommand(library, "", Arrays.asList("a"), "b")));
+    }
+
+    @Test
+    void testUndoRedoTargetTheExactRecipeWhenNamesRepeat() {
+        Recipe second = new Recipe("Soup", Arrays.asList("miso"), "Stir.");
+        library.addRecipe(second);
+        assertTrue(history.execute(new EditRecipeCommand(library, "Soup", Arrays.asList("broth"), "Heat.")));
+        assertTrue(library.deleteRecipe("soup"));
+        history.undo();
+        assertEquals(Arrays.asList("Stew", "Soup"), library.getAllRecipes().stream().map(Recipe::getName).toList());
+        assertSame(second, library.getAllRecipes().get(1), "the other Soup is left alone");
+
+        assertTrue(history.execute(new DeleteRecipeCommand(library, "soup")));
+        history.undo();
+        assertSame(second, library.getAllRecipes().get(1));
+        library.replaceRecipe("Soup", new Recipe("Soup", Arrays.asList("leek"), "Simmer."));
+        history.redo();
+        assertEquals(2, library.size(), "redo finds its recipe gone and deletes nothing else");
+    }
+
+    @Test
+    void testRedoThatNoLongerAppliesIsDropped() {
+        assertTrue(history.execute(new DeleteRecipeCommand(library, "Soup")));
+        history.undo();
+        assertTrue(library.deleteRecipe("Soup"));
+        assertNull(history.redo());
+        assertFalse(history.canRedo());
+        assertFalse(history.canUndo(), "the failed redo is not recorded for undo");
+        assertEquals(0, history.getUsedBytes());
+        assertEquals(Arrays.asList("Stew"), library.getAllRecipes().stream().map(Recipe::getName).toList());
+    }
+
+    @Test
+    void testRapidEditsCoalesce() {
+        Recipe original = library.getRecipeByName("Stew").get();
+        history.execute(new EditRecipeCommand(library, "Stew", Arrays.asList("a"), "One."));
+        advance(500);
+        history.execute(new EditRecipeCommand(library, "Stew", Arrays.asList("b"), "Two."));
+        advance(500);
+        history.execute(new EditRecipeCommand(library, "Stew", Arrays.asList("c"), "Three."));
+
+        history.undo();
+        assertSame(original, library.getRecipeByName("Stew").get());
+        assertFalse(history.canUndo());
+        history.redo();
+        assertEquals("Three.", library.getRecipeByName("Stew").get().getInstructions());
+    }
+
+    @Test
+    void testSlowEditsDoNotCoalesce() {
+        history.execute(new EditRecipeCommand(library, "Stew", Arrays.asList("a"), "One."));
+        advance(5000);
+        history.execute(new EditRecipeCommand(library, "Stew", Arrays.asList("b"), "Two."));
+        history.undo();
+        assertEquals("One.", library.getRecipeByName("Stew").get().getInstructions());
+    }
+
+    @Test
+    void testNewCommandClearsRedo() {
+        history.execute(new AddRecipeCommand(library, new Recipe("Tea", Arrays.asList("tea"), "Steep.")));
+        history.undo();
+        assertEquals(2, library.size());
+        history.execute(new AddRecipeCommand(library, null));
+        assertTrue(history.canRedo());
+        history.execute(new DeleteRecipeCommand(library, "Stew"));
+        assertFalse(history.canRedo());
+    }
+
+    @Test
+    void testMemoryCapDropsOldestSteps() {
+        CommandHistory small = new CommandHistory(100, 0, () -> now);
+        Workout workout = new Workout(LocalDate.of(2025, 1, 1));
+        for (int i = 0; i < 10; i++) {
+            small.execute(new AddWorkoutCommand(vsData.getWorkoutTracker(), workout));
+        }
+        assertTrue(small.getUsedBytes() <= 100);
+        int kept = (int) (100 / new AddWorkoutCommand(vsData.getWorkoutTracker(), workout).estimatedBytes());
+        int undone = 0;
+        while (small.undo() != null) {
+            undone++;
+        }
+        assertEquals(kept, undone);
+        assertEquals(10 - kept, vsData.getWorkoutTracker().size());
+    }
+
+    private void advance(long millis) {
+        now += millis * 1_000_000L;
+    }
+}
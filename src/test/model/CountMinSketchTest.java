@@ -0,0 +1,60 @@
+package model;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.*;
+
+class CountMinSketchTest {
+
+    private CountMinSketch sketch;
+
+    @BeforeEach
+    void setUp() {
+        sketch = new CountMinSketch(0.01, 0.01);
+    }
+
+    @Test
+    void testConstructor() {
+        assertEquals(272, sketch.getWidth());
+        assertEquals(5, sketch.getDepth());
+        assertEquals(0, sketch.getTotalCount());
+        assertEquals(0, sketch.estimate("Squat"));
+    }
+
+    @Test
+    void testConstructorInvalid() {
+        assertThrows(IllegalArgumentException.class, () -> new CountMinSketch(0, 0.01));
+        assertThrows(IllegalArgumentException.class, () -> new CountMinSketch(0.01, 1));
+    }
+
+    @Test
+    void testEstimateNeverUndercountsAndStaysWithinBound() {
+        for (int i = 0; i < 1000; i++) {
+            sketch.add("item" + (i % 100), 1);
+        }
+        sketch.add("Squat", 500);
+        long total = sketch.getTotalCount();
+        assertEquals(1500, total);
+        long estimate = sketch.estimate("Squat");
+        assertTrue(estimate >= 500);
+        assertTrue(estimate <= 500 + 0.01 * total);
+        assertTrue(sketch.estimate("item7") >= 10);
+    }
+
+    @Test
+    void testMerge() {
+        CountMinSketch other = new CountMinSketch(0.01, 0.01);
+        sketch.add("Bench Press", 3);
+        other.add("Bench Press", 4);
+        sketch.merge(other);
+        assertEquals(7, sketch.estimate("Bench Press"));
+        assertEquals(7, sketch.getTotalCount());
+        assertThrows(IllegalArgumentException.class, () -> sketch.merge(new CountMinSketch()));
+    }
+
+    @Test
+    void testAddInvalid() {
+        assertThrows(IllegalArgumentException.class, () -> sketch.add(null));
+        assertThrows(IllegalArgumentException.class, () -> sketch.add("Squat", -1));
+    }
+}
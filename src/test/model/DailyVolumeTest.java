@@ -0,0 +1,66 @@
+package model;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class DailyVolumeTest {
+
+    @Test
+    void testEmpty() {
+        DailyVolume volume = new DailyVolume();
+        assertTrue(volume.isEmpty());
+        assertEquals(0, volume.get(LocalDate.of(2025, 1, 1)));
+        assertEquals(0, volume.getPeak());
+    }
+
+    @Test
+    void testAddAccumulatesPerDay() {
+        DailyVolume volume = new DailyVolume();
+        LocalDate day = LocalDate.of(2025, 3, 10);
+        assertEquals(20, volume.add(day, 20));
+        assertEquals(35, volume.add(day, 15));
+        assertEquals(0, volume.get(day.plusDays(1)));
+        assertEquals(20, volume.add(day, -15));
+        assertEquals(35, volume.getPeak());
+        assertFalse(volume.isEmpty());
+        assertEquals(day, volume.getFirstDay());
+        assertEquals(day, volume.getLastDay());
+    }
+
+    @Test
+    void testGrowsInBothDirections() {
+        DailyVolume volume = new DailyVolume();
+        LocalDate start = LocalDate.of(2020, 6, 1);
+        for (int i = 0; i < 2000; i += 7) {
+            volume.add(start.plusDays(i), i);
+            volume.add(start.minusDays(i), i + 1);
+        }
+        assertEquals(1, volume.get(start));
+        for (int i = 7; i < 2000; i += 7) {
+            assertEquals(i, volume.get(start.plusDays(i)));
+            assertEquals(i + 1, volume.get(start.minusDays(i)));
+        }
+        assertEquals(start.minusDays(1995), volume.getFirstDay());
+        assertEquals(start.plusDays(1995), volume.getLastDay());
+    }
+
+    @Test
+    void testAddAll() {
+        DailyVolume volume = new DailyVolume();
+        LocalDate day = LocalDate.of(2025, 3, 10);
+        volume.add(day, 5);
+        volume.addAll(new LocalDate[] {day.minusDays(500), day, day.plusDays(900), day},
+                new long[] {1, 2, 3, 4});
+        assertEquals(11, volume.get(day));
+        assertEquals(1, volume.get(day.minusDays(500)));
+        assertEquals(3, volume.get(day.plusDays(900)));
+        assertEquals(day.minusDays(500), volume.getFirstDay());
+        assertEquals(day.plusDays(900), volume.getLastDay());
+        assertEquals(11, volume.getPeak());
+        volume.addAll(new LocalDate[0], new long[0]);
+        assertEquals(11, volume.get(day));
+    }
+}
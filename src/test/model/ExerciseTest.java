@@ -23,6 +23,11 @@ class ExerciseTest {
         assertTrue(exercise.getSets().isEmpty());
     }
 
+    @Test
+    void testNameShared() {
+        assertSame(exercise.getName(), new Exercise(new String("Push-Ups".toCharArray())).getName());
+    }
+
     @Test
     void testConstructorInvalidName() {
         assertThrows(IllegalArgumentException.class, () -> new Exercise(""));
@@ -42,4 +47,60 @@ class ExerciseTest {
     void testAddSetNull() {
         assertThrows(IllegalArgumentException.class, () -> exercise.addSet(null));
     }
+
+    @Test
+    void testIdenticalSetsShareAGroup() {
+        for (int i = 0; i < 5; i++) {
+            exercise.addSet(new ExerciseSet(5));
+        }
+        exercise.addSet(set1);
+        assertEquals(6, exercise.getSetCount());
+        assertEquals(2, exercise.getSetGroups().size());
+        assertEquals(5, exercise.getSetGroups().get(0).getCount());
+        assertEquals(10, exercise.getSetGroups().get(1).getTargetReps());
+        assertEquals(6, exercise.getSets().size());
+    }
+
+    @Test
+    void testCheckOffRepSplitsAndMerges() {
+        exercise.addSetGroup(new SetGroup(3, 2, 1));
+        assertTrue(exercise.checkOffRep(1));
+        assertGroups(new int[][] {{1, 2, 1}, {1, 2, 2}, {1, 2, 1}});
+        assertTrue(exercise.checkOffRep(0));
+        assertGroups(new int[][] {{2, 2, 2}, {1, 2, 1}});
+        assertFalse(exercise.checkOffRep(0));
+        assertTrue(exercise.checkOffRep(2));
+        assertGroups(new int[][] {{3, 2, 2}});
+        assertEquals(6, exercise.getTotalCompletedReps());
+        assertThrows(IndexOutOfBoundsException.class, () -> exercise.checkOffRep(3));
+    }
+
+    @Test
+    void testSetsAreValues() {
+        exercise.addSet(set1);
+        set1.checkOffRep();
+        assertEquals(0, exercise.getTotalCompletedReps());
+        exercise.getSets().get(0).checkOffRep();
+        assertEquals(0, exercise.getSets().get(0).getCompletedReps());
+    }
+
+    @Test
+    void testCompactJson() {
+        exercise.addSetGroup(new SetGroup(3, 10, 10));
+        exercise.addSet(set2);
+        assertEquals(4, exercise.toJson().getJSONArray("sets").length());
+        assertEquals(2, exercise.toJson(true).getJSONArray("setGroups").length());
+        assertEquals(3, exercise.toJson(true).getJSONArray("setGroups").getJSONObject(0).getInt("count"));
+        assertThrows(IllegalArgumentException.class, () -> new SetGroup(0, 10, 0));
+        assertThrows(IllegalArgumentException.class, () -> new SetGroup(1, 10, 11));
+    }
+
+    private void assertGroups(int[][] expected) {
+        assertEquals(expected.length, exercise.getSetGroups().size());
+        for (int i = 0; i < expected.length; i++) {
+            SetGroup group = exercise.getSetGroups().get(i);
+            assertArrayEquals(expected[i],
+                    new int[] {group.getCount(), group.getTargetReps(), group.getCompletedReps()});
+        }
+    }
 }
@@ -0,0 +1,67 @@
+package model;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.*;
+
+class HyperLogLogTest {
+
+    private HyperLogLog hll;
+
+    @BeforeEach
+    void setUp() {
+        hll = new HyperLogLog();
+    }
+
+    @Test
+    void testConstructorInvalidPrecision() {
+        assertThrows(IllegalArgumentException.class, () -> new HyperLogLog(3));
+        assertThrows(IllegalArgumentException.class, () -> new HyperLogLog(19));
+    }
+
+    @Test
+    void testEmpty() {
+        assertEquals(0, hll.cardinality());
+    }
+
+    @Test
+    void testSmallCardinalityIsNearExact() {
+        for (int i = 0; i < 100; i++) {
+            hll.offer("exercise " + i);
+            hll.offer("exercise " + i); // duplicates do not count
+        }
+        assertEquals(100, hll.cardinality(), 2);
+    }
+
+    @Test
+    void testLargeCardinalityWithinErrorBound() {
+        int n = 200_000;
+        for (int i = 0; i < n; i++) {
+            hll.offer("name-" + i);
+        }
+        // Allow three standard errors.
+        assertEquals(n, hll.cardinality(), 3 * hll.standardError() * n);
+    }
+
+    @Test
+    void testMerge() {
+        HyperLogLog other = new HyperLogLog();
+        for (int i = 0; i < 5000; i++) {
+            hll.offer("a" + i);
+            other.offer("a" + (i + 2500)); // half overlap
+        }
+        hll.merge(other);
+        assertEquals(7500, hll.cardinality(), 3 * hll.standardError() * 7500);
+    }
+
+    @Test
+    void testMergeDifferentPrecision() {
+        assertThrows(IllegalArgumentException.class, () -> hll.merge(new HyperLogLog(10)));
+        assertThrows(IllegalArgumentException.class, () -> hll.merge(null));
+    }
+
+    @Test
+    void testOfferNull() {
+        assertThrows(IllegalArgumentException.class, () -> hll.offer(null));
+    }
+}
@@ -2,6 +2,9 @@ package model;
 
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
 import static org.junit.jupiter.api.Assertions.*;
 
 class MealPlanTest {
@@ -34,6 +37,24 @@ class MealPlanTest {
         assertThrows(IllegalArgumentException.class, () -> mealPlan.addMeal(null));
     }
 
+    @Test
+    void testAddMeals() {
+        List<ModelEvent> events = new ArrayList<>();
+        mealPlan.addModelListener(events::add);
+        mealPlan.addMeals(List.of(breakfast, lunch));
+        assertEquals(2, mealPlan.size());
+        assertEquals(15, mealPlan.getTotalProtein());
+        assertEquals(40, mealPlan.getTotalCarbs());
+        assertEquals(7, mealPlan.getTotalFat());
+        assertEquals(1, events.size());
+        assertEquals(2, events.get(0).getItems().size());
+        mealPlan.addMeals(List.of());
+        assertEquals(1, events.size());
+        assertThrows(IllegalArgumentException.class, () -> mealPlan.addMeals(Arrays.asList(lunch, null)));
+        assertEquals(2, mealPlan.size());
+        assertEquals(15, mealPlan.getTotalProtein());
+    }
+
     @Test
     void testGetTotals() {
         mealPlan.addMeal(breakfast); // 10p, 30c, 5f
@@ -42,4 +63,46 @@ class MealPlanTest {
         assertEquals(40, mealPlan.getTotalCarbs());
         assertEquals(7, mealPlan.getTotalFat());
     }
+
+    @Test
+    void testSketchesTrackAddedMeals() {
+        mealPlan.addMeal(breakfast);
+        mealPlan.addMeal(lunch);
+        MealPlan other = new MealPlan();
+        other.addMeal(new Meal("Steak", 50, 0, 20));
+        mealPlan.getSketches().merge(other.getSketches());
+
+        MealSketches sketches = mealPlan.getSketches();
+        assertEquals(5, sketches.proteinQuantile(0));
+        assertEquals(50, sketches.proteinQuantile(1));
+        assertEquals(10, sketches.carbsQuantile(0.5), 5);
+        assertEquals(20, sketches.fatQuantile(1));
+    }
+
+    @Test
+    void testTopMeals() {
+        mealPlan.addMeal(breakfast);
+        mealPlan.addMeal(lunch);
+        mealPlan.addMeal(new Meal("Steak", 50, 0, 20));
+
+        assertEquals("Steak", mealPlan.topMealsByProtein(1).get(0).getName());
+        assertEquals(2, mealPlan.topMealsByProtein(2).size());
+        assertEquals("Oatmeal", mealPlan.topMeals(1, Meal::getCarbs).get(0).getName());
+        assertEquals(3, mealPlan.topMealsByProtein(Integer.MAX_VALUE).size(), "a huge k returns every meal");
+        assertEquals(0, new MealPlan().topMealsByProtein(Integer.MAX_VALUE).size());
+    }
+
+    @Test
+    void testMacroSeries() {
+        mealPlan.addMeal(breakfast);
+        mealPlan.addMeal(lunch);
+
+        TimeSeries protein = mealPlan.macroSeries(Meal::getProtein);
+        assertEquals(2, protein.size());
+        assertEquals(0, protein.getX(0));
+        assertEquals(10, protein.getY(0));
+        assertEquals(1, protein.getX(1));
+        assertEquals(5, protein.getY(1));
+        assertEquals(0, new MealPlan().macroSeries(Meal::getFat).size());
+    }
 }
@@ -0,0 +1,175 @@
+package model;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class PersistentVectorTest {
+
+    @Test
+    void testEmpty() {
+        PersistentVector<String> empty = PersistentVector.empty();
+        assertEquals(0, empty.size());
+        assertTrue(empty.isEmpty());
+        assertThrows(IndexOutOfBoundsException.class, () -> empty.get(0));
+        assertThrows(IllegalStateException.class, empty::withoutLast);
+        assertThrows(NoSuchElementException.class, () -> empty.iterator().next());
+    }
+
+    @Test
+    void testAppendAndGetAcrossTrieLevels() {
+        PersistentVector<Integer> v = PersistentVector.empty();
+        int n = 40_000; // deeper than two trie levels
+        for (int i = 0; i < n; i++) {
+            v = v.append(i);
+        }
+        assertEquals(n, v.size());
+        for (int i = 0; i < n; i++) {
+            assertEquals(i, v.get(i));
+        }
+        int expected = 0;
+        for (int value : v) {
+            assertEquals(expected++, value);
+        }
+        assertEquals(n, expected);
+    }
+
+    @Test
+    void testAppendAllMatchesAppend() {
+        List<Integer> chunk = new ArrayList<>();
+        for (int i = 0; i < 1000; i++) {
+            chunk.add(i);
+        }
+        PersistentVector<Integer> bulk = PersistentVector.<Integer>empty().append(-1);
+        PersistentVector<Integer> single = bulk;
+        for (int round = 0; round < 40; round++) { // past the second trie level
+            bulk = bulk.appendAll(chunk.subList(0, 1 + round * 17 % 1000));
+            for (int i = 0; i < 1 + round * 17 % 1000; i++) {
+                single = single.append(i);
+            }
+        }
+        assertEquals(single, bulk);
+        assertEquals(single.size(), bulk.size());
+        assertSame(bulk, bulk.appendAll(new ArrayList<>()));
+        assertEquals(chunk, PersistentVector.of(chunk));
+    }
+
+    @Test
+    void testOldVersionsAreUnchanged() {
+        PersistentVector<String> v1 = PersistentVector.of(Arrays.asList("a", "b", "c"));
+        PersistentVector<String> v2 = v1.append("d").with(0, "z");
+        assertEquals(Arrays.asList("a", "b", "c"), v1);
+        assertEquals(Arrays.asList("z", "b", "c", "d"), v2);
+        assertThrows(UnsupportedOperationException.class, () -> v1.add("x"));
+    }
+
+    @Test
+    void testWithInTrie() {
+        List<Integer> expected = new ArrayList<>();
+        PersistentVector<Integer> v = PersistentVector.empty();
+        for (int i = 0; i < 2000; i++) {
+            v = v.append(i);
+            expected.add(i);
+        }
+        PersistentVector<Integer> changed = v.with(5, -5).with(1500, -1500);
+        expected.set(5, -5);
+        expected.set(1500, -1500);
+        assertEquals(expected, changed);
+        assertEquals(5, v.get(5));
+        assertThrows(IndexOutOfBoundsException.class, () -> changed.with(2000, 0));
+    }
+
+    @Test
+    void testWithoutLastShrinksBackToEmpty() {
+        PersistentVector<Integer> v = PersistentVector.empty();
+        for (int i = 0; i < 1100; i++) {
+            v = v.append(i);
+        }
+        for (int i = 1099; i >= 0; i--) {
+            assertEquals(i, v.get(v.size() - 1));
+            v = v.withoutLast();
+            assertEquals(i, v.size());
+        }
+        assertTrue(v.isEmpty());
+        assertEquals(Arrays.asList(7), v.append(7));
+    }
+
+    @Test
+    void testWithout() {
+        PersistentVector<Integer> v = PersistentVector.empty();
+        List<Integer> expected = new ArrayList<>();
+        for (int i = 0; i < 100; i++) {
+            v = v.append(i);
+            expected.add(i);
+        }
+        expected.remove(Integer.valueOf(40));
+        expected.remove(Integer.valueOf(99));
+        assertEquals(expected, v.without(40).without(98));
+        Iterator<Integer> it = v.without(0).iterator();
+        assertEquals(1, it.next());
+    }
+
+    @Test
+    void testInsert() {
+        PersistentVector<String> v = PersistentVector.of(Arrays.asList("a", "c"));
+        assertEquals(Arrays.asList("a", "b", "c"), v.insert(1, "b"));
+        assertEquals(Arrays.asList("a", "c", "d"), v.insert(2, "d"));
+        assertEquals(Arrays.asList("z", "a", "c"), v.insert(0, "z"));
+        assertThrows(IndexOutOfBoundsException.class, () -> v.insert(3, "x"));
+    }
+
+    @Test
+    void testWithoutAndInsertAcrossTrieLevels() {
+        int n = 40_000;
+        List<Integer> values = new ArrayList<>();
+        for (int i = 0; i < n; i++) {
+            values.add(i);
+        }
+        PersistentVector<Integer> v = PersistentVector.of(values);
+        for (int index : new int[] {0, 31, 32, 1023, 1024, 1056, 32767, 32768, 32800, 39990, n - 1}) {
+            List<Integer> removed = new ArrayList<>(values);
+            removed.remove(index);
+            PersistentVector<Integer> shorter = v.without(index);
+            assertEquals(removed, shorter);
+            removed.add(-1);
+            assertEquals(removed, shorter.append(-1), "still appends correctly after " + index);
+            List<Integer> inserted = new ArrayList<>(values);
+            inserted.add(index, -2);
+            assertEquals(inserted, v.insert(index, -2));
+        }
+        assertEquals(values, v, "the original is unchanged");
+    }
+
+    @Test
+    void testRemoveLastKeepsConcurrentAppends() throws InterruptedException {
+        List<Integer> initial = new ArrayList<>();
+        for (int i = 0; i < 5_000; i++) {
+            initial.add(i);
+        }
+        AtomicReference<PersistentVector<Integer>> ref = new AtomicReference<>(PersistentVector.of(initial));
+        Thread appender = new Thread(() -> {
+            for (int i = 5_000; i < 25_000; i++) {
+                int value = i;
+                ref.updateAndGet(v -> v.append(value));
+            }
+        });
+        appender.start();
+        for (int i = 0; i < 2_000; i++) {
+            assertEquals(0, PersistentVector.removeLast(ref, i));
+        }
+        appender.join();
+        assertEquals(-1, PersistentVector.removeLast(ref, 0));
+        List<Integer> expected = new ArrayList<>();
+        for (int i = 2_000; i < 25_000; i++) {
+            expected.add(i);
+        }
+        assertEquals(expected, ref.get());
+    }
+}
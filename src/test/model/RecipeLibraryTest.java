@@ -1,10 +1,13 @@
 package model;
 
+import diagnostics.Metrics;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 
 import static org.junit.jupiter.api.Assertions.*;
@@ -45,6 +48,21 @@ class RecipeLibraryTest {
         assertTrue(recipeLibrary.getAllRecipes().isEmpty());
     }
 
+    @Test
+    void testAddRecipes() {
+        recipeLibrary.addRecipe(alfredoPasta);
+        List<ModelEvent> events = new ArrayList<>();
+        recipeLibrary.addModelListener(events::add);
+        recipeLibrary.addRecipes(List.of(chickenSalad, alfredoPasta));
+        assertEquals(3, recipeLibrary.size());
+        assertEquals(1, events.size());
+        assertEquals(1, events.get(0).getIndex());
+        assertTrue(recipeLibrary.getRecipeByName("Chicken Salad").isPresent());
+        assertThrows(IllegalArgumentException.class,
+                () -> recipeLibrary.addRecipes(Arrays.asList(chickenSalad, null)));
+        assertEquals(3, recipeLibrary.size());
+    }
+
     @Test
     void testGetRecipeByName() {
         recipeLibrary.addRecipe(alfredoPasta);
@@ -81,6 +99,20 @@ class RecipeLibraryTest {
         recipeLibrary.addRecipe(alfredoPasta);
         assertTrue(recipeLibrary.filterRecipesByIngredient(null).isEmpty());
         assertTrue(recipeLibrary.filterRecipesByIngredient("").isEmpty());
+        assertTrue(recipeLibrary.filterRecipesByIngredient("never used anywhere").isEmpty());
+    }
+
+    @Test
+    void testSearchRecipes() {
+        recipeLibrary.addRecipe(alfredoPasta);
+        recipeLibrary.addRecipe(chickenSalad);
+
+        assertEquals(List.of(alfredoPasta), recipeLibrary.searchRecipes("PARMESAN"));
+        assertEquals(List.of(chickenSalad), recipeLibrary.searchRecipes("salad"));
+        assertEquals(List.of(alfredoPasta, chickenSalad), recipeLibrary.searchRecipes("a"));
+        assertTrue(recipeLibrary.searchRecipes("tofu").isEmpty());
+        assertTrue(recipeLibrary.searchRecipes(null).isEmpty());
+        assertTrue(recipeLibrary.searchRecipes("").isEmpty());
     }
 
     @Test
@@ -157,4 +189,17 @@ class RecipeLibraryTest {
         assertTrue(stillOld.isPresent());
         assertTrue(stillOld.get().getIngredients().contains("cream"));
     }
+
+    @Test
+    void testLookupsRecordMetrics() {
+        Metrics.global().reset();
+        recipeLibrary.addRecipe(alfredoPasta);
+        recipeLibrary.getRecipeByName("Alfredo Pasta");
+        recipeLibrary.getRecipeByName("Missing");
+        recipeLibrary.filterRecipesByIngredient("Pasta");
+        Map<String, Number> values = Metrics.global().snapshot();
+        assertEquals(2L, values.get("recipes.getRecipeByName.count"));
+        assertEquals(1L, values.get("recipes.getRecipeByName.misses"));
+        assertEquals(1L, values.get("recipes.filterRecipesByIngredient.count"));
+    }
 }
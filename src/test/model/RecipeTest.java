@@ -32,9 +32,26 @@ class RecipeTest {
         assertThrows(IllegalArgumentException.class, () -> new Recipe(null, Arrays.asList("pasta"), "Do stuff"));
     }
 
+    @Test
+    void testIngredientsShared() {
+        Recipe other = new Recipe("Carbonara", Arrays.asList(new String("pasta".toCharArray()), "eggs"), "Toss.");
+        assertSame(recipe.getIngredients().get(0), other.getIngredients().get(0));
+        assertThrows(UnsupportedOperationException.class, () -> other.getIngredients().add("salt"));
+        assertThrows(IllegalArgumentException.class, () -> new Recipe("Pasta", Arrays.asList("pasta", null), "Boil"));
+    }
+
     @Test
     void testConstructorNullIngredientsOrInstructions() {
         assertThrows(IllegalArgumentException.class, () -> new Recipe("Pasta", null, "Boil water"));
         assertThrows(IllegalArgumentException.class, () -> new Recipe("Pasta", Arrays.asList("pasta"), null));
     }
+
+    @Test
+    void testMatches() {
+        assertTrue(recipe.matches("alfredo"));
+        assertTrue(recipe.matches("Cheese"));
+        assertTrue(recipe.matches(""));
+        assertFalse(recipe.matches("sauce"));
+        assertFalse(recipe.matches("parmesan cheese and more"));
+    }
 }
@@ -0,0 +1,45 @@
+package model;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class SpaceSavingTest {
+
+    @Test
+    void testConstructorInvalidCapacity() {
+        assertThrows(IllegalArgumentException.class, () -> new SpaceSaving(0));
+    }
+
+    @Test
+    void testExactWhenUnderCapacity() {
+        SpaceSaving counter = new SpaceSaving(10);
+        for (int i = 0; i < 6; i++) {
+            counter.offer("Squat");
+        }
+        for (int i = 0; i < 4; i++) {
+            counter.offer("Bench Press");
+        }
+        counter.offer("Deadlift");
+        List<Map.Entry<String, Long>> top = counter.top(2);
+        assertEquals(2, top.size());
+        assertEquals("Squat", top.get(0).getKey());
+        assertEquals(6L, top.get(0).getValue());
+        assertEquals("Bench Press", top.get(1).getKey());
+        assertEquals(4L, top.get(1).getValue());
+    }
+
+    @Test
+    void testHeavyHittersSurviveEviction() {
+        SpaceSaving counter = new SpaceSaving(8);
+        for (int i = 0; i < 10_000; i++) {
+            counter.offer(i % 3 == 0 ? "Squat" : "rare" + i);
+        }
+        Map.Entry<String, Long> first = counter.top(1).get(0);
+        assertEquals("Squat", first.getKey());
+        assertTrue(first.getValue() >= 3334);
+    }
+}
@@ -0,0 +1,79 @@
+package model;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class StringCatalogTest {
+
+    @Test
+    void testInternReturnsFirstInstance() {
+        StringCatalog catalog = new StringCatalog();
+        String first = new String("Bench Press".toCharArray());
+        String second = new String("Bench Press".toCharArray());
+        assertSame(first, catalog.intern(first));
+        assertSame(first, catalog.intern(second));
+        assertEquals(1, catalog.size());
+    }
+
+    @Test
+    void testIds() {
+        StringCatalog catalog = new StringCatalog();
+        assertEquals(-1, catalog.find("Salt"));
+        assertEquals(0, catalog.id("Salt"));
+        assertEquals(1, catalog.id("Olive oil"));
+        assertEquals(0, catalog.id(new String("Salt".toCharArray())));
+        assertEquals(1, catalog.find("Olive oil"));
+        assertEquals("Olive oil", catalog.name(1));
+        assertThrows(IndexOutOfBoundsException.class, () -> catalog.name(2));
+        assertThrows(IndexOutOfBoundsException.class, () -> catalog.name(-1));
+    }
+
+    @Test
+    void testGrowsPastInitialCapacity() {
+        StringCatalog catalog = new StringCatalog();
+        for (int i = 0; i < 1000; i++) {
+            assertEquals(i, catalog.id("ingredient " + i));
+        }
+        assertEquals(1000, catalog.size());
+        assertEquals("ingredient 999", catalog.name(999));
+    }
+
+    @Test
+    void testConcurrentInterning() throws Exception {
+        StringCatalog catalog = new StringCatalog();
+        ExecutorService pool = Executors.newFixedThreadPool(4);
+        List<Future<String[]>> results = new ArrayList<>();
+        for (int t = 0; t < 4; t++) {
+            results.add(pool.submit(() -> {
+                String[] seen = new String[500];
+                for (int i = 0; i < seen.length; i++) {
+                    seen[i] = catalog.intern(new String(("exercise " + i).toCharArray()));
+                }
+                return seen;
+            }));
+        }
+        String[] expected = results.get(0).get();
+        for (Future<String[]> result : results) {
+            String[] seen = result.get();
+            for (int i = 0; i < seen.length; i++) {
+                assertSame(expected[i], seen[i]);
+                assertSame(seen[i], catalog.name(catalog.find(seen[i])));
+            }
+        }
+        pool.shutdown();
+        assertEquals(500, catalog.size());
+    }
+
+    @Test
+    void testGlobalCatalogs() {
+        assertSame(StringCatalog.exercises(), StringCatalog.exercises());
+        assertNotSame(StringCatalog.exercises(), StringCatalog.ingredients());
+    }
+}
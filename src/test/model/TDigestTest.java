@@ -0,0 +1,68 @@
+package model;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TDigestTest {
+
+    private TDigest digest;
+
+    @BeforeEach
+    void setUp() {
+        digest = new TDigest();
+    }
+
+    @Test
+    void testEmpty() {
+        assertTrue(Double.isNaN(digest.quantile(0.5)));
+        assertEquals(0, digest.size());
+    }
+
+    @Test
+    void testInvalidArguments() {
+        assertThrows(IllegalArgumentException.class, () -> new TDigest(5));
+        assertThrows(IllegalArgumentException.class, () -> digest.add(Double.NaN));
+        assertThrows(IllegalArgumentException.class, () -> digest.add(1, 0));
+        assertThrows(IllegalArgumentException.class, () -> digest.quantile(1.5));
+        assertThrows(IllegalArgumentException.class, () -> digest.merge(null));
+    }
+
+    @Test
+    void testSingleValue() {
+        digest.add(8);
+        assertEquals(8, digest.quantile(0.5));
+        assertEquals(8, digest.quantile(0));
+        assertEquals(8, digest.quantile(1));
+    }
+
+    @Test
+    void testUniformQuantiles() {
+        Random random = new Random(42);
+        for (int i = 0; i < 100_000; i++) {
+            digest.add(random.nextDouble() * 100);
+        }
+        assertEquals(100_000, digest.size());
+        assertEquals(50, digest.quantile(0.5), 1.0);
+        assertEquals(99, digest.quantile(0.99), 0.2);
+        assertEquals(1, digest.quantile(0.01), 0.2);
+        assertTrue(digest.centroidCount() < 1000);
+    }
+
+    @Test
+    void testMerge() {
+        TDigest other = new TDigest();
+        for (int i = 0; i < 10_000; i++) {
+            digest.add(i % 100);
+            other.add(100 + i % 100);
+        }
+        digest.merge(other);
+        assertEquals(20_000, digest.size());
+        assertEquals(100, digest.quantile(0.5), 2.0);
+        assertEquals(0, digest.quantile(0));
+        assertEquals(199, digest.quantile(1));
+    }
+}
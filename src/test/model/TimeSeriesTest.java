@@ -0,0 +1,69 @@
+package model;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TimeSeriesTest {
+
+    @Test
+    void testConstructorValidatesInput() {
+        assertThrows(IllegalArgumentException.class, () -> new TimeSeries(new double[2], new double[3]));
+        assertThrows(IllegalArgumentException.class,
+                () -> new TimeSeries(new double[] {2, 1}, new double[] {0, 0}));
+        TimeSeries series = new TimeSeries(new double[] {1, 1, 2}, new double[] {4, 9, 2});
+        assertEquals(3, series.size());
+        assertEquals(9, series.maxY());
+        assertEquals(0, new TimeSeries(new double[0], new double[0]).maxY());
+    }
+
+    @Test
+    void testLowerBound() {
+        TimeSeries series = new TimeSeries(new double[] {1, 3, 3, 7}, new double[4]);
+        assertEquals(0, series.lowerBound(0));
+        assertEquals(1, series.lowerBound(2));
+        assertEquals(1, series.lowerBound(3));
+        assertEquals(3, series.lowerBound(4));
+        assertEquals(4, series.lowerBound(8));
+    }
+
+    @Test
+    void testDownsampleKeepsSmallRanges() {
+        TimeSeries series = line(10);
+        assertArrayEquals(new int[] {2, 3, 4}, series.downsample(2, 5, 10));
+        assertArrayEquals(new int[] {0, 1, 2, 3}, series.downsample(0, 4, 2));
+    }
+
+    @Test
+    void testDownsampleKeepsEndpointsAndPeaks() {
+        int n = 10_000;
+        double[] xs = new double[n];
+        double[] ys = new double[n];
+        for (int i = 0; i < n; i++) {
+            xs[i] = i;
+            ys[i] = i == 4321 ? 1_000 : Math.sin(i / 100.0);
+        }
+        TimeSeries series = new TimeSeries(xs, ys);
+
+        int[] kept = series.downsample(0, n, 100);
+        assertEquals(100, kept.length);
+        assertEquals(0, kept[0]);
+        assertEquals(n - 1, kept[99]);
+        boolean peakKept = false;
+        for (int i = 1; i < kept.length; i++) {
+            assertTrue(kept[i] > kept[i - 1]);
+            peakKept |= kept[i] == 4321;
+        }
+        assertTrue(peakKept);
+    }
+
+    private static TimeSeries line(int n) {
+        double[] xs = new double[n];
+        double[] ys = new double[n];
+        for (int i = 0; i < n; i++) {
+            xs[i] = i;
+            ys[i] = 2 * i;
+        }
+        return new TimeSeries(xs, ys);
+    }
+}
@@ -0,0 +1,46 @@
+package model;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TopKTest {
+
+    @Test
+    void testConstructorInvalidK() {
+        assertThrows(IllegalArgumentException.class, () -> new TopK<Integer>(0, Comparator.naturalOrder()));
+    }
+
+    @Test
+    void testKeepsGreatestInDescendingOrder() {
+        TopK<Integer> topK = new TopK<>(3, Comparator.naturalOrder());
+        for (int value : new int[] {5, 1, 9, 7, 3, 8, 2}) {
+            topK.offer(value);
+        }
+        assertEquals(Arrays.asList(9, 8, 7), topK.toList());
+    }
+
+    @Test
+    void testFewerItemsThanK() {
+        TopK<Integer> topK = new TopK<>(10, Comparator.naturalOrder());
+        topK.offer(2);
+        topK.offer(4);
+        List<Integer> result = topK.toList();
+        assertEquals(Arrays.asList(4, 2), result);
+    }
+
+    @Test
+    void testHugeKKeepsEverything() {
+        TopK<Integer> topK = new TopK<>(Integer.MAX_VALUE, Comparator.naturalOrder());
+        assertEquals(List.of(), topK.toList());
+        for (int value = 0; value < 100; value++) {
+            topK.offer(value);
+        }
+        assertEquals(100, topK.toList().size());
+        assertEquals(99, topK.toList().get(0));
+    }
+}
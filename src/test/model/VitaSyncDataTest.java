@@ -0,0 +1,158 @@
+package model;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class VitaSyncDataTest {
+
+    private static final int THREADS = 8;
+    private static final int OPS_PER_THREAD = 2000;
+
+    private VitaSyncData vsData;
+
+    @BeforeEach
+    void setUp() {
+        vsData = new VitaSyncData("My VitaSync Data");
+    }
+
+    @Test
+    void testConstructor() {
+        assertEquals("My VitaSync Data", vsData.getName());
+        assertEquals(0, vsData.getWorkoutTracker().size());
+        assertEquals(0, vsData.getMealPlan().size());
+        assertEquals(0, vsData.getRecipeLibrary().size());
+    }
+
+    @Test
+    void testSnapshotIsFrozen() {
+        vsData.getWorkoutTracker().addWorkout(new Workout(LocalDate.of(2025, 1, 1)));
+        vsData.getMealPlan().addMeal(new Meal("Oatmeal", 10, 30, 5));
+        vsData.getRecipeLibrary().addRecipe(recipe("Soup", "Boil."));
+        VitaSyncSnapshot snapshot = vsData.snapshot();
+
+        vsData.getWorkoutTracker().addWorkout(new Workout(LocalDate.of(2025, 1, 2)));
+        vsData.getMealPlan().addMeal(new Meal("Salad", 5, 10, 2));
+        vsData.getRecipeLibrary().editRecipe("Soup", Arrays.asList("water"), "Simmer.");
+        vsData.getRecipeLibrary().addRecipe(recipe("Stew", "Stew."));
+
+        assertEquals("My VitaSync Data", snapshot.getName());
+        assertEquals(1, snapshot.getWorkouts().size());
+        assertEquals(1, snapshot.getMeals().size());
+        assertEquals(1, snapshot.getRecipes().size());
+        assertEquals("Boil.", snapshot.getRecipes().get(0).getInstructions());
+        assertEquals(1, snapshot.toJson().getJSONArray("workouts").length());
+        assertEquals(2, vsData.toJson().getJSONArray("workouts").length());
+        assertThrows(UnsupportedOperationException.class, () -> snapshot.getMeals().clear());
+    }
+
+    @Test
+    void testConcurrentWritersLoseNoUpdates() throws Exception {
+        runConcurrently(this::writeEverything, this::readEverything);
+
+        int expected = THREADS * OPS_PER_THREAD;
+        assertEquals(expected, vsData.getWorkoutTracker().size());
+        assertEquals(expected, vsData.getWorkoutTracker().getWorkouts().size());
+        assertEquals(expected, vsData.getMealPlan().size());
+        assertEquals(expected, vsData.getMealPlan().getMeals().size());
+        assertEquals(expected, vsData.getMealPlan().getTotalProtein());
+        assertEquals(2 * expected, vsData.getMealPlan().getTotalCarbs());
+        assertEquals(expected, vsData.getRecipeLibrary().size());
+        assertEquals(expected, vsData.getRecipeLibrary().getAllRecipes().size());
+    }
+
+    @Test
+    void testConcurrentRecipeEditsAndDeletes() throws Exception {
+        for (int i = 0; i < THREADS * OPS_PER_THREAD; i++) {
+            vsData.getRecipeLibrary().addRecipe(recipe("r" + i, "old"));
+        }
+        runConcurrently(this::editOrDeleteRecipes, this::readEverything);
+
+        RecipeLibrary library = vsData.getRecipeLibrary();
+        assertEquals(THREADS * OPS_PER_THREAD / 2, library.size());
+        for (Recipe r : library.getAllRecipes()) {
+            assertEquals("new", r.getInstructions());
+        }
+    }
+
+    // Runs the writer task on THREADS threads alongside one reader, failing on any exception.
+    private void runConcurrently(WriterTask writer, Runnable reader) throws Exception {
+        ExecutorService pool = Executors.newFixedThreadPool(THREADS + 1);
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<?>> futures = startWriters(pool, start, writer);
+        Future<?> readerFuture = pool.submit(() -> {
+            start.await();
+            while (!futures.stream().allMatch(Future::isDone)) {
+                reader.run();
+            }
+            return null;
+        });
+        start.countDown();
+        for (Future<?> f : futures) {
+            f.get(60, TimeUnit.SECONDS);
+        }
+        readerFuture.get(60, TimeUnit.SECONDS);
+        pool.shutdown();
+    }
+
+    // Submits the writer task once per thread; each waits for start before running.
+    private static List<Future<?>> startWriters(ExecutorService pool, CountDownLatch start, WriterTask writer) {
+        List<Future<?>> futures = new ArrayList<>();
+        for (int t = 0; t < THREADS; t++) {
+            int thread = t;
+            futures.add(pool.submit(() -> {
+                start.await();
+                writer.run(thread);
+                return null;
+            }));
+        }
+        return futures;
+    }
+
+    private void writeEverything(int thread) {
+        for (int i = 0; i < OPS_PER_THREAD; i++) {
+            Workout workout = new Workout(LocalDate.of(2025, 1, 1).plusDays(i));
+            workout.addExercise(new Exercise("Squat"));
+            vsData.getWorkoutTracker().addWorkout(workout);
+            vsData.getMealPlan().addMeal(new Meal("Meal", 1, 2, 3));
+            vsData.getRecipeLibrary().addRecipe(recipe("t" + thread + "-" + i, "steps"));
+        }
+    }
+
+    private void editOrDeleteRecipes(int thread) {
+        for (int i = thread; i < THREADS * OPS_PER_THREAD; i += THREADS) {
+            if (i % 2 == 0) {
+                assertTrue(vsData.getRecipeLibrary().deleteRecipe("r" + i));
+            } else {
+                assertTrue(vsData.getRecipeLibrary().editRecipe("r" + i, Arrays.asList("salt"), "new"));
+            }
+        }
+    }
+
+    private void readEverything() {
+        vsData.getWorkoutTracker().topExercises(3);
+        vsData.getMealPlan().getTotalFat();
+        vsData.getRecipeLibrary().getRecipeByName("r1");
+        vsData.getRecipeLibrary().filterRecipesByIngredient("salt");
+        vsData.toJson();
+    }
+
+    private Recipe recipe(String name, String instructions) {
+        return new Recipe(name, Arrays.asList("salt", "pepper"), instructions);
+    }
+
+    private interface WriterTask {
+        void run(int thread);
+    }
+}
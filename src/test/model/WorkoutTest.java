@@ -3,6 +3,9 @@ package model;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
 import static org.junit.jupiter.api.Assertions.*;
 
 class WorkoutTest {
@@ -34,6 +37,20 @@ class WorkoutTest {
         assertEquals("Push-Ups", workout.getExercises().get(0).getName());
     }
 
+    @Test
+    void testAddExercises() {
+        workout.addExercise(exercise);
+        List<ModelEvent> events = new ArrayList<>();
+        workout.addModelListener(events::add);
+        workout.addExercises(List.of(new Exercise("Squat"), new Exercise("Lunge")));
+        assertEquals(3, workout.getExercises().size());
+        assertEquals("Lunge", workout.getExercises().get(2).getName());
+        assertEquals(1, events.size());
+        assertEquals(1, events.get(0).getIndex());
+        assertThrows(IllegalArgumentException.class, () -> workout.addExercises(Arrays.asList(exercise, null)));
+        assertEquals(3, workout.getExercises().size());
+    }
+
     @Test
     void testAddExerciseNull() {
         assertThrows(IllegalArgumentException.class, () -> workout.addExercise(null));
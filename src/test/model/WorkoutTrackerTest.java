@@ -3,7 +3,10 @@ package model;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.List;
+import java.util.Map;
 import static org.junit.jupiter.api.Assertions.*;
 
 class WorkoutTrackerTest {
@@ -46,6 +49,32 @@ class WorkoutTrackerTest {
         assertThrows(IllegalArgumentException.class, () -> tracker.addWorkout(null));
     }
 
+    @Test
+    void testAddWorkoutsFiresOneEvent() {
+        tracker.addWorkout(workout1);
+        workout2.addExercise(completedExercise("Squat", 5));
+        Workout sameDay = new Workout(LocalDate.of(2025, 1, 2));
+        sameDay.addExercise(completedExercise("Squat", 3));
+        List<ModelEvent> events = new ArrayList<>();
+        tracker.addModelListener(events::add);
+        tracker.addWorkouts(List.of(workout2, sameDay));
+
+        assertEquals(3, tracker.size());
+        assertEquals(1, events.size());
+        assertEquals(1, events.get(0).getIndex());
+        assertEquals(List.of(workout2, sameDay), events.get(0).getItems());
+        assertEquals(8, tracker.getDailyVolume().get(LocalDate.of(2025, 1, 2)));
+        assertEquals(2, tracker.getSketches().estimateExerciseFrequency("Squat"));
+    }
+
+    @Test
+    void testAddWorkoutsRejectsNullsAtomically() {
+        assertThrows(IllegalArgumentException.class, () -> tracker.addWorkouts(null));
+        assertThrows(IllegalArgumentException.class, () -> tracker.addWorkouts(Arrays.asList(workout1, null)));
+        assertEquals(0, tracker.size());
+        assertTrue(tracker.getDailyVolume().isEmpty());
+    }
+
     @Test
     void testGetWorkoutsReturnsCopy() {
         // Ensure getWorkouts returns a copy so that modifications do not affect the internal list.
@@ -55,4 +84,172 @@ class WorkoutTrackerTest {
         // The tracker's internal list should remain unchanged.
         assertEquals(1, tracker.getWorkouts().size());
     }
+
+    @Test
+    void testSketchesTrackAddedWorkouts() {
+        Exercise squat = new Exercise("Squat");
+        squat.addSet(new ExerciseSet(5));
+        squat.addSet(new ExerciseSet(5));
+        workout1.addExercise(squat);
+        workout2.addExercise(new Exercise("squat "));
+        workout2.addExercise(new Exercise("Bench Press"));
+        tracker.addWorkout(workout1);
+        tracker.addWorkout(workout2);
+
+        WorkoutSketches sketches = tracker.getSketches();
+        assertEquals(2, sketches.estimateDistinctExercises());
+        assertEquals(2, sketches.estimateExerciseFrequency("SQUAT"));
+        assertEquals(5, sketches.targetRepsQuantile(0.5));
+        assertEquals(0, sketches.completedRepsQuantile(0.5));
+    }
+
+    @Test
+    void testTopExercises() {
+        workout1.addExercise(new Exercise("Squat"));
+        workout1.addExercise(new Exercise("Bench Press"));
+        workout2.addExercise(new Exercise("Squat"));
+        tracker.addWorkout(workout1);
+        tracker.addWorkout(workout2);
+
+        List<Map.Entry<String, Long>> top = tracker.topExercises(1);
+        assertEquals(1, top.size());
+        assertEquals("Squat", top.get(0).getKey());
+        assertEquals(2L, top.get(0).getValue());
+        assertThrows(IllegalArgumentException.class, () -> tracker.topExercises(0));
+    }
+
+    @Test
+    void testTopExercisesIgnoresCaseAndSpaces() {
+        workout1.addExercise(new Exercise("Bench Press"));
+        workout1.addExercise(new Exercise(" squat"));
+        workout2.addExercise(new Exercise("Squat "));
+        workout2.addExercise(new Exercise("SQUAT"));
+        tracker.addWorkout(workout1);
+        tracker.addWorkout(workout2);
+
+        List<Map.Entry<String, Long>> top = tracker.topExercises(2);
+        assertEquals("squat", top.get(0).getKey(), "reported with the first spelling, trimmed");
+        assertEquals(3L, top.get(0).getValue());
+        assertEquals("Bench Press", top.get(1).getKey());
+        assertEquals(tracker.getSketches().estimateExerciseFrequency("Squat"), top.get(0).getValue());
+    }
+
+    @Test
+    void testTopWorkoutsByCompletedReps() {
+        workout1.addExercise(completedExercise("Squat", 5));
+        workout2.addExercise(completedExercise("Squat", 10));
+        Workout outOfRange = new Workout(LocalDate.of(2025, 2, 1));
+        outOfRange.addExercise(completedExercise("Squat", 20));
+        tracker.addWorkout(workout1);
+        tracker.addWorkout(workout2);
+        tracker.addWorkout(outOfRange);
+
+        List<Workout> top = tracker.topWorkoutsByCompletedReps(5,
+                LocalDate.of(2025, 1, 1), LocalDate.of(2025, 1, 31));
+        assertEquals(2, top.size());
+        assertEquals(workout2, top.get(0));
+        assertEquals(workout1, top.get(1));
+        assertThrows(IllegalArgumentException.class,
+                () -> tracker.topWorkoutsByCompletedReps(1, null, LocalDate.of(2025, 1, 1)));
+    }
+
+    @Test
+    void testHugeKReturnsEverything() {
+        assertEquals(0, tracker.topWorkoutsByCompletedReps(Integer.MAX_VALUE, LocalDate.MIN, LocalDate.MAX).size());
+        assertEquals(0, tracker.topExercises(Integer.MAX_VALUE).size());
+        workout1.addExercise(new Exercise("Squat"));
+        workout1.addExercise(new Exercise("Row"));
+        tracker.addWorkout(workout1);
+        assertEquals(1, tracker.topWorkoutsByCompletedReps(Integer.MAX_VALUE, LocalDate.MIN, LocalDate.MAX).size());
+        assertEquals(2, tracker.topExercises(Integer.MAX_VALUE / 5).size());
+        assertEquals(2, tracker.topExercises(Integer.MAX_VALUE).size());
+    }
+
+    @Test
+    void testGetExerciseNames() {
+        workout1.addExercise(new Exercise("squat"));
+        workout1.addExercise(new Exercise("Bench Press"));
+        workout2.addExercise(new Exercise("Squat"));
+        tracker.addWorkout(workout1);
+        tracker.addWorkout(workout2);
+
+        assertEquals(List.of("Bench Press", "squat"), tracker.getExerciseNames());
+    }
+
+    @Test
+    void testRepsSeries() {
+        Workout sameDay = new Workout(LocalDate.of(2025, 1, 1));
+        sameDay.addExercise(completedExercise("squat", 3));
+        workout2.addExercise(completedExercise("Squat", 10));
+        workout2.getExercises().get(0).addSet(new ExerciseSet(4));
+        workout1.addExercise(completedExercise("Squat", 5));
+        workout1.addExercise(completedExercise("Bench Press", 8));
+        tracker.addWorkout(workout2);
+        tracker.addWorkout(workout1);
+        tracker.addWorkout(sameDay);
+
+        TimeSeries completed = tracker.repsSeries("SQUAT", ExerciseSet::getCompletedReps);
+        assertEquals(2, completed.size());
+        assertEquals(LocalDate.of(2025, 1, 1).toEpochDay(), completed.getX(0));
+        assertEquals(8, completed.getY(0));
+        assertEquals(10, completed.getY(1));
+        TimeSeries target = tracker.repsSeries("Squat", ExerciseSet::getTargetReps);
+        assertEquals(14, target.getY(1));
+        assertEquals(0, tracker.repsSeries("Deadlift", ExerciseSet::getTargetReps).size());
+    }
+
+    @Test
+    void testDailyVolumeFollowsAddAndRemove() {
+        workout1.addExercise(completedExercise("Squat", 5));
+        Workout sameDay = new Workout(LocalDate.of(2025, 1, 1));
+        sameDay.addExercise(completedExercise("Bench Press", 8));
+        tracker.addWorkout(workout1);
+        tracker.addWorkout(sameDay);
+
+        DailyVolume volume = tracker.getDailyVolume();
+        assertEquals(13, volume.get(LocalDate.of(2025, 1, 1)));
+        assertTrue(tracker.removeWorkout(workout1));
+        assertEquals(8, volume.get(LocalDate.of(2025, 1, 1)));
+        assertFalse(tracker.removeWorkout(workout1));
+        assertEquals(8, volume.get(LocalDate.of(2025, 1, 1)));
+    }
+
+    @Test
+    void testFindWorkouts() {
+        workout1.addExercise(new Exercise("Back Squat"));
+        workout2.addExercise(new Exercise("Bench Press"));
+        Workout later = new Workout(LocalDate.of(2025, 3, 1));
+        later.addExercise(new Exercise("Front Squat"));
+        tracker.addWorkout(workout1);
+        tracker.addWorkout(workout2);
+        tracker.addWorkout(later);
+
+        assertEquals(List.of(workout1, workout2, later), tracker.findWorkouts(null, null, null));
+        assertEquals(List.of(workout1, later), tracker.findWorkouts(null, null, "SQUAT"));
+        assertEquals(List.of(workout2, later), tracker.findWorkouts(LocalDate.of(2025, 1, 2), null, null));
+        assertEquals(List.of(workout1), tracker.findWorkouts(null, LocalDate.of(2025, 2, 1), "squat"));
+        assertTrue(tracker.findWorkouts(null, null, "deadlift").isEmpty());
+    }
+
+    private Exercise completedExercise(String name, int reps) {
+        Exercise exercise = new Exercise(name);
+        ExerciseSet set = new ExerciseSet(reps);
+        while (!set.isCompleted()) {
+            set.checkOffRep();
+        }
+        exercise.addSet(set);
+        return exercise;
+    }
+
+    @Test
+    void testCountSets() {
+        assertEquals(0, tracker.countSets());
+        Exercise squat = new Exercise("Squat");
+        squat.addSet(new ExerciseSet(5));
+        squat.addSet(new ExerciseSet(5));
+        workout1.addExercise(squat);
+        tracker.addWorkout(workout1);
+        tracker.addWorkout(workout2);
+        assertEquals(2, tracker.countSets());
+    }
 }
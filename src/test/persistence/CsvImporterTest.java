@@ -0,0 +1,201 @@
+package persistence;
+
+import model.Exercise;
+import model.ExerciseSet;
+import model.Meal;
+import model.MealPlan;
+import model.ModelEvent;
+import model.Workout;
+import model.WorkoutTracker;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.io.StringReader;
+import java.time.LocalDate;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class CsvImporterTest {
+
+    @Test
+    void testImportWorkoutsGroupsRows() throws IOException {
+        String csv = "date,exercise,reps,completed_reps\n"
+                + "2024-03-01,Squat,5,5\n"
+                + "2024-03-01,Squat,5,3\n"
+                + "2024-03-01,Bench Press,8,8\n"
+                + "2024-03-02,Deadlift,5,9\n";
+        WorkoutTracker tracker = new WorkoutTracker();
+        CsvImporter.Report report = new CsvImporter().importWorkouts(new StringReader(csv), tracker);
+        assertEquals(4, report.getImportedRows());
+        assertEquals(0, report.getErrorCount());
+        List<Workout> workouts = tracker.getWorkouts();
+        assertEquals(2, workouts.size());
+        assertEquals(LocalDate.of(2024, 3, 1), workouts.get(0).getDate());
+        List<Exercise> exercises = workouts.get(0).getExercises();
+        assertEquals(2, exercises.size());
+        List<ExerciseSet> squats = exercises.get(0).getSets();
+        assertEquals(2, squats.size());
+        assertEquals(3, squats.get(1).getCompletedReps());
+        assertEquals(5, workouts.get(1).getTotalCompletedReps(), "completed reps are capped at the target");
+    }
+
+    @Test
+    void testWithoutCompletedColumnSetsAreDone() throws IOException {
+        WorkoutTracker tracker = new WorkoutTracker();
+        new CsvImporter().importWorkouts(new StringReader("reps,exercise,date\r\n10,Dip,2024-01-05\r\n"), tracker);
+        Exercise dip = tracker.getWorkouts().get(0).getExercises().get(0);
+        assertEquals("Dip", dip.getName());
+        assertEquals(10, dip.getTotalCompletedReps());
+    }
+
+    @Test
+    void testSmallChunksMatchOneChunk() throws IOException {
+        StringBuilder csv = new StringBuilder("date,exercise,reps,completed_reps\n");
+        for (int day = 1; day <= 28; day++) {
+            for (String exercise : new String[] {"Squat", "Row", "Curl"}) {
+                for (int set = 0; set < day % 4 + 1; set++) {
+                    csv.append("2024-02-").append(day < 10 ? "0" : "").append(day).append(',').append(exercise)
+                            .append(",8,").append((day + set) % 9).append('\n');
+                }
+            }
+        }
+        WorkoutTracker whole = new WorkoutTracker();
+        WorkoutTracker chunked = new WorkoutTracker();
+        new CsvImporter().importWorkouts(new StringReader(csv.toString()), whole);
+        CsvImporter small = new CsvImporter(CsvImporter.defaultColumns(), ',', DateTimeFormatter.ISO_LOCAL_DATE, 4,
+                40);
+        CsvImporter.Report report = small.importWorkouts(new StringReader(csv.toString()), chunked);
+        assertEquals(28, chunked.size(), "workouts split across chunks are joined again");
+        assertEquals(whole.toJson().toString(), chunked.toJson().toString());
+        assertEquals(whole.countSets(), report.getImportedRows());
+    }
+
+    @Test
+    void testBadRowsAreReportedAndSkipped() throws IOException {
+        String csv = "date,exercise,reps\n"
+                + "2024-03-01,Squat,5\n"
+                + "2024-13-01,Squat,5\n"
+                + "2024-03-01,,5\n"
+                + "2024-03-01,Squat,five\n"
+                + "\n"
+                + "2024-03-01,Squat\n"
+                + "2024-03-01,Squat,0\n"
+                + "2024-03-01,Squat,-3\n"
+                + "2024-03-01,Squat,6\n";
+        WorkoutTracker tracker = new WorkoutTracker();
+        CsvImporter.Report report = new CsvImporter().importWorkouts(new StringReader(csv), tracker);
+        assertEquals(2, report.getImportedRows());
+        assertEquals(6, report.getErrorCount());
+        List<CsvImporter.RowError> errors = report.getErrors();
+        assertEquals(List.of(3, 4, 5, 7, 8, 9), errors.stream().map(CsvImporter.RowError::getLine).toList());
+        assertTrue(errors.get(1).getMessage().contains("exercise is empty"));
+        assertTrue(errors.get(2).getMessage().contains("\"five\""));
+        assertTrue(errors.get(3).getMessage().contains("has 2 columns"));
+        assertTrue(report.format().startsWith("2 rows imported, 6 skipped."));
+        assertEquals(1, tracker.size());
+        assertEquals(11, tracker.getWorkouts().get(0).getTotalCompletedReps());
+    }
+
+    @Test
+    void testCustomColumnsDelimiterAndQuotes() throws IOException {
+        Map<CsvImporter.Column, String> columns = CsvImporter.defaultColumns();
+        columns.put(CsvImporter.Column.DATE, "Date");
+        columns.put(CsvImporter.Column.EXERCISE, "Exercise Name");
+        columns.put(CsvImporter.Column.REPS, "Reps");
+        CsvImporter importer = new CsvImporter(columns, ';', DateTimeFormatter.ofPattern("dd/MM/yyyy"), 2);
+        String csv = "\"Date\";Weight;\"Exercise Name\";Reps\n"
+                + "07/04/2024;100;\"Press; \"\"strict\"\"\";5\n"
+                + "07/04/2024;60;\"Row\n(cable)\";12\n"
+                + "08/04/2024;60;Row;x\n";
+        WorkoutTracker tracker = new WorkoutTracker();
+        CsvImporter.Report report = importer.importWorkouts(new StringReader(csv), tracker);
+        List<Exercise> exercises = tracker.getWorkouts().get(0).getExercises();
+        assertEquals(LocalDate.of(2024, 4, 7), tracker.getWorkouts().get(0).getDate());
+        assertEquals("Press; \"strict\"", exercises.get(0).getName());
+        assertEquals("Row\n(cable)", exercises.get(1).getName());
+        assertEquals(5, report.getErrors().get(0).getLine(), "the quoted line break counts as a line");
+    }
+
+    @Test
+    void testQuoteInsideFieldIsLiteral() throws IOException {
+        StringBuilder csv = new StringBuilder("date,exercise,reps\n2024-03-01,Curl 6\",8\n");
+        for (int i = 0; i < 200; i++) {
+            csv.append("2024-03-02,Row,").append(i % 9 + 1).append('\n');
+        }
+        CsvImporter small = new CsvImporter(CsvImporter.defaultColumns(), ',', DateTimeFormatter.ISO_LOCAL_DATE, 2,
+                40);
+        WorkoutTracker tracker = new WorkoutTracker();
+        CsvImporter.Report report = small.importWorkouts(new StringReader(csv.toString()), tracker);
+        assertEquals(201, report.getImportedRows());
+        assertEquals("Curl 6\"", tracker.getWorkouts().get(0).getExercises().get(0).getName());
+    }
+
+    @Test
+    void testUnclosedQuoteSkipsOneLine() throws IOException {
+        StringBuilder csv = new StringBuilder("date,exercise,reps\n2024-03-01,Squat,5\n2024-03-01,\"Curl,8\n");
+        int rows = CsvImporter.MAX_RECORD_CHARS / 10;
+        for (int i = 0; i < rows; i++) {
+            csv.append("2024-03-02,Row,").append(i % 9 + 1).append('\n');
+        }
+        CsvImporter small = new CsvImporter(CsvImporter.defaultColumns(), ',', DateTimeFormatter.ISO_LOCAL_DATE, 2,
+                1000);
+        WorkoutTracker tracker = new WorkoutTracker();
+        CsvImporter.Report report = small.importWorkouts(new StringReader(csv.toString()), tracker);
+        assertEquals(1, report.getErrorCount());
+        assertEquals(3, report.getErrors().get(0).getLine());
+        assertTrue(report.getErrors().get(0).getMessage().contains("quote"));
+        assertEquals(1 + rows, report.getImportedRows(), "the rows after the bad line are still imported");
+        assertEquals(2, tracker.size());
+    }
+
+    @Test
+    void testListenersSeeOneAppendPerImport() throws IOException {
+        StringBuilder csv = new StringBuilder("meal,protein,carbs,fat\n");
+        for (int i = 0; i < 500; i++) {
+            csv.append("Meal ").append(i).append(",1,2,3\n");
+        }
+        MealPlan mealPlan = new MealPlan();
+        mealPlan.addMeal(new Meal("Oats", 1, 1, 1));
+        List<ModelEvent> events = new ArrayList<>();
+        mealPlan.addModelListener(events::add);
+        CsvImporter small = new CsvImporter(CsvImporter.defaultColumns(), ',', DateTimeFormatter.ISO_LOCAL_DATE, 2,
+                100);
+        small.importMeals(new StringReader(csv.toString()), mealPlan);
+        assertEquals(1, events.size());
+        assertEquals(1, events.get(0).getIndex());
+        assertEquals(500, events.get(0).getItems().size());
+        assertSame(mealPlan.getMeals().get(500), events.get(0).getItems().get(499));
+    }
+
+    @Test
+    void testImportMeals() throws IOException {
+        String csv = "meal,protein,carbs,fat,calories\n"
+                + "Oats,12.4,54.5,6,300\n"
+                + "\"Chicken, rice\",45,60,10,520\n"
+                + "Oats,12,54,-1,300\n"
+                + "Oats,12,54,6,300\n";
+        MealPlan mealPlan = new MealPlan();
+        CsvImporter.Report report = new CsvImporter().importMeals(new StringReader(csv), mealPlan);
+        assertEquals(3, report.getImportedRows());
+        assertEquals(4, report.getErrors().get(0).getLine());
+        List<Meal> meals = mealPlan.getMeals();
+        assertEquals("Chicken, rice", meals.get(1).getName());
+        assertEquals(12, meals.get(0).getProtein());
+        assertEquals(55, meals.get(0).getCarbs());
+        assertSame(meals.get(0).getName(), meals.get(2).getName());
+        assertEquals(12 + 45 + 12, mealPlan.getTotalProtein());
+    }
+
+    @Test
+    void testMissingColumnOrHeader() {
+        IOException missing = assertThrows(IOException.class,
+                () -> new CsvImporter().importMeals(new StringReader("meal,protein,fat\nOats,1,2\n"), new MealPlan()));
+        assertTrue(missing.getMessage().contains("\"carbs\""));
+        assertThrows(IOException.class, () -> new CsvImporter().importWorkouts(new StringReader(""),
+                new WorkoutTracker()));
+    }
+}
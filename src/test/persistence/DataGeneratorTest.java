@@ -0,0 +1,123 @@
+package persistence;
+
+import model.Recipe;
+import model.VitaSyncData;
+import model.Workout;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Paths;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class DataGeneratorTest {
+    private DataGenerator generator;
+
+    @BeforeEach
+    void setUp() {
+        generator = new DataGenerator(42, 2, 300, 2000);
+    }
+
+    @Test
+    void testGenerateSizes() {
+        VitaSyncData data = generator.generate();
+        int workouts = data.getWorkoutTracker().size();
+        assertTrue(workouts > 400 && workouts < 600, "about five sessions a week: " + workouts);
+        assertEquals(300, data.getMealPlan().size());
+        assertEquals(2000, data.getRecipeLibrary().size());
+        Workout first = data.getWorkoutTracker().getWorkouts().get(0);
+        assertEquals(2023, first.getDate().getYear());
+        assertTrue(first.getExercises().size() >= 3);
+    }
+
+    @Test
+    void testSameSeedSameData() {
+        String a = generator.generate().toJson().toString();
+        String b = new DataGenerator(42, 2, 300, 2000).generate().toJson().toString();
+        String c = new DataGenerator(43, 2, 300, 2000).generate().toJson().toString();
+        assertEquals(a, b);
+        assertNotEquals(a, c);
+    }
+
+    @Test
+    void testSectionsIndependent() {
+        List<Workout> few = new DataGenerator(42, 2, 0, 10).generate().getWorkoutTracker().getWorkouts();
+        List<Workout> many = generator.generate().getWorkoutTracker().getWorkouts();
+        assertEquals(few.size(), many.size());
+        assertEquals(few.get(7).toJson().toString(), many.get(7).toJson().toString());
+    }
+
+    @Test
+    void testIngredientsZipfian() {
+        int[] counts = new int[DataGenerator.ingredientCount()];
+        generator.forEachRecipe(r -> {
+            for (String ing : r.getIngredients()) {
+                counts[rank(ing)]++;
+            }
+        });
+        assertTrue(counts[0] > 500, "the top staple is in most recipes: " + counts[0]);
+        assertTrue(counts[0] > 5 * counts[20]);
+        assertTrue(counts[20] > counts[counts.length - 1]);
+    }
+
+    @Test
+    void testRecipeNamesUnique() {
+        Set<String> names = new HashSet<>();
+        generator.forEachRecipe(r -> assertTrue(names.add(r.getName())));
+        assertEquals(2000, names.size());
+    }
+
+    @Test
+    void testWriteJsonReadBack() throws IOException {
+        String path = "./data/testGenerated.json";
+        try {
+            generator.writeJson(path);
+            VitaSyncData read = new JsonReader(path).read();
+            VitaSyncData expected = generator.generate();
+            assertEquals(expected.getName(), read.getName());
+            assertEquals(expected.getWorkoutTracker().size(), read.getWorkoutTracker().size());
+            assertEquals(expected.getMealPlan().getTotalProtein(), read.getMealPlan().getTotalProtein());
+            Recipe last = expected.getRecipeLibrary().getAllRecipes().get(1999);
+            assertEquals(last.getIngredients(),
+                    read.getRecipeLibrary().getRecipeByName(last.getName()).get().getIngredients());
+        } finally {
+            Files.deleteIfExists(Paths.get(path));
+        }
+    }
+
+    @Test
+    void testWriteScript() throws IOException {
+        String path = "./data/testGenerated.txt";
+        try {
+            generator.writeScript(path);
+            List<String> lines = Files.readAllLines(Paths.get(path));
+            int workouts = generator.generate().getWorkoutTracker().size();
+            assertEquals(workouts + 300 + 2000 + 1, lines.size());
+            assertTrue(lines.get(0).startsWith("workout 2023-01-"));
+            assertTrue(lines.get(workouts).startsWith("meal "));
+            assertTrue(lines.get(workouts + 300).startsWith("recipe add "));
+            assertEquals("save", lines.get(lines.size() - 1));
+        } finally {
+            Files.deleteIfExists(Paths.get(path));
+        }
+    }
+
+    @Test
+    void testNegativeSize() {
+        assertThrows(IllegalArgumentException.class, () -> new DataGenerator(1, -1, 0, 0));
+    }
+
+    private static int rank(String ingredient) {
+        for (int k = 0; k < DataGenerator.ingredientCount(); k++) {
+            if (DataGenerator.ingredient(k).equals(ingredient)) {
+                return k;
+            }
+        }
+        throw new AssertionError(ingredient);
+    }
+}
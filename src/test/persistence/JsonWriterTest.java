@@ -6,10 +6,13 @@ import org.junit.jupiter.api.Test;
 
 import java.io.FileNotFoundException;
 import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
 import java.time.LocalDate;
 import java.util.Arrays;
 
 import static org.junit.jupiter.api.Assertions.*;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
 
 public class JsonWriterTest {
 
@@ -56,6 +59,51 @@ public class JsonWriterTest {
         writeAndVerify("./data/testWriterTypical.json");
     }
 
+    @Test
+    void testWriterCompactSets() throws IOException {
+        Workout workout = new Workout(LocalDate.of(2025, 1, 2));
+        Exercise squat = new Exercise("Squat");
+        squat.addSetGroup(new SetGroup(5, 5, 5));
+        squat.addSetGroup(new SetGroup(1, 5, 3));
+        workout.addExercise(squat);
+        vsData.getWorkoutTracker().addWorkout(workout);
+        Path file = Files.createTempFile("vitasync-compact", ".json");
+        try {
+            JsonWriter writer = new JsonWriter(file.toString(), true);
+            writer.open();
+            writer.write(vsData);
+            writer.close();
+            assertTrue(Files.readString(file).contains("setGroups"));
+            Exercise read = new JsonReader(file.toString()).read().getWorkoutTracker().getWorkouts().get(0)
+                    .getExercises().get(0);
+            assertEquals(6, read.getSetCount());
+            assertEquals(2, read.getSetGroups().size());
+            assertEquals(28, read.getTotalCompletedReps());
+        } finally {
+            Files.deleteIfExists(file);
+        }
+    }
+
+    @Test
+    void testCheckErrorReportsFailedWrites() throws IOException {
+        Path file = Files.createTempFile("vitasync-check", ".json");
+        try {
+            JsonWriter writer = new JsonWriter(file.toString());
+            writer.open();
+            writer.write(vsData);
+            writer.close();
+            assertFalse(writer.checkError());
+        } finally {
+            Files.deleteIfExists(file);
+        }
+        assumeTrue(Files.isWritable(Path.of("/dev/full")), "needs /dev/full, which fails every write");
+        JsonWriter full = new JsonWriter("/dev/full");
+        full.open();
+        full.write(vsData);
+        full.close();
+        assertTrue(full.checkError());
+    }
+
     // HELPER METHODS:
 
     // Break out the creation of a "typical" VitaSyncData into a separate method
@@ -0,0 +1,114 @@
+package ui;
+
+import model.Exercise;
+import model.ExerciseSet;
+import model.VitaSyncData;
+import model.Workout;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import persistence.JsonReader;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.io.StringReader;
+import java.io.StringWriter;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class BatchRunnerTest {
+    private Path file;
+    private StringWriter output;
+    private BatchRunner runner;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        file = Files.createTempFile("vitasync-batch", ".json");
+        output = new StringWriter();
+        runner = new BatchRunner(file.toString(), new PrintWriter(output));
+    }
+
+    @AfterEach
+    void tearDown() throws IOException {
+        Files.deleteIfExists(file);
+    }
+
+    @Test
+    void testWorkoutAndSetSyntax() throws IOException {
+        assertEquals(0, run("# a comment\n\nworkout 2024-05-01 | Squat: 10, 10, 8/10 | Bench Press: 5\n"));
+        Workout workout = runner.getData().getWorkoutTracker().getWorkouts().get(0);
+        assertEquals(LocalDate.of(2024, 5, 1), workout.getDate());
+        List<Exercise> exercises = workout.getExercises();
+        assertEquals("Squat", exercises.get(0).getName());
+        List<ExerciseSet> sets = exercises.get(0).getSets();
+        assertEquals(3, sets.size());
+        assertEquals(10, sets.get(0).getCompletedReps());
+        assertEquals(8, sets.get(2).getCompletedReps());
+        assertEquals(10, sets.get(2).getTargetReps());
+        assertEquals(33, workout.getTotalCompletedReps());
+    }
+
+    @Test
+    void testBadLinesReportedByLineNumber() throws IOException {
+        String script = "meal Oats | 10 | 30 | 5\n"
+                + "meal Oats | ten | 30 | 5\n"
+                + "# comment\n"
+                + "workout 2024-05-01 | Squat 10\n"
+                + "recipe delete Missing\n"
+                + "dance\n"
+                + "report macros\n";
+        assertEquals(4, run(script));
+        String text = output.toString();
+        assertTrue(text.contains("Line 2: Invalid number 'ten'."));
+        assertTrue(text.contains("Line 4: Expected '<exercise>: <reps>, ...'"));
+        assertTrue(text.contains("Line 5: recipe delete made no change"));
+        assertTrue(text.contains("Line 6: Unknown operation 'dance'."));
+        assertTrue(text.contains("Total Protein: 10g"), "the good lines still ran");
+    }
+
+    @Test
+    void testSavesOnceAfterTheLastLine() throws IOException {
+        run("meal Oats | 10 | 30 | 5\nsave\nrecipe add Soup | water, salt | Boil.\nsave\n");
+        String text = output.toString();
+        assertEquals(text.indexOf("Data saved to"), text.lastIndexOf("Data saved to"));
+        VitaSyncData saved = new JsonReader(file.toString()).read();
+        assertEquals(1, saved.getMealPlan().size());
+        assertEquals(1, saved.getRecipeLibrary().size(), "changes after the first save are included");
+    }
+
+    @Test
+    void testLoadReadsTheFileOnce() throws IOException {
+        run("meal Oats | 10 | 30 | 5\nsave\n");
+        BatchRunner second = new BatchRunner(file.toString(), new PrintWriter(new StringWriter()));
+        assertEquals(0, second.run(new BufferedReader(new StringReader("load\nmeal Eggs | 12 | 1 | 10\nload\n"))));
+        assertEquals(2, second.getData().getMealPlan().size(), "a later load does not reread the file");
+    }
+
+    @Test
+    void testLoadAfterChangesFails() throws IOException {
+        run("meal Oats | 10 | 30 | 5\nsave\n");
+        output.getBuffer().setLength(0);
+        BatchRunner late = new BatchRunner(file.toString(), new PrintWriter(output));
+        String script = "report workouts\nmeal Eggs | 12 | 1 | 10\nload\n";
+        assertEquals(1, late.run(new BufferedReader(new StringReader(script))));
+        assertTrue(output.toString().contains("Line 3: load must come before any change"));
+        assertTrue(output.toString().contains("since line 2"));
+        assertEquals("Eggs", late.getData().getMealPlan().getMeals().get(0).getName(), "the change is kept");
+    }
+
+    @Test
+    void testLoadMissingFileFails() throws IOException {
+        Files.delete(file);
+        assertEquals(1, run("load\n"));
+        assertTrue(output.toString().contains("Line 1: Unable to read"));
+    }
+
+    private int run(String script) throws IOException {
+        return runner.run(new BufferedReader(new StringReader(script)));
+    }
+}
@@ -0,0 +1,60 @@
+package ui;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class StartupPreloaderTest {
+    private Path file;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        file = Files.createTempFile("vitasync-startup", ".json");
+    }
+
+    @AfterEach
+    void tearDown() throws IOException {
+        Files.deleteIfExists(file);
+    }
+
+    @Test
+    void testUnparsableDataFallsBackAndIsReported() throws Exception {
+        Files.writeString(file, "{\"name\":\"Saved\",\"workouts\":[{\"date\":\"2024-13-45\",\"exercises\":[]}],"
+                + "\"meals\":[],\"recipes\":[]}");
+        StartupPreloader.Resources resources = preload();
+        assertEquals("Fresh", resources.getData().getName());
+        assertEquals(0, resources.getData().getWorkoutTracker().size());
+        assertTrue(resources.getDataError().contains("DateTimeParseException"), resources.getDataError());
+    }
+
+    @Test
+    void testMissingDataFileIsNotAnError() throws Exception {
+        Files.delete(file);
+        StartupPreloader.Resources resources = preload();
+        assertEquals("Fresh", resources.getData().getName());
+        assertNull(resources.getDataError());
+    }
+
+    @Test
+    void testFallbackAfterAFailedPreload() {
+        StartupPreloader preloader = new StartupPreloader(file.toString(), "none.png", "none.png", "Fresh");
+        StartupPreloader.Resources resources = preloader.fallback(
+                new CompletionException(new IllegalStateException("broken")));
+        assertNull(resources.getBackground());
+        assertEquals("Fresh", resources.getData().getName());
+        assertTrue(resources.getDataError().contains("broken"));
+    }
+
+    private StartupPreloader.Resources preload() throws Exception {
+        StartupPreloader preloader = new StartupPreloader(file.toString(), "none.png", "none.png", "Fresh");
+        return preloader.preload((done, total, label) -> { }, new StartupTimeline()).get(10, TimeUnit.SECONDS);
+    }
+}